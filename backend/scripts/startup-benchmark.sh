@@ -0,0 +1,68 @@
+#!/usr/bin/env bash
+# Startup benchmark: time from JVM launch to the first successful HTTP request.
+#
+# Variants: fat jar (baseline) / AOT / AOT + AppCDS, each with synchronous and
+# background (workshop.seed.async=true) seeding.
+#
+# Usage (from backend/):
+#   scripts/startup-benchmark.sh            # builds with -Pfast-start, 5 runs per variant
+#   RUNS=10 PORT=18080 SKIP_BUILD=1 scripts/startup-benchmark.sh
+#
+# Use the same JDK that built target/app.jsa, otherwise the archive is ignored.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+URL="http://localhost:${PORT}/api/meters"
+JAVA=${JAVA:-java}
+VERSION=$(mvn -q help:evaluate -Dexpression=project.version -DforceStdout 2>/dev/null || echo 0.0.1-SNAPSHOT)
+THIN_JAR="target/workshop-backend-${VERSION}.jar"
+FAT_JAR="target/workshop-backend-${VERSION}-exec.jar"
+CDS_ARCHIVE="target/app.jsa"
+
+if [[ "${SKIP_BUILD:-0}" != "1" ]]; then
+    mvn -B -q -Pfast-start package -DskipTests
+fi
+
+now_ms() { date +%s%3N; }
+
+# Prints milliseconds until $URL answers 200, then stops the app.
+measure() {
+    local start pid elapsed
+    start=$(now_ms)
+    "$JAVA" "$@" --server.port="$PORT" > target/startup-benchmark.log 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited, see target/startup-benchmark.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+median() { sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'; }
+
+run_variant() {
+    local name=$1; shift
+    local samples=()
+    for _ in $(seq "$RUNS"); do
+        samples+=("$(measure "$@")")
+    done
+    printf '%-28s %8s ms   (%s)\n' "$name" "$(printf '%s\n' "${samples[@]}" | median)" "${samples[*]}"
+}
+
+printf '%-28s %11s   %s\n' "variant" "median" "runs (ms)"
+for seed in sync async; do
+    seed_arg="--workshop.seed.async=$([[ $seed == async ]] && echo true || echo false)"
+    run_variant "fat jar, seed=$seed"       -jar "$FAT_JAR" "$seed_arg"
+    run_variant "AOT, seed=$seed"           -Dspring.aot.enabled=true -jar "$THIN_JAR" "$seed_arg"
+    run_variant "AOT + CDS, seed=$seed"     -XX:SharedArchiveFile="$CDS_ARCHIVE" -Xlog:cds=error \
+                                            -Dspring.aot.enabled=true -jar "$THIN_JAR" "$seed_arg"
+done
@@ -0,0 +1,175 @@
+package com.naturgy.workshop.api.admission;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit with a short, bounded FIFO queue in front of it.
+ *
+ * <p>Up to {@code limit} callers hold a {@link Permit} at once. Further callers wait, at most
+ * {@code queue} of them and each for at most {@code maxWait}; anyone beyond that is turned
+ * away at once ({@link #tryAcquire} returns {@code null}). All three settings can be changed
+ * while permits are out: a lower limit takes effect as permits are returned.
+ */
+public final class Bulkhead {
+
+    private final String name;
+
+    /** Fair, so queued callers are admitted in arrival order. Guards everything below. */
+    private final ReentrantLock lock     = new ReentrantLock(true);
+    private final Condition     released = lock.newCondition();
+
+    private int  limit;
+    private int  queue;
+    private long maxWaitNanos;
+
+    private int  active;
+    private int  waiting;
+    private long admitted;
+    private long rejected;
+    private long waitNanos;
+    private long maxObservedWaitNanos;
+    private long completed;
+    private long holdNanos;
+
+    public Bulkhead(String name, int limit, int queue, Duration maxWait) {
+        this.name = name;
+        resize(limit, queue, maxWait);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return a permit to {@link Permit#close() close} when done, or {@code null} when the
+     *         bulkhead is full and the queue is full too, or the wait timed out
+     */
+    public Permit tryAcquire() throws InterruptedException {
+        long arrived = System.nanoTime();
+        lock.lock();
+        try {
+            if (active < limit && waiting == 0) {
+                return admit(arrived);
+            }
+            if (waiting >= queue || maxWaitNanos == 0) {
+                rejected++;
+                return null;
+            }
+            waiting++;
+            try {
+                long remaining = maxWaitNanos;
+                while (active >= limit) {
+                    if (remaining <= 0) {
+                        rejected++;
+                        return null;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                // a slot may have been signalled to us; hand it on
+                if (active < limit) released.signal();
+                throw e;
+            } finally {
+                waiting--;
+            }
+            return admit(arrived);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Changes the settings; {@code null} keeps the current value. */
+    public void resize(Integer limit, Integer queue, Duration maxWait) {
+        if (limit != null && limit < 1) throw new IllegalArgumentException("Bulkhead limit must be at least 1");
+        if (queue != null && queue < 0) throw new IllegalArgumentException("Bulkhead queue must not be negative");
+        if (maxWait != null && maxWait.isNegative()) throw new IllegalArgumentException("Bulkhead max-wait must not be negative");
+        lock.lock();
+        try {
+            if (limit != null)   this.limit        = limit;
+            if (queue != null)   this.queue        = queue;
+            if (maxWait != null) this.maxWaitNanos = maxWait.toNanos();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Seconds a rejected caller should wait before retrying: the mean time a permit is held,
+     * times the callers ahead of it per slot. At least 1.
+     */
+    public long retryAfterSeconds() {
+        lock.lock();
+        try {
+            double meanHold = completed == 0 ? 1e9 : (double) holdNanos / completed;
+            double ahead    = (double) (waiting + 1) / limit;
+            return Math.max(1, (long) Math.ceil(meanHold * ahead / 1e9));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(name, limit, queue, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos),
+                    active, waiting, admitted, rejected,
+                    admitted == 0 ? 0 : waitNanos / admitted / 1_000_000,
+                    maxObservedWaitNanos / 1_000_000,
+                    completed == 0 ? 0 : holdNanos / completed / 1_000_000);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Caller holds {@code lock}. */
+    private Permit admit(long arrived) {
+        long now  = System.nanoTime();
+        long wait = now - arrived;
+        active++;
+        admitted++;
+        waitNanos += wait;
+        maxObservedWaitNanos = Math.max(maxObservedWaitNanos, wait);
+        return new Permit(now);
+    }
+
+    private void release(long admittedAt) {
+        lock.lock();
+        try {
+            active--;
+            completed++;
+            holdNanos += System.nanoTime() - admittedAt;
+            if (active < limit) released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** One admitted caller; closing it more than once is harmless. */
+    public final class Permit implements AutoCloseable {
+
+        private final long          admittedAt;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(long admittedAt) {
+            this.admittedAt = admittedAt;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) release(admittedAt);
+        }
+    }
+
+    /**
+     * Settings and counters since startup. Wait times are from arrival to admission
+     * (rejected callers not included); hold time is admission to release.
+     */
+    public record Stats(String name, int limit, int queue, long maxWaitMs,
+                        int active, int waiting, long admitted, long rejected,
+                        long meanWaitMs, long maxObservedWaitMs, long meanHoldMs) {}
+}
@@ -0,0 +1,139 @@
+package com.naturgy.workshop.api.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naturgy.workshop.api.dto.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admission control in front of the API: each request takes a permit from the
+ * {@link Bulkheads bulkhead} of its class, or gets {@code 429 Too Many Requests} with a
+ * {@code Retry-After} estimate once that bulkhead and its queue are full.
+ *
+ * <table>
+ *   <tr><th>bulkhead</th><th>requests</th></tr>
+ *   <tr><td>imports</td><td>{@code POST /api/import}, {@code POST /api/{meters|contracts|readings}/import}</td></tr>
+ *   <tr><td>billing</td><td>{@code POST /api/billing/run}, {@code POST /api/readings/gap-fill}</td></tr>
+ *   <tr><td>pdf</td><td>{@code GET /api/invoices/{id}/pdf}, {@code /pdf-bundle}, {@code /print-run}</td></tr>
+ *   <tr><td>exports</td><td>{@code GET /api/invoices/export}, {@code GET /api/analytics/**}</td></tr>
+ *   <tr><td>reads</td><td>every other {@code GET /api/**}</td></tr>
+ * </table>
+ * Single-row writes, {@code /api/health} and {@code /api/admin/**} are never limited, so the
+ * limits can still be changed while everything else is saturated; neither is
+ * {@code /api/events}, a long-lived stream that never touches the database.
+ *
+ * <p>Streamed responses keep their permit until the async request completes. Background
+ * import jobs ({@code ?async=true}) only hold it while the upload is accepted; their own
+ * pool limits how many run.
+ */
+@Component
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private final Bulkheads    bulkheads;
+    private final ObjectMapper json;
+    private final boolean      enabled;
+
+    public BulkheadFilter(Bulkheads bulkheads, ObjectMapper json,
+                          @Value("${workshop.bulkhead.enabled:true}") boolean enabled) {
+        this.bulkheads = bulkheads;
+        this.json      = json;
+        this.enabled   = enabled;
+    }
+
+    /** Bulkhead for a request with this method and path (context path removed), or {@code null}. */
+    static String classify(String method, String path) {
+        if (!path.startsWith("/api/") || path.equals("/api/health") || path.equals("/api/events")
+                || path.startsWith("/api/admin/")) {
+            return null;
+        }
+        if ("POST".equals(method)) {
+            if (path.endsWith("/import"))                return Bulkheads.IMPORTS;
+            if (path.equals("/api/billing/run"))        return Bulkheads.BILLING;
+            if (path.equals("/api/readings/gap-fill")) return Bulkheads.BILLING;
+            return null;
+        }
+        if ("GET".equals(method)) {
+            if (path.startsWith("/api/invoices/") && (path.endsWith("/pdf")
+                    || path.equals("/api/invoices/pdf-bundle") || path.equals("/api/invoices/print-run"))) {
+                return Bulkheads.PDF;
+            }
+            if (path.equals("/api/invoices/export")) return Bulkheads.EXPORTS;
+            if (path.equals("/api/readings/export")) return Bulkheads.EXPORTS;
+            if (path.startsWith("/api/analytics/"))  return Bulkheads.EXPORTS;
+            return Bulkheads.READS;
+        }
+        return null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String name = classify(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        if (name == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Bulkhead bulkhead = bulkheads.get(name);
+        Bulkhead.Permit permit;
+        try {
+            permit = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Interrupted while queued for bulkhead " + name, e);
+        }
+        if (permit == null) {
+            reject(bulkhead, request, response);
+            return;
+        }
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(permit));
+                async = true;
+            }
+        } finally {
+            if (!async) permit.close();
+        }
+    }
+
+    private void reject(Bulkhead bulkhead, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long retryAfter = bulkhead.retryAfterSeconds();
+        log.debug("[Bulkhead] {} full, rejected {} {} (Retry-After {}s)",
+                bulkhead.name(), request.getMethod(), request.getRequestURI(), retryAfter);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        json.writeValue(response.getOutputStream(), ErrorResponse.of(429, "Too Many Requests",
+                "Too many concurrent " + bulkhead.name() + " requests, retry in " + retryAfter + "s"));
+    }
+
+    private record ReleaseOnCompletion(Bulkhead.Permit permit) implements AsyncListener {
+
+        @Override public void onComplete(AsyncEvent event)   { permit.close(); }
+        @Override public void onTimeout(AsyncEvent event)    { permit.close(); }
+        @Override public void onError(AsyncEvent event)      { permit.close(); }
+        @Override public void onStartAsync(AsyncEvent event) { event.getAsyncContext().addListener(this); }
+    }
+}
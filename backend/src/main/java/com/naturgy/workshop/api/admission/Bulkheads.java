@@ -0,0 +1,115 @@
+package com.naturgy.workshop.api.admission;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The application's bulkheads, one per class of endpoint, so a burst in one class cannot
+ * take the database connections, heap or CPU the others need.
+ *
+ * <p>Each is configured with {@code workshop.bulkhead.<name>.limit}, {@code .queue} and
+ * {@code .max-wait}; the defaults are below. See {@link BulkheadFilter} for which requests
+ * go where.
+ *
+ * <p>Queued requests wait on the request thread. On platform threads, running plus queued
+ * requests of all bulkheads must stay {@code reserved-threads} below
+ * {@code server.tomcat.threads.max}: otherwise a saturated API parks every Tomcat thread in a
+ * queue, new requests sit in the accept backlog instead of getting a quick 429, and
+ * {@code /api/admin/**} cannot answer. Startup fails, and a runtime resize is refused, when
+ * the settings would break that. With virtual threads there is no such pool to exhaust.
+ */
+@Component
+public class Bulkheads {
+
+    private static final Logger log = LoggerFactory.getLogger(Bulkheads.class);
+
+    public static final String IMPORTS = "imports";
+    public static final String BILLING = "billing";
+    public static final String PDF     = "pdf";
+    public static final String EXPORTS = "exports";
+    public static final String READS   = "reads";
+
+    private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+    /** Running plus queued requests all bulkheads together may hold; unbounded on virtual threads. */
+    private final int                   capacity;
+
+    public Bulkheads(Environment env) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        register(env, IMPORTS, 2,                       2,  Duration.ofSeconds(10));
+        register(env, BILLING, 1,                       1,  Duration.ofSeconds(30));
+        register(env, PDF,     Math.min(cores * 2, 32), 16, Duration.ofSeconds(5));
+        register(env, EXPORTS, 2,                       4,  Duration.ofSeconds(5));
+        register(env, READS,   32,                      64, Duration.ofSeconds(2));
+
+        int threads  = env.getProperty("server.tomcat.threads.max", Integer.class, 200);
+        int reserved = env.getProperty("workshop.bulkhead.reserved-threads", Integer.class, 24);
+        this.capacity = Threading.VIRTUAL.isActive(env) ? Integer.MAX_VALUE : threads - reserved;
+        int held = held(null, 0);
+        if (held > capacity) {
+            throw new IllegalStateException("Bulkheads hold up to " + held + " requests (limit + queue), more than "
+                    + capacity + " (server.tomcat.threads.max " + threads + " minus workshop.bulkhead.reserved-threads "
+                    + reserved + "); lower a limit or queue, or raise the thread pool");
+        }
+        log.info("[Bulkhead] {} of {} request threads can be held by bulkheads", held,
+                capacity == Integer.MAX_VALUE ? "unbounded" : capacity);
+    }
+
+    public Bulkhead get(String name) {
+        Bulkhead bulkhead = bulkheads.get(name);
+        if (bulkhead == null) throw new NoSuchElementException("Bulkhead not found: " + name);
+        return bulkhead;
+    }
+
+    public Collection<Bulkhead> all() {
+        return Collections.unmodifiableCollection(bulkheads.values());
+    }
+
+    /**
+     * Changes a bulkhead's settings; {@code null} keeps the current value.
+     *
+     * @throws IllegalArgumentException when the bulkheads together would hold more requests
+     *                                  than the request thread pool can spare
+     */
+    public synchronized Bulkhead resize(String name, Integer limit, Integer queue, Duration maxWait) {
+        Bulkhead bulkhead = get(name);
+        Bulkhead.Stats s = bulkhead.stats();
+        int held = held(name, (limit != null ? limit : s.limit()) + (queue != null ? queue : s.queue()));
+        if (held > capacity) {
+            throw new IllegalArgumentException("Bulkheads would hold up to " + held
+                    + " requests (limit + queue), more than the " + capacity + " request threads they may use");
+        }
+        bulkhead.resize(limit, queue, maxWait);
+        return bulkhead;
+    }
+
+    /** Limit plus queue over all bulkheads, counting {@code replaced} (if any) as {@code size}. */
+    private int held(String replaced, int size) {
+        int held = 0;
+        for (Bulkhead b : bulkheads.values()) {
+            Bulkhead.Stats s = b.stats();
+            held += b.name().equals(replaced) ? size : s.limit() + s.queue();
+        }
+        return held;
+    }
+
+    private void register(Environment env, String name, int limit, int queue, Duration maxWait) {
+        String prefix = "workshop.bulkhead." + name + ".";
+        Bulkhead bulkhead = new Bulkhead(name,
+                env.getProperty(prefix + "limit", Integer.class, limit),
+                env.getProperty(prefix + "queue", Integer.class, queue),
+                env.getProperty(prefix + "max-wait", Duration.class, maxWait));
+        bulkheads.put(name, bulkhead);
+        Bulkhead.Stats s = bulkhead.stats();
+        log.info("[Bulkhead] {} limit={} queue={} maxWait={}ms", name, s.limit(), s.queue(), s.maxWaitMs());
+    }
+}
@@ -0,0 +1,68 @@
+package com.naturgy.workshop.api.controller;
+
+import com.naturgy.workshop.api.admission.Bulkhead;
+import com.naturgy.workshop.api.admission.Bulkheads;
+import com.naturgy.workshop.domain.cache.EntityCaches;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Operational endpoints. Not subject to the bulkheads, so they answer while the API is
+ * saturated.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final Bulkheads        bulkheads;
+    private final EntityCaches     entityCaches;
+    private final InvoiceListCache invoiceLists;
+
+    public AdminController(Bulkheads bulkheads, EntityCaches entityCaches, InvoiceListCache invoiceLists) {
+        this.bulkheads    = bulkheads;
+        this.entityCaches = entityCaches;
+        this.invoiceLists = invoiceLists;
+    }
+
+    /** Limits, occupancy, queue wait and rejections of every bulkhead. */
+    @GetMapping("/bulkheads")
+    public List<Bulkhead.Stats> bulkheads() {
+        return bulkheads.all().stream().map(Bulkhead::stats).toList();
+    }
+
+    /**
+     * Changes a bulkhead's settings at runtime; omitted parameters stay as they are. Refused
+     * (400) when the bulkheads together could then park more requests than there are threads.
+     * PUT /api/admin/bulkheads/reads?limit=48&amp;queue=96&amp;maxWait=3s
+     */
+    @PutMapping("/bulkheads/{name}")
+    public Bulkhead.Stats resize(@PathVariable String name,
+                                 @RequestParam(required = false) Integer limit,
+                                 @RequestParam(required = false) Integer queue,
+                                 @RequestParam(required = false) String maxWait) {
+        return bulkheads.resize(name, limit, queue, maxWait == null ? null : DurationStyle.detectAndParse(maxWait))
+                .stats();
+    }
+
+    /** Size, hits, misses and evictions of every second-level cache region. */
+    @GetMapping("/caches")
+    public List<EntityCaches.Stats> caches() {
+        return entityCaches.stats();
+    }
+
+    /** Pages, bytes, hits, misses, coalesced misses and evictions of the invoice list cache. */
+    @GetMapping("/caches/invoice-lists")
+    public InvoiceListCache.Stats invoiceListCache() {
+        return invoiceLists.stats();
+    }
+
+    /** Empties the entity caches, e.g. after editing meters or contracts directly in the database. */
+    @DeleteMapping("/caches")
+    public ResponseEntity<Void> evictCaches() {
+        entityCaches.evictAll("admin request");
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.naturgy.workshop.api.controller;
+
+import com.naturgy.workshop.service.analytics.ConsumptionAnalyticsService;
+import com.naturgy.workshop.service.analytics.ConsumptionAnalyticsService.GroupBy;
+import com.naturgy.workshop.service.analytics.ConsumptionAnalyticsService.GroupPercentiles;
+import com.naturgy.workshop.service.analytics.ConsumptionAnalyticsService.GroupTop;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final ConsumptionAnalyticsService analytics;
+
+    public AnalyticsController(ConsumptionAnalyticsService analytics) {
+        this.analytics = analytics;
+    }
+
+    /** Largest meter totals of the period per city or postal code ({@code group} = just that one). */
+    @GetMapping("/top-consumers")
+    public List<GroupTop> topConsumers(@RequestParam String period,
+                                       @RequestParam(defaultValue = "city") String groupBy,
+                                       @RequestParam(required = false) String group,
+                                       @RequestParam(defaultValue = "1000") int limit) {
+        return analytics.topConsumers(period, GroupBy.parse(groupBy), group, limit);
+    }
+
+    /** Distribution of the period's meter totals per city or postal code. */
+    @GetMapping("/percentiles")
+    public List<GroupPercentiles> percentiles(@RequestParam String period,
+                                              @RequestParam(defaultValue = "city") String groupBy,
+                                              @RequestParam(required = false) String group,
+                                              @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> q) {
+        return analytics.percentiles(period, GroupBy.parse(groupBy), group, q);
+    }
+}
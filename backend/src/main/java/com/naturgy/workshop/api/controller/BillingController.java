@@ -1,59 +1,220 @@
 package com.naturgy.workshop.api.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naturgy.workshop.domain.change.TableChanges;
+import com.naturgy.workshop.domain.change.TableChanges.Table;
 import com.naturgy.workshop.domain.model.Invoice;
 import com.naturgy.workshop.domain.repository.InvoiceRepository;
 import com.naturgy.workshop.service.BillingService;
-import com.naturgy.workshop.service.PdfService;
+import com.naturgy.workshop.service.InvoicePdfBundleService;
+import com.naturgy.workshop.service.PdfCache;
+import com.naturgy.workshop.service.export.InvoiceCsvWriter;
+import com.naturgy.workshop.service.export.InvoiceExportService;
+import com.naturgy.workshop.service.export.RemittanceFileWriter;
+import com.naturgy.workshop.service.gapfill.GapFillResult;
+import com.naturgy.workshop.service.gapfill.GapFillService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.LongSupplier;
 
 @RestController
 @RequestMapping("/api")
 public class BillingController {
 
-    private final BillingService    billingService;
-    private final InvoiceRepository invoiceRepo;
-    private final PdfService        pdfService;
+    private final BillingService          billingService;
+    private final InvoiceRepository       invoiceRepo;
+    private final PdfCache                pdfCache;
+    private final InvoicePdfBundleService pdfBundleService;
+    private final InvoiceExportService    exportService;
+    private final GapFillService          gapFill;
+    private final InvoiceListCache        invoiceLists;
+    private final ObjectMapper            json;
+    private final CacheControl            pdfCacheControl;
+    private final ListPaging              paging;
+    private final ConditionalGet          conditional;
+    private final TableChanges            changes;
 
     public BillingController(BillingService billingService,
                              InvoiceRepository invoiceRepo,
-                             PdfService pdfService) {
-        this.billingService = billingService;
-        this.invoiceRepo    = invoiceRepo;
-        this.pdfService     = pdfService;
+                             PdfCache pdfCache,
+                             InvoicePdfBundleService pdfBundleService,
+                             InvoiceExportService exportService,
+                             GapFillService gapFill,
+                             InvoiceListCache invoiceLists,
+                             ObjectMapper json,
+                             ListPaging paging,
+                             ConditionalGet conditional,
+                             TableChanges changes,
+                             @Value("${workshop.pdf.cache.max-age:1h}") Duration pdfMaxAge) {
+        this.billingService   = billingService;
+        this.invoiceRepo      = invoiceRepo;
+        this.pdfCache         = pdfCache;
+        this.pdfBundleService = pdfBundleService;
+        this.exportService    = exportService;
+        this.gapFill          = gapFill;
+        this.invoiceLists     = invoiceLists;
+        this.json             = json;
+        this.pdfCacheControl  = CacheControl.maxAge(pdfMaxAge).cachePrivate();
+        this.paging           = paging;
+        this.conditional      = conditional;
+        this.changes          = changes;
     }
 
     /**
-     * Execute billing for a given period (YYYY-MM).
+     * Execute billing for a given period (YYYY-MM). With {@code fillGaps=true} missing hourly
+     * readings are estimated first (see {@link GapFillService}).
      * POST /api/billing/run?period=2026-01
+     * POST /api/billing/run?period=2026-01&fillGaps=true
      */
     @PostMapping("/billing/run")
-    public ResponseEntity<Map<String, Object>> runBilling(@RequestParam String period) {
+    public ResponseEntity<Map<String, Object>> runBilling(@RequestParam String period,
+                                                          @RequestParam(defaultValue = "false") boolean fillGaps) {
+        GapFillResult filled = fillGaps ? gapFill.fill(period) : null;
         List<Invoice> generated = billingService.runBilling(period);
-        return ResponseEntity.ok(Map.of(
-                "period", period,
-                "generated", generated.size(),
-                "invoices", generated.stream().map(Invoice::getInvoiceId).toList()
-        ));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("period", period);
+        body.put("generated", generated.size());
+        body.put("invoices", generated.stream().map(Invoice::getInvoiceId).toList());
+        if (filled != null) body.put("gapFill", filled);
+        return ResponseEntity.ok(body);
     }
 
     /**
-     * List all invoices, optionally filtered by period.
+     * List invoices, newest first, optionally filtered by period. Keyset-paged on
+     * (period, generatedAt, invoiceId) (see {@link ListPaging}); revalidated without a query
+     * (see {@link ConditionalGet}). This mapping serves CBOR; JSON, the default, goes through
+     * {@link #listInvoicesJson} and its cache.
      * GET /api/invoices
-     * GET /api/invoices?period=2026-01
+     * GET /api/invoices?period=2026-01&limit=100&cursor=…&count=true
      */
+    @GetMapping(value = "/invoices", produces = "application/cbor")
+    public ResponseEntity<List<Invoice>> listInvoices(@RequestParam(required = false) String period,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "false") boolean count,
+                                                      WebRequest request) {
+        Pageable page = paging.limit(limit);
+        if (conditional.notModified(request, Table.INVOICES)) {
+            return null;
+        }
+        Slice<Invoice> slice = invoicePage(period, page, cursor);
+        return paging.respond(slice, BillingController::invoiceSortKey, count ? invoiceTotal(period) : null);
+    }
+
+    /** {@link #listInvoices} as JSON, served from {@link InvoiceListCache}. */
     @GetMapping("/invoices")
-    public List<Invoice> listInvoices(@RequestParam(required = false) String period) {
-        if (period != null) {
-            return invoiceRepo.findByPeriod(period);
+    public ResponseEntity<byte[]> listInvoicesJson(@RequestParam(required = false) String period,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "false") boolean count,
+                                                   WebRequest request) {
+        Pageable page = paging.limit(limit);
+        if (conditional.notModified(request, Table.INVOICES)) {
+            return null;
+        }
+        InvoiceListCache.Page cached = invoiceLists.get(
+                new InvoiceListCache.Key(period, page.getPageSize(), cursor, count), () -> {
+                    Slice<Invoice> slice = invoicePage(period, page, cursor);
+                    LongSupplier total = count ? invoiceTotal(period) : null;
+                    try {
+                        return new InvoiceListCache.Page(json.writeValueAsBytes(slice.getContent()),
+                                paging.nextCursor(slice, BillingController::invoiceSortKey),
+                                total == null ? null : total.getAsLong());
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Invoice list serialization failed", e);
+                    }
+                });
+        return paging.headers(cached.nextCursor(), cached.total())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cached.json());
+    }
+
+    /**
+     * Stream invoices with contract NIF/IBAN for finance/ERP, oldest first, in constant memory.
+     * {@code format=csv} (default) or {@code fixed} (fixed-width remittance file, see
+     * {@link RemittanceFileWriter}). {@code X-Export-Until} carries the newest
+     * {@code generatedAt} included: pass it as {@code since} next time. That pull also repeats
+     * the last {@code workshop.export.overlap} before {@code since}, so invoices committed late
+     * by a running billing are not missed; de-duplicate by {@code invoiceId}.
+     * GET /api/invoices/export?period=2026-01&amp;format=fixed
+     * GET /api/invoices/export?since=2026-02-01T08:00:00.123456
+     */
+    @GetMapping("/invoices/export")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(@RequestParam(required = false) String period,
+                                                                @RequestParam(required = false) String since,
+                                                                @RequestParam(defaultValue = "csv") String format) {
+        boolean fixed = switch (format) {
+            case "csv"   -> false;
+            case "fixed" -> true;
+            default      -> throw new IllegalArgumentException("Unknown export format '" + format + "' (csv, fixed)");
+        };
+        LocalDateTime after;
+        try {
+            after = since == null ? null : LocalDateTime.parse(since);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid since '" + since + "', expected an ISO date-time");
+        }
+        LocalDateTime until = exportService.watermark(period);
+        String name = "invoices" + (period != null ? "-" + period : "") + (fixed ? ".txt" : ".csv");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "\"")
+                .contentType(fixed
+                        ? new MediaType("text", "plain", RemittanceFileWriter.CHARSET)
+                        : new MediaType("text", "csv", StandardCharsets.UTF_8));
+        if (until != null) {
+            response.header("X-Export-Until", until.toString());
         }
-        return invoiceRepo.findAllByOrderByPeriodDescGeneratedAtDesc();
+        return response.body(out -> exportService.export(period, after, until,
+                fixed ? new RemittanceFileWriter(out, LocalDateTime.now()) : new InvoiceCsvWriter(out)));
+    }
+
+    /**
+     * Download all invoice PDFs of a period as one zip, rendered in parallel and streamed
+     * as they finish.
+     * GET /api/invoices/pdf-bundle?period=2026-01
+     */
+    @GetMapping("/invoices/pdf-bundle")
+    public ResponseEntity<StreamingResponseBody> downloadPdfBundle(@RequestParam String period) {
+        pdfBundleService.checkPeriod(period);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"invoices-" + period + ".zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(out -> pdfBundleService.writeBundle(period, out));
+    }
+
+    /**
+     * Download all invoices of a period as one merged, multi-page PDF for printing.
+     * GET /api/invoices/print-run?period=2026-01
+     */
+    @GetMapping("/invoices/print-run")
+    public ResponseEntity<StreamingResponseBody> downloadPrintRun(@RequestParam String period) {
+        pdfBundleService.checkPeriod(period);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"print-run-" + period + ".pdf\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(out -> pdfBundleService.writePrintRun(period, out));
     }
 
     /**
@@ -61,7 +222,10 @@ public class BillingController {
      * GET /api/invoices/{id}
      */
     @GetMapping("/invoices/{id}")
-    public Invoice getInvoice(@PathVariable String id) {
+    public Invoice getInvoice(@PathVariable String id, WebRequest request) {
+        if (conditional.notModified(request, Table.INVOICES)) {
+            return null;
+        }
         return invoiceRepo.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Invoice not found: " + id));
     }
@@ -69,16 +233,60 @@ public class BillingController {
     /**
      * Download invoice as PDF.
      * GET /api/invoices/{id}/pdf
+     *
+     * <p>Served from {@link PdfCache}; the ETag is the PDF's content hash, so a matching
+     * {@code If-None-Match} gets a 304 without touching the PDF at all – and, while the
+     * invoices table is unchanged since the ETag was computed, without loading the invoice.
      */
     @GetMapping("/invoices/{id}/pdf")
-    public ResponseEntity<byte[]> downloadPdf(@PathVariable String id) throws Exception {
+    public ResponseEntity<byte[]> downloadPdf(@PathVariable String id, WebRequest request) throws IOException {
+        // read before the invoice: a write after it makes what is remembered below stale
+        String version = changes.etag(Table.INVOICES);
+        String etag    = pdfCache.knownEtag(id, version);
+        if (etag != null && request.checkNotModified(etag)) {
+            return null;   // 304 with ETag already set by checkNotModified
+        }
         Invoice invoice = invoiceRepo.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Invoice not found: " + id));
-        byte[] pdf = pdfService.generateInvoicePdf(invoice);
+        if (etag == null) {
+            etag = pdfCache.etag(invoice, version);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+        }
         return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(pdfCacheControl)
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"invoice-" + id + ".pdf\"")
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(pdf);
+                .body(pdfCache.get(invoice));
+    }
+
+    private Slice<Invoice> invoicePage(String period, Pageable page, String cursor) {
+        if (cursor == null) {
+            return period != null ? invoiceRepo.findPageByPeriod(period, page) : invoiceRepo.findPage(page);
+        }
+        List<String> key = ListPaging.decode(cursor, 3);
+        LocalDateTime generatedAt = parseCursorTimestamp(cursor, key.get(1));
+        return period != null
+                ? invoiceRepo.findPageByPeriodAfter(period, generatedAt, key.get(2), page)
+                : invoiceRepo.findPageAfter(key.get(0), generatedAt, key.get(2), page);
+    }
+
+    private LongSupplier invoiceTotal(String period) {
+        return period != null ? () -> invoiceRepo.countByPeriod(period) : invoiceRepo::count;
+    }
+
+    private static List<String> invoiceSortKey(Invoice i) {
+        return List.of(i.getPeriod(), i.getGeneratedAt().toString(), i.getInvoiceId());
+    }
+
+    private static LocalDateTime parseCursorTimestamp(String cursor, String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor '" + cursor + "'");
+        }
     }
 }
@@ -0,0 +1,57 @@
+package com.naturgy.workshop.api.controller;
+
+import com.naturgy.workshop.domain.change.TableChanges;
+import com.naturgy.workshop.domain.change.TableChanges.Table;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+/**
+ * HTTP revalidation for read endpoints, answered from {@link TableChanges} alone.
+ *
+ * <p>Call {@link #notModified} before running any query: it sets a weak {@code ETag} and
+ * {@code Last-Modified} derived from the counters of the tables the response is built from,
+ * and returns {@code true} (response already turned into a 304) when the client's
+ * {@code If-None-Match} / {@code If-Modified-Since} still matches. The tag covers a whole
+ * table, so any write to it invalidates every response read from it – coarse, but exact,
+ * and free to check. {@code If-None-Match} decides whenever it is sent; {@code Last-Modified}
+ * is left out while the tables changed within the current second (see
+ * {@link TableChanges#validators}), so {@code If-Modified-Since} alone never hides a change.
+ *
+ * <p>{@code Cache-Control} defaults to {@code no-cache}: clients may keep the body but must
+ * revalidate each time, which costs one round trip and no query.
+ */
+@Component
+public class ConditionalGet {
+
+    private final TableChanges changes;
+    private final String       cacheControl;
+
+    public ConditionalGet(TableChanges changes,
+                          @Value("${workshop.api.cache.max-age:0s}") Duration maxAge) {
+        this.changes      = changes;
+        this.cacheControl = (maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge))
+                .cachePrivate().getHeaderValue();
+    }
+
+    /**
+     * @param tables every table the response reads
+     * @return {@code true} when the caller must return {@code null} (304 already prepared)
+     */
+    public boolean notModified(WebRequest request, Table... tables) {
+        if (request instanceof NativeWebRequest nativeRequest
+                && nativeRequest.getNativeResponse() instanceof HttpServletResponse response) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        TableChanges.Validators validators = changes.validators(tables);
+        // Spring evaluates If-None-Match first and, when it is sent, ignores If-Modified-Since
+        // (RFC 9110 §13.2.2); lastModified -1 sends no Last-Modified and skips If-Modified-Since
+        return request.checkNotModified(validators.etag(), validators.lastModified());
+    }
+}
@@ -1,15 +1,25 @@
 package com.naturgy.workshop.api.controller;
 
+import com.naturgy.workshop.domain.change.TableChanges.Table;
 import com.naturgy.workshop.domain.model.Contract;
 import com.naturgy.workshop.domain.model.Meter;
+import com.naturgy.workshop.domain.projection.ContractSummary;
 import com.naturgy.workshop.domain.repository.ContractRepository;
 import com.naturgy.workshop.domain.repository.MeterRepository;
+import com.naturgy.workshop.service.BillEstimateService;
+import com.naturgy.workshop.service.BillEstimateService.BillEstimate;
 import com.naturgy.workshop.service.CsvImportService;
+import com.naturgy.workshop.service.imports.ImportJob;
+import com.naturgy.workshop.service.imports.ImportJobService;
+import com.naturgy.workshop.service.imports.ImportKind;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -17,32 +27,76 @@ import java.util.NoSuchElementException;
 @RequestMapping("/api/contracts")
 public class ContractController {
 
-    private final ContractRepository contractRepo;
-    private final MeterRepository    meterRepo;
-    private final CsvImportService   csvImport;
+    private final ContractRepository  contractRepo;
+    private final MeterRepository     meterRepo;
+    private final CsvImportService    csvImport;
+    private final ImportJobService    importJobs;
+    private final BillEstimateService estimates;
+    private final ListPaging          paging;
+    private final ConditionalGet      conditional;
 
     public ContractController(ContractRepository contractRepo,
                               MeterRepository meterRepo,
-                              CsvImportService csvImport) {
+                              CsvImportService csvImport,
+                              ImportJobService importJobs,
+                              BillEstimateService estimates,
+                              ListPaging paging,
+                              ConditionalGet conditional) {
         this.contractRepo = contractRepo;
         this.meterRepo    = meterRepo;
         this.csvImport    = csvImport;
+        this.importJobs   = importJobs;
+        this.estimates    = estimates;
+        this.paging       = paging;
+        this.conditional  = conditional;
     }
 
+    /**
+     * Contract columns with {@code meter: {meterId}}, one query, no meter join.
+     * Keyset-paged by contractId (see {@link ListPaging}); revalidated without a query
+     * (see {@link ConditionalGet}).
+     * GET /api/contracts?meterId=MTR0001&limit=100&cursor=…&count=true
+     */
     @GetMapping
-    public List<Contract> findAll(@RequestParam(required = false) String meterId) {
+    public ResponseEntity<List<ContractSummary>> findAll(@RequestParam(required = false) String meterId,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "false") boolean count,
+                                                         WebRequest request) {
+        String after = cursor == null ? "" : ListPaging.decode(cursor, 1).get(0);
+        Pageable page = paging.limit(limit);
+        if (conditional.notModified(request, Table.CONTRACTS)) {
+            return null;
+        }
         if (meterId != null) {
-            return contractRepo.findByMeter_MeterId(meterId);
+            return paging.respond(contractRepo.findSummariesByMeterIdAfter(meterId, after, page),
+                    c -> List.of(c.contractId()),
+                    count ? () -> contractRepo.countByMeter_MeterId(meterId) : null);
         }
-        return contractRepo.findAll();
+        return paging.respond(contractRepo.findSummariesAfter(after, page),
+                c -> List.of(c.contractId()),
+                count ? contractRepo::count : null);
     }
 
     @GetMapping("/{id}")
-    public Contract findById(@PathVariable String id) {
-        return contractRepo.findById(id)
+    public ContractSummary findById(@PathVariable String id, WebRequest request) {
+        if (conditional.notModified(request, Table.CONTRACTS)) {
+            return null;
+        }
+        return contractRepo.findSummaryById(id)
                 .orElseThrow(() -> new NoSuchElementException("Contract not found: " + id));
     }
 
+    /**
+     * Bill so far for a month (default: the current one), from running consumption totals –
+     * no readings query.
+     * GET /api/contracts/CONT001/estimate?period=2026-10
+     */
+    @GetMapping("/{id}/estimate")
+    public BillEstimate estimate(@PathVariable String id, @RequestParam(required = false) String period) {
+        return estimates.estimate(id, period);
+    }
+
     @PostMapping
     public ResponseEntity<Contract> create(@RequestBody Contract contract) {
         if (contractRepo.existsById(contract.getContractId())) {
@@ -57,12 +111,13 @@ public class ContractController {
         return ResponseEntity.status(HttpStatus.CREATED).body(contractRepo.save(contract));
     }
 
+    /** Last write wins, as for meters. */
     @PutMapping("/{id}")
     public Contract update(@PathVariable String id, @RequestBody Contract contract) {
-        if (!contractRepo.existsById(id)) {
-            throw new NoSuchElementException("Contract not found: " + id);
-        }
+        long version = contractRepo.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementException("Contract not found: " + id));
         contract.setContractId(id);
+        contract.setVersion(version);
         if (contract.getMeter() != null && contract.getMeter().getMeterId() != null) {
             Meter meter = meterRepo.findById(contract.getMeter().getMeterId())
                     .orElseThrow(() -> new NoSuchElementException("Meter not found: " + contract.getMeter().getMeterId()));
@@ -80,8 +135,19 @@ public class ContractController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Import CSV. With {@code async=true} the import runs as a background job and the
+     * response is 202 with the job status (poll {@code /api/import-jobs/{id}}).
+     */
     @PostMapping("/import")
-    public ResponseEntity<CsvImportService.ImportResult> importCsv(@RequestParam("file") MultipartFile file) throws Exception {
+    public ResponseEntity<?> importCsv(@RequestParam("file") MultipartFile file,
+                                       @RequestParam(defaultValue = "false") boolean async) throws Exception {
+        if (async) {
+            ImportJob job = importJobs.submit(ImportKind.CONTRACTS, file);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/import-jobs/" + job.getId()))
+                    .body(job.status());
+        }
         CsvImportService.ImportResult result = csvImport.importContracts(file);
         return ResponseEntity.ok(result);
     }
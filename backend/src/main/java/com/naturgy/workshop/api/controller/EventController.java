@@ -0,0 +1,30 @@
+package com.naturgy.workshop.api.controller;
+
+import com.naturgy.workshop.api.events.ProgressEventHub;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    private final ProgressEventHub hub;
+
+    public EventController(ProgressEventHub hub) {
+        this.hub = hub;
+    }
+
+    /**
+     * Live billing/import progress as server-sent events ({@code event: progress}, data = JSON
+     * array of operation snapshots).
+     * GET /api/events
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events() {
+        return hub.subscribe();
+    }
+}
@@ -0,0 +1,54 @@
+package com.naturgy.workshop.api.controller;
+
+import com.naturgy.workshop.service.CsvImportService;
+import com.naturgy.workshop.service.imports.CsvBundleImportService;
+import com.naturgy.workshop.service.imports.ImportContext;
+import com.naturgy.workshop.service.imports.ImportJob;
+import com.naturgy.workshop.service.imports.ImportJobService;
+import com.naturgy.workshop.service.imports.ImportKind;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Multi-table import from a single zip archive.
+ */
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    private final CsvBundleImportService bundleImport;
+    private final ImportJobService       importJobs;
+    private final int                    errorSampleSize;
+
+    public ImportController(CsvBundleImportService bundleImport,
+                            ImportJobService importJobs,
+                            @Value("${workshop.import.error-sample-size:100}") int errorSampleSize) {
+        this.bundleImport    = bundleImport;
+        this.importJobs      = importJobs;
+        this.errorSampleSize = errorSampleSize;
+    }
+
+    /**
+     * Import a zip holding meters*.csv, contracts*.csv and/or readings*.csv, in FK order.
+     * POST /api/import            → 200 with one ImportResult per table
+     * POST /api/import?async=true → 202 with the job status
+     */
+    @PostMapping
+    public ResponseEntity<?> importBundle(@RequestParam("file") MultipartFile file,
+                                          @RequestParam(defaultValue = "false") boolean async) throws Exception {
+        if (async) {
+            ImportJob job = importJobs.submit(ImportKind.BUNDLE, file);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/import-jobs/" + job.getId()))
+                    .body(job.status());
+        }
+        Map<ImportKind, CsvImportService.ImportResult> results = bundleImport.importBundle(file,
+                kind -> ImportContext.inMemory(file.getSize(), errorSampleSize));
+        return ResponseEntity.ok(results);
+    }
+}
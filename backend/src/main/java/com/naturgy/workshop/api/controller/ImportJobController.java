@@ -0,0 +1,57 @@
+package com.naturgy.workshop.api.controller;
+
+import com.naturgy.workshop.service.imports.ImportJob;
+import com.naturgy.workshop.service.imports.ImportJobService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Status, cancellation and error reports for background CSV imports.
+ * Jobs are started with {@code POST /api/{meters|contracts|readings}/import?async=true}.
+ */
+@RestController
+@RequestMapping("/api/import-jobs")
+public class ImportJobController {
+
+    private final ImportJobService jobs;
+
+    public ImportJobController(ImportJobService jobs) {
+        this.jobs = jobs;
+    }
+
+    @GetMapping
+    public List<ImportJob.Status> list() {
+        return jobs.list().stream().map(ImportJob::status).toList();
+    }
+
+    @GetMapping("/{id}")
+    public ImportJob.Status get(@PathVariable String id) {
+        return jobs.get(id).status();
+    }
+
+    /** Request cancellation; returns the job status (state becomes CANCELLED once it stops). */
+    @DeleteMapping("/{id}")
+    public ImportJob.Status cancel(@PathVariable String id) {
+        return jobs.cancel(id).status();
+    }
+
+    /**
+     * Full error report as CSV ({@code line,message}).
+     * GET /api/import-jobs/{id}/errors
+     */
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<Resource> errors(@PathVariable String id) {
+        ImportJob job = jobs.get(id);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"import-" + id + "-errors.csv\"")
+                .contentType(new MediaType("text", "csv"))
+                .body(new FileSystemResource(job.errorsFile()));
+    }
+}
@@ -0,0 +1,201 @@
+package com.naturgy.workshop.api.controller;
+
+import com.naturgy.workshop.service.InvoicesGeneratedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serialized pages of {@code GET /api/invoices}, per period, so repeated portal and
+ * dashboard requests skip both the query and JSON serialization.
+ *
+ * <ul>
+ *   <li><b>Invalidation</b> – invoices only change when a billing run generates them, so the
+ *       pages of a period are dropped once that run commits ({@link InvoicesGeneratedEvent}),
+ *       together with the unfiltered list. A page being loaded while the commit happens is
+ *       handed to the requests already waiting for it but not stored.</li>
+ *   <li><b>Coalescing</b> – concurrent misses for the same page wait for the first one's
+ *       query instead of running their own.</li>
+ *   <li><b>Bound</b> – total body bytes, {@code max-size}; least recently used pages go
+ *       first. {@code 0} turns the cache off.</li>
+ * </ul>
+ * Requests made inside a caller's transaction (which may see its uncommitted invoices)
+ * bypass the cache in both directions.
+ */
+@Component
+public class InvoiceListCache {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceListCache.class);
+
+    /** Map entry, key and bookkeeping, roughly; bodies are the bulk anyway. */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final long maxBytes;
+
+    /** Guards everything below. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Access-ordered: iteration starts at the least recently used page. */
+    private final LinkedHashMap<Key, Page>                 pages       = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Key, CompletableFuture<Page>>        loading     = new HashMap<>();
+    /** Bumped per period ({@code ""} = unfiltered list) on every invalidation. */
+    private final Map<String, Long>                        generations = new HashMap<>();
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long coalesced;
+    private long evictions;
+    private long invalidations;
+
+    public InvoiceListCache(@Value("${workshop.invoices.list-cache.max-size:16MB}") DataSize maxSize) {
+        this.maxBytes = maxSize.toBytes();
+        log.info("[InvoiceListCache] maxSize={}", maxSize);
+    }
+
+    /**
+     * The cached page for {@code key}, or {@code loader}'s result, stored unless an
+     * invalidation of its period happened meanwhile. A loader failure reaches every
+     * request that was waiting for it, and nothing is stored.
+     */
+    public Page get(Key key, Supplier<Page> loader) {
+        if (maxBytes == 0 || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        CompletableFuture<Page> pending;
+        CompletableFuture<Page> mine = null;
+        long generation;
+        lock.lock();
+        try {
+            Page page = pages.get(key);
+            if (page != null) {
+                hits++;
+                return page;
+            }
+            generation = generation(key.scope());
+            pending = loading.get(key);
+            if (pending == null) {
+                mine = new CompletableFuture<>();
+                loading.put(key, mine);
+                misses++;
+            } else {
+                coalesced++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (mine == null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException r ? r : e;
+            }
+        }
+
+        Page page;
+        try {
+            page = loader.get();
+        } catch (RuntimeException e) {
+            finishLoad(key, mine, null, generation);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        finishLoad(key, mine, page, generation);
+        mine.complete(page);
+        return page;
+    }
+
+    /** Drops the pages of {@code period} and of the unfiltered list. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvoicesGenerated(InvoicesGeneratedEvent event) {
+        invalidate(event.period());
+    }
+
+    public void invalidate(String period) {
+        lock.lock();
+        try {
+            int dropped = 0;
+            for (String scope : new String[]{period, ""}) {
+                generations.merge(scope, 1L, Long::sum);
+                // later requests must not join a load that may predate the commit
+                loading.keySet().removeIf(k -> k.scope().equals(scope));
+                Iterator<Map.Entry<Key, Page>> it = pages.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<Key, Page> e = it.next();
+                    if (e.getKey().scope().equals(scope)) {
+                        bytes -= e.getValue().weight();
+                        it.remove();
+                        dropped++;
+                    }
+                }
+            }
+            invalidations++;
+            log.debug("[InvoiceListCache] period {} invalidated, {} pages dropped", period, dropped);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(pages.size(), bytes, maxBytes, hits, misses, coalesced, evictions, invalidations);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Caller holds {@code lock}. */
+    private long generation(String scope) {
+        return generations.getOrDefault(scope, 0L);
+    }
+
+    private void finishLoad(Key key, CompletableFuture<Page> mine, Page page, long generation) {
+        lock.lock();
+        try {
+            loading.remove(key, mine);
+            if (page == null || page.weight() > maxBytes || generation(key.scope()) != generation) return;
+            Page previous = pages.put(key, page);
+            if (previous != null) bytes -= previous.weight();
+            bytes += page.weight();
+            Iterator<Page> lru = pages.values().iterator();
+            while (bytes > maxBytes && lru.hasNext()) {
+                bytes -= lru.next().weight();
+                lru.remove();
+                evictions++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** One list request: period ({@code null} = all), page size, cursor, whether counted. */
+    public record Key(String period, int limit, String cursor, boolean count) {
+        String scope() {
+            return period == null ? "" : period;
+        }
+    }
+
+    /** A serialized page and its paging headers ({@link ListPaging}). */
+    public record Page(byte[] json, String nextCursor, Long total) {
+        long weight() {
+            return json.length + ENTRY_OVERHEAD;
+        }
+    }
+
+    /** Since startup; {@code coalesced} = misses that waited for another request's query. */
+    public record Stats(int pages, long bytes, long maxBytes, long hits, long misses, long coalesced,
+                        long evictions, long invalidations) {}
+}
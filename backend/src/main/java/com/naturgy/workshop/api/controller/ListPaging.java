@@ -0,0 +1,106 @@
+package com.naturgy.workshop.api.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyset pagination for list endpoints.
+ *
+ * <p>Bodies stay plain JSON arrays; paging travels in headers:
+ * <ul>
+ *   <li>{@code X-Next-Cursor} and {@code Link: <…?cursor=…>; rel="next"} when more rows
+ *       exist (absent on the last page);</li>
+ *   <li>{@code X-Total-Count} only when the client asks with {@code count=true}, since it
+ *       costs an extra query.</li>
+ * </ul>
+ * A cursor is the opaque (base64url) sort key of the last row returned; the next page
+ * continues strictly after it, so rows inserted meanwhile never shift or repeat a page.
+ */
+@Component
+public class ListPaging {
+
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+    public static final String TOTAL_COUNT = "X-Total-Count";
+
+    private static final String SEPARATOR = "\n";
+
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public ListPaging(@Value("${workshop.api.list.default-limit:500}") int defaultLimit,
+                      @Value("${workshop.api.list.max-limit:5000}") int maxLimit) {
+        this.defaultLimit = defaultLimit;
+        this.maxLimit     = maxLimit;
+    }
+
+    /** Page request for {@code limit} rows (default when {@code null}). */
+    public Pageable limit(Integer limit) {
+        int n = limit == null ? defaultLimit : limit;
+        if (n < 1 || n > maxLimit) {
+            throw new IllegalArgumentException("limit must be 1-" + maxLimit);
+        }
+        return PageRequest.ofSize(n);
+    }
+
+    /**
+     * @param sortKey sort-key parts of a row, in {@code ORDER BY} order
+     * @param total   exact count, or {@code null} when not requested
+     */
+    public <T> ResponseEntity<List<T>> respond(Slice<T> slice, Function<T, List<String>> sortKey, LongSupplier total) {
+        return headers(nextCursor(slice, sortKey), total == null ? null : total.getAsLong())
+                .body(slice.getContent());
+    }
+
+    /** Cursor continuing after the last row of {@code slice}, or {@code null} on the last page. */
+    public <T> String nextCursor(Slice<T> slice, Function<T, List<String>> sortKey) {
+        return slice.hasNext() ? encode(sortKey.apply(slice.getContent().get(slice.getNumberOfElements() - 1))) : null;
+    }
+
+    /** A 200 response with the paging headers for {@code nextCursor} and {@code total}, both optional. */
+    public ResponseEntity.BodyBuilder headers(String nextCursor, Long total) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", nextCursor)
+                    .build().toUriString();
+            response.header(NEXT_CURSOR, nextCursor)
+                    .header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        if (total != null) {
+            response.header(TOTAL_COUNT, Long.toString(total));
+        }
+        return response;
+    }
+
+    static String encode(List<String> parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the {@code parts} sort-key values of {@code cursor}
+     * @throws IllegalArgumentException when the cursor is not one of ours
+     */
+    static List<String> decode(String cursor, int parts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> values = List.of(raw.split(SEPARATOR, -1));
+            if (values.size() != parts) throw new IllegalArgumentException();
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor '" + cursor + "'");
+        }
+    }
+}
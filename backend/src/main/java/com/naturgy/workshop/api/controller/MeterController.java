@@ -1,37 +1,112 @@
 package com.naturgy.workshop.api.controller;
 
+import com.naturgy.workshop.api.dto.ChildPage;
+import com.naturgy.workshop.api.dto.MeterDetail;
+import com.naturgy.workshop.domain.change.TableChanges.Table;
 import com.naturgy.workshop.domain.model.Meter;
+import com.naturgy.workshop.domain.projection.MeterSummary;
+import com.naturgy.workshop.domain.repository.ContractRepository;
 import com.naturgy.workshop.domain.repository.MeterRepository;
+import com.naturgy.workshop.domain.repository.ReadingRepository;
 import com.naturgy.workshop.service.CsvImportService;
+import com.naturgy.workshop.service.imports.ImportJob;
+import com.naturgy.workshop.service.imports.ImportJobService;
+import com.naturgy.workshop.service.imports.ImportKind;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/meters")
 public class MeterController {
 
+    private static final Set<String> EXPANSIONS    = Set.of("contracts", "readings");
+    private static final int         MAX_PAGE_SIZE = 1000;
+
     private final MeterRepository    meterRepo;
+    private final ContractRepository contractRepo;
+    private final ReadingRepository  readingRepo;
     private final CsvImportService   csvImport;
+    private final ImportJobService   importJobs;
+    private final ListPaging         paging;
+    private final ConditionalGet     conditional;
 
-    public MeterController(MeterRepository meterRepo, CsvImportService csvImport) {
-        this.meterRepo = meterRepo;
-        this.csvImport = csvImport;
+    public MeterController(MeterRepository meterRepo, ContractRepository contractRepo,
+                           ReadingRepository readingRepo, CsvImportService csvImport,
+                           ImportJobService importJobs, ListPaging paging, ConditionalGet conditional) {
+        this.meterRepo    = meterRepo;
+        this.contractRepo = contractRepo;
+        this.readingRepo  = readingRepo;
+        this.csvImport    = csvImport;
+        this.importJobs   = importJobs;
+        this.paging       = paging;
+        this.conditional  = conditional;
     }
 
+    /**
+     * Meter columns only, one query; contracts and readings are not loaded.
+     * Keyset-paged by meterId (see {@link ListPaging}); revalidated without a query
+     * (see {@link ConditionalGet}).
+     * GET /api/meters?limit=100&cursor=…&count=true
+     */
     @GetMapping
-    public List<Meter> findAll() {
-        return meterRepo.findAll();
+    public ResponseEntity<List<MeterSummary>> findAll(@RequestParam(required = false) Integer limit,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "false") boolean count,
+                                                      WebRequest request) {
+        String after = cursor == null ? "" : ListPaging.decode(cursor, 1).get(0);
+        Pageable page = paging.limit(limit);
+        if (conditional.notModified(request, Table.METERS)) {
+            return null;
+        }
+        return paging.respond(meterRepo.findSummariesAfter(after, page),
+                m -> List.of(m.meterId()),
+                count ? meterRepo::count : null);
     }
 
+    /**
+     * Meter columns; {@code ?expand=contracts,readings} adds one page of each requested child
+     * collection ({@code page}/{@code size} apply to each, readings newest first). The ETag
+     * covers the expanded tables too.
+     * GET /api/meters/MTR0001?expand=readings&size=24
+     */
     @GetMapping("/{id}")
-    public Meter findById(@PathVariable String id) {
-        return meterRepo.findById(id)
+    public MeterDetail findById(@PathVariable String id,
+                                @RequestParam(required = false) Set<String> expand,
+                                @RequestParam(defaultValue = "0") int page,
+                                @RequestParam(defaultValue = "100") int size,
+                                WebRequest request) {
+        Set<String> expansions = expand == null ? Set.of() : expand;
+        if (!EXPANSIONS.containsAll(expansions)) {
+            throw new IllegalArgumentException("expand must be any of " + EXPANSIONS + ", got " + expansions);
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("page must be >= 0 and size 1-" + MAX_PAGE_SIZE);
+        }
+        List<Table> tables = new ArrayList<>(List.of(Table.METERS));
+        if (expansions.contains("contracts")) tables.add(Table.CONTRACTS);
+        if (expansions.contains("readings"))  tables.add(Table.READINGS);
+        if (conditional.notModified(request, tables.toArray(Table[]::new))) {
+            return null;
+        }
+        MeterSummary meter = meterRepo.findSummaryById(id)
                 .orElseThrow(() -> new NoSuchElementException("Meter not found: " + id));
+        PageRequest pageRequest = PageRequest.of(page, size);
+        return new MeterDetail(meter,
+                expansions.contains("contracts")
+                        ? ChildPage.of(contractRepo.findSummariesByMeterId(id, pageRequest)) : null,
+                expansions.contains("readings")
+                        ? ChildPage.of(readingRepo.findSummariesByMeterId(id, pageRequest)) : null);
     }
 
     @PostMapping
@@ -42,12 +117,13 @@ public class MeterController {
         return ResponseEntity.status(HttpStatus.CREATED).body(meterRepo.save(meter));
     }
 
+    /** Last write wins: the body's version (if any) is replaced by the stored one. */
     @PutMapping("/{id}")
     public Meter update(@PathVariable String id, @RequestBody Meter meter) {
-        if (!meterRepo.existsById(id)) {
-            throw new NoSuchElementException("Meter not found: " + id);
-        }
+        long version = meterRepo.findVersionById(id)
+                .orElseThrow(() -> new NoSuchElementException("Meter not found: " + id));
         meter.setMeterId(id);
+        meter.setVersion(version);
         return meterRepo.save(meter);
     }
 
@@ -60,8 +136,19 @@ public class MeterController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Import CSV. With {@code async=true} the import runs as a background job and the
+     * response is 202 with the job status (poll {@code /api/import-jobs/{id}}).
+     */
     @PostMapping("/import")
-    public ResponseEntity<CsvImportService.ImportResult> importCsv(@RequestParam("file") MultipartFile file) throws Exception {
+    public ResponseEntity<?> importCsv(@RequestParam("file") MultipartFile file,
+                                       @RequestParam(defaultValue = "false") boolean async) throws Exception {
+        if (async) {
+            ImportJob job = importJobs.submit(ImportKind.METERS, file);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/import-jobs/" + job.getId()))
+                    .body(job.status());
+        }
         CsvImportService.ImportResult result = csvImport.importMeters(file);
         return ResponseEntity.ok(result);
     }
@@ -1,45 +1,106 @@
 package com.naturgy.workshop.api.controller;
 
+import com.naturgy.workshop.api.wire.ReadingColumnarCodec;
+import com.naturgy.workshop.api.wire.ReadingColumnarHttpMessageConverter;
+import com.naturgy.workshop.domain.change.TableChanges.Table;
 import com.naturgy.workshop.domain.model.Reading;
 import com.naturgy.workshop.domain.model.ReadingId;
+import com.naturgy.workshop.domain.projection.ReadingSummary;
 import com.naturgy.workshop.domain.repository.ReadingRepository;
 import com.naturgy.workshop.service.CsvImportService;
+import com.naturgy.workshop.service.export.ReadingExportService;
+import com.naturgy.workshop.service.gapfill.GapFillResult;
+import com.naturgy.workshop.service.gapfill.GapFillService;
+import com.naturgy.workshop.service.imports.ImportJob;
+import com.naturgy.workshop.service.imports.ImportJobService;
+import com.naturgy.workshop.service.imports.ImportKind;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.net.URI;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.LongSupplier;
 
 @RestController
 @RequestMapping("/api/readings")
 public class ReadingController {
 
-    private final ReadingRepository readingRepo;
-    private final CsvImportService  csvImport;
+    /** Date bounds when {@code from}/{@code to} are not given. */
+    private static final LocalDate FIRST_DAY = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LAST_DAY  = LocalDate.of(9999, 12, 31);
 
-    public ReadingController(ReadingRepository readingRepo, CsvImportService csvImport) {
-        this.readingRepo = readingRepo;
-        this.csvImport   = csvImport;
+    private final ReadingRepository    readingRepo;
+    private final ReadingExportService readingExport;
+    private final CsvImportService     csvImport;
+    private final ImportJobService     importJobs;
+    private final GapFillService       gapFill;
+    private final ListPaging           paging;
+    private final ConditionalGet       conditional;
+
+    public ReadingController(ReadingRepository readingRepo, ReadingExportService readingExport,
+                             CsvImportService csvImport, ImportJobService importJobs, GapFillService gapFill,
+                             ListPaging paging, ConditionalGet conditional) {
+        this.readingRepo   = readingRepo;
+        this.readingExport = readingExport;
+        this.csvImport     = csvImport;
+        this.importJobs    = importJobs;
+        this.gapFill       = gapFill;
+        this.paging        = paging;
+        this.conditional   = conditional;
     }
 
+    /**
+     * Projected straight from the readings table; entities are not hydrated. Keyset-paged on
+     * (meterId, date, hour) (see {@link ListPaging}); revalidated without a query (see
+     * {@link ConditionalGet}). {@code from}/{@code to} bound the dates, with or without a meter.
+     * GET /api/readings?meterId=MTR0001&amp;from=2026-01-01&amp;to=2026-01-31&amp;limit=744
+     */
     @GetMapping
-    public List<Reading> findAll(
+    public ResponseEntity<List<ReadingSummary>> findAll(
             @RequestParam(required = false) String meterId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
-
-        if (meterId != null && from != null && to != null) {
-            return readingRepo.findByIdMeterIdAndIdDateBetween(meterId, from, to);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean count,
+            WebRequest request) {
+        LocalDate first = from != null ? from : FIRST_DAY;
+        LocalDate last  = to   != null ? to   : LAST_DAY;
+        Pageable page = paging.limit(limit);
+        if (conditional.notModified(request, Table.READINGS)) {
+            return null;
         }
-        if (meterId != null) {
-            return readingRepo.findByIdMeterIdAndIdDateBetween(meterId,
-                    LocalDate.of(1900, 1, 1), LocalDate.of(9999, 12, 31));
-        }
-        return readingRepo.findAll();
+        return paging.respond(readingPage(meterId, first, last, page, cursor),
+                ReadingController::readingSortKey,
+                count ? readingTotal(meterId, first, last) : null);
+    }
+
+    /**
+     * Every matching reading in one columnar stream (see {@link ReadingColumnarCodec}), for
+     * bulk consumers: read from a database cursor and encoded block by block, so neither side
+     * of the server holds more than a block. Same filters as the list, not paged.
+     * GET /api/readings/export?from=2026-01-01&amp;to=2026-01-31
+     */
+    @GetMapping(value = "/export", produces = ReadingColumnarCodec.MEDIA_TYPE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String meterId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate first = from != null ? from : FIRST_DAY;
+        LocalDate last  = to   != null ? to   : LAST_DAY;
+        return ResponseEntity.ok()
+                .contentType(ReadingColumnarHttpMessageConverter.MEDIA_TYPE)
+                .body(out -> readingExport.export(meterId, first, last, ReadingColumnarCodec.encoder(out)));
     }
 
     @GetMapping("/{meterId}/{date}/{hour}")
@@ -72,9 +133,65 @@ public class ReadingController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Estimates the period's missing hourly readings (stored as {@code ESTIMATED}); see
+     * {@link GapFillService}.
+     * POST /api/readings/gap-fill?period=2026-01
+     */
+    @PostMapping("/gap-fill")
+    public GapFillResult fillGaps(@RequestParam String period) {
+        return gapFill.fill(period);
+    }
+
+    /**
+     * Import CSV. With {@code async=true} the import runs as a background job and the
+     * response is 202 with the job status (poll {@code /api/import-jobs/{id}}).
+     * With {@code bulk=true} rows are loaded through the database's bulk path in a single
+     * transaction (see {@link CsvImportService#importReadingsBulk}).
+     */
     @PostMapping("/import")
-    public ResponseEntity<CsvImportService.ImportResult> importCsv(@RequestParam("file") MultipartFile file) throws Exception {
-        CsvImportService.ImportResult result = csvImport.importReadings(file);
+    public ResponseEntity<?> importCsv(@RequestParam("file") MultipartFile file,
+                                       @RequestParam(defaultValue = "false") boolean async,
+                                       @RequestParam(defaultValue = "false") boolean bulk) throws Exception {
+        if (async) {
+            ImportJob job = importJobs.submit(ImportKind.READINGS, file, bulk);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/import-jobs/" + job.getId()))
+                    .body(job.status());
+        }
+        CsvImportService.ImportResult result = bulk ? csvImport.importReadingsBulk(file)
+                                                     : csvImport.importReadings(file);
         return ResponseEntity.ok(result);
     }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private Slice<ReadingSummary> readingPage(String meterId, LocalDate from, LocalDate to,
+                                              Pageable page, String cursor) {
+        if (cursor == null) {
+            return meterId != null ? readingRepo.findSummaryPageByMeterId(meterId, from, to, page)
+                                   : readingRepo.findSummaryPage(from, to, page);
+        }
+        List<String> key = ListPaging.decode(cursor, 3);
+        LocalDate date;
+        int hour;
+        try {
+            date = LocalDate.parse(key.get(1));
+            hour = Integer.parseInt(key.get(2));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor '" + cursor + "'");
+        }
+        return meterId != null
+                ? readingRepo.findSummaryPageByMeterIdAfter(meterId, from, to, date, hour, page)
+                : readingRepo.findSummaryPageAfter(from, to, key.get(0), date, hour, page);
+    }
+
+    private LongSupplier readingTotal(String meterId, LocalDate from, LocalDate to) {
+        return meterId != null ? () -> readingRepo.countByIdMeterIdAndIdDateBetween(meterId, from, to)
+                               : () -> readingRepo.countByIdDateBetween(from, to);
+    }
+
+    private static List<String> readingSortKey(ReadingSummary r) {
+        return List.of(r.id().meterId(), r.id().date().toString(), r.id().hour().toString());
+    }
 }
@@ -0,0 +1,16 @@
+package com.naturgy.workshop.api.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * One page of an expanded child collection. {@code hasMore} comes from fetching one extra
+ * row, so no count query is run.
+ */
+public record ChildPage<T>(List<T> items, int page, int size, boolean hasMore) {
+
+    public static <T> ChildPage<T> of(Slice<T> slice) {
+        return new ChildPage<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+    }
+}
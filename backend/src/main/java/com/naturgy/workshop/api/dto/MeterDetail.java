@@ -0,0 +1,16 @@
+package com.naturgy.workshop.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.naturgy.workshop.domain.projection.ContractSummary;
+import com.naturgy.workshop.domain.projection.MeterSummary;
+import com.naturgy.workshop.domain.projection.ReadingSummary;
+
+/**
+ * {@code GET /api/meters/{id}}: the meter's own fields, plus a page of contracts and/or
+ * readings only when asked for with {@code ?expand=}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MeterDetail(@JsonUnwrapped MeterSummary meter,
+                          ChildPage<ContractSummary> contracts,
+                          ChildPage<ReadingSummary> readings) {}
@@ -0,0 +1,249 @@
+package com.naturgy.workshop.api.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naturgy.workshop.service.WorkerThreads;
+import com.naturgy.workshop.service.progress.ProgressEvent;
+import com.naturgy.workshop.service.progress.ProgressTracker;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans billing/import progress out to {@code /api/events} subscribers as server-sent events.
+ *
+ * <p>One platform thread drains {@link ProgressTracker} every {@code window} and, when
+ * anything changed, hands the changed operations to every subscriber. Subscribers are async
+ * requests, so open tabs hold a connection each but no thread, and nothing here queries the
+ * database. A comment line goes out after {@code heartbeat} of silence so proxies keep the
+ * connection and dead clients are noticed.
+ *
+ * <p>Writes happen on a fixed pool of {@code senders} threads, at most one write per
+ * subscriber at a time. What a subscriber has not been sent yet is kept per operation,
+ * latest state only, so a slow reader gets fewer, fresher events and never an unbounded
+ * backlog; in the usual case it is one array serialised once for everybody. A subscriber
+ * whose write has taken longer than {@code max-write} (a client that stopped reading) is
+ * dropped: nothing more is queued for it, and its stream is ended once that write returns.
+ * Until then it ties up one sender, so the pool size is also how many stalled clients can
+ * be waited out at once.
+ *
+ * <p>A new subscriber first gets the operations running right now, through its own queue,
+ * so the snapshot never overtakes a newer update. Streams end after {@code timeout};
+ * {@code EventSource} reconnects on its own.
+ */
+@Component
+public class ProgressEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(ProgressEventHub.class);
+
+    static final String EVENT_NAME = "progress";
+
+    private final ProgressTracker          tracker;
+    private final ObjectMapper             json;
+    private final long                     timeoutMillis;
+    private final long                     heartbeatNanos;
+    private final long                     maxWriteNanos;
+    private final List<Subscriber>         subscribers = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService flusher;
+    private final ExecutorService          senders;
+    private long lastSentNanos = System.nanoTime();   // flusher thread only
+
+    public ProgressEventHub(ProgressTracker tracker, ObjectMapper json, WorkerThreads threads,
+                            @Value("${workshop.events.window:500ms}") Duration window,
+                            @Value("${workshop.events.heartbeat:15s}") Duration heartbeat,
+                            @Value("${workshop.events.timeout:30m}") Duration timeout,
+                            @Value("${workshop.events.senders:4}") int senders,
+                            @Value("${workshop.events.max-write:5s}") Duration maxWrite) {
+        this.tracker        = tracker;
+        this.json           = json;
+        this.timeoutMillis  = timeout.toMillis();
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.maxWriteNanos  = maxWrite.toNanos();
+        this.flusher        = Executors.newSingleThreadScheduledExecutor(WorkerThreads.platform("sse-flush"));
+        this.senders        = Executors.newFixedThreadPool(Math.max(1, senders), threads.blocking("sse-send"));
+        flusher.scheduleWithFixedDelay(this::flush, window.toMillis(), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // registered before the snapshot is taken: an update drained in between is already
+        // queued and newer, so the snapshot only fills in the operations it does not cover
+        subscribers.add(subscriber);
+        subscriber.offerSnapshot(tracker.snapshot());
+        return emitter;
+    }
+
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+    }
+
+    private void flush() {
+        try {
+            List<ProgressEvent> changed = tracker.drain();
+            if (!changed.isEmpty()) {
+                broadcast(changed, json.writeValueAsString(changed));
+            } else if (System.nanoTime() - lastSentNanos > heartbeatNanos) {
+                broadcast(List.of(), null);
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // keep the schedule alive; the next window tries again
+            log.warn("[Events] flush failed: {}", e.toString());
+        }
+    }
+
+    /** @param data {@code changed} as JSON, or {@code null} for a heartbeat comment */
+    private void broadcast(List<ProgressEvent> changed, String data) {
+        long now = System.nanoTime();
+        lastSentNanos = now;
+        for (Subscriber subscriber : subscribers) {
+            long writing = subscriber.writingSince;
+            if (writing != 0 && now - writing > maxWriteNanos) {
+                log.info("[Events] dropping subscriber stuck in a write for {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(now - writing));
+                subscriber.drop();
+            } else {
+                subscriber.offer(changed, data);
+            }
+        }
+    }
+
+    private static String key(ProgressEvent event) {
+        return event.kind() + '/' + event.id();
+    }
+
+    /** One stream and what it has not been sent yet. */
+    private final class Subscriber {
+        final SseEmitter emitter;
+
+        /** Unsent operations, latest state each. Guarded by {@code this}, as are the next three. */
+        private final Map<String, ProgressEvent> pending = new LinkedHashMap<>();
+        /** {@code pending} as JSON while it is exactly one broadcast, else {@code null}. */
+        private String  pendingJson;
+        private boolean heartbeat;
+        private boolean scheduled;
+        private boolean dropped;
+
+        /** Start of the write in progress ({@link System#nanoTime()}), 0 when idle. */
+        volatile long writingSince;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /** Flusher thread: merges a broadcast in and makes sure a sender will pick it up. */
+        synchronized void offer(List<ProgressEvent> changed, String data) {
+            if (dropped) return;
+            if (data == null) {
+                heartbeat = true;
+            } else {
+                pendingJson = pending.isEmpty() ? data : null;
+                for (ProgressEvent e : changed) {
+                    pending.remove(key(e));   // re-insert: keeps the array in update order
+                    pending.put(key(e), e);
+                }
+            }
+            schedule();
+        }
+
+        /** Operations running at subscribe time; anything already queued is newer and wins. */
+        synchronized void offerSnapshot(List<ProgressEvent> running) {
+            if (running.isEmpty()) return;
+            for (ProgressEvent e : running) pending.putIfAbsent(key(e), e);
+            pendingJson = null;
+            schedule();
+        }
+
+        synchronized void drop() {
+            dropped = true;
+            pending.clear();
+            subscribers.remove(this);
+        }
+
+        private void schedule() {
+            if (!scheduled) {
+                scheduled = true;
+                senders.execute(this::send);
+            }
+        }
+
+        /** Sender thread: writes whatever is pending, until nothing is. */
+        private void send() {
+            while (true) {
+                List<ProgressEvent> events;
+                String data;
+                boolean comment;
+                synchronized (this) {
+                    if (dropped || (pending.isEmpty() && !heartbeat)) {
+                        scheduled = false;
+                        return;
+                    }
+                    events      = new ArrayList<>(pending.values());
+                    data        = pendingJson;
+                    comment     = heartbeat && events.isEmpty();
+                    pending.clear();
+                    pendingJson = null;
+                    heartbeat   = false;
+                }
+                writingSince = System.nanoTime();
+                try {
+                    if (comment) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else {
+                        if (data == null) data = json.writeValueAsString(events);
+                        emitter.send(SseEmitter.event().name(EVENT_NAME).data(data));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // gone (or already completed): the container reports the error, we just stop writing
+                    drop();
+                } finally {
+                    writingSince = 0;
+                }
+                boolean end;
+                synchronized (this) {
+                    end = dropped;
+                }
+                if (end) {
+                    // dropped as too slow while this write was blocked: end the stream so it reconnects
+                    complete();
+                    synchronized (this) {
+                        scheduled = false;
+                    }
+                    return;
+                }
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                log.debug("[Events] completing a dropped stream failed: {}", e.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.naturgy.workshop.api.wire;
+
+import com.naturgy.workshop.domain.enums.ReadingQuality;
+import com.naturgy.workshop.domain.projection.ReadingSummary;
+import com.naturgy.workshop.service.export.ReadingExportWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compact columnar encoding of reading rows ({@value #MEDIA_TYPE}), for consumers pulling
+ * large volumes of readings.
+ *
+ * <p>Layout, all integers as unsigned LEB128 varints ({@code z:} zigzag-encoded first):
+ * <pre>
+ * "WRC2"  block*  0
+ * block   := rows  meters  time  kwh  quality     0 &lt; rows &lt;= BLOCK_ROWS
+ * meters  := len  dictSize (utf8Len utf8)*  (dictIndex runLength)*
+ * time    := len  (z:delta)*                 hour number epochDay*24+hour, delta to previous row
+ * kwh     := len  scale (z:unscaled)*        kwh = unscaled * 10^-scale
+ * quality := len  dictSize (utf8Len utf8)*  (dictIndex+1 runLength)*   0 = no quality
+ * </pre>
+ * Each column is length-prefixed, so a reader can skip the ones it does not need. Rows
+ * usually arrive ordered by meter and time, which makes the meter and quality columns a
+ * handful of runs and most time deltas a single byte.
+ *
+ * <p>Blocks are self-contained (own dictionaries, time deltas from 0), so the {@link Encoder}
+ * writes one out every {@value #BLOCK_ROWS} rows and never holds more than that: a stream
+ * of any length goes out in constant memory.
+ */
+public final class ReadingColumnarCodec {
+
+    public static final String MEDIA_TYPE = "application/vnd.naturgy.readings.columnar";
+
+    /** Rows per block; what the encoder buffers at most. */
+    static final int BLOCK_ROWS = 8192;
+
+    private static final byte[] MAGIC = {'W', 'R', 'C', '2'};
+
+    private ReadingColumnarCodec() {}
+
+    public static void encode(List<ReadingSummary> rows, OutputStream out) throws IOException {
+        Encoder encoder = encoder(out);
+        for (ReadingSummary r : rows) {
+            encoder.row(r);
+        }
+        encoder.finish();
+    }
+
+    /** Streaming encoder onto {@code out}, which is flushed by {@link Encoder#finish} but left open. */
+    public static Encoder encoder(OutputStream out) {
+        return new Encoder(out);
+    }
+
+    /**
+     * @throws IllegalArgumentException when {@code in} is not a well-formed payload
+     */
+    public static List<ReadingSummary> decode(InputStream in) throws IOException {
+        try {
+            if (!Arrays.equals(in.readNBytes(MAGIC.length), MAGIC)) {
+                throw new IllegalArgumentException("Not a columnar readings payload");
+            }
+            List<ReadingSummary> result = new ArrayList<>();
+            for (int rows; (rows = Math.toIntExact(varint(in))) > 0; ) {
+                decodeBlock(in, rows, result);
+            }
+            return result;
+        } catch (BufferUnderflowException | ArithmeticException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated or corrupt columnar readings payload", e);
+        }
+    }
+
+    /** Writes rows as they come, one block at a time. */
+    public static final class Encoder implements ReadingExportWriter {
+        private final OutputStream         out;
+        private final List<ReadingSummary> block = new ArrayList<>();
+        private boolean started;
+
+        private Encoder(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void row(ReadingSummary row) throws IOException {
+            block.add(row);
+            if (block.size() == BLOCK_ROWS) writeBlock();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writeBlock();
+            Buffer end = new Buffer();
+            end.varint(0);
+            end.writeTo(out);
+            out.flush();
+        }
+
+        private void writeBlock() throws IOException {
+            if (!started) {
+                out.write(MAGIC);
+                started = true;
+            }
+            if (block.isEmpty()) return;
+
+            Buffer meters  = new Buffer();
+            Buffer time    = new Buffer();
+            Buffer kwh     = new Buffer();
+            Buffer quality = new Buffer();
+
+            Runs meterRuns   = new Runs(false);
+            Runs qualityRuns = new Runs(true);
+            long previousHour = 0;
+            int  scale = 0;
+            for (ReadingSummary r : block) {
+                scale = Math.max(scale, r.kwh().scale());
+            }
+            kwh.varint(scale);
+            for (ReadingSummary r : block) {
+                ReadingSummary.Key id = r.id();
+                meterRuns.add(id.meterId());
+                qualityRuns.add(r.quality() == null ? null : r.quality().name());
+                long hour = id.date().toEpochDay() * 24 + id.hour();
+                time.zigzag(hour - previousHour);
+                previousHour = hour;
+                kwh.zigzag(r.kwh().setScale(scale).unscaledValue().longValueExact());
+            }
+            meterRuns.writeTo(meters);
+            qualityRuns.writeTo(quality);
+
+            Buffer header = new Buffer();
+            header.varint(block.size());
+            header.writeTo(out);
+            for (Buffer column : List.of(meters, time, kwh, quality)) {
+                Buffer length = new Buffer();
+                length.varint(column.size());
+                length.writeTo(out);
+                column.writeTo(out);
+            }
+            block.clear();
+        }
+    }
+
+    // ── Decoding helpers ──────────────────────────────────────────────────────
+
+    private static void decodeBlock(InputStream in, int rows, List<ReadingSummary> result) throws IOException {
+        String[] meterIds  = runs(column(in), rows, 0);
+        ByteBuffer time    = column(in);
+        ByteBuffer kwh     = column(in);
+        String[] qualities = runs(column(in), rows, 1);
+
+        int scale = Math.toIntExact(varint(kwh));
+        long hour = 0;
+        for (int i = 0; i < rows; i++) {
+            hour += zigzag(time);
+            result.add(new ReadingSummary(meterIds[i],
+                    LocalDate.ofEpochDay(Math.floorDiv(hour, 24)), (int) Math.floorMod(hour, 24),
+                    BigDecimal.valueOf(zigzag(kwh), scale),
+                    qualities[i] == null ? null : ReadingQuality.valueOf(qualities[i])));
+        }
+    }
+
+    private static ByteBuffer column(InputStream in) throws IOException {
+        int length = Math.toIntExact(varint(in));
+        byte[] column = in.readNBytes(length);
+        if (column.length < length) throw new BufferUnderflowException();
+        return ByteBuffer.wrap(column);
+    }
+
+    /** Expands a {@link Runs} column; {@code base} 1 for a nullable one. */
+    private static String[] runs(ByteBuffer column, int rows, int base) {
+        String[] dictionary = new String[Math.toIntExact(varint(column))];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] utf8 = new byte[Math.toIntExact(varint(column))];
+            column.get(utf8);
+            dictionary[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        String[] values = new String[rows];
+        int row = 0;
+        while (row < rows) {
+            int index = Math.toIntExact(varint(column)) - base;
+            int length = Math.toIntExact(varint(column));
+            String value = index < 0 ? null : dictionary[index];
+            for (int end = row + length; row < end; row++) values[row] = value;
+        }
+        return values;
+    }
+
+    private static long varint(ByteBuffer buf) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static long varint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new BufferUnderflowException();
+            value |= (long) (b & 0x7f) << shift;
+            if (b < 0x80) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static long zigzag(ByteBuffer buf) {
+        long v = varint(buf);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    // ── Encoding helpers ──────────────────────────────────────────────────────
+
+    /**
+     * Dictionary + run-length encoder for a low-cardinality column. In a nullable column,
+     * dictionary indexes are shifted by one so that {@code 0} stands for {@code null}.
+     */
+    private static final class Runs {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String>         values     = new ArrayList<>();
+        private final List<long[]>         runs       = new ArrayList<>();
+        private final int                  base;
+        private int    length;
+        private String current;
+
+        Runs(boolean nullable) {
+            this.base = nullable ? 1 : 0;
+        }
+
+        void add(String value) {
+            if (length > 0 && Objects.equals(value, current)) {
+                length++;
+                return;
+            }
+            flush();
+            current = value;
+            length  = 1;
+        }
+
+        void writeTo(Buffer out) {
+            flush();
+            out.varint(values.size());
+            for (String v : values) {
+                byte[] utf8 = v.getBytes(StandardCharsets.UTF_8);
+                out.varint(utf8.length);
+                out.write(utf8, 0, utf8.length);
+            }
+            for (long[] run : runs) {
+                out.varint(run[0]);
+                out.varint(run[1]);
+            }
+        }
+
+        private void flush() {
+            if (length == 0) return;
+            long index;
+            if (current != null) {
+                index = base + dictionary.computeIfAbsent(current, v -> {
+                    values.add(v);
+                    return values.size() - 1;
+                });
+            } else if (base == 1) {
+                index = 0;
+            } else {
+                throw new IllegalArgumentException("null in a non-nullable column");
+            }
+            runs.add(new long[]{index, length});
+            length = 0;
+        }
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        void varint(long v) {
+            while ((v & ~0x7fL) != 0) {
+                write((int) ((v & 0x7f) | 0x80));
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+
+        void zigzag(long v) {
+            varint((v << 1) ^ (v >> 63));
+        }
+    }
+}
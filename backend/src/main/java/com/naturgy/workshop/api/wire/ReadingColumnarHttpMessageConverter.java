@@ -0,0 +1,77 @@
+package com.naturgy.workshop.api.wire;
+
+import com.naturgy.workshop.domain.projection.ReadingSummary;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes {@code List<ReadingSummary>} bodies with {@link ReadingColumnarCodec} when the client
+ * asks for {@value ReadingColumnarCodec#MEDIA_TYPE}. Write-only; any other body type is left
+ * to the other converters.
+ */
+public class ReadingColumnarHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<ReadingSummary>> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(ReadingColumnarCodec.MEDIA_TYPE);
+
+    public ReadingColumnarHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    /** Only with the element type known, i.e. through the generic variant below. */
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        return List.class.isAssignableFrom(resolved.toClass())
+                && resolved.getGeneric(0).toClass() == ReadingSummary.class
+                && canWrite(mediaType);
+    }
+
+    /** Listed for any {@code List}, since the non-generic {@code canWrite} above says no. */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(List<ReadingSummary> rows, Type type, HttpOutputMessage output) throws IOException {
+        ReadingColumnarCodec.encode(rows, output.getBody());
+    }
+
+    @Override
+    public List<ReadingSummary> read(Type type, Class<?> contextClass, HttpInputMessage input) {
+        throw new HttpMessageNotReadableException("Columnar readings are response-only", input);
+    }
+
+    @Override
+    protected List<ReadingSummary> readInternal(Class<? extends List<ReadingSummary>> clazz, HttpInputMessage input) {
+        throw new HttpMessageNotReadableException("Columnar readings are response-only", input);
+    }
+}
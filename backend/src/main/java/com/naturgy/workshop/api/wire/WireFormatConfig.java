@@ -0,0 +1,26 @@
+package com.naturgy.workshop.api.wire;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Response formats beyond JSON, chosen by the {@code Accept} header:
+ * <ul>
+ *   <li>{@code application/cbor} – any endpoint; Spring MVC registers Jackson's CBOR converter
+ *       on its own since the CBOR module is on the classpath;</li>
+ *   <li>{@value ReadingColumnarCodec#MEDIA_TYPE} – reading lists, see {@link ReadingColumnarCodec}.</li>
+ * </ul>
+ * Both come after JSON in the converter list, so {@code Accept: *}{@code /*} (curl, browsers)
+ * still gets JSON.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ReadingColumnarHttpMessageConverter());
+    }
+}
@@ -0,0 +1,147 @@
+package com.naturgy.workshop.domain.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hibernate second-level cache for master data: meters and contracts by ID, plus the
+ * results of {@code ContractRepository.findByMeter_MeterId}, each in a size-bounded Caffeine
+ * region whose entries expire a while after being written.
+ *
+ * <p>Writes through JPA (controller create/update/delete, CSV imports, the seeder) keep the
+ * regions correct by themselves: the entities are cached {@code READ_WRITE}, so a changed or
+ * deleted row's entry is locked while its transaction runs and replaced or dropped when it
+ * commits, and cached query results are discarded once the contracts table changes. Writes
+ * that go around Hibernate – the seed snapshot restore, hand edits in the H2 console – must
+ * be followed by {@link #evictAll}.
+ *
+ * <p>Regions are sized with {@code workshop.cache.<region>.max-size} and {@code .ttl}
+ * (defaults below); {@code workshop.cache.enabled=false} turns second-level caching off.
+ */
+@Component
+public class EntityCaches implements HibernatePropertiesCustomizer {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityCaches.class);
+
+    public static final String METERS             = "meters";
+    public static final String CONTRACTS          = "contracts";
+    public static final String CONTRACTS_BY_METER = "contracts-by-meter";
+
+    /** Hibernate's own regions: other cacheable queries (none yet) and table change times. */
+    private static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    private static final String TIMESTAMPS    = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private final boolean                 enabled;
+    private final CaffeineCachingProvider provider = new CaffeineCachingProvider();
+    private final CacheManager            manager;
+    private final Map<String, Region>     regions  = new LinkedHashMap<>();
+
+    public EntityCaches(Environment env) {
+        this.enabled = env.getProperty("workshop.cache.enabled", Boolean.class, true);
+        // a provider of our own, so two application contexts in one JVM never share entries
+        this.manager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        register(env, METERS,             10_000, Duration.ofHours(1));
+        register(env, CONTRACTS,          10_000, Duration.ofHours(1));
+        register(env, CONTRACTS_BY_METER, 10_000, Duration.ofHours(1));
+        register(env, QUERY_RESULTS,      1_000,  Duration.ofMinutes(10));
+        // must outlive every cached query result, or stale results would look current
+        register(TIMESTAMPS, 0, Duration.ZERO);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernate) {
+        hibernate.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+        hibernate.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+        if (!enabled) return;
+        hibernate.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+        hibernate.put(ConfigSettings.CACHE_MANAGER, manager);
+        // every region is declared above; a missing one is a mapping mistake
+        hibernate.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    }
+
+    /**
+     * Empties every region except the table change times, which Hibernate needs to tell
+     * whether query results cached from now on are still current.
+     */
+    public void evictAll(String reason) {
+        for (Region region : regions.values()) {
+            if (region.name.equals(TIMESTAMPS)) continue;
+            manager.getCache(region.name).clear();
+            region.explicitEvictions.increment();
+        }
+        log.info("[EntityCache] all regions evicted: {}", reason);
+    }
+
+    /** Per region since startup; {@code maxSize}/{@code ttlSeconds} 0 = unbounded. */
+    public List<Stats> stats() {
+        List<Stats> stats = new ArrayList<>(regions.size());
+        for (Region region : regions.values()) {
+            com.github.benmanes.caffeine.cache.Cache<?, ?> cache =
+                    manager.getCache(region.name).unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            CacheStats s = cache.stats();
+            stats.add(new Stats(region.name, cache.estimatedSize(), region.maxSize, region.ttl.toSeconds(),
+                    s.hitCount(), s.missCount(), s.hitRate(), s.evictionCount(), region.explicitEvictions.sum()));
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void close() {
+        manager.close();
+        provider.close();
+    }
+
+    private void register(Environment env, String name, long maxSize, Duration ttl) {
+        String prefix = "workshop.cache." + name + ".";
+        register(name,
+                env.getProperty(prefix + "max-size", Long.class, maxSize),
+                env.getProperty(prefix + "ttl", Duration.class, ttl));
+    }
+
+    private void register(String name, long maxSize, Duration ttl) {
+        if (maxSize < 0 || ttl.isNegative()) {
+            throw new IllegalArgumentException("Cache region " + name + ": max-size and ttl must not be negative");
+        }
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setStoreByValue(false);            // Hibernate stores its own immutable copies
+        config.setNativeStatisticsEnabled(true);
+        if (maxSize > 0)    config.setMaximumSize(OptionalLong.of(maxSize));
+        if (!ttl.isZero()) config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        manager.createCache(name, config);
+        regions.put(name, new Region(name, maxSize, ttl));
+        log.info("[EntityCache] region {} maxSize={} ttl={}", name, maxSize, ttl);
+    }
+
+    private record Region(String name, long maxSize, Duration ttl, LongAdder explicitEvictions) {
+        Region(String name, long maxSize, Duration ttl) {
+            this(name, maxSize, ttl, new LongAdder());
+        }
+    }
+
+    /**
+     * Lookups, size-or-age evictions ({@code evictions}) and whole-region clears by
+     * {@link #evictAll} ({@code explicitEvictions}). Entries replaced or dropped by JPA writes
+     * count as neither.
+     */
+    public record Stats(String region, long size, long maxSize, long ttlSeconds,
+                        long hits, long misses, double hitRate, long evictions, long explicitEvictions) {}
+}
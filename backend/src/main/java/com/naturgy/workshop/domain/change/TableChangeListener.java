@@ -0,0 +1,38 @@
+package com.naturgy.workshop.domain.change;
+
+import com.naturgy.workshop.domain.change.TableChanges.Table;
+import com.naturgy.workshop.domain.model.Contract;
+import com.naturgy.workshop.domain.model.Invoice;
+import com.naturgy.workshop.domain.model.Meter;
+import com.naturgy.workshop.domain.model.Reading;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener feeding {@link TableChanges}. Instantiated by Hibernate through Spring's
+ * bean container, hence the constructor injection.
+ */
+public class TableChangeListener {
+
+    private final TableChanges changes;
+
+    public TableChangeListener(TableChanges changes) {
+        this.changes = changes;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void changed(Object entity) {
+        changes.changed(tableOf(entity));
+    }
+
+    private static Table tableOf(Object entity) {
+        if (entity instanceof Meter)    return Table.METERS;
+        if (entity instanceof Contract) return Table.CONTRACTS;
+        if (entity instanceof Reading)  return Table.READINGS;
+        if (entity instanceof Invoice)  return Table.INVOICES;
+        throw new IllegalArgumentException("Untracked entity: " + entity.getClass().getName());
+    }
+}
@@ -0,0 +1,127 @@
+package com.naturgy.workshop.domain.change;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-table change counters, the basis of HTTP conditional GETs: a list or detail response
+ * is tagged with the counters of the tables it reads, so a client revalidation is answered
+ * from these counters alone, without querying the table.
+ *
+ * <p>Writes are recorded by {@link TableChangeListener} for everything going through JPA, and
+ * explicitly by writers that bypass it (JDBC bulk loads). Inside a transaction the counters
+ * move once, after commit – never earlier, or a reader could cache pre-commit rows under the
+ * new tag – and not at all on rollback.
+ *
+ * <p>Counters live in memory and start over with the process; the start time is part of
+ * every tag, so tags from a previous run (or another instance) never match.
+ */
+@Component
+public class TableChanges {
+
+    public enum Table { METERS, CONTRACTS, READINGS, INVOICES }
+
+    /**
+     * A response's validators. {@code lastModified} is whole seconds, or {@code -1} (send no
+     * {@code Last-Modified}) while the latest change is in the current second.
+     */
+    public record Validators(String etag, long lastModified) {}
+
+    /** Process start, base 36. The arrays below are guarded by {@code this}. */
+    private final String       epoch;
+    private final LongSupplier clock;
+    private final long[]       counters     = new long[Table.values().length];
+    private final long[]       lastModified = new long[Table.values().length];
+
+    public TableChanges() {
+        this(System::currentTimeMillis);
+    }
+
+    TableChanges(LongSupplier clock) {
+        long now = clock.getAsLong();
+        this.epoch = Long.toString(now, 36);
+        this.clock = clock;
+        Arrays.fill(lastModified, second(now));
+    }
+
+    /** Records a write to {@code table}: after commit inside a transaction, else right away. */
+    public void changed(Table table) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(EnumSet.of(table));
+            return;
+        }
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof Pending pending && pending.owner() == this) {
+                pending.tables.add(table);
+                return;
+            }
+        }
+        Pending pending = new Pending();
+        pending.tables.add(table);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    /** Weak ETag over the current counters of {@code tables}, e.g. {@code W/"lx3k2a-m4-c1"}. */
+    public synchronized String etag(Table... tables) {
+        StringBuilder tag = new StringBuilder("W/\"").append(epoch);
+        for (Table t : tables) {
+            tag.append('-').append(Character.toLowerCase(t.name().charAt(0))).append(counters[t.ordinal()]);
+        }
+        return tag.append('"').toString();
+    }
+
+    /** Latest change to any of {@code tables} (process start when unchanged), whole seconds. */
+    public synchronized long lastModified(Table... tables) {
+        long latest = 0;
+        for (Table t : tables) latest = Math.max(latest, lastModified[t.ordinal()]);
+        return latest;
+    }
+
+    /**
+     * {@link #etag} and {@link #lastModified} read together. A change still in the current
+     * second withholds Last-Modified: another commit later in that second would get the same
+     * value, and a client revalidating with only {@code If-Modified-Since} would be told
+     * nothing changed. Once the second is over, any later change gets a later second.
+     */
+    public synchronized Validators validators(Table... tables) {
+        long modified = lastModified(tables);
+        return new Validators(etag(tables), modified < second(clock.getAsLong()) ? modified : -1);
+    }
+
+    /**
+     * Last-Modified is the commit's second, never later: it must not be ahead of the response
+     * {@code Date} (RFC 9110 §8.8.2.1), and chunked imports commit many times a second. Two
+     * commits within one second share it; the ETag counter still tells them apart, and
+     * {@link #validators} holds it back until that second is over.
+     */
+    private synchronized void bump(Set<Table> tables) {
+        long now = second(clock.getAsLong());
+        for (Table t : tables) {
+            counters[t.ordinal()]++;
+            lastModified[t.ordinal()] = now;
+        }
+    }
+
+    private static long second(long millis) {
+        return TimeUnit.SECONDS.toMillis(TimeUnit.MILLISECONDS.toSeconds(millis));
+    }
+
+    /** One per transaction: collects the tables written and bumps them once it commits. */
+    private final class Pending implements TransactionSynchronization {
+        final Set<Table> tables = EnumSet.noneOf(Table.class);
+
+        TableChanges owner() { return TableChanges.this; }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != STATUS_ROLLED_BACK) bump(tables);
+        }
+    }
+}
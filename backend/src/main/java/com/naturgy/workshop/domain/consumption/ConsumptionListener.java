@@ -0,0 +1,41 @@
+package com.naturgy.workshop.domain.consumption;
+
+import com.naturgy.workshop.domain.model.Reading;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import java.math.BigDecimal;
+
+/**
+ * JPA entity listener on {@link Reading} feeding {@link ConsumptionTotals}. Runs before the
+ * reading's own callbacks, so {@link Reading#getStoredKwh()} is still the value the row had
+ * before this write.
+ */
+public class ConsumptionListener {
+
+    private final ConsumptionTotals totals;
+
+    public ConsumptionListener(ConsumptionTotals totals) {
+        this.totals = totals;
+    }
+
+    @PostPersist
+    void persisted(Reading reading) {
+        totals.added(reading.getId().getMeterId(), reading.getId().getDate(), reading.getKwh());
+    }
+
+    @PostUpdate
+    void updated(Reading reading) {
+        BigDecimal before = reading.getStoredKwh();
+        if (before != null && before.compareTo(reading.getKwh()) != 0) {
+            totals.changed(reading.getId().getMeterId(), reading.getId().getDate(), before, reading.getKwh());
+        }
+    }
+
+    @PostRemove
+    void removed(Reading reading) {
+        BigDecimal stored = reading.getStoredKwh() != null ? reading.getStoredKwh() : reading.getKwh();
+        totals.removed(reading.getId().getMeterId(), reading.getId().getDate(), stored);
+    }
+}
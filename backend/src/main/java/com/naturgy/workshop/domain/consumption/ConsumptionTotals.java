@@ -0,0 +1,200 @@
+package com.naturgy.workshop.domain.consumption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Month-to-date consumption per meter, kept in memory so a running bill estimate never
+ * sums the readings table.
+ *
+ * <p>Only the current month and the {@code retained-months - 1} before it are kept; older
+ * months are dropped as the calendar moves on and readings for them are ignored, since those
+ * months are billed from the readings themselves. Totals are exact: kWh are held in
+ * thousandths, the precision of the {@code readings.kwh} column.
+ *
+ * <p>Readings written through JPA are recorded by {@link ConsumptionListener}; writers that
+ * bypass it (JDBC bulk loads) call {@link #added(String, YearMonth, BigDecimal, long)}
+ * themselves. Like {@code TableChanges}, a transaction's changes are applied once it commits
+ * and dropped on rollback. Totals are loaded from the readings table once at startup;
+ * anything that rewrites readings below both paths (the seed snapshot restore) must call
+ * {@link #reload} before readings are written again.
+ */
+@Component
+public class ConsumptionTotals implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumptionTotals.class);
+
+    private static final String SELECT_TOTALS = """
+            SELECT meter_id, EXTRACT(YEAR FROM reading_date), EXTRACT(MONTH FROM reading_date),
+                   SUM(kwh), COUNT(*)
+              FROM readings
+             WHERE reading_date >= ?
+             GROUP BY meter_id, EXTRACT(YEAR FROM reading_date), EXTRACT(MONTH FROM reading_date)""";
+
+    private final JdbcTemplate jdbc;
+    private final int          retainedMonths;
+
+    private final Map<Key, Total> totals = new ConcurrentHashMap<>();
+    /** Current month as of the last prune; guarded by {@code this} when it moves. */
+    private volatile YearMonth    current;
+
+    public ConsumptionTotals(JdbcTemplate jdbc,
+                             @Value("${workshop.consumption.retained-months:2}") int retainedMonths) {
+        if (retainedMonths < 1) {
+            throw new IllegalArgumentException("workshop.consumption.retained-months must be at least 1");
+        }
+        this.jdbc           = jdbc;
+        this.retainedMonths = retainedMonths;
+        this.current        = YearMonth.now();
+    }
+
+    /** Runs once the schema exists and before the web server takes requests. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /** Replaces every total with a fresh sum over the retained months of the readings table. */
+    public void reload() {
+        YearMonth oldest = oldestRetained();
+        Map<Key, Total> loaded = new HashMap<>();
+        jdbc.query(SELECT_TOTALS, (RowCallbackHandler) rs -> loaded.put(
+                        new Key(rs.getString(1), YearMonth.of(rs.getInt(2), rs.getInt(3))),
+                        new Total(milli(rs.getBigDecimal(4)), rs.getLong(5))),
+                Date.valueOf(oldest.atDay(1)));
+        totals.clear();
+        totals.putAll(loaded);
+        log.info("[Consumption] {} meter-months loaded from {}", loaded.size(), oldest);
+    }
+
+    /**
+     * kWh and readings recorded for {@code meterId} in {@code month}; zero when it has none yet.
+     *
+     * @throws IllegalArgumentException when {@code month} is older than the retained months
+     */
+    public Total total(String meterId, YearMonth month) {
+        YearMonth oldest = oldestRetained();
+        if (month.isBefore(oldest)) {
+            throw new IllegalArgumentException("Running totals only cover " + oldest + " onwards, not " + month);
+        }
+        return totals.getOrDefault(new Key(meterId, month), Total.ZERO);
+    }
+
+    /** {@code kwh} more for the reading's month. */
+    public void added(String meterId, LocalDate date, BigDecimal kwh) {
+        record(new Key(meterId, YearMonth.from(date)), new Total(milli(kwh), 1));
+    }
+
+    /** {@code kwh} less for the reading's month. */
+    public void removed(String meterId, LocalDate date, BigDecimal kwh) {
+        record(new Key(meterId, YearMonth.from(date)), new Total(-milli(kwh), -1));
+    }
+
+    /** The reading's kWh went from {@code before} to {@code after}. */
+    public void changed(String meterId, LocalDate date, BigDecimal before, BigDecimal after) {
+        record(new Key(meterId, YearMonth.from(date)), new Total(milli(after) - milli(before), 0));
+    }
+
+    /** {@code readings} rows totalling {@code kwh} more for the month, for set-wise inserts. */
+    public void added(String meterId, YearMonth month, BigDecimal kwh, long readings) {
+        record(new Key(meterId, month), new Total(milli(kwh), readings));
+    }
+
+    /** Meter-months currently held. */
+    public int size() {
+        return totals.size();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /** Inside a transaction, after commit; else right away. */
+    private void record(Key key, Total delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(Map.of(key, delta));
+            return;
+        }
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof Pending pending && pending.owner() == this) {
+                pending.deltas.merge(key, delta, Total::plus);
+                return;
+            }
+        }
+        Pending pending = new Pending();
+        pending.deltas.put(key, delta);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    private void apply(Map<Key, Total> deltas) {
+        YearMonth oldest = oldestRetained();
+        deltas.forEach((key, delta) -> {
+            if (key.month().isBefore(oldest)) return;
+            totals.merge(key, delta, (a, b) -> {
+                Total sum = a.plus(b);
+                return sum.readings() == 0 && sum.milliKwh() == 0 ? null : sum;
+            });
+        });
+    }
+
+    /** Drops months that fell out of the window since the last call. */
+    private YearMonth oldestRetained() {
+        YearMonth now = YearMonth.now();
+        if (now.isAfter(current)) {
+            synchronized (this) {
+                if (now.isAfter(current)) {
+                    YearMonth oldest = now.minusMonths(retainedMonths - 1);
+                    totals.keySet().removeIf(k -> k.month().isBefore(oldest));
+                    current = now;
+                }
+            }
+        }
+        return current.minusMonths(retainedMonths - 1);
+    }
+
+    /** Thousandths of a kWh, rounded as the {@code readings.kwh} column stores them. */
+    private static long milli(BigDecimal kwh) {
+        return kwh.setScale(3, RoundingMode.HALF_UP).movePointRight(3).longValueExact();
+    }
+
+    private record Key(String meterId, YearMonth month) {}
+
+    /** A meter-month's kWh (in thousandths) and number of hourly readings. */
+    public record Total(long milliKwh, long readings) {
+        static final Total ZERO = new Total(0, 0);
+
+        public BigDecimal kwh() {
+            return BigDecimal.valueOf(milliKwh, 3);
+        }
+
+        Total plus(Total other) {
+            return new Total(milliKwh + other.milliKwh, readings + other.readings);
+        }
+    }
+
+    /** One per transaction: collects its deltas and applies them once it commits. */
+    private final class Pending implements TransactionSynchronization {
+        final Map<Key, Total> deltas = new HashMap<>();
+
+        ConsumptionTotals owner() { return ConsumptionTotals.this; }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != STATUS_ROLLED_BACK) apply(deltas);
+        }
+    }
+}
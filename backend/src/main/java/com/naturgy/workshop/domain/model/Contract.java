@@ -1,11 +1,16 @@
 package com.naturgy.workshop.domain.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.naturgy.workshop.domain.cache.EntityCaches;
+import com.naturgy.workshop.domain.change.TableChangeListener;
 import com.naturgy.workshop.domain.enums.BillingCycle;
 import com.naturgy.workshop.domain.enums.ContractType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -22,6 +27,9 @@ import java.time.LocalDate;
  * The DB layer stores all nullable columns as-is; semantic validation belongs to the billing service.
  */
 @Entity
+@EntityListeners(TableChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCaches.CONTRACTS)
 @Table(name = "contracts")
 public class Contract {
 
@@ -95,6 +103,12 @@ public class Contract {
     @Column(name = "iban", length = 34)
     private String iban;
 
+    /** Optimistic-lock version, as on {@link Meter}. */
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     // ── Constructors ──────────────────────────────────────────────────────────
 
     protected Contract() {}
@@ -173,6 +187,9 @@ public class Contract {
     public String       getIban()                  { return iban; }
     public void         setIban(String v)          { this.iban = v; }
 
+    public long         getVersion()               { return version; }
+    public void         setVersion(long v)         { this.version = v; }
+
     @Override
     public String toString() {
         return "Contract{contractId='" + contractId + "', meterId='" + meter.getMeterId()
@@ -1,9 +1,11 @@
 package com.naturgy.workshop.domain.model;
 
+import com.naturgy.workshop.domain.change.TableChangeListener;
 import com.naturgy.workshop.domain.enums.ContractType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,8 +14,12 @@ import java.time.LocalDateTime;
  * Generated invoice for a contract in a billing period.
  */
 @Entity
+@EntityListeners(TableChangeListener.class)
 @Table(name = "invoices",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"contract_id", "period"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"contract_id", "period"}),
+       // keyset listing order (GET /api/invoices), with or without a period filter
+       indexes = @Index(name = "idx_invoices_period_generated",
+                        columnList = "period DESC, generated_at DESC, invoice_id DESC"))
 public class Invoice {
 
     @Id
@@ -63,6 +69,12 @@ public class Invoice {
     @NotNull
     private LocalDateTime generatedAt;
 
+    /** Optimistic-lock version; invoices are write-once today, so it stays 0. */
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     protected Invoice() {}
 
     public Invoice(String invoiceId, String period, String contractId, String meterId,
@@ -93,4 +105,5 @@ public class Invoice {
     public BigDecimal    getTax()              { return tax; }
     public BigDecimal    getTotal()            { return total; }
     public LocalDateTime getGeneratedAt()      { return generatedAt; }
+    public long          getVersion()          { return version; }
 }
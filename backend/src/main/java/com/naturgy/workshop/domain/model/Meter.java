@@ -1,8 +1,13 @@
 package com.naturgy.workshop.domain.model;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.naturgy.workshop.domain.cache.EntityCaches;
+import com.naturgy.workshop.domain.change.TableChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,6 +18,9 @@ import java.util.List;
  * cups is optional per csv-spec.
  */
 @Entity
+@EntityListeners(TableChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCaches.METERS)
 @Table(name = "meters")
 public class Meter {
 
@@ -37,6 +45,15 @@ public class Meter {
     @NotBlank
     private String city;
 
+    /**
+     * Optimistic-lock version, incremented by Hibernate on every update. The default covers
+     * rows that predate the column in a persistent store.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     /** Contracts that reference this meter (1 active per period per logic-spec). */
     @OneToMany(mappedBy = "meter", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonManagedReference("meter-contracts")
@@ -76,6 +93,9 @@ public class Meter {
     public String getCity()       { return city; }
     public void   setCity(String city) { this.city = city; }
 
+    public long   getVersion()    { return version; }
+    public void   setVersion(long version) { this.version = version; }
+
     public List<Contract> getContracts() { return contracts; }
     public List<Reading>  getReadings()  { return readings; }
 
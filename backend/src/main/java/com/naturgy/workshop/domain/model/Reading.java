@@ -1,10 +1,14 @@
 package com.naturgy.workshop.domain.model;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.naturgy.workshop.domain.change.TableChangeListener;
+import com.naturgy.workshop.domain.consumption.ConsumptionListener;
 import com.naturgy.workshop.domain.enums.ReadingQuality;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 
@@ -14,10 +18,17 @@ import java.math.BigDecimal;
  * <p>PK is composite: (meterId, date, hour) — enforced by {@link ReadingId}.
  * Duplicate detection (same PK) is handled at seed time by an existence check
  * before insert (clarifications.txt).
+ *
+ * <p>Implements {@link Persistable} so that {@code save}/{@code saveAll} of a freshly
+ * constructed reading issues a plain INSERT instead of a select-then-merge; callers are
+ * expected to have checked for duplicates already.
  */
 @Entity
-@Table(name = "readings")
-public class Reading {
+@EntityListeners({TableChangeListener.class, ConsumptionListener.class})
+@Table(name = "readings",
+       // keyset listing and export order (GET /api/readings, /api/readings/export)
+       indexes = @Index(name = "idx_readings_meter_time", columnList = "meter_id, reading_date, reading_hour"))
+public class Reading implements Persistable<ReadingId> {
 
     @EmbeddedId
     private ReadingId id;
@@ -44,6 +55,14 @@ public class Reading {
     @Column(name = "quality", length = 10)
     private ReadingQuality quality;
 
+    /** {@code true} until the entity has been persisted or loaded. */
+    @Transient
+    private boolean isNew = true;
+
+    /** {@link #kwh} as last persisted or loaded; {@code null} while new. */
+    @Transient
+    private BigDecimal storedKwh;
+
     // ── Constructors ──────────────────────────────────────────────────────────
 
     protected Reading() {}
@@ -69,6 +88,21 @@ public class Reading {
     public ReadingQuality getQuality() { return quality; }
     public void           setQuality(ReadingQuality quality) { this.quality = quality; }
 
+    @Override
+    @JsonIgnore
+    public boolean isNew() { return isNew; }
+
+    @JsonIgnore
+    public BigDecimal getStoredKwh() { return storedKwh; }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void synced() {
+        this.isNew     = false;
+        this.storedKwh = kwh;
+    }
+
     @Override
     public String toString() {
         return "Reading{id=" + id + ", kwh=" + kwh + ", quality=" + quality + '}';
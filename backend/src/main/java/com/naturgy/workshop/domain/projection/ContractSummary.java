@@ -0,0 +1,43 @@
+package com.naturgy.workshop.domain.projection;
+
+import com.naturgy.workshop.domain.enums.BillingCycle;
+import com.naturgy.workshop.domain.enums.ContractType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read model of a {@link com.naturgy.workshop.domain.model.Contract}. The meter is only a
+ * reference ({@code "meter": {"meterId": ...}}), read from the contract's FK column, so no
+ * join or meter load is needed.
+ */
+public record ContractSummary(String contractId,
+                              MeterRef meter,
+                              String customerId,
+                              String fullName,
+                              String nif,
+                              String email,
+                              ContractType contractType,
+                              LocalDate startDate,
+                              LocalDate endDate,
+                              BillingCycle billingCycle,
+                              BigDecimal flatMonthlyFeeEur,
+                              BigDecimal includedKwh,
+                              BigDecimal overagePricePerKwhEur,
+                              BigDecimal fixedPricePerKwhEur,
+                              BigDecimal taxRate,
+                              String iban) {
+
+    public record MeterRef(String meterId) {}
+
+    /** Flat form used by the JPQL constructor expression. */
+    public ContractSummary(String contractId, String meterId, String customerId, String fullName,
+                           String nif, String email, ContractType contractType, LocalDate startDate,
+                           LocalDate endDate, BillingCycle billingCycle, BigDecimal flatMonthlyFeeEur,
+                           BigDecimal includedKwh, BigDecimal overagePricePerKwhEur,
+                           BigDecimal fixedPricePerKwhEur, BigDecimal taxRate, String iban) {
+        this(contractId, new MeterRef(meterId), customerId, fullName, nif, email, contractType, startDate,
+                endDate, billingCycle, flatMonthlyFeeEur, includedKwh, overagePricePerKwhEur,
+                fixedPricePerKwhEur, taxRate, iban);
+    }
+}
@@ -0,0 +1,7 @@
+package com.naturgy.workshop.domain.projection;
+
+/**
+ * Read model of a {@link com.naturgy.workshop.domain.model.Meter} without its contract and
+ * reading collections; built directly by JPQL constructor expressions.
+ */
+public record MeterSummary(String meterId, String cups, String address, String postalCode, String city) {}
@@ -0,0 +1,20 @@
+package com.naturgy.workshop.domain.projection;
+
+import com.naturgy.workshop.domain.enums.ReadingQuality;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read model of a {@link com.naturgy.workshop.domain.model.Reading}; same JSON shape as the
+ * entity ({@code id: {meterId, date, hour}, kwh, quality}) without hydrating it.
+ */
+public record ReadingSummary(Key id, BigDecimal kwh, ReadingQuality quality) {
+
+    public record Key(String meterId, LocalDate date, Integer hour) {}
+
+    /** Flat form used by the JPQL constructor expression. */
+    public ReadingSummary(String meterId, LocalDate date, Integer hour, BigDecimal kwh, ReadingQuality quality) {
+        this(new Key(meterId, date, hour), kwh, quality);
+    }
+}
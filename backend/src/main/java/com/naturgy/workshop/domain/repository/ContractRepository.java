@@ -1,11 +1,21 @@
 package com.naturgy.workshop.domain.repository;
 
+import com.naturgy.workshop.domain.cache.EntityCaches;
 import com.naturgy.workshop.domain.model.Contract;
+import com.naturgy.workshop.domain.projection.ContractSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data repository for {@link Contract}.
@@ -17,7 +27,11 @@ public interface ContractRepository extends JpaRepository<Contract, String> {
     /**
      * Find all contracts for a given meter.
      * Useful for billing-service: it will filter active contracts for a period.
+     * Results are held in the {@value EntityCaches#CONTRACTS_BY_METER} query cache region.
      */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = EntityCaches.CONTRACTS_BY_METER)})
     List<Contract> findByMeter_MeterId(String meterId);
 
     /**
@@ -31,4 +45,32 @@ public interface ContractRepository extends JpaRepository<Contract, String> {
 
     List<Contract> findByMeter_MeterIdAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
             String meterId, LocalDate startDate, LocalDate endDate);
+
+    String SUMMARY = "SELECT new com.naturgy.workshop.domain.projection.ContractSummary("
+            + "c.contractId, c.meter.meterId, c.customerId, c.fullName, c.nif, c.email, c.contractType, "
+            + "c.startDate, c.endDate, c.billingCycle, c.flatMonthlyFeeEur, c.includedKwh, "
+            + "c.overagePricePerKwhEur, c.fixedPricePerKwhEur, c.taxRate, c.iban) FROM Contract c";
+
+    /**
+     * Keyset page of contracts with an ID after {@code after} ({@code ""} = from the start).
+     * Contract columns plus the meter FK; the meter itself is not joined or loaded.
+     */
+    @Query(SUMMARY + " WHERE c.contractId > :after ORDER BY c.contractId")
+    Slice<ContractSummary> findSummariesAfter(@Param("after") String after, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE c.meter.meterId = :meterId AND c.contractId > :after ORDER BY c.contractId")
+    Slice<ContractSummary> findSummariesByMeterIdAfter(@Param("meterId") String meterId,
+                                                       @Param("after") String after,
+                                                       Pageable pageable);
+
+    long countByMeter_MeterId(String meterId);
+
+    @Query(SUMMARY + " WHERE c.meter.meterId = :meterId ORDER BY c.contractId")
+    Slice<ContractSummary> findSummariesByMeterId(@Param("meterId") String meterId, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE c.contractId = :contractId")
+    Optional<ContractSummary> findSummaryById(@Param("contractId") String contractId);
+
+    @Query("SELECT c.version FROM Contract c WHERE c.contractId = :contractId")
+    Optional<Long> findVersionById(@Param("contractId") String contractId);
 }
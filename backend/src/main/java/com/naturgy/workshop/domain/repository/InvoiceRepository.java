@@ -1,11 +1,19 @@
 package com.naturgy.workshop.domain.repository;
 
 import com.naturgy.workshop.domain.model.Invoice;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, String> {
@@ -15,4 +23,48 @@ public interface InvoiceRepository extends JpaRepository<Invoice, String> {
     Optional<Invoice> findByContractIdAndPeriod(String contractId, String period);
 
     List<Invoice> findAllByOrderByPeriodDescGeneratedAtDesc();
+
+    boolean existsByPeriod(String period);
+
+    long countByPeriod(String period);
+
+    // ── Keyset pages, newest first; backed by idx_invoices_period_generated ───
+
+    @Query("SELECT i FROM Invoice i ORDER BY i.period DESC, i.generatedAt DESC, i.invoiceId DESC")
+    Slice<Invoice> findPage(Pageable pageable);
+
+    /** Rows strictly after the cursor row {@code (period, generatedAt, invoiceId)}. */
+    @Query("""
+           SELECT i FROM Invoice i
+           WHERE (i.period, i.generatedAt, i.invoiceId) < (:period, :generatedAt, :invoiceId)
+           ORDER BY i.period DESC, i.generatedAt DESC, i.invoiceId DESC
+           """)
+    Slice<Invoice> findPageAfter(@Param("period") String period,
+                                 @Param("generatedAt") LocalDateTime generatedAt,
+                                 @Param("invoiceId") String invoiceId,
+                                 Pageable pageable);
+
+    @Query("SELECT i FROM Invoice i WHERE i.period = :period ORDER BY i.generatedAt DESC, i.invoiceId DESC")
+    Slice<Invoice> findPageByPeriod(@Param("period") String period, Pageable pageable);
+
+    @Query("""
+           SELECT i FROM Invoice i
+           WHERE i.period = :period AND (i.generatedAt, i.invoiceId) < (:generatedAt, :invoiceId)
+           ORDER BY i.generatedAt DESC, i.invoiceId DESC
+           """)
+    Slice<Invoice> findPageByPeriodAfter(@Param("period") String period,
+                                         @Param("generatedAt") LocalDateTime generatedAt,
+                                         @Param("invoiceId") String invoiceId,
+                                         Pageable pageable);
+
+    /**
+     * Cursor over a period's invoices for the PDF bundle export; caller must hold a
+     * transaction and detach what it has processed.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly",  value = "true")
+    })
+    @Query("SELECT i FROM Invoice i WHERE i.period = :period ORDER BY i.invoiceId")
+    Stream<Invoice> streamByPeriod(@Param("period") String period);
 }
@@ -1,13 +1,45 @@
 package com.naturgy.workshop.domain.repository;
 
 import com.naturgy.workshop.domain.model.Meter;
+import com.naturgy.workshop.domain.projection.MeterSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Spring Data repository for {@link Meter}.
  * PK type: String (meterId).
  */
 @Repository
 public interface MeterRepository extends JpaRepository<Meter, String> {
+
+    /**
+     * All meter IDs without loading entities.
+     * Used by imports to resolve FK references from memory.
+     */
+    @Query("SELECT m.meterId FROM Meter m")
+    List<String> findAllMeterIds();
+
+    String SUMMARY = "SELECT new com.naturgy.workshop.domain.projection.MeterSummary("
+            + "m.meterId, m.cups, m.address, m.postalCode, m.city) FROM Meter m";
+
+    /**
+     * Keyset page of meters with an ID after {@code after} ({@code ""} = from the start),
+     * in primary-key order. Meter columns only; contracts and readings are never touched.
+     */
+    @Query(SUMMARY + " WHERE m.meterId > :after ORDER BY m.meterId")
+    Slice<MeterSummary> findSummariesAfter(@Param("after") String after, Pageable pageable);
+
+    @Query(SUMMARY + " WHERE m.meterId = :meterId")
+    Optional<MeterSummary> findSummaryById(@Param("meterId") String meterId);
+
+    /** Stored optimistic-lock version; empty when the meter does not exist. */
+    @Query("SELECT m.version FROM Meter m WHERE m.meterId = :meterId")
+    Optional<Long> findVersionById(@Param("meterId") String meterId);
 }
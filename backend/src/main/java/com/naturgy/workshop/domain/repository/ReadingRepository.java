@@ -2,14 +2,20 @@ package com.naturgy.workshop.domain.repository;
 
 import com.naturgy.workshop.domain.model.Reading;
 import com.naturgy.workshop.domain.model.ReadingId;
+import com.naturgy.workshop.domain.projection.ReadingSummary;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Spring Data repository for {@link Reading}.
@@ -38,4 +44,76 @@ public interface ReadingRepository extends JpaRepository<Reading, ReadingId> {
             @Param("meterId") String meterId,
             @Param("from")    LocalDate from,
             @Param("to")      LocalDate to);
+
+    /**
+     * Streams the keys of every stored reading (no entity hydration).
+     * Used by imports to build the duplicate-check filter; caller must hold a transaction
+     * and close the stream.
+     */
+    @Query("SELECT r.id FROM Reading r")
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "5000"),
+            @QueryHint(name = "org.hibernate.readOnly",  value = "true")
+    })
+    Stream<ReadingId> streamAllIds();
+
+    String SUMMARY = "SELECT new com.naturgy.workshop.domain.projection.ReadingSummary("
+            + "r.id.meterId, r.id.date, r.id.hour, r.kwh, r.quality) FROM Reading r";
+
+    // ── Keyset pages in key order; backed by idx_readings_meter_time ──────────
+
+    @Query(SUMMARY + " WHERE r.id.date BETWEEN :from AND :to ORDER BY r.id.meterId, r.id.date, r.id.hour")
+    Slice<ReadingSummary> findSummaryPage(@Param("from") LocalDate from,
+                                          @Param("to")   LocalDate to,
+                                          Pageable pageable);
+
+    /** Rows strictly after the cursor row {@code (meterId, date, hour)}. */
+    @Query(SUMMARY + " WHERE r.id.date BETWEEN :from AND :to"
+            + " AND (r.id.meterId, r.id.date, r.id.hour) > (:meterId, :date, :hour)"
+            + " ORDER BY r.id.meterId, r.id.date, r.id.hour")
+    Slice<ReadingSummary> findSummaryPageAfter(@Param("from")    LocalDate from,
+                                               @Param("to")      LocalDate to,
+                                               @Param("meterId") String meterId,
+                                               @Param("date")    LocalDate date,
+                                               @Param("hour")    Integer hour,
+                                               Pageable pageable);
+
+    @Query(SUMMARY + " WHERE r.id.meterId = :meterId AND r.id.date BETWEEN :from AND :to"
+            + " ORDER BY r.id.date, r.id.hour")
+    Slice<ReadingSummary> findSummaryPageByMeterId(@Param("meterId") String meterId,
+                                                   @Param("from")    LocalDate from,
+                                                   @Param("to")      LocalDate to,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY + " WHERE r.id.meterId = :meterId AND r.id.date BETWEEN :from AND :to"
+            + " AND (r.id.date, r.id.hour) > (:date, :hour)"
+            + " ORDER BY r.id.date, r.id.hour")
+    Slice<ReadingSummary> findSummaryPageByMeterIdAfter(@Param("meterId") String meterId,
+                                                        @Param("from")    LocalDate from,
+                                                        @Param("to")      LocalDate to,
+                                                        @Param("date")    LocalDate date,
+                                                        @Param("hour")    Integer hour,
+                                                        Pageable pageable);
+
+    long countByIdDateBetween(LocalDate from, LocalDate to);
+
+    long countByIdMeterIdAndIdDateBetween(String meterId, LocalDate from, LocalDate to);
+
+    /**
+     * Cursor over the matching readings in key order ({@code meterId == null}: every meter),
+     * for the columnar export; caller must hold a transaction and close the stream.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = "5000"),
+            @QueryHint(name = "org.hibernate.readOnly",  value = "true")
+    })
+    @Query(SUMMARY + " WHERE (:meterId IS NULL OR r.id.meterId = :meterId) AND r.id.date BETWEEN :from AND :to"
+            + " ORDER BY r.id.meterId, r.id.date, r.id.hour")
+    Stream<ReadingSummary> streamSummaries(@Param("meterId") String meterId,
+                                           @Param("from")    LocalDate from,
+                                           @Param("to")      LocalDate to);
+
+    /** One page of a meter's readings, newest first (meter detail {@code ?expand=readings}). */
+    @Query(SUMMARY + " WHERE r.id.meterId = :meterId ORDER BY r.id.date DESC, r.id.hour DESC")
+    Slice<ReadingSummary> findSummariesByMeterId(@Param("meterId") String meterId, Pageable pageable);
 }
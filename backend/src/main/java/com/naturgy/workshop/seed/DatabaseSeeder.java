@@ -1,5 +1,7 @@
 package com.naturgy.workshop.seed;
 
+import com.naturgy.workshop.domain.cache.EntityCaches;
+import com.naturgy.workshop.domain.consumption.ConsumptionTotals;
 import com.naturgy.workshop.domain.enums.BillingCycle;
 import com.naturgy.workshop.domain.enums.ContractType;
 import com.naturgy.workshop.domain.enums.ReadingQuality;
@@ -12,11 +14,14 @@ import com.naturgy.workshop.domain.repository.MeterRepository;
 import com.naturgy.workshop.domain.repository.ReadingRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
@@ -38,6 +43,14 @@ import java.util.List;
  * </ul>
  *
  * <p>CSV format: comma-separated, first row is header, empty fields → null.
+ *
+ * <p>Startup shortcuts ({@link SeedStore}): when the recorded fingerprint (schema + CSV
+ * content) matches, seeding is skipped entirely (persistent store); when the database is
+ * empty and a snapshot for the fingerprint exists, it is restored instead of re-importing.
+ *
+ * <p>With {@code workshop.seed.async=true} all of the above runs on a background thread so
+ * the application accepts requests immediately (requests may see partially seeded data
+ * until the "seed import complete" log line).
  */
 @Component
 public class DatabaseSeeder implements ApplicationRunner {
@@ -51,24 +64,85 @@ public class DatabaseSeeder implements ApplicationRunner {
     private final MeterRepository    meterRepo;
     private final ContractRepository contractRepo;
     private final ReadingRepository  readingRepo;
+    private final SeedStore          seedStore;
+    private final EntityCaches       entityCaches;
+    private final ConsumptionTotals  consumption;
+    private final TransactionTemplate txTemplate;
+    private final boolean            async;
 
     public DatabaseSeeder(MeterRepository meterRepo,
                           ContractRepository contractRepo,
-                          ReadingRepository readingRepo) {
+                          ReadingRepository readingRepo,
+                          SeedStore seedStore,
+                          EntityCaches entityCaches,
+                          ConsumptionTotals consumption,
+                          PlatformTransactionManager txManager,
+                          @Value("${workshop.seed.async:false}") boolean async) {
         this.meterRepo    = meterRepo;
         this.contractRepo = contractRepo;
         this.readingRepo  = readingRepo;
+        this.seedStore    = seedStore;
+        this.entityCaches = entityCaches;
+        this.consumption  = consumption;
+        this.txTemplate   = new TransactionTemplate(txManager);
+        this.async        = async;
     }
 
     @Override
-    @Transactional
     public void run(ApplicationArguments args) throws Exception {
+        if (!async) {
+            seed();
+            return;
+        }
+        Thread t = new Thread(() -> {
+            try {
+                seed();
+            } catch (Exception e) {
+                log.error("=== DatabaseSeeder: background seed failed ===", e);
+            }
+        }, "db-seeder");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void seed() throws Exception {
+        List<Resource> seedFiles = List.of(new ClassPathResource(METERS_CSV),
+                new ClassPathResource(CONTRACTS_CSV), new ClassPathResource(READINGS_CSV));
+        String fingerprint = seedStore.fingerprint(seedFiles);
+
+        if (fingerprint.equals(seedStore.recordedFingerprint())) {
+            log.info("=== DatabaseSeeder: seed data unchanged, skipping import ===");
+            return;
+        }
+        // restoring replaces the whole database, so only ever into an empty one
+        if (meterRepo.count() == 0 && seedStore.restoreSnapshot(fingerprint)) {
+            // rows replaced below Hibernate
+            entityCaches.evictAll("seed snapshot restored");
+            consumption.reload();
+            logCounts("snapshot restored");
+            return;
+        }
+
         log.info("=== DatabaseSeeder: starting seed import ===");
-        importMeters();
-        importContracts();
-        importReadings();
-        log.info("=== DatabaseSeeder: seed import complete – meters={}, contracts={}, readings={} ===",
-                meterRepo.count(), contractRepo.count(), readingRepo.count());
+        txTemplate.executeWithoutResult(status -> {
+            try {
+                importMeters();
+                importContracts();
+                importReadings();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Seed import failed", e);
+            }
+        });
+        seedStore.markSeeded(fingerprint);
+        seedStore.writeSnapshot(fingerprint);
+        logCounts("seed import complete");
+    }
+
+    private void logCounts(String what) {
+        log.info("=== DatabaseSeeder: {} – meters={}, contracts={}, readings={} ===",
+                what, meterRepo.count(), contractRepo.count(), readingRepo.count());
     }
 
     // ── Meters ────────────────────────────────────────────────────────────────
@@ -0,0 +1,145 @@
+package com.naturgy.workshop.seed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Bookkeeping that lets {@link DatabaseSeeder} skip work on startup (H2 only).
+ *
+ * <ul>
+ *   <li><b>Fingerprint</b>: SHA-256 over the live schema (tables/columns/types as created by
+ *       Hibernate) and the content of the seed CSVs.</li>
+ *   <li><b>seed_state</b>: one-row table holding the fingerprint of the last completed seed.
+ *       It is managed here with plain SQL, not as an entity, and is excluded from the schema
+ *       hash.</li>
+ *   <li><b>Snapshots</b>: compressed {@code SCRIPT} dumps of the freshly seeded database,
+ *       named after the fingerprint, restored with {@code RUNSCRIPT} into an empty database.</li>
+ * </ul>
+ */
+@Component
+public class SeedStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedStore.class);
+
+    private static final String SCHEMA_COLUMNS = """
+            SELECT table_name, column_name, data_type, is_nullable
+              FROM information_schema.columns
+             WHERE table_schema = 'PUBLIC' AND table_name <> 'SEED_STATE'
+             ORDER BY table_name, ordinal_position""";
+
+    private final JdbcTemplate jdbc;
+    private final boolean      snapshotsEnabled;
+    private final Path         snapshotDir;
+
+    public SeedStore(JdbcTemplate jdbc,
+                     @Value("${workshop.seed.snapshot.enabled:false}") boolean snapshotsEnabled,
+                     @Value("${workshop.seed.snapshot.dir:${java.io.tmpdir}/workshop-seed-snapshots}") Path snapshotDir) {
+        this.jdbc             = jdbc;
+        this.snapshotsEnabled = snapshotsEnabled;
+        this.snapshotDir      = snapshotDir;
+    }
+
+    /** Fingerprint of the current schema plus the given seed files. */
+    public String fingerprint(List<Resource> seedFiles) throws IOException {
+        MessageDigest sha = sha256();
+        jdbc.query(SCHEMA_COLUMNS, rs -> {
+            for (int i = 1; i <= 4; i++) {
+                sha.update(String.valueOf(rs.getString(i)).getBytes(StandardCharsets.UTF_8));
+                sha.update((byte) 0);
+            }
+        });
+        for (Resource file : seedFiles) {
+            try (InputStream in = new DigestInputStream(file.getInputStream(), sha)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        return HexFormat.of().formatHex(sha.digest());
+    }
+
+    /** Fingerprint recorded by the last completed seed, or {@code null}. */
+    public String recordedFingerprint() {
+        Integer tables = jdbc.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.tables
+                 WHERE table_schema = 'PUBLIC' AND table_name = 'SEED_STATE'""", Integer.class);
+        if (tables == null || tables == 0) return null;
+        List<String> rows = jdbc.queryForList("SELECT fingerprint FROM seed_state WHERE id = 1", String.class);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    public void markSeeded(String fingerprint) {
+        jdbc.execute("""
+                CREATE TABLE IF NOT EXISTS seed_state (
+                    id          INT PRIMARY KEY,
+                    fingerprint VARCHAR(64) NOT NULL,
+                    seeded_at   TIMESTAMP NOT NULL)""");
+        jdbc.update("MERGE INTO seed_state (id, fingerprint, seeded_at) KEY (id) VALUES (1, ?, CURRENT_TIMESTAMP)",
+                fingerprint);
+    }
+
+    /**
+     * Replaces the whole (empty) database with the snapshot for {@code fingerprint}.
+     *
+     * @return {@code false} when snapshots are disabled or none matches
+     */
+    public boolean restoreSnapshot(String fingerprint) {
+        Path file = snapshotFile(fingerprint);
+        if (!snapshotsEnabled || !Files.isRegularFile(file)) return false;
+        long start = System.nanoTime();
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("RUNSCRIPT FROM '" + sqlPath(file) + "' COMPRESSION GZIP");
+        log.info("[Seed] Restored snapshot {} in {} ms", file.getFileName(), (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    /** Writes a snapshot for {@code fingerprint} and removes older ones; no-op when disabled. */
+    public void writeSnapshot(String fingerprint) throws IOException {
+        if (!snapshotsEnabled) return;
+        Files.createDirectories(snapshotDir);
+        Path file = snapshotFile(fingerprint);
+        script(file);
+        try (DirectoryStream<Path> old = Files.newDirectoryStream(snapshotDir, "seed-*.sql.gz")) {
+            for (Path p : old) {
+                if (!p.equals(file)) Files.deleteIfExists(p);
+            }
+        }
+        log.info("[Seed] Wrote snapshot {} ({} bytes)", file, Files.size(file));
+    }
+
+    /** Dumps schema and data to {@code file} (gzip-compressed SQL script). */
+    void script(Path file) {
+        jdbc.execute("SCRIPT TO '" + sqlPath(file) + "' COMPRESSION GZIP");
+    }
+
+    Path snapshotFile(String fingerprint) {
+        return snapshotDir.resolve("seed-" + fingerprint.substring(0, 16) + ".sql.gz");
+    }
+
+    private static String sqlPath(Path file) {
+        return file.toAbsolutePath().toString().replace("'", "''");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
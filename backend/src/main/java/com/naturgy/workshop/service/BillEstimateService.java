@@ -0,0 +1,77 @@
+package com.naturgy.workshop.service;
+
+import com.naturgy.workshop.domain.consumption.ConsumptionTotals;
+import com.naturgy.workshop.domain.enums.ContractType;
+import com.naturgy.workshop.domain.model.Contract;
+import com.naturgy.workshop.domain.repository.ContractRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.NoSuchElementException;
+
+/**
+ * "Your bill so far": the invoice {@link BillingService} would generate for a contract if
+ * its month ended now.
+ *
+ * <p>Consumption comes from {@link ConsumptionTotals} and the contract from the second-level
+ * cache, so an estimate costs neither a readings {@code SUM} nor, usually, any query at all.
+ * Only months still held by {@link ConsumptionTotals} can be estimated; earlier ones have
+ * (or will get) a real invoice.
+ */
+@Service
+public class BillEstimateService {
+
+    private final ContractRepository contractRepo;
+    private final ConsumptionTotals  consumption;
+    private final BillingService     billing;
+
+    public BillEstimateService(ContractRepository contractRepo,
+                               ConsumptionTotals consumption,
+                               BillingService billing) {
+        this.contractRepo = contractRepo;
+        this.consumption  = consumption;
+        this.billing      = billing;
+    }
+
+    /**
+     * @param period YYYY-MM, {@code null} = current month
+     * @throws NoSuchElementException   unknown contract
+     * @throws IllegalArgumentException bad or future period, a period no longer tracked, or
+     *                                  one the contract is not active in
+     */
+    @Transactional(readOnly = true)
+    public BillEstimate estimate(String contractId, String period) {
+        YearMonth now = YearMonth.now();
+        YearMonth ym  = period == null ? now : parseYearMonth(period);
+        if (ym.isAfter(now)) {
+            throw new IllegalArgumentException("Period " + ym + " has not started yet");
+        }
+        Contract contract = contractRepo.findById(contractId)
+                .orElseThrow(() -> new NoSuchElementException("Contract not found: " + contractId));
+        if (contract.getStartDate().isAfter(ym.atEndOfMonth())
+                || (contract.getEndDate() != null && contract.getEndDate().isBefore(ym.atDay(1)))) {
+            throw new IllegalArgumentException("Contract " + contractId + " is not active in " + ym);
+        }
+
+        String meterId = contract.getMeter().getMeterId();
+        ConsumptionTotals.Total total = consumption.total(meterId, ym);
+        BillingService.Amounts amounts = billing.price(contract, total.kwh());
+        return new BillEstimate(contractId, meterId, ym.toString(), contract.getContractType(),
+                total.kwh(), total.readings(), amounts.subtotal(), amounts.tax(), amounts.total());
+    }
+
+    private static YearMonth parseYearMonth(String period) {
+        try {
+            return YearMonth.parse(period);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid period format '" + period + "'. Expected YYYY-MM");
+        }
+    }
+
+    /** Month-to-date amounts; {@code readings} = hourly readings they are based on. */
+    public record BillEstimate(String contractId, String meterId, String period, ContractType contractType,
+                               BigDecimal kwhToDate, long readings,
+                               BigDecimal subtotal, BigDecimal tax, BigDecimal total) {}
+}
@@ -6,8 +6,11 @@ import com.naturgy.workshop.domain.model.Invoice;
 import com.naturgy.workshop.domain.repository.ContractRepository;
 import com.naturgy.workshop.domain.repository.InvoiceRepository;
 import com.naturgy.workshop.domain.repository.ReadingRepository;
+import com.naturgy.workshop.service.progress.ProgressEvent;
+import com.naturgy.workshop.service.progress.ProgressTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,9 +19,11 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Billing service: executes FIXED/FLAT invoice calculations per logic-spec.
@@ -34,21 +39,29 @@ public class BillingService {
 
     private static final Logger log = LoggerFactory.getLogger(BillingService.class);
 
-    private final ContractRepository contractRepo;
-    private final ReadingRepository  readingRepo;
-    private final InvoiceRepository  invoiceRepo;
+    private final ContractRepository        contractRepo;
+    private final ReadingRepository         readingRepo;
+    private final InvoiceRepository         invoiceRepo;
+    private final ApplicationEventPublisher events;
+    private final ProgressTracker           progress;
 
     public BillingService(ContractRepository contractRepo,
                           ReadingRepository readingRepo,
-                          InvoiceRepository invoiceRepo) {
+                          InvoiceRepository invoiceRepo,
+                          ApplicationEventPublisher events,
+                          ProgressTracker progress) {
         this.contractRepo = contractRepo;
         this.readingRepo  = readingRepo;
         this.invoiceRepo  = invoiceRepo;
+        this.events       = events;
+        this.progress     = progress;
     }
 
     /**
      * Run billing for all active contracts in the given period (YYYY-MM).
      * If an invoice already exists for a contract+period it is skipped.
+     * New invoices are announced with an {@link InvoicesGeneratedEvent}; progress is reported
+     * through {@link ProgressTracker}.
      *
      * @param period YYYY-MM string
      * @return list of generated invoices
@@ -62,18 +75,36 @@ public class BillingService {
         List<Contract> activeContracts = findActiveContracts(from, to);
         log.info("[Billing] period={} active contracts={}", period, activeContracts.size());
 
-        List<Invoice> generated = new ArrayList<>();
-        for (Contract contract : activeContracts) {
-            if (invoiceRepo.findByContractIdAndPeriod(contract.getContractId(), period).isPresent()) {
-                log.debug("[Billing] Invoice already exists for contract={} period={}", contract.getContractId(), period);
-                continue;
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger invoices  = new AtomicInteger();
+        ProgressTracker.Operation op = progress.start(() -> new ProgressEvent("billing", period,
+                ProgressEvent.RUNNING, processed.get(), invoices.get(), 0,
+                activeContracts.isEmpty() ? 100 : processed.get() * 100.0 / activeContracts.size(), null));
+        try {
+            List<Invoice> generated = new ArrayList<>();
+            for (Contract contract : activeContracts) {
+                if (invoiceRepo.findByContractIdAndPeriod(contract.getContractId(), period).isPresent()) {
+                    log.debug("[Billing] Invoice already exists for contract={} period={}", contract.getContractId(), period);
+                    processed.incrementAndGet();
+                    continue;
+                }
+                Invoice invoice = generateInvoice(contract, period, from, to);
+                invoiceRepo.save(invoice);
+                generated.add(invoice);
+                invoices.incrementAndGet();
+                processed.incrementAndGet();
+                log.info("[Billing] Generated invoice={} contract={} total={}", invoice.getInvoiceId(), contract.getContractId(), invoice.getTotal());
+            }
+            if (!generated.isEmpty()) {
+                events.publishEvent(new InvoicesGeneratedEvent(period,
+                        generated.stream().map(Invoice::getInvoiceId).toList()));
             }
-            Invoice invoice = generateInvoice(contract, period, from, to);
-            invoiceRepo.save(invoice);
-            generated.add(invoice);
-            log.info("[Billing] Generated invoice={} contract={} total={}", invoice.getInvoiceId(), contract.getContractId(), invoice.getTotal());
+            op.finish(ProgressEvent.COMPLETED, null);
+            return generated;
+        } catch (RuntimeException e) {
+            op.finish(ProgressEvent.FAILED, e.getMessage());
+            throw e;
         }
-        return generated;
     }
 
     /**
@@ -82,7 +113,29 @@ public class BillingService {
     public Invoice generateInvoice(Contract contract, String period, LocalDate from, LocalDate to) {
         String meterId = contract.getMeter().getMeterId();
         BigDecimal totalKwh = readingRepo.sumKwhByMeterIdAndDateBetween(meterId, from, to);
+        Amounts amounts = price(contract, totalKwh);
+
+        return new Invoice(
+                UUID.randomUUID().toString(),
+                period,
+                contract.getContractId(),
+                meterId,
+                contract.getFullName(),
+                contract.getContractType(),
+                totalKwh.setScale(3, RoundingMode.HALF_UP),
+                amounts.subtotal(),
+                amounts.tax(),
+                amounts.total(),
+                // stored precision, so the in-memory value matches the row (keyset cursors)
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS)
+        );
+    }
 
+    /**
+     * Subtotal, tax and total for {@code totalKwh} under the contract's tariff (FIXED or FLAT,
+     * see above).
+     */
+    public Amounts price(Contract contract, BigDecimal totalKwh) {
         BigDecimal subtotal;
         if (contract.getContractType() == ContractType.FIXED) {
             subtotal = calculateFixed(totalKwh, contract.getFixedPricePerKwhEur());
@@ -95,20 +148,7 @@ public class BillingService {
 
         BigDecimal tax   = subtotal.multiply(contract.getTaxRate()).setScale(2, RoundingMode.HALF_UP);
         BigDecimal total = subtotal.add(tax).setScale(2, RoundingMode.HALF_UP);
-
-        return new Invoice(
-                UUID.randomUUID().toString(),
-                period,
-                contract.getContractId(),
-                meterId,
-                contract.getFullName(),
-                contract.getContractType(),
-                totalKwh.setScale(3, RoundingMode.HALF_UP),
-                subtotal,
-                tax,
-                total,
-                LocalDateTime.now()
-        );
+        return new Amounts(subtotal, tax, total);
     }
 
     /**
@@ -137,6 +177,8 @@ public class BillingService {
         return flatMonthlyFeeEur.add(overage).setScale(2, RoundingMode.HALF_UP);
     }
 
+    public record Amounts(BigDecimal subtotal, BigDecimal tax, BigDecimal total) {}
+
     // ── Helpers ───────────────────────────────────────────────────────────────
 
     private YearMonth parseYearMonth(String period) {
@@ -10,193 +10,478 @@ import com.naturgy.workshop.domain.model.ReadingId;
 import com.naturgy.workshop.domain.repository.ContractRepository;
 import com.naturgy.workshop.domain.repository.MeterRepository;
 import com.naturgy.workshop.domain.repository.ReadingRepository;
+import com.naturgy.workshop.service.imports.CompressedInput;
+import com.naturgy.workshop.service.imports.CsvImportPipeline;
+import com.naturgy.workshop.service.imports.ImportContext;
+import com.naturgy.workshop.service.imports.ReadingBulkLoader;
+import com.naturgy.workshop.service.imports.ReadingBulkLoader.StagedReading;
+import com.naturgy.workshop.service.imports.ReadingKeyIndex;
+import com.naturgy.workshop.service.progress.ProgressEvent;
+import com.naturgy.workshop.service.progress.ProgressTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Stream;
 
 /**
  * Handles multipart CSV import for meters, contracts, and readings.
  * Validation errors are collected and returned; duplicate rows are skipped.
+ *
+ * <p>Every import runs against an {@link ImportContext}: errors go to its sink (only a
+ * capped sample is returned), progress is counted per row and published through
+ * {@link ProgressTracker}, and cancellation is checked between rows (meters/contracts) or
+ * chunks (readings).
+ *
+ * <p>Input may be plain, gzip or zip (first CSV entry); it is decompressed while being
+ * parsed, see {@link CompressedInput}. Streams passed to the {@code InputStream} overloads
+ * are expected to be already wrapped with {@link ImportContext#track} by the caller.
  */
 @Service
 public class CsvImportService {
 
     private static final Logger log = LoggerFactory.getLogger(CsvImportService.class);
 
+    /** Writes of one readings chunk before a primary-key collision fails the import. */
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
     private final MeterRepository    meterRepo;
     private final ContractRepository contractRepo;
     private final ReadingRepository  readingRepo;
+    private final CsvImportPipeline  pipeline;
+    private final List<ReadingBulkLoader> bulkLoaders;
+    private final TransactionTemplate txTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final ProgressTracker    progress;
+    private final double             bloomFalsePositiveRate;
+    private final int                errorSampleSize;
 
     public CsvImportService(MeterRepository meterRepo,
                             ContractRepository contractRepo,
-                            ReadingRepository readingRepo) {
+                            ReadingRepository readingRepo,
+                            CsvImportPipeline pipeline,
+                            List<ReadingBulkLoader> bulkLoaders,
+                            PlatformTransactionManager txManager,
+                            ProgressTracker progress,
+                            @Value("${workshop.import.bloom-fpp:0.01}") double bloomFalsePositiveRate,
+                            @Value("${workshop.import.error-sample-size:100}") int errorSampleSize) {
         this.meterRepo    = meterRepo;
         this.contractRepo = contractRepo;
         this.readingRepo  = readingRepo;
+        this.pipeline     = pipeline;
+        this.bulkLoaders  = bulkLoaders;
+        this.txTemplate   = new TransactionTemplate(txManager);
+        this.readOnlyTx   = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.progress     = progress;
+        this.bloomFalsePositiveRate = bloomFalsePositiveRate;
+        this.errorSampleSize        = errorSampleSize;
     }
 
-    public record ImportResult(int inserted, int skipped, List<String> errors) {}
+    /**
+     * @param errors     first errors only (capped by {@code workshop.import.error-sample-size})
+     * @param errorCount total number of errors, including those not in {@code errors}
+     */
+    public record ImportResult(int inserted, int skipped, List<String> errors, long errorCount) {}
+
+    // ── Meters ────────────────────────────────────────────────────────────────
 
     @Transactional
     public ImportResult importMeters(MultipartFile file) throws Exception {
-        int inserted = 0, skipped = 0;
-        List<String> errors = new ArrayList<>();
-
-        for (String[] row : readCsv(file)) {
-            String meterId    = col(row, 0);
-            String cups       = col(row, 1);
-            String address    = col(row, 2);
-            String postalCode = col(row, 3);
-            String city       = col(row, 4);
-
-            if (meterId == null || meterId.isBlank()) {
-                errors.add("Row skipped: meterId is required – " + rowStr(row));
-                skipped++;
-                continue;
-            }
-            if (address == null || address.isBlank()) {
-                errors.add("Row skipped: address is required for meterId=" + meterId);
-                skipped++;
-                continue;
-            }
-            if (city == null || city.isBlank()) {
-                errors.add("Row skipped: city is required for meterId=" + meterId);
-                skipped++;
-                continue;
+        ImportContext ctx = syncContext(file);
+        return importMeters(ctx.track(file.getInputStream()), ctx);
+    }
+
+    @Transactional
+    public ImportResult importMeters(InputStream in, ImportContext ctx) throws Exception {
+        return tracked(ctx, () -> {
+            ImportTally tally = new ImportTally(ctx);
+
+            forEachRow(in, ctx, (line, row) -> {
+                String meterId    = col(row, 0);
+                String cups       = col(row, 1);
+                String address    = col(row, 2);
+                String postalCode = col(row, 3);
+                String city       = col(row, 4);
+
+                if (meterId == null || meterId.isBlank()) {
+                    tally.reject(line, "Row skipped: meterId is required – " + rowStr(row));
+                    return;
+                }
+                if (address == null || address.isBlank()) {
+                    tally.reject(line, "Row skipped: address is required for meterId=" + meterId);
+                    return;
+                }
+                if (city == null || city.isBlank()) {
+                    tally.reject(line, "Row skipped: city is required for meterId=" + meterId);
+                    return;
+                }
+                if (meterRepo.existsById(meterId)) {
+                    log.debug("[Import] Meter already exists, skipping: {}", meterId);
+                    tally.skipped++;
+                    return;
+                }
+                meterRepo.save(new Meter(meterId, cups, address, postalCode, city));
+                tally.inserted++;
+            });
+            return tally.toResult();
+        });
+    }
+
+    // ── Contracts ─────────────────────────────────────────────────────────────
+
+    @Transactional
+    public ImportResult importContracts(MultipartFile file) throws Exception {
+        ImportContext ctx = syncContext(file);
+        return importContracts(ctx.track(file.getInputStream()), ctx);
+    }
+
+    @Transactional
+    public ImportResult importContracts(InputStream in, ImportContext ctx) throws Exception {
+        return tracked(ctx, () -> {
+            ImportTally tally = new ImportTally(ctx);
+
+            forEachRow(in, ctx, (line, row) -> {
+                String contractId = col(row, 0);
+                String meterId    = col(row, 1);
+
+                if (contractId == null || contractId.isBlank()) {
+                    tally.reject(line, "Row skipped: contractId is required – " + rowStr(row));
+                    return;
+                }
+                if (contractRepo.existsById(contractId)) {
+                    log.debug("[Import] Contract already exists, skipping: {}", contractId);
+                    tally.skipped++;
+                    return;
+                }
+                Meter meter = meterRepo.findById(meterId).orElse(null);
+                if (meter == null) {
+                    tally.reject(line, "Row skipped: unknown meterId='" + meterId + "' for contract=" + contractId);
+                    return;
+                }
+                try {
+                    String       customerId = col(row, 2);
+                    String       fullName   = col(row, 3);
+                    String       nif        = col(row, 4);
+                    String       email      = col(row, 5);
+                    ContractType type       = ContractType.valueOf(col(row, 6));
+                    LocalDate    startDate  = LocalDate.parse(col(row, 7));
+                    LocalDate    endDate    = parseDate(col(row, 8));
+                    BillingCycle cycle      = BillingCycle.valueOf(col(row, 9));
+                    BigDecimal   flatFee    = parseDecimal(col(row, 10));
+                    BigDecimal   inclKwh    = parseDecimal(col(row, 11));
+                    BigDecimal   overage    = parseDecimal(col(row, 12));
+                    BigDecimal   fixedPrice = parseDecimal(col(row, 13));
+                    BigDecimal   taxRate    = new BigDecimal(col(row, 14));
+                    String       iban       = col(row, 15);
+
+                    contractRepo.save(new Contract(contractId, meter, customerId, fullName, nif, email,
+                            type, startDate, endDate, cycle, flatFee, inclKwh, overage, fixedPrice, taxRate, iban));
+                    tally.inserted++;
+                } catch (Exception e) {
+                    tally.reject(line, "Row error for contract=" + contractId + ": " + e.getMessage());
+                }
+            });
+            return tally.toResult();
+        });
+    }
+
+    // ── Readings ──────────────────────────────────────────────────────────────
+
+    public ImportResult importReadings(MultipartFile file) throws Exception {
+        ImportContext ctx = syncContext(file);
+        return importReadings(ctx.track(file.getInputStream()), ctx);
+    }
+
+    /**
+     * Readings are imported through the {@link CsvImportPipeline}: rows are parsed and
+     * field-validated in parallel, then written chunk by chunk in file order, each chunk in
+     * its own transaction. Duplicate and FK checks happen in the write stage so results
+     * match a sequential import row for row. On cancellation, chunks already written stay
+     * committed.
+     *
+     * <p>Imports may overlap: a reading committed by another import after the key index was
+     * loaded is still reported as a duplicate, see {@link #writeReadings}.
+     */
+    public ImportResult importReadings(InputStream in, ImportContext ctx) throws Exception {
+        return tracked(ctx, () -> {
+            ReadingKeyIndex index = loadReadingKeyIndex();
+            ImportTally tally = new ImportTally(ctx);
+            try (var reader = reader(in)) {
+                pipeline.run(reader, this::parseReading, chunk -> {
+                    ctx.checkCancelled();
+                    writeReadings(chunk, index, tally);
+                    ctx.rowsProcessed(chunk.size());
+                });
             }
-            if (meterRepo.existsById(meterId)) {
-                log.debug("[Import] Meter already exists, skipping: {}", meterId);
-                skipped++;
-                continue;
+            return tally.toResult();
+        });
+    }
+
+    @Transactional(rollbackFor = Exception.class)
+    public ImportResult importReadingsBulk(MultipartFile file) throws Exception {
+        ImportContext ctx = syncContext(file);
+        return importReadingsBulk(ctx.track(file.getInputStream()), ctx);
+    }
+
+    /**
+     * Bulk-load variant of {@link #importReadings(InputStream, ImportContext)}: rows are
+     * parsed by the same pipeline but staged through a {@link ReadingBulkLoader}, and
+     * duplicate/FK resolution plus the final insert happen set-wise in the database.
+     *
+     * <p>Same counts and messages as the regular import, but all-or-nothing: the whole file
+     * is one transaction, and cancellation or a DB failure leaves no rows behind.
+     *
+     * @throws IllegalArgumentException when no bulk loader supports the current database
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ImportResult importReadingsBulk(InputStream in, ImportContext ctx) throws Exception {
+        return tracked(ctx, () -> {
+            ReadingBulkLoader loader = bulkLoaders.stream().filter(ReadingBulkLoader::supports).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Bulk load is not supported for this database"));
+            ImportTally tally = new ImportTally(ctx);
+            try (var reader = reader(in); ReadingBulkLoader.Session session = loader.open()) {
+                pipeline.run(reader, this::parseReading, chunk -> {
+                    ctx.checkCancelled();
+                    session.stage(chunk.stream().map(CsvImportService::toStaged).toList());
+                    ctx.rowsProcessed(chunk.size());
+                });
+                ctx.checkCancelled();
+                tally.inserted = session.merge();
+                session.forEachRejected(tally::reject);
             }
-            meterRepo.save(new Meter(meterId, cups, address, postalCode, city));
-            inserted++;
+            log.debug("[Import] Bulk readings import: inserted={} skipped={}", tally.inserted, tally.skipped);
+            return tally.toResult();
+        });
+    }
+
+    private static StagedReading toStaged(ParsedReading p) {
+        if (p.error() != null) {
+            return new StagedReading(p.line(), null, null, null, null, null, p.error());
         }
-        return new ImportResult(inserted, skipped, errors);
+        ReadingId id = p.id();
+        return new StagedReading(p.line(), id.getMeterId(), id.getDate(), id.getHour(), p.kwh(),
+                p.quality() != null ? p.quality().name() : null, null);
     }
 
-    @Transactional
-    public ImportResult importContracts(MultipartFile file) throws Exception {
-        int inserted = 0, skipped = 0;
-        List<String> errors = new ArrayList<>();
+    /**
+     * One pass over meters and existing reading keys, instead of two queries per row.
+     * Meters created after this point are reported as unknown for the rest of the import.
+     */
+    private ReadingKeyIndex loadReadingKeyIndex() {
+        ReadingKeyIndex index = readOnlyTx.execute(status -> {
+            try (Stream<ReadingId> keys = readingRepo.streamAllIds()) {
+                return ReadingKeyIndex.load(meterRepo.findAllMeterIds(), readingRepo.count(),
+                        keys, bloomFalsePositiveRate);
+            }
+        });
+        log.debug("[Import] Key index loaded: meters={} filterBytes={}",
+                index.meterCount(), index.filterSizeInBytes());
+        return index;
+    }
 
-        for (String[] row : readCsv(file)) {
-            String contractId = col(row, 0);
-            String meterId    = col(row, 1);
+    /** Parse stage: field conversion and row-local validation only (no DB access). */
+    private ParsedReading parseReading(long line, String[] row) {
+        String meterId = col(row, 0);
+        try {
+            LocalDate    date    = LocalDate.parse(col(row, 1));
+            Integer      hour    = Integer.parseInt(col(row, 2));
+            BigDecimal   kwh     = new BigDecimal(col(row, 3));
+            String       qualStr = col(row, 4);
+            ReadingQuality quality = (qualStr != null && !qualStr.isBlank())
+                    ? ReadingQuality.valueOf(qualStr) : null;
 
-            if (contractId == null || contractId.isBlank()) {
-                errors.add("Row skipped: contractId is required – " + rowStr(row));
-                skipped++;
+            if (hour < 0 || hour > 23) {
+                return ParsedReading.rejected(line, "Row skipped: hour must be 0-23 for meterId=" + meterId + " date=" + date);
+            }
+            if (kwh.compareTo(BigDecimal.ZERO) < 0) {
+                return ParsedReading.rejected(line, "Row skipped: kwh must be >= 0 for meterId=" + meterId + " date=" + date);
+            }
+            return new ParsedReading(line, new ReadingId(meterId, date, hour), kwh, quality, null);
+        } catch (Exception e) {
+            return ParsedReading.rejected(line, "Row error for meterId=" + meterId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write stage: duplicate + FK checks and persistence, called in file order.
+     *
+     * <p>Duplicates are resolved in memory first (in-file key set, then the Bloom filter);
+     * the DB is only asked when the filter reports a possible hit. An unknown meter cannot
+     * have stored readings, so it is reported as an FK error straight away.
+     *
+     * <p>The index only knows the readings committed when the import started. If another
+     * import commits one of this chunk's keys since, the insert hits the primary key and the
+     * chunk rolls back; it is then written again with every row checked against the table,
+     * and the rows found there count as duplicates. Counts and errors are only taken over
+     * once the chunk has committed.
+     */
+    private void writeReadings(List<ParsedReading> chunk, ReadingKeyIndex index, ImportTally tally) {
+        // in-memory checks run once: markSeen must not see the same row again on a retry
+        Map<Long, String> rejected   = new TreeMap<>();
+        List<Candidate>   candidates = new ArrayList<>(chunk.size());
+        for (ParsedReading p : chunk) {
+            if (p.error() != null) {
+                rejected.put(p.line(), p.error());
                 continue;
             }
-            if (contractRepo.existsById(contractId)) {
-                log.debug("[Import] Contract already exists, skipping: {}", contractId);
-                skipped++;
+            ReadingId rid = p.id();
+            int meterIdx = index.meterIndex(rid.getMeterId());
+            if (meterIdx == ReadingKeyIndex.UNKNOWN_METER) {
+                rejected.put(p.line(), "Row skipped: unknown meterId='" + rid.getMeterId() + "'");
                 continue;
             }
-            Meter meter = meterRepo.findById(meterId).orElse(null);
-            if (meter == null) {
-                errors.add("Row skipped: unknown meterId='" + meterId + "' for contract=" + contractId);
-                skipped++;
+            long key = ReadingKeyIndex.pack(meterIdx, rid.getDate(), rid.getHour());
+            if (!index.markSeen(key)) {
+                rejected.put(p.line(), duplicate(rid));
                 continue;
             }
+            candidates.add(new Candidate(p, index.mightExist(key)));
+        }
+
+        Map<Long, String> duplicates;
+        for (int attempt = 1; ; attempt++) {
+            boolean recheck = attempt > 1;
             try {
-                String       customerId = col(row, 2);
-                String       fullName   = col(row, 3);
-                String       nif        = col(row, 4);
-                String       email      = col(row, 5);
-                ContractType type       = ContractType.valueOf(col(row, 6));
-                LocalDate    startDate  = LocalDate.parse(col(row, 7));
-                LocalDate    endDate    = parseDate(col(row, 8));
-                BillingCycle cycle      = BillingCycle.valueOf(col(row, 9));
-                BigDecimal   flatFee    = parseDecimal(col(row, 10));
-                BigDecimal   inclKwh    = parseDecimal(col(row, 11));
-                BigDecimal   overage    = parseDecimal(col(row, 12));
-                BigDecimal   fixedPrice = parseDecimal(col(row, 13));
-                BigDecimal   taxRate    = new BigDecimal(col(row, 14));
-                String       iban       = col(row, 15);
-
-                contractRepo.save(new Contract(contractId, meter, customerId, fullName, nif, email,
-                        type, startDate, endDate, cycle, flatFee, inclKwh, overage, fixedPrice, taxRate, iban));
-                inserted++;
-            } catch (Exception e) {
-                errors.add("Row error for contract=" + contractId + ": " + e.getMessage());
-                skipped++;
+                duplicates = txTemplate.execute(status -> insertReadings(candidates, recheck));
+                break;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) throw e;
+                log.info("[Import] Chunk at line {} collided with readings committed meanwhile; "
+                        + "re-checking it row by row", chunk.get(0).line());
             }
         }
-        return new ImportResult(inserted, skipped, errors);
+        rejected.putAll(duplicates);
+        tally.inserted += candidates.size() - duplicates.size();
+        rejected.forEach(tally::reject);
     }
 
-    @Transactional
-    public ImportResult importReadings(MultipartFile file) throws Exception {
-        int inserted = 0, skipped = 0;
-        List<String> errors = new ArrayList<>();
+    /**
+     * Inserts the candidates that are not stored yet, flushing so a key committed by another
+     * import fails here rather than at commit.
+     *
+     * @param recheck ask the table for every row, not only the possible Bloom filter hits
+     * @return line → error of the rows skipped as duplicates
+     */
+    private Map<Long, String> insertReadings(List<Candidate> candidates, boolean recheck) {
+        Map<Long, String> duplicates = new HashMap<>();
+        List<Reading>     batch      = new ArrayList<>(candidates.size());
+        for (Candidate c : candidates) {
+            ParsedReading p = c.reading();
+            ReadingId rid = p.id();
+            if ((recheck || c.mightExist()) && readingRepo.existsById(rid)) {
+                duplicates.put(p.line(), duplicate(rid));
+                continue;
+            }
+            Meter meter = meterRepo.getReferenceById(rid.getMeterId());
+            batch.add(new Reading(rid, meter, p.kwh(), p.quality()));
+        }
+        readingRepo.saveAll(batch);
+        readingRepo.flush();
+        return duplicates;
+    }
 
-        for (String[] row : readCsv(file)) {
-            String meterId = col(row, 0);
-            try {
-                LocalDate    date    = LocalDate.parse(col(row, 1));
-                Integer      hour    = Integer.parseInt(col(row, 2));
-                BigDecimal   kwh     = new BigDecimal(col(row, 3));
-                String       qualStr = col(row, 4);
-                ReadingQuality quality = (qualStr != null && !qualStr.isBlank())
-                        ? ReadingQuality.valueOf(qualStr) : null;
-
-                if (hour < 0 || hour > 23) {
-                    errors.add("Row skipped: hour must be 0-23 for meterId=" + meterId + " date=" + date);
-                    skipped++;
-                    continue;
-                }
-                if (kwh.compareTo(BigDecimal.ZERO) < 0) {
-                    errors.add("Row skipped: kwh must be >= 0 for meterId=" + meterId + " date=" + date);
-                    skipped++;
-                    continue;
-                }
+    private static String duplicate(ReadingId rid) {
+        return "Row skipped: duplicate reading meterId=" + rid.getMeterId()
+                + " date=" + rid.getDate() + " hour=" + rid.getHour();
+    }
 
-                ReadingId rid = new ReadingId(meterId, date, hour);
-                if (readingRepo.existsById(rid)) {
-                    errors.add("Row skipped: duplicate reading meterId=" + meterId + " date=" + date + " hour=" + hour);
-                    skipped++;
-                    continue;
-                }
+    /** A row that passed the in-memory checks; {@code mightExist} is the Bloom filter's answer. */
+    private record Candidate(ParsedReading reading, boolean mightExist) {}
 
-                Meter meter = meterRepo.findById(meterId).orElse(null);
-                if (meter == null) {
-                    errors.add("Row skipped: unknown meterId='" + meterId + "'");
-                    skipped++;
-                    continue;
-                }
+    /** Result of the parse stage for one row; {@code error} is set when the row is rejected. */
+    private record ParsedReading(long line, ReadingId id, BigDecimal kwh, ReadingQuality quality, String error) {
+        static ParsedReading rejected(long line, String error) {
+            return new ParsedReading(line, null, null, null, error);
+        }
+    }
 
-                readingRepo.save(new Reading(rid, meter, kwh, quality));
-                inserted++;
-            } catch (Exception e) {
-                errors.add("Row error for meterId=" + meterId + ": " + e.getMessage());
-                skipped++;
-            }
+    /** Mutable counters owned by the single thread that writes rows. */
+    private static final class ImportTally {
+        final ImportContext ctx;
+        int inserted, skipped;
+
+        ImportTally(ImportContext ctx) {
+            this.ctx = ctx;
+        }
+
+        void reject(long line, String error) {
+            ctx.errors().add(line, error);
+            skipped++;
+        }
+
+        ImportResult toResult() {
+            return new ImportResult(inserted, skipped, ctx.errors().sample(), ctx.errors().count());
         }
-        return new ImportResult(inserted, skipped, errors);
     }
 
     // ── CSV utilities ─────────────────────────────────────────────────────────
 
-    private List<String[]> readCsv(MultipartFile file) throws Exception {
-        try (var reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-            return reader.lines()
-                    .skip(1)
-                    .filter(l -> !l.isBlank())
-                    .map(l -> l.split(",", -1))
-                    .toList();
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(long line, String[] row) throws Exception;
+    }
+
+    /** Runs one table import, reporting it to {@link ProgressTracker} under {@code ctx.id()}. */
+    private ImportResult tracked(ImportContext ctx, Callable<ImportResult> importer) throws Exception {
+        ProgressTracker.Operation op = progress.start(ctx::progress);
+        try {
+            ImportResult result = importer.call();
+            op.finish(ProgressEvent.COMPLETED, null);
+            return result;
+        } catch (CancellationException e) {
+            op.finish(ProgressEvent.CANCELLED, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            op.finish(ProgressEvent.FAILED, e.getMessage());
+            throw e;
+        }
+    }
+
+    private ImportContext syncContext(MultipartFile file) {
+        return ImportContext.inMemory(file.getSize(), errorSampleSize);
+    }
+
+    private BufferedReader reader(InputStream in) throws IOException {
+        return new BufferedReader(new InputStreamReader(CompressedInput.open(in), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Streams data rows (header skipped, blank lines dropped) to {@code handler}, counting
+     * progress and honouring cancellation between rows.
+     */
+    private void forEachRow(InputStream in, ImportContext ctx, RowHandler handler) throws Exception {
+        try (var reader = reader(in)) {
+            if (reader.readLine() == null) return;
+            long lineNo = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                ctx.checkCancelled();
+                handler.handle(lineNo, line.split(",", -1));
+                ctx.rowsProcessed(1);
+            }
         }
     }
 
@@ -0,0 +1,176 @@
+package com.naturgy.workshop.service;
+
+import com.naturgy.workshop.domain.model.Invoice;
+import com.naturgy.workshop.domain.repository.InvoiceRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Period-wide invoice PDF exports: a zip with one PDF per invoice, or one merged print-run
+ * PDF.
+ *
+ * <p>For the zip, invoices are streamed from the database and rendered on a shared, fixed worker pool;
+ * finished PDFs are written to the zip in completion order (so entry order is not stable).
+ * At most {@code window} renders are in flight at a time: the caller only reads the next
+ * invoice once a finished PDF has been written out, so memory stays at roughly
+ * {@code window} PDFs regardless of the period size, and a slow client throttles rendering.
+ */
+@Service
+public class InvoicePdfBundleService {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoicePdfBundleService.class);
+
+    private final InvoiceRepository invoiceRepo;
+    private final PdfService        pdfService;
+    private final EntityManager     entityManager;
+    private final ExecutorService   workers;
+    private final int               window;
+
+    public InvoicePdfBundleService(InvoiceRepository invoiceRepo,
+                                   PdfService pdfService,
+                                   EntityManager entityManager,
+                                   @Value("${workshop.pdf.bundle.workers:0}") int workers,
+                                   @Value("${workshop.pdf.bundle.window:0}") int window) {
+        int n = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.invoiceRepo   = invoiceRepo;
+        this.pdfService    = pdfService;
+        this.entityManager = entityManager;
+        this.window        = window > 0 ? window : n * 4;
+        // rendering is CPU-bound: platform threads, sized to the cores
+        this.workers       = Executors.newFixedThreadPool(n, WorkerThreads.platform("pdf-bundle"));
+        log.info("[PdfBundle] workers={} window={}", n, this.window);
+    }
+
+    /**
+     * Validates the request before the response is committed, so errors still map to
+     * 400/404 instead of a truncated zip.
+     *
+     * @throws IllegalArgumentException when {@code period} is not YYYY-MM
+     * @throws NoSuchElementException   when the period has no invoices
+     */
+    public void checkPeriod(String period) {
+        try {
+            YearMonth.parse(period);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid period format '" + period + "'. Expected YYYY-MM");
+        }
+        if (!invoiceRepo.existsByPeriod(period)) {
+            throw new NoSuchElementException("No invoices for period " + period);
+        }
+    }
+
+    /**
+     * Writes {@code invoice-<id>.pdf} entries for every invoice of {@code period} to
+     * {@code out}, which is finished but left open.
+     *
+     * <p>The read-only transaction keeps the invoice cursor open while the zip is written.
+     *
+     * @return number of entries written
+     */
+    @Transactional(readOnly = true)
+    public int writeBundle(String period, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // the page layout inside each PDF is already deflated; a fast level keeps this thread off the critical path
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        CompletionService<Rendered> done = new ExecutorCompletionService<>(workers);
+        Set<Future<Rendered>> pending = new HashSet<>();
+        int written = 0;
+        try (Stream<Invoice> invoices = invoiceRepo.streamByPeriod(period)) {
+            Iterator<Invoice> it = invoices.iterator();
+            while (it.hasNext()) {
+                Invoice invoice = it.next();
+                // rendered off-thread from plain fields; the persistence context must not grow
+                entityManager.detach(invoice);
+                pending.add(done.submit(() -> new Rendered(invoice.getInvoiceId(), pdfService.generateInvoicePdf(invoice))));
+                if (pending.size() >= window) {
+                    writeNext(zip, done, pending);
+                    written++;
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeNext(zip, done, pending);
+                written++;
+            }
+            zip.finish();
+            zip.flush();
+        } finally {
+            // client gone or render failed: don't keep the pool busy for nobody
+            pending.forEach(f -> f.cancel(true));
+        }
+        log.debug("[PdfBundle] period={} entries={}", period, written);
+        return written;
+    }
+
+    /**
+     * Writes all invoices of {@code period}, ordered by invoice ID, as one multi-page PDF to
+     * {@code out} (see {@link PdfService#writePrintRun}); {@code out} is left open.
+     *
+     * @return number of pages written
+     */
+    @Transactional(readOnly = true)
+    public int writePrintRun(String period, OutputStream out) throws IOException {
+        try (Stream<Invoice> invoices = invoiceRepo.streamByPeriod(period)) {
+            int pages = pdfService.writePrintRun(invoices.peek(entityManager::detach).iterator(), out);
+            log.debug("[PdfBundle] print run period={} pages={}", period, pages);
+            return pages;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private record Rendered(String invoiceId, byte[] pdf) {}
+
+    private static void writeNext(ZipOutputStream zip,
+                                  CompletionService<Rendered> done,
+                                  Set<Future<Rendered>> pending) throws IOException {
+        Future<Rendered> next;
+        Rendered rendered;
+        try {
+            next = done.take();
+            pending.remove(next);
+            rendered = next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("PDF bundle interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IOException("PDF rendering failed", cause);
+        }
+        zip.putNextEntry(new ZipEntry("invoice-" + rendered.invoiceId() + ".pdf"));
+        zip.write(rendered.pdf());
+        zip.closeEntry();
+    }
+}
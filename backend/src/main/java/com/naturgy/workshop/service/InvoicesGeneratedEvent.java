@@ -0,0 +1,10 @@
+package com.naturgy.workshop.service;
+
+import java.util.List;
+
+/**
+ * Published by {@link BillingService#runBilling} when a run created new invoices; listeners
+ * that act on the stored invoices should wait for the commit
+ * ({@code @TransactionalEventListener}).
+ */
+public record InvoicesGeneratedEvent(String period, List<String> invoiceIds) {}
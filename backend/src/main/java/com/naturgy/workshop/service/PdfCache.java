@@ -0,0 +1,318 @@
+package com.naturgy.workshop.service;
+
+import com.naturgy.workshop.domain.model.Invoice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed cache of rendered invoice PDFs.
+ *
+ * <p>The key is a SHA-256 over the invoice fields printed on the PDF plus
+ * {@link PdfService#LAYOUT_VERSION}, so a changed invoice or layout simply gets a new key and
+ * stale entries age out; nothing needs explicit invalidation. The same hash is the HTTP ETag.
+ *
+ * <p>Two tiers, both LRU and bounded by bytes:
+ * <ul>
+ *   <li><b>memory</b> – the hottest PDFs as byte arrays;</li>
+ *   <li><b>disk</b> – {@code <hash>.pdf} files under {@code dir}, which survive restarts
+ *       (the index is rebuilt from file timestamps on startup).</li>
+ * </ul>
+ * A miss renders through {@link PdfService} and fills both tiers. Two concurrent misses for
+ * the same invoice may both render; the result is identical, so that is harmless.
+ *
+ * <p>The latest ETag per invoice id is remembered too, with the version of the invoices
+ * table it was computed under, so a revalidation can be answered without loading the
+ * invoice until the table is written again.
+ */
+@Component
+public class PdfCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfCache.class);
+
+    private static final int MAX_KNOWN_ETAGS = 10_000;
+
+    private final PdfService pdfService;
+    private final Path       dir;
+    private final long       memoryMaxBytes;
+    private final long       diskMaxBytes;
+
+    /**
+     * Guards both indexes. A lock rather than {@code synchronized}: the disk rename runs under
+     * it, and blocking I/O inside a monitor pins a virtual thread to its carrier.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Access-ordered: iteration starts at the least recently used entry. Guarded by {@code lock}. */
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<String, Long>   disk   = new LinkedHashMap<>(64, 0.75f, true);
+    /** Invoice id → {invoices table version, ETag}, at most {@value #MAX_KNOWN_ETAGS}. Guarded by {@code lock}. */
+    private final LinkedHashMap<String, String[]> knownEtags = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+            return size() > MAX_KNOWN_ETAGS;
+        }
+    };
+    private long memoryBytes;
+    private long diskBytes;
+
+    public PdfCache(PdfService pdfService,
+                    @Value("${workshop.pdf.cache.dir:${java.io.tmpdir}/workshop-pdf-cache}") Path dir,
+                    @Value("${workshop.pdf.cache.memory-max-size:32MB}") DataSize memoryMaxSize,
+                    @Value("${workshop.pdf.cache.disk-max-size:512MB}") DataSize diskMaxSize) throws IOException {
+        this.pdfService     = pdfService;
+        this.dir            = dir;
+        this.memoryMaxBytes = memoryMaxSize.toBytes();
+        this.diskMaxBytes   = diskMaxSize.toBytes();
+        Files.createDirectories(dir);
+        loadDiskIndex();
+        log.info("[PdfCache] dir={} memoryMax={} diskMax={} diskEntries={}",
+                dir, memoryMaxSize, diskMaxSize, disk.size());
+    }
+
+    /** Strong ETag for the PDF of {@code invoice}; cheap, nothing is rendered. */
+    public String etag(Invoice invoice) {
+        return "\"" + contentHash(invoice) + "\"";
+    }
+
+    /**
+     * {@link #etag(Invoice)}, remembered for {@link #knownEtag}.
+     *
+     * @param version invoices table version read <em>before</em> {@code invoice} was loaded
+     */
+    public String etag(Invoice invoice, String version) {
+        String etag = etag(invoice);
+        lock.lock();
+        try {
+            knownEtags.put(invoice.getInvoiceId(), new String[] {version, etag});
+        } finally {
+            lock.unlock();
+        }
+        return etag;
+    }
+
+    /** ETag of the invoice's PDF if it was computed at this invoices table version, else {@code null}. */
+    public String knownEtag(String invoiceId, String version) {
+        lock.lock();
+        try {
+            String[] known = knownEtags.get(invoiceId);
+            return known != null && known[0].equals(version) ? known[1] : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** The PDF of {@code invoice}: from memory, else disk, else freshly rendered. */
+    public byte[] get(Invoice invoice) throws IOException {
+        String hash = contentHash(invoice);
+
+        byte[] pdf;
+        lock.lock();
+        try {
+            pdf = memory.get(hash);
+            // hot in memory = recently used on disk too, or the disk tier evicts the hottest PDFs
+            if (pdf != null) disk.get(hash);
+        } finally {
+            lock.unlock();
+        }
+        if (pdf != null) return pdf;
+
+        pdf = readFromDisk(hash);
+        if (pdf == null) {
+            pdf = pdfService.generateInvoicePdf(invoice);
+            writeToDisk(hash, pdf);
+        }
+        putInMemory(hash, pdf);
+        return pdf;
+    }
+
+    /**
+     * Renders {@code invoice} into the disk tier unless it is already cached. Memory is left
+     * alone so a large pre-render run does not push out what is being downloaded right now.
+     *
+     * @return {@code true} when a PDF was rendered
+     */
+    public boolean prerender(Invoice invoice) throws IOException {
+        String hash = contentHash(invoice);
+        lock.lock();
+        try {
+            if (disk.containsKey(hash) || memory.containsKey(hash)) return false;
+        } finally {
+            lock.unlock();
+        }
+        writeToDisk(hash, pdfService.generateInvoicePdf(invoice));
+        return true;
+    }
+
+    /**
+     * SHA-256 (hex) over everything that ends up on the PDF. Fields are newline separated;
+     * values come from single CSV lines, so none of them contains one.
+     */
+    static String contentHash(Invoice invoice) {
+        String content = String.join("\n",
+                PdfService.LAYOUT_VERSION,
+                invoice.getInvoiceId(),
+                invoice.getPeriod(),
+                String.valueOf(invoice.getGeneratedAt()),
+                invoice.getCustomerFullName(),
+                invoice.getContractId(),
+                invoice.getMeterId(),
+                String.valueOf(invoice.getContractType()),
+                String.valueOf(invoice.getTotalKwh()),
+                String.valueOf(invoice.getSubtotal()),
+                String.valueOf(invoice.getTax()),
+                String.valueOf(invoice.getTotal()));
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ── Memory tier ───────────────────────────────────────────────────────────
+
+    private void putInMemory(String hash, byte[] pdf) {
+        if (pdf.length > memoryMaxBytes) return;
+        lock.lock();
+        try {
+            byte[] previous = memory.put(hash, pdf);
+            if (previous != null) memoryBytes -= previous.length;
+            memoryBytes += pdf.length;
+            Iterator<byte[]> lru = memory.values().iterator();
+            while (memoryBytes > memoryMaxBytes && lru.hasNext()) {
+                memoryBytes -= lru.next().length;
+                lru.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ── Disk tier ─────────────────────────────────────────────────────────────
+
+    private byte[] readFromDisk(String hash) throws IOException {
+        lock.lock();
+        try {
+            if (disk.get(hash) == null) return null;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            return Files.readAllBytes(file(hash));
+        } catch (NoSuchFileException e) {
+            // evicted (or removed by hand) since the index lookup
+            lock.lock();
+            try {
+                Long size = disk.remove(hash);
+                if (size != null) diskBytes -= size;
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Write to a temp file and rename, so readers never see a partial PDF. The rename and the
+     * index update happen together, so a stored file is always indexed.
+     */
+    private void writeToDisk(String hash, byte[] pdf) throws IOException {
+        if (pdf.length > diskMaxBytes) return;
+        Path tmp = Files.createTempFile(dir, hash, ".tmp");
+        List<String> evicted;
+        try {
+            Files.write(tmp, pdf);
+            lock.lock();
+            try {
+                Files.move(tmp, file(hash), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Long previous = disk.put(hash, (long) pdf.length);
+                if (previous != null) diskBytes -= previous;
+                diskBytes += pdf.length;
+                evicted = evictDisk();
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        deleteFiles(evicted);
+    }
+
+    /** Oldest-first on startup; files are named {@code <hash>.pdf}. */
+    private void loadDiskIndex() throws IOException {
+        List<Map.Entry<Path, BasicFileAttributes>> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) paths::iterator) {
+                String name = p.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(p);   // left over from a crash mid-write
+                } else if (name.endsWith(".pdf")) {
+                    files.add(Map.entry(p, Files.readAttributes(p, BasicFileAttributes.class)));
+                }
+            }
+        }
+        files.sort(Comparator.comparing(e -> e.getValue().lastModifiedTime()));
+        List<String> evicted;
+        lock.lock();
+        try {
+            for (Map.Entry<Path, BasicFileAttributes> e : files) {
+                String name = e.getKey().getFileName().toString();
+                disk.put(name.substring(0, name.length() - ".pdf".length()), e.getValue().size());
+                diskBytes += e.getValue().size();
+            }
+            evicted = evictDisk();
+        } finally {
+            lock.unlock();
+        }
+        deleteFiles(evicted);
+    }
+
+    /** Drops least recently used index entries over the limit; caller deletes the files. */
+    private List<String> evictDisk() {
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> lru = disk.entrySet().iterator();
+        while (diskBytes > diskMaxBytes && lru.hasNext()) {
+            Map.Entry<String, Long> e = lru.next();
+            diskBytes -= e.getValue();
+            evicted.add(e.getKey());
+            lru.remove();
+        }
+        return evicted;
+    }
+
+    private void deleteFiles(List<String> hashes) {
+        for (String hash : hashes) {
+            try {
+                Files.deleteIfExists(file(hash));
+            } catch (IOException e) {
+                log.warn("[PdfCache] could not delete {}: {}", file(hash), e.getMessage());
+            }
+        }
+    }
+
+    private Path file(String hash) {
+        return dir.resolve(hash + ".pdf");
+    }
+}
@@ -0,0 +1,97 @@
+package com.naturgy.workshop.service;
+
+import com.naturgy.workshop.domain.model.Invoice;
+import com.naturgy.workshop.domain.repository.InvoiceRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Optional post-billing stage: renders the PDFs of freshly generated invoices into the
+ * {@link PdfCache} disk tier, so the download rush after a billing run is served from the
+ * store instead of rendering on demand.
+ *
+ * <p>Runs after the billing transaction commits, on a single minimum-priority thread, paced
+ * to at most {@code rate} PDFs per second so API requests keep the CPU. Billing runs are
+ * processed one after another. Anything not pre-rendered yet (or lost on shutdown) is simply
+ * rendered on first download.
+ */
+@Component
+public class PdfPrerenderer {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfPrerenderer.class);
+
+    /** Invoices loaded per query. */
+    private static final int BATCH = 200;
+
+    private final InvoiceRepository invoiceRepo;
+    private final PdfCache          pdfCache;
+    private final boolean           enabled;
+    private final long              intervalNanos;
+    private final ExecutorService   worker;
+
+    public PdfPrerenderer(InvoiceRepository invoiceRepo,
+                          PdfCache pdfCache,
+                          @Value("${workshop.pdf.prerender.enabled:false}") boolean enabled,
+                          @Value("${workshop.pdf.prerender.rate:50}") int ratePerSecond) {
+        this.invoiceRepo   = invoiceRepo;
+        this.pdfCache      = pdfCache;
+        this.enabled       = enabled;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, ratePerSecond);
+        this.worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "pdf-prerender");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        if (enabled) log.info("[Prerender] enabled, rate={}/s", Math.max(1, ratePerSecond));
+    }
+
+    /** Queues the run; fallbackExecution covers callers without a transaction. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInvoicesGenerated(InvoicesGeneratedEvent event) {
+        if (!enabled) return;
+        worker.execute(() -> prerender(event));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void prerender(InvoicesGeneratedEvent event) {
+        List<String> ids = event.invoiceIds();
+        long started = System.nanoTime();
+        long next = started;
+        int rendered = 0;
+        for (int from = 0; from < ids.size(); from += BATCH) {
+            List<Invoice> batch = invoiceRepo.findAllById(ids.subList(from, Math.min(ids.size(), from + BATCH)));
+            for (Invoice invoice : batch) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                if (Thread.currentThread().isInterrupted()) {
+                    log.info("[Prerender] period={} stopped after {}/{}", event.period(), rendered, ids.size());
+                    return;
+                }
+                next = Math.max(next, System.nanoTime()) + intervalNanos;
+                try {
+                    if (pdfCache.prerender(invoice)) rendered++;
+                } catch (Exception e) {
+                    // not fatal: this invoice is rendered on first download instead
+                    log.warn("[Prerender] invoice={} failed: {}", invoice.getInvoiceId(), e.getMessage());
+                }
+            }
+        }
+        log.info("[Prerender] period={} rendered={}/{} in {} ms", event.period(), rendered, ids.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+}
@@ -1,145 +1,419 @@
 package com.naturgy.workshop.service;
 
 import com.naturgy.workshop.domain.model.Invoice;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdfwriter.compress.CompressParameters;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.DeflaterOutputStream;
 
 /**
  * Generates a simple PDF invoice using Apache PDFBox.
+ *
+ * <p>Template based: everything that is the same on every invoice (title, section
+ * headings, labels, separators) is turned into PDF content operators once, deflated, and
+ * copied as-is into each document. Per invoice only a second, small content stream with
+ * the variable values is written, next to the matching labels.
+ *
+ * <p>Text is emitted as raw operators against the two standard Helvetica fonts. They need
+ * no embedding, so each document only gets a four-entry font dictionary instead of a
+ * {@link PDType1Font} (which loads metrics and, on hosts without the base-14 fonts, logs a
+ * fallback warning every time). PDFBox records object numbers on the COS objects it writes,
+ * so nothing is shared between documents; the template itself is immutable and rendering is
+ * safe from concurrent requests.
  */
 @Service
 public class PdfService {
 
+    /** Bump whenever the rendered layout changes; part of the {@link PdfCache} content hash. */
+    public static final String LAYOUT_VERSION = "2";
+
+    private static final PDRectangle PAGE   = PDRectangle.A4;
+    private static final float       MARGIN = 50;
+
+    private static final COSName F_REGULAR = COSName.getPDFName("F1");
+    private static final COSName F_BOLD    = COSName.getPDFName("F2");
+
+    /** Standard 14 fonts use WinAnsiEncoding, i.e. windows-1252. */
+    private static final Charset WIN_ANSI = Charset.forName("windows-1252");
+
+    private final Template template = Template.build();
+
     public byte[] generateInvoicePdf(Invoice invoice) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        writeInvoicePdf(invoice, out);
+        return out.toByteArray();
+    }
+
+    /** Renders straight into {@code out}, which is flushed but left open. */
+    public void writeInvoicePdf(Invoice invoice, OutputStream out) throws IOException {
         try (PDDocument doc = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
+            PDPage page = new PDPage(PAGE);
+            COSDictionary fonts = new COSDictionary();
+            fonts.setItem(F_REGULAR, standardFont(Standard14Fonts.FontName.HELVETICA));
+            fonts.setItem(F_BOLD, standardFont(Standard14Fonts.FontName.HELVETICA_BOLD));
+            COSDictionary resources = new COSDictionary();
+            resources.setItem(COSName.FONT, fonts);
+            page.setResources(new PDResources(resources));
+
+            COSArray contents = new COSArray();
+            contents.add(template.staticStream(doc));
+            contents.add(template.valueStream(doc, invoice));
+            page.getCOSObject().setItem(COSName.CONTENTS, contents);
             doc.addPage(page);
 
-            try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
-                float margin = 50;
-                float y = page.getMediaBox().getHeight() - margin;
-
-                PDType1Font bold    = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
-                PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
-
-                // Header
-                cs.beginText();
-                cs.setFont(bold, 20);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("NATURGY WORKSHOP - FACTURA");
-                cs.endText();
-                y -= 30;
-
-                cs.beginText();
-                cs.setFont(regular, 12);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("Nº Factura: " + invoice.getInvoiceId());
-                cs.endText();
-                y -= 18;
-
-                cs.beginText();
-                cs.setFont(regular, 12);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("Periodo: " + invoice.getPeriod());
-                cs.endText();
-                y -= 18;
-
-                cs.beginText();
-                cs.setFont(regular, 12);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("Fecha generacion: " + invoice.getGeneratedAt().toString().substring(0, 16).replace("T", " "));
-                cs.endText();
-                y -= 30;
-
-                // Separator
-                cs.moveTo(margin, y);
-                cs.lineTo(page.getMediaBox().getWidth() - margin, y);
-                cs.stroke();
-                y -= 20;
-
-                // Customer info
-                cs.beginText();
-                cs.setFont(bold, 12);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("DATOS DEL CLIENTE");
-                cs.endText();
-                y -= 18;
-
-                cs.beginText();
-                cs.setFont(regular, 11);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("Cliente: " + invoice.getCustomerFullName());
-                cs.endText();
-                y -= 16;
-
-                cs.beginText();
-                cs.setFont(regular, 11);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("Contrato: " + invoice.getContractId() + "  |  Contador: " + invoice.getMeterId());
-                cs.endText();
-                y -= 16;
-
-                cs.beginText();
-                cs.setFont(regular, 11);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("Tipo contrato: " + invoice.getContractType());
-                cs.endText();
-                y -= 30;
-
-                // Separator
-                cs.moveTo(margin, y);
-                cs.lineTo(page.getMediaBox().getWidth() - margin, y);
-                cs.stroke();
-                y -= 20;
-
-                // Billing detail
-                cs.beginText();
-                cs.setFont(bold, 12);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("DETALLE DE FACTURACION");
-                cs.endText();
-                y -= 18;
-
-                cs.beginText();
-                cs.setFont(regular, 11);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("Energia consumida: " + invoice.getTotalKwh() + " kWh");
-                cs.endText();
-                y -= 16;
-
-                cs.beginText();
-                cs.setFont(regular, 11);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("Subtotal: " + invoice.getSubtotal() + " EUR");
-                cs.endText();
-                y -= 16;
-
-                cs.beginText();
-                cs.setFont(regular, 11);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("Impuestos: " + invoice.getTax() + " EUR");
-                cs.endText();
-                y -= 20;
-
-                // Total
-                cs.beginText();
-                cs.setFont(bold, 14);
-                cs.newLineAtOffset(margin, y);
-                cs.showText("TOTAL: " + invoice.getTotal() + " EUR");
-                cs.endText();
+            // content streams are already compact; object streams would only cost CPU
+            NonClosingOutputStream buffered = new NonClosingOutputStream(out);
+            doc.save(buffered, CompressParameters.NO_COMPRESSION);
+            buffered.flush();
+        }
+    }
+
+    /**
+     * Writes all {@code invoices}, one page each and in iteration order, as a single PDF for
+     * the print provider.
+     *
+     * <p>{@link PDDocument} keeps every page's objects on the heap until it is saved, even
+     * with a temp-file stream cache, so this writes the PDF objects straight to {@code out}
+     * instead. All pages share one font pair and one copy of the static layout stream
+     * (inherited through the page tree); per page only a page dictionary and the small value
+     * stream are written. Cross-reference offsets are spooled to a temp file, so heap use does
+     * not depend on the page count.
+     *
+     * @return number of pages; {@code out} is flushed but left open
+     */
+    public int writePrintRun(Iterator<Invoice> invoices, OutputStream out) throws IOException {
+        Path xref = Files.createTempFile("print-run-xref", ".tmp");
+        try {
+            return new PrintRunWriter(out, xref).write(invoices);
+        } finally {
+            Files.deleteIfExists(xref);
+        }
+    }
+
+    private static COSDictionary standardFont(Standard14Fonts.FontName name) {
+        COSDictionary font = new COSDictionary();
+        font.setItem(COSName.TYPE, COSName.FONT);
+        font.setItem(COSName.SUBTYPE, COSName.TYPE1);
+        font.setName(COSName.BASE_FONT, name.getName());
+        font.setItem(COSName.ENCODING, COSName.WIN_ANSI_ENCODING);
+        return font;
+    }
+
+    // ── Template ──────────────────────────────────────────────────────────────
+
+    /**
+     * A variable value drawn right after its label; {@code ops} is the pre-formatted
+     * {@code BT … Td} prefix.
+     */
+    private record Slot(byte[] ops, Function<Invoice, String> value) {}
+
+    /** Pre-rendered static layout plus the positions of the variable values. */
+    private static final class Template {
+
+        final byte[]     staticDeflated;
+        final List<Slot> slots;
+
+        private Template(byte[] staticDeflated, List<Slot> slots) {
+            this.staticDeflated = staticDeflated;
+            this.slots          = slots;
+        }
+
+        /** Same layout as the original line-by-line renderer. */
+        static Template build() {
+            Builder b = new Builder(PAGE.getHeight() - MARGIN);
+
+            b.text(F_BOLD, 20, "NATURGY WORKSHOP - FACTURA").down(30);
+            b.field(F_REGULAR, 12, "Nº Factura: ", Invoice::getInvoiceId).down(18);
+            b.field(F_REGULAR, 12, "Periodo: ", Invoice::getPeriod).down(18);
+            b.field(F_REGULAR, 12, "Fecha generacion: ",
+                    i -> i.getGeneratedAt().toString().substring(0, 16).replace("T", " ")).down(30);
+            b.separator().down(20);
+
+            b.text(F_BOLD, 12, "DATOS DEL CLIENTE").down(18);
+            b.field(F_REGULAR, 11, "Cliente: ", Invoice::getCustomerFullName).down(16);
+            b.field(F_REGULAR, 11, "Contrato: ",
+                    i -> i.getContractId() + "  |  Contador: " + i.getMeterId()).down(16);
+            b.field(F_REGULAR, 11, "Tipo contrato: ", i -> String.valueOf(i.getContractType())).down(30);
+            b.separator().down(20);
+
+            b.text(F_BOLD, 12, "DETALLE DE FACTURACION").down(18);
+            b.field(F_REGULAR, 11, "Energia consumida: ", i -> i.getTotalKwh() + " kWh").down(16);
+            b.field(F_REGULAR, 11, "Subtotal: ", i -> i.getSubtotal() + " EUR").down(16);
+            b.field(F_REGULAR, 11, "Impuestos: ", i -> i.getTax() + " EUR").down(20);
+            b.field(F_BOLD, 14, "TOTAL: ", i -> i.getTotal() + " EUR");
+
+            return new Template(deflate(b.ops.toByteArray()), List.copyOf(b.slots));
+        }
+
+        /** Copies the pre-deflated static layout into a new stream of {@code doc}. */
+        COSStream staticStream(PDDocument doc) throws IOException {
+            COSStream stream = doc.getDocument().createCOSStream();
+            stream.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+            try (OutputStream raw = stream.createRawOutputStream()) {
+                raw.write(staticDeflated);
             }
+            return stream;
+        }
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            doc.save(out);
+        /** Small uncompressed stream with this invoice's values. */
+        COSStream valueStream(PDDocument doc, Invoice invoice) throws IOException {
+            COSStream stream = doc.getDocument().createCOSStream();
+            try (OutputStream raw = stream.createRawOutputStream()) {
+                raw.write(valueOps(invoice));
+            }
+            return stream;
+        }
+
+        byte[] valueOps(Invoice invoice) {
+            ByteArrayOutputStream ops = new ByteArrayOutputStream(512);
+            for (Slot slot : slots) {
+                ops.writeBytes(slot.ops());
+                showString(ops, slot.value().apply(invoice));
+            }
+            return ops.toByteArray();
+        }
+
+        private static byte[] deflate(byte[] data) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+            try (DeflaterOutputStream z = new DeflaterOutputStream(out)) {
+                z.write(data);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
             return out.toByteArray();
         }
     }
+
+    /** Writes the static layout top-down; label widths come from the standard font metrics. */
+    private static final class Builder {
+
+        final ByteArrayOutputStream ops   = new ByteArrayOutputStream(2048);
+        final List<Slot>            slots = new ArrayList<>();
+        final PDType1Font           regularMetrics = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        final PDType1Font           boldMetrics    = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+        float y;
+
+        Builder(float top) {
+            this.y = top;
+        }
+
+        Builder down(float dy) {
+            y -= dy;
+            return this;
+        }
+
+        Builder text(COSName font, float size, String text) {
+            showText(ops, font, size, MARGIN, y, text);
+            return this;
+        }
+
+        Builder field(COSName font, float size, String label, Function<Invoice, String> value) {
+            text(font, size, label);
+            slots.add(new Slot(textPrefix(font, size, MARGIN + width(font, size, label), y), value));
+            return this;
+        }
+
+        Builder separator() {
+            write(ops, num(MARGIN) + " " + num(y) + " m " + num(PAGE.getWidth() - MARGIN) + " " + num(y) + " l S\n");
+            return this;
+        }
+
+        private float width(COSName font, float size, String text) {
+            try {
+                PDType1Font metrics = font == F_BOLD ? boldMetrics : regularMetrics;
+                return metrics.getStringWidth(text) / 1000f * size;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // ── Print run ─────────────────────────────────────────────────────────────
+
+    /**
+     * Minimal streaming PDF writer. Object numbers 1–5 are fixed; page {@code i} is object
+     * {@code 6 + 2i} with its value stream at {@code 7 + 2i}, so the page tree (written last)
+     * can list its kids without remembering them.
+     */
+    private final class PrintRunWriter {
+
+        static final int PAGES        = 1;
+        static final int CATALOG      = 2;
+        static final int FONT_REGULAR = 3;
+        static final int FONT_BOLD    = 4;
+        static final int LAYOUT       = 5;
+        static final int FIRST_PAGE   = 6;
+
+        final BufferedOutputStream out;
+        final Path                 xrefSpool;
+        final long[]               fixedOffsets = new long[FIRST_PAGE];
+        long pos;
+
+        PrintRunWriter(OutputStream out, Path xrefSpool) {
+            this.out       = new NonClosingOutputStream(out);
+            this.xrefSpool = xrefSpool;
+        }
+
+        int write(Iterator<Invoice> invoices) throws IOException {
+            write("%PDF-1.4\n");
+            write(new byte[] {'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'});
+
+            fixedOffsets[CATALOG] = pos;
+            object(CATALOG, "<< /Type /Catalog /Pages " + PAGES + " 0 R >>");
+            fixedOffsets[FONT_REGULAR] = pos;
+            object(FONT_REGULAR, fontDict(Standard14Fonts.FontName.HELVETICA));
+            fixedOffsets[FONT_BOLD] = pos;
+            object(FONT_BOLD, fontDict(Standard14Fonts.FontName.HELVETICA_BOLD));
+            fixedOffsets[LAYOUT] = pos;
+            stream(LAYOUT, "/Filter /FlateDecode ", template.staticDeflated);
+
+            int pages = 0;
+            try (OutputStream xref = new BufferedOutputStream(Files.newOutputStream(xrefSpool), 8192)) {
+                while (invoices.hasNext()) {
+                    int pageObj = FIRST_PAGE + 2 * pages;
+                    xref.write(xrefEntry(pos));
+                    object(pageObj, "<< /Type /Page /Parent " + PAGES + " 0 R /Contents [" + LAYOUT + " 0 R "
+                            + (pageObj + 1) + " 0 R] >>");
+                    xref.write(xrefEntry(pos));
+                    stream(pageObj + 1, "", template.valueOps(invoices.next()));
+                    pages++;
+                }
+            }
+
+            fixedOffsets[PAGES] = pos;
+            writePageTree(pages);
+
+            long xrefStart = pos;
+            write("xref\n0 " + FIRST_PAGE + "\n0000000000 65535 f\r\n");
+            for (int obj = 1; obj < FIRST_PAGE; obj++) {
+                write(xrefEntry(fixedOffsets[obj]));
+            }
+            if (pages > 0) {
+                write(FIRST_PAGE + " " + 2 * pages + "\n");
+                try (InputStream spooled = Files.newInputStream(xrefSpool)) {
+                    spooled.transferTo(out);
+                }
+            }
+            write("trailer\n<< /Size " + (FIRST_PAGE + 2 * pages) + " /Root " + CATALOG + " 0 R >>\n"
+                    + "startxref\n" + xrefStart + "\n%%EOF\n");
+            out.flush();
+            return pages;
+        }
+
+        /** Flat page tree; fonts and media box are inherited by every page. */
+        private void writePageTree(int pages) throws IOException {
+            write(PAGES + " 0 obj\n<< /Type /Pages /Count " + pages
+                    + " /MediaBox [0 0 " + num(PAGE.getWidth()) + " " + num(PAGE.getHeight()) + "]"
+                    + " /Resources << /Font << /" + F_REGULAR.getName() + " " + FONT_REGULAR + " 0 R /"
+                    + F_BOLD.getName() + " " + FONT_BOLD + " 0 R >> >>\n/Kids [");
+            for (int i = 0; i < pages; i++) {
+                write((FIRST_PAGE + 2 * i) + " 0 R" + (i % 16 == 15 ? "\n" : " "));
+            }
+            write("] >>\nendobj\n");
+        }
+
+        private void object(int number, String body) throws IOException {
+            write(number + " 0 obj\n" + body + "\nendobj\n");
+        }
+
+        private void stream(int number, String dict, byte[] data) throws IOException {
+            write(number + " 0 obj\n<< " + dict + "/Length " + data.length + " >>\nstream\n");
+            write(data);
+            write("\nendstream\nendobj\n");
+        }
+
+        private String fontDict(Standard14Fonts.FontName name) {
+            return "<< /Type /Font /Subtype /Type1 /BaseFont /" + name.getName() + " /Encoding /WinAnsiEncoding >>";
+        }
+
+        /** Fixed 20-byte cross-reference entry. */
+        private byte[] xrefEntry(long offset) {
+            return String.format("%010d 00000 n\r\n", offset).getBytes(StandardCharsets.US_ASCII);
+        }
+
+        private void write(String s) throws IOException {
+            write(s.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        private void write(byte[] b) throws IOException {
+            out.write(b);
+            pos += b.length;
+        }
+    }
+
+    // ── Content-stream helpers ────────────────────────────────────────────────
+
+    private static void showText(ByteArrayOutputStream ops, COSName font, float size, float x, float y, String text) {
+        ops.writeBytes(textPrefix(font, size, x, y));
+        showString(ops, text);
+    }
+
+    private static byte[] textPrefix(COSName font, float size, float x, float y) {
+        return ("BT /" + font.getName() + " " + num(size) + " Tf " + num(x) + " " + num(y) + " Td ")
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /** {@code (text) Tj ET} with PDF string escaping. */
+    private static void showString(ByteArrayOutputStream ops, String text) {
+        ops.write('(');
+        for (byte b : encode(text)) {
+            if (b == '(' || b == ')' || b == '\\') ops.write('\\');
+            ops.write(b);
+        }
+        write(ops, ") Tj ET\n");
+    }
+
+    /** WinAnsi bytes; characters the font cannot show become '?'. */
+    private static byte[] encode(String text) {
+        return String.valueOf(text).getBytes(WIN_ANSI);
+    }
+
+    private static String num(float v) {
+        return new BigDecimal(v).setScale(2, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+
+    private static void write(ByteArrayOutputStream ops, String s) {
+        ops.writeBytes(s.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * PDFBox writes many tiny chunks (and may close the stream it saves to); this buffers
+     * them and never closes {@code out}, which the caller owns.
+     */
+    private static final class NonClosingOutputStream extends BufferedOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out, 8192);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.naturgy.workshop.service;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier – blocked inside a
+ * {@code synchronized} block or a native frame – for longer than {@code threshold}.
+ *
+ * <p>Listens to the JDK's {@code jdk.VirtualThreadPinned} event on an in-process JFR stream.
+ * Each pinning site (first application frame of the stack) is logged with its stack the first
+ * time it is seen, then only counted; {@link #sites()} has the totals. Off by default, and
+ * inert unless virtual threads are actually in use (see {@link WorkerThreads}).
+ */
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private final RecordingStream        stream;
+
+    public VirtualThreadPinningMonitor(WorkerThreads threads,
+                                       @Value("${workshop.threads.pinning-monitor.enabled:false}") boolean enabled,
+                                       @Value("${workshop.threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+        if (!enabled || !threads.virtual()) {
+            this.stream = null;
+            return;
+        }
+        this.stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+        log.info("[Threads] pinning monitor on, threshold={}", threshold);
+    }
+
+    /** Pinning events seen so far, by site ({@code Class.method:line}). */
+    public Map<String, Long> sites() {
+        return sites.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum(), (a, b) -> a, TreeMap::new));
+    }
+
+    @PreDestroy
+    void close() {
+        if (stream != null) stream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        RecordedStackTrace stack = event.getStackTrace();
+        String site = stack == null ? "<unknown>" : site(stack);
+        LongAdder count = sites.computeIfAbsent(site, s -> new LongAdder());
+        count.increment();
+        if (count.sum() == 1) {
+            log.warn("[Threads] virtual thread pinned for {} ms at {}{}",
+                    event.getDuration().toMillis(), site, stack == null ? "" : frames(stack));
+        }
+    }
+
+    /** First frame outside the JDK, where the monitor or native call was entered from. */
+    private static String site(RecordedStackTrace stack) {
+        RecordedFrame fallback = null;
+        for (RecordedFrame frame : stack.getFrames()) {
+            if (!frame.isJavaFrame()) continue;
+            if (fallback == null) fallback = frame;
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return format(frame);
+            }
+        }
+        return fallback == null ? "<unknown>" : format(fallback);
+    }
+
+    private static String frames(RecordedStackTrace stack) {
+        return stack.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(f -> "\n\tat " + format(f))
+                .collect(Collectors.joining());
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,54 @@
+package com.naturgy.workshop.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for the application's own background executors.
+ *
+ * <p>With {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime, Spring Boot
+ * runs Tomcat request handling and its task executor (async/streaming MVC responses) on
+ * virtual threads; {@link #blocking} extends that to our executors whose threads mostly wait
+ * on JDBC, files or queues. CPU-bound pools (CSV parsing, PDF rendering) stay on
+ * {@link #platform} threads: a virtual thread adds no CPU, and those pools are sized to the
+ * cores on purpose. On Java 17, or with the property off, everything is a platform thread.
+ */
+@Component
+public class WorkerThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerThreads.class);
+
+    private final boolean virtual;
+
+    public WorkerThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+        log.info("[Threads] {} threads for request handling and blocking background work",
+                virtual ? "virtual" : "platform");
+    }
+
+    public boolean virtual() {
+        return virtual;
+    }
+
+    /** For threads that mostly block: virtual when enabled, else daemon platform threads. */
+    public ThreadFactory blocking(String prefix) {
+        return virtual ? new VirtualThreadTaskExecutor(prefix + "-").getVirtualThreadFactory() : platform(prefix);
+    }
+
+    /** Daemon platform threads named {@code <prefix>-<n>}. */
+    public static ThreadFactory platform(String prefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
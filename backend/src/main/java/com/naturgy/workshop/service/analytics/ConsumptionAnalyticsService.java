@@ -0,0 +1,262 @@
+package com.naturgy.workshop.service.analytics;
+
+import com.naturgy.workshop.service.WorkerThreads;
+import com.naturgy.workshop.service.analytics.TopConsumers.MeterTotal;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-period consumption analytics by meter city or postal code: the largest consumers and
+ * the distribution of meter totals, for meters with readings in the period.
+ *
+ * <p>Meters are split into ID ranges of {@code partition-meters}; ranges are aggregated on
+ * {@code parallelism} workers, each streaming per-meter totals ({@code SUM} by meter, in the
+ * database) into a {@link TopConsumers} heap and a {@link QuantileSketch} per group. Partial
+ * results are merged as partitions finish, so memory depends on the number of groups and
+ * the top-N size, never on the number of meters; nothing per meter is kept.
+ */
+@Service
+public class ConsumptionAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsumptionAnalyticsService.class);
+
+    /** The grouping column; the only part of the query that is not a bind parameter. */
+    public enum GroupBy {
+        CITY("city"), POSTAL_CODE("postal_code");
+
+        final String column;
+
+        GroupBy(String column) {
+            this.column = column;
+        }
+
+        /** {@code city} or {@code postalCode}. */
+        public static GroupBy parse(String value) {
+            if ("city".equalsIgnoreCase(value))       return CITY;
+            if ("postalCode".equalsIgnoreCase(value)) return POSTAL_CODE;
+            throw new IllegalArgumentException("groupBy must be city or postalCode, not '" + value + "'");
+        }
+    }
+
+    private static final String SELECT_METER_IDS = "SELECT meter_id FROM meters ORDER BY meter_id";
+
+    private static final String SELECT_TOTALS = """
+            SELECT m.meter_id, m.%1$s, SUM(r.kwh)
+              FROM meters m
+              JOIN readings r ON r.meter_id = m.meter_id
+             WHERE m.meter_id >= ?%2$s
+               AND r.reading_date BETWEEN ? AND ?%3$s
+             GROUP BY m.meter_id, m.%1$s""";
+
+    private final JdbcTemplate        jdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final ExecutorService     workers;
+    private final int                 partitionMeters;
+    private final int                 maxTop;
+    private final double              relativeAccuracy;
+
+    public ConsumptionAnalyticsService(DataSource dataSource,
+                                       PlatformTransactionManager txManager,
+                                       WorkerThreads threads,
+                                       @Value("${workshop.analytics.parallelism:4}") int parallelism,
+                                       @Value("${workshop.analytics.partition-meters:10000}") int partitionMeters,
+                                       @Value("${workshop.analytics.max-top:1000}") int maxTop,
+                                       @Value("${workshop.analytics.relative-accuracy:0.01}") double relativeAccuracy) {
+        this.jdbc             = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(5000);
+        // several drivers only honour the fetch size with auto-commit off
+        this.readOnlyTx       = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.partitionMeters  = Math.max(1, partitionMeters);
+        this.maxTop           = Math.max(1, maxTop);
+        this.relativeAccuracy = relativeAccuracy;
+        new QuantileSketch(relativeAccuracy);   // fail fast on a bad setting
+        this.workers = Executors.newFixedThreadPool(Math.max(1, parallelism), threads.blocking("analytics"));
+        log.info("[Analytics] parallelism={} partitionMeters={} maxTop={} relativeAccuracy={}",
+                Math.max(1, parallelism), this.partitionMeters, this.maxTop, relativeAccuracy);
+    }
+
+    /**
+     * The {@code limit} largest meter totals per group, largest first.
+     *
+     * @param group only this city/postal code, or every group when {@code null}
+     * @throws IllegalArgumentException bad period or a limit outside 1..{@code max-top}
+     */
+    public List<GroupTop> topConsumers(String period, GroupBy groupBy, String group, int limit) {
+        if (limit < 1 || limit > maxTop) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxTop);
+        }
+        return aggregate(period, groupBy, group, limit).entrySet().stream()
+                .map(e -> new GroupTop(e.getKey(), e.getValue().meters, e.getValue().top.descending()))
+                .toList();
+    }
+
+    /**
+     * Distribution of meter totals per group: count, sum, mean, min, max, and the requested
+     * quantiles (within {@code relative-accuracy}), keyed {@code p50}, {@code p99.9}, …
+     *
+     * @throws IllegalArgumentException bad period or a quantile outside [0, 1]
+     */
+    public List<GroupPercentiles> percentiles(String period, GroupBy groupBy, String group, List<Double> quantiles) {
+        for (double q : quantiles) {
+            if (!(q >= 0 && q <= 1)) throw new IllegalArgumentException("Quantiles must be in [0, 1], not " + q);
+        }
+        return aggregate(period, groupBy, group, 0).entrySet().stream()
+                .map(e -> {
+                    Partial p = e.getValue();
+                    Map<String, BigDecimal> values = new LinkedHashMap<>();
+                    for (double q : quantiles) values.put(label(q), kwh(p.sketch.quantile(q)));
+                    return new GroupPercentiles(e.getKey(), p.meters, p.totalKwh,
+                            p.totalKwh.divide(BigDecimal.valueOf(p.meters), 3, RoundingMode.HALF_UP),
+                            kwh(p.sketch.min()), kwh(p.sketch.max()), values);
+                })
+                .toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // ── Aggregation ───────────────────────────────────────────────────────────
+
+    /** Groups in name order ({@code null} last); {@code top} 0 = no heaps. */
+    private Map<String, Partial> aggregate(String period, GroupBy groupBy, String group, int top) {
+        YearMonth ym = parseYearMonth(period);
+        long started = System.nanoTime();
+        List<String> bounds = partitionBounds();
+
+        CompletionService<Map<String, Partial>> done = new ExecutorCompletionService<>(workers);
+        for (int i = 0; i < bounds.size(); i++) {
+            String from = bounds.get(i);
+            String to   = i + 1 < bounds.size() ? bounds.get(i + 1) : null;
+            done.submit(() -> readOnlyTx.execute(s -> partition(from, to, ym, groupBy, group, top)));
+        }
+        Map<String, Partial> merged = new HashMap<>();
+        try {
+            for (int i = 0; i < bounds.size(); i++) {
+                done.take().get().forEach((g, p) -> merged.merge(g, p, Partial::merge));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while aggregating", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : new IllegalStateException(e.getCause());
+        }
+
+        Map<String, Partial> sorted = new LinkedHashMap<>();
+        merged.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.nullsLast(Comparator.naturalOrder())))
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        log.info("[Analytics] period={} groupBy={} group={} partitions={} groups={} in {} ms", period, groupBy,
+                group, bounds.size(), sorted.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return sorted;
+    }
+
+    /** First meter ID of every partition; the ID list itself is only streamed past. */
+    private List<String> partitionBounds() {
+        List<String> bounds = new ArrayList<>();
+        long[] seen = {0};
+        jdbc.query(SELECT_METER_IDS, (RowCallbackHandler) rs -> {
+            if (seen[0]++ % partitionMeters == 0) bounds.add(rs.getString(1));
+        });
+        return bounds;
+    }
+
+    /** One worker: meters in {@code [from, to)} ({@code to == null}: to the end). */
+    private Map<String, Partial> partition(String from, String to, YearMonth ym, GroupBy groupBy,
+                                           String group, int top) {
+        String sql = SELECT_TOTALS.formatted(groupBy.column,
+                to == null ? "" : " AND m.meter_id < ?",
+                group == null ? "" : " AND m." + groupBy.column + " = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(from);
+        if (to != null) args.add(to);
+        args.add(Date.valueOf(ym.atDay(1)));
+        args.add(Date.valueOf(ym.atEndOfMonth()));
+        if (group != null) args.add(group);
+
+        Map<String, Partial> groups = new HashMap<>();
+        jdbc.query(sql, (RowCallbackHandler) rs -> groups
+                .computeIfAbsent(rs.getString(2), g -> new Partial(top))
+                .add(rs.getString(1), rs.getBigDecimal(3)), args.toArray());
+        return groups;
+    }
+
+    /** One group's running aggregate, per partition and then merged. */
+    private final class Partial {
+        final TopConsumers   top;
+        final QuantileSketch sketch = new QuantileSketch(relativeAccuracy);
+        long                 meters;
+        BigDecimal           totalKwh = BigDecimal.ZERO;
+
+        Partial(int top) {
+            this.top = top > 0 ? new TopConsumers(top) : null;
+        }
+
+        void add(String meterId, BigDecimal kwh) {
+            if (top != null) top.offer(meterId, kwh);
+            sketch.add(kwh.doubleValue());
+            meters++;
+            totalKwh = totalKwh.add(kwh);
+        }
+
+        Partial merge(Partial other) {
+            if (top != null) top.merge(other.top);
+            sketch.merge(other.sketch);
+            meters  += other.meters;
+            totalKwh = totalKwh.add(other.totalKwh);
+            return this;
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private static YearMonth parseYearMonth(String period) {
+        try {
+            return YearMonth.parse(period);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid period format '" + period + "'. Expected YYYY-MM");
+        }
+    }
+
+    /** {@code 0.999} → {@code p99.9}. */
+    private static String label(double q) {
+        return "p" + BigDecimal.valueOf(q).movePointRight(2).stripTrailingZeros().toPlainString();
+    }
+
+    private static BigDecimal kwh(double value) {
+        return BigDecimal.valueOf(value).setScale(3, RoundingMode.HALF_UP);
+    }
+
+    /** {@code group} is {@code null} for meters without a postal code. */
+    public record GroupTop(String group, long meters, List<MeterTotal> top) {}
+
+    public record GroupPercentiles(String group, long meters, BigDecimal totalKwh, BigDecimal meanKwh,
+                                   BigDecimal minKwh, BigDecimal maxKwh, Map<String, BigDecimal> percentiles) {}
+}
@@ -0,0 +1,125 @@
+package com.naturgy.workshop.service.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Quantiles of non-negative values within a relative error, after DDSketch: a value
+ * {@code x} is counted in bucket {@code ceil(log_γ x)} with {@code γ = (1 + α) / (1 - α)},
+ * so a quantile read back is within {@code α} (relative) of a value of that rank. Memory
+ * grows with the logarithm of the value range, not with the number of values, and sketches
+ * of the same accuracy merge exactly by adding bucket counts – one per partition, combined
+ * at the end.
+ *
+ * <p>Values below {@value #MIN_INDEXABLE} count as zero. Not thread-safe.
+ */
+public final class QuantileSketch {
+
+    static final double MIN_INDEXABLE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    /** {@code counts[i]} is bucket {@code offset + i}. */
+    private long[] counts = new long[0];
+    private int    offset;
+    private long   zeros;
+    private long   count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma            = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma         = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Only finite non-negative values: " + value);
+        }
+        if (value < MIN_INDEXABLE) {
+            zeros++;
+        } else {
+            int index = (int) Math.ceil(Math.log(value) / logGamma);
+            grow(index);
+            counts[index - offset]++;
+        }
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /** Adds {@code other}'s values to this sketch; both must have the same accuracy. */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches of different accuracy");
+        }
+        if (other.count == 0) return;
+        if (other.counts.length > 0) {
+            grow(other.offset);
+            grow(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeros += other.zeros;
+        count += other.count;
+        sum   += other.sum;
+        min    = Math.min(min, other.min);
+        max    = Math.max(max, other.max);
+    }
+
+    /**
+     * The value of rank {@code q * (count - 1)}, within the relative accuracy; exact at
+     * {@code 0} and {@code 1}. {@code NaN} when empty.
+     */
+    public double quantile(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]: " + q);
+        }
+        if (count == 0) return Double.NaN;
+        if (q == 0) return min;
+        if (q == 1) return max;
+        double rank = q * (count - 1);
+        long seen = zeros;
+        if (seen > rank) return 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // the bucket's midpoint in relative terms
+                double value = 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+                return Math.max(min, Math.min(max, value));
+            }
+        }
+        return max;
+    }
+
+    public long   count() { return count; }
+    public double sum()   { return sum; }
+    public double min()   { return count == 0 ? Double.NaN : min; }
+    public double max()   { return count == 0 ? Double.NaN : max; }
+
+    /** Makes room for bucket {@code index}, doubling so repeated growth stays cheap. */
+    private void grow(int index) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            offset = index - 8;
+            return;
+        }
+        if (index < offset) {
+            int extra = Math.max(offset - index, counts.length);
+            long[] grown = new long[counts.length + extra];
+            System.arraycopy(counts, 0, grown, extra, counts.length);
+            counts = grown;
+            offset -= extra;
+        } else if (index >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, counts.length + Math.max(index - offset - counts.length + 1, counts.length));
+        }
+    }
+}
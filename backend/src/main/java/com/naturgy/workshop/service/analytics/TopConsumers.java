@@ -0,0 +1,57 @@
+package com.naturgy.workshop.service.analytics;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The {@code limit} largest meter totals seen, in a min-heap of at most {@code limit}
+ * entries: the smallest kept total is at the top, so a new total either loses against it
+ * in O(1) or replaces it in O(log limit). Heaps of partitions merge by offering one's
+ * entries to the other. Ties rank the lower meter ID first. Not thread-safe.
+ */
+public final class TopConsumers {
+
+    /** Ascending: the heap's head is the first entry to drop. */
+    private static final Comparator<MeterTotal> ORDER =
+            Comparator.comparing(MeterTotal::kwh).thenComparing(MeterTotal::meterId, Comparator.reverseOrder());
+
+    private final int                       limit;
+    private final PriorityQueue<MeterTotal> heap;
+
+    public TopConsumers(int limit) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be at least 1");
+        this.limit = limit;
+        this.heap  = new PriorityQueue<>(Math.min(limit, 1024) + 1, ORDER);
+    }
+
+    public void offer(String meterId, BigDecimal kwh) {
+        if (heap.size() == limit && kwh.compareTo(heap.peek().kwh()) < 0) return;
+        offer(new MeterTotal(meterId, kwh));
+    }
+
+    public void merge(TopConsumers other) {
+        for (MeterTotal t : other.heap) offer(t);
+    }
+
+    /** Largest first. */
+    public List<MeterTotal> descending() {
+        List<MeterTotal> sorted = new ArrayList<>(heap);
+        sorted.sort(ORDER.reversed());
+        return sorted;
+    }
+
+    private void offer(MeterTotal total) {
+        if (heap.size() < limit) {
+            heap.add(total);
+        } else if (ORDER.compare(total, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(total);
+        }
+    }
+
+    /** A meter's consumption in the period. */
+    public record MeterTotal(String meterId, BigDecimal kwh) {}
+}
@@ -0,0 +1,65 @@
+package com.naturgy.workshop.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV, UTF-8, header line first. Amounts are plain decimals ({@code 12.50}),
+ * timestamps ISO-8601 local date-time.
+ */
+public final class InvoiceCsvWriter implements InvoiceExportWriter {
+
+    static final String HEADER = "invoiceId,period,contractId,meterId,customerFullName,nif,iban,"
+            + "contractType,totalKwh,subtotal,tax,total,generatedAt";
+
+    private final BufferedWriter out;
+
+    public InvoiceCsvWriter(OutputStream out) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.out.write(HEADER);
+        this.out.write("\r\n");
+    }
+
+    @Override
+    public void row(InvoiceExportRow r) throws IOException {
+        field(r.invoiceId());
+        field(r.period());
+        field(r.contractId());
+        field(r.meterId());
+        field(r.customerFullName());
+        field(r.nif());
+        field(r.iban());
+        field(r.contractType());
+        field(plain(r.totalKwh()));
+        field(plain(r.subtotal()));
+        field(plain(r.tax()));
+        field(plain(r.total()));
+        out.write(r.generatedAt().toString());
+        out.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+
+    private void field(String value) throws IOException {
+        if (value != null) out.write(quote(value));
+        out.write(',');
+    }
+
+    static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? null : value.toPlainString();
+    }
+}
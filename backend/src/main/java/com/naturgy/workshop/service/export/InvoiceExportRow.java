@@ -0,0 +1,13 @@
+package com.naturgy.workshop.service.export;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One exported invoice with the contract fields finance needs for collection. {@code nif}
+ * and {@code iban} are {@code null} when the contract is gone or has none.
+ */
+public record InvoiceExportRow(String invoiceId, String period, String contractId, String meterId,
+                               String customerFullName, String nif, String iban, String contractType,
+                               BigDecimal totalKwh, BigDecimal subtotal, BigDecimal tax, BigDecimal total,
+                               LocalDateTime generatedAt) {}
@@ -0,0 +1,127 @@
+package com.naturgy.workshop.service.export;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams invoices, joined with their contract's NIF and IBAN, from a JDBC cursor straight
+ * into an {@link InvoiceExportWriter}.
+ *
+ * <p>Rows are fetched {@code workshop.export.fetch-size} at a time and written as they
+ * arrive, so memory stays flat however many invoices match. The query runs in a read-only
+ * transaction: several drivers (PostgreSQL among them) only honour the fetch size with
+ * auto-commit off.
+ *
+ * <p>Incremental pulls: {@link #watermark} gives the newest {@code generatedAt} before the
+ * export starts; the export covers {@code since - overlap < generatedAt <= until}, and the
+ * caller passes {@code until} as the next {@code since}. Rows come in {@code generatedAt}
+ * order.
+ *
+ * <p>{@code generatedAt} is taken while a billing run builds each invoice, not when the run
+ * commits, so rows do not become visible in that order: a run still open when the watermark
+ * is read commits rows older than it later on. Each pull therefore starts {@code overlap}
+ * before {@code since} and repeats whatever the previous pull already sent from that
+ * window. Consumers must de-duplicate by {@code invoiceId}, and {@code overlap} must be
+ * longer than the longest billing run, or its late rows can still be missed.
+ */
+@Service
+public class InvoiceExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoiceExportService.class);
+
+    private static final String SELECT = """
+            SELECT i.invoice_id, i.period, i.contract_id, i.meter_id, i.customer_full_name,
+                   c.nif, c.iban, i.contract_type, i.total_kwh, i.subtotal, i.tax, i.total, i.generated_at
+              FROM invoices i
+              LEFT JOIN contracts c ON c.contract_id = i.contract_id
+             WHERE i.generated_at <= ?""";
+
+    private final JdbcTemplate        jdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final Duration            overlap;
+
+    public InvoiceExportService(DataSource dataSource,
+                                PlatformTransactionManager txManager,
+                                @Value("${workshop.export.fetch-size:1000}") int fetchSize,
+                                @Value("${workshop.export.overlap:15m}") Duration overlap) {
+        this.jdbc       = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(fetchSize);
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.overlap    = overlap;
+    }
+
+    /** Newest {@code generatedAt} of the matching invoices, or {@code null} when there are none. */
+    public LocalDateTime watermark(String period) {
+        Timestamp max = period == null
+                ? jdbc.queryForObject("SELECT MAX(generated_at) FROM invoices", Timestamp.class)
+                : jdbc.queryForObject("SELECT MAX(generated_at) FROM invoices WHERE period = ?", Timestamp.class, period);
+        return max == null ? null : max.toLocalDateTime();
+    }
+
+    /**
+     * @param period only this period, or all when {@code null}
+     * @param since  only invoices generated after {@code since - overlap}, or all when {@code null}
+     * @param until  upper bound from {@link #watermark}, inclusive; {@code null} = nothing to export
+     * @return rows written
+     */
+    public long export(String period, LocalDateTime since, LocalDateTime until, InvoiceExportWriter writer)
+            throws IOException {
+        if (until == null) {
+            writer.finish();
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(until)));
+        if (period != null) {
+            sql.append(" AND i.period = ?");
+            args.add(period);
+        }
+        if (since != null) {
+            sql.append(" AND i.generated_at > ?");
+            args.add(Timestamp.valueOf(since.minus(overlap)));
+        }
+        sql.append(" ORDER BY i.generated_at, i.invoice_id");
+
+        long[] rows = {0};
+        try {
+            readOnlyTx.executeWithoutResult(status -> jdbc.query(sql.toString(), rs -> {
+                try {
+                    writer.row(map(rs));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, args.toArray()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();   // client went away mid-export
+        }
+        writer.finish();
+        log.info("[Export] invoices period={} since={} until={} rows={}", period, since, until, rows[0]);
+        return rows[0];
+    }
+
+    private static InvoiceExportRow map(ResultSet rs) throws SQLException {
+        return new InvoiceExportRow(
+                rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                rs.getString(6), rs.getString(7), rs.getString(8),
+                rs.getBigDecimal(9), rs.getBigDecimal(10), rs.getBigDecimal(11), rs.getBigDecimal(12),
+                rs.getTimestamp(13).toLocalDateTime());
+    }
+}
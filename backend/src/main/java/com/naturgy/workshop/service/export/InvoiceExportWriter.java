@@ -0,0 +1,12 @@
+package com.naturgy.workshop.service.export;
+
+import java.io.IOException;
+
+/** Writes exported invoices one at a time; implementations keep no rows in memory. */
+public interface InvoiceExportWriter {
+
+    void row(InvoiceExportRow row) throws IOException;
+
+    /** After the last row: trailer (if the format has one) and flush. */
+    void finish() throws IOException;
+}
@@ -0,0 +1,52 @@
+package com.naturgy.workshop.service.export;
+
+import com.naturgy.workshop.domain.projection.ReadingSummary;
+import com.naturgy.workshop.domain.repository.ReadingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams readings from a database cursor straight into a {@link ReadingExportWriter}, for
+ * bulk consumers that want every matching row rather than one page.
+ *
+ * <p>Rows are projections, never entities, and are written as they arrive, so memory stays
+ * flat however many readings match. The read-only transaction keeps the cursor open while
+ * the response is written.
+ */
+@Service
+public class ReadingExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadingExportService.class);
+
+    private final ReadingRepository readingRepo;
+
+    public ReadingExportService(ReadingRepository readingRepo) {
+        this.readingRepo = readingRepo;
+    }
+
+    /**
+     * @param meterId only this meter, or every meter when {@code null}
+     * @param from    first day, inclusive
+     * @param to      last day, inclusive
+     * @return rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(String meterId, LocalDate from, LocalDate to, ReadingExportWriter writer) throws IOException {
+        long rows = 0;
+        try (Stream<ReadingSummary> readings = readingRepo.streamSummaries(meterId, from, to)) {
+            for (Iterator<ReadingSummary> it = readings.iterator(); it.hasNext(); rows++) {
+                writer.row(it.next());
+            }
+        }
+        writer.finish();
+        log.info("[Export] readings meterId={} from={} to={} rows={}", meterId, from, to, rows);
+        return rows;
+    }
+}
@@ -0,0 +1,14 @@
+package com.naturgy.workshop.service.export;
+
+import com.naturgy.workshop.domain.projection.ReadingSummary;
+
+import java.io.IOException;
+
+/** Writes exported readings one at a time; implementations keep at most a bounded block in memory. */
+public interface ReadingExportWriter {
+
+    void row(ReadingSummary row) throws IOException;
+
+    /** After the last row: whatever the format still holds, its end marker, and flush. */
+    void finish() throws IOException;
+}
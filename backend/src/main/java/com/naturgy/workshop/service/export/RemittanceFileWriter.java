@@ -0,0 +1,115 @@
+package com.naturgy.workshop.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Fixed-width remittance file for bank/ERP collection runs: ISO-8859-1, CRLF, every record
+ * {@value #RECORD_LENGTH} characters. Text is left-aligned and space-padded (cut when too
+ * long), numbers right-aligned and zero-padded, amounts in euro cents.
+ *
+ * <pre>
+ * H  pos  1 len  1  "H"
+ *        2      19  created at      yyyy-MM-ddTHH:mm:ss
+ *       21      20  source          "NATURGY-WORKSHOP"
+ *       41     116  filler
+ *
+ * D  pos  1 len  1  "D"
+ *        2      20  invoiceId
+ *       22       7  period          yyyy-MM
+ *       29      20  contractId
+ *       49      34  IBAN            spaces removed, upper case
+ *       83      40  customer name
+ *      123      12  total           cents
+ *      135       3  currency        "EUR"
+ *      138      19  generated at    yyyy-MM-ddTHH:mm:ss
+ *
+ * T  pos  1 len  1  "T"
+ *        2      10  record count    D records
+ *       12      18  sum of totals   cents
+ *       30     127  filler
+ * </pre>
+ */
+public final class RemittanceFileWriter implements InvoiceExportWriter {
+
+    public static final Charset CHARSET       = StandardCharsets.ISO_8859_1;
+    static final int            RECORD_LENGTH = 156;
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final BufferedWriter out;
+    private final StringBuilder  record = new StringBuilder(RECORD_LENGTH);
+    private long count;
+    private long totalCents;
+
+    public RemittanceFileWriter(OutputStream out, LocalDateTime createdAt) throws IOException {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, CHARSET), 64 * 1024);
+        record.append('H');
+        text(TIMESTAMP.format(createdAt), 19);
+        text("NATURGY-WORKSHOP", 20);
+        emit();
+    }
+
+    @Override
+    public void row(InvoiceExportRow r) throws IOException {
+        long cents = cents(r.total());
+        record.append('D');
+        text(r.invoiceId(), 20);
+        text(r.period(), 7);
+        text(r.contractId(), 20);
+        text(r.iban() == null ? null : r.iban().replace(" ", "").toUpperCase(), 34);
+        text(r.customerFullName(), 40);
+        number(cents, 12);
+        text("EUR", 3);
+        text(TIMESTAMP.format(r.generatedAt().truncatedTo(ChronoUnit.SECONDS)), 19);
+        emit();
+        count++;
+        totalCents += cents;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        record.append('T');
+        number(count, 10);
+        number(totalCents, 18);
+        emit();
+        out.flush();
+    }
+
+    private void text(String value, int width) {
+        String v = value == null ? "" : value;
+        if (v.length() > width) v = v.substring(0, width);
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            // one character per position: line breaks and anything outside Latin-1 become '?'
+            record.append(c < 0x20 || c > 0xff ? '?' : c);
+        }
+        record.append(" ".repeat(width - v.length()));
+    }
+
+    private void number(long value, int width) {
+        if (value < 0) throw new IllegalArgumentException("Negative amount in remittance file: " + value);
+        String digits = Long.toString(value);
+        if (digits.length() > width) throw new IllegalArgumentException("Value " + value + " exceeds " + width + " digits");
+        record.append("0".repeat(width - digits.length())).append(digits);
+    }
+
+    private void emit() throws IOException {
+        record.append(" ".repeat(RECORD_LENGTH - record.length()));
+        out.append(record).append("\r\n");
+        record.setLength(0);
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+}
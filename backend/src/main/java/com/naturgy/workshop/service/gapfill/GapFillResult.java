@@ -0,0 +1,16 @@
+package com.naturgy.workshop.service.gapfill;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of {@link GapFillService#fill}.
+ *
+ * @param meters          meters with a contract in the period
+ * @param metersFilled    meters that got at least one estimate
+ * @param withoutReadings meters with no reading at all in the period (nothing to estimate from)
+ * @param slotsFilled     ESTIMATED readings written
+ * @param kwhEstimated    their total kWh
+ * @param millis          wall-clock duration
+ */
+public record GapFillResult(String period, long meters, long metersFilled, long withoutReadings,
+                            long slotsFilled, BigDecimal kwhEstimated, long millis) {}
@@ -0,0 +1,339 @@
+package com.naturgy.workshop.service.gapfill;
+
+import com.naturgy.workshop.domain.change.TableChanges;
+import com.naturgy.workshop.domain.consumption.ConsumptionTotals;
+import com.naturgy.workshop.domain.enums.ReadingQuality;
+import com.naturgy.workshop.service.WorkerThreads;
+import com.naturgy.workshop.service.progress.ProgressEvent;
+import com.naturgy.workshop.service.progress.ProgressTracker;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills missing hourly readings of a period with {@code ESTIMATED} ones, so meters with
+ * gaps do not bill low. Meant to run once a period's readings are in, before billing
+ * ({@code POST /api/billing/run?fillGaps=true}).
+ *
+ * <p>Meters with a contract active in the period are read in meter ID order and cut into
+ * batches of {@code batch-meters}; batches run on {@code parallelism} workers, each in its
+ * own transaction: one range scan over the batch's readings (primary key order, so each
+ * meter's series arrives in one piece), gap detection and estimation per meter in an
+ * {@link HourlySeries}, then JDBC batch inserts. Only slots within the meter's contract
+ * dates and before the current hour are filled, so a period still in progress is left
+ * alone from now on. Running it again fills nothing new; a slot written by someone else
+ * meanwhile is skipped rather than overwritten.
+ *
+ * <p>Batches already committed stay when a later one fails; re-running picks up the rest.
+ * The inserts bypass JPA, so they are reported to {@link TableChanges} and
+ * {@link ConsumptionTotals} here. Estimates are ordinary readings: a real value arriving
+ * later replaces one only once the estimate is deleted.
+ */
+@Service
+public class GapFillService {
+
+    private static final Logger log = LoggerFactory.getLogger(GapFillService.class);
+
+    /** Meters with a contract in the period, with the first start and last end among them. */
+    private static final String SELECT_METERS = """
+            SELECT meter_id, MIN(start_date), MAX(COALESCE(end_date, DATE '9999-12-31'))
+              FROM contracts
+             WHERE start_date <= ? AND (end_date IS NULL OR end_date >= ?)
+             GROUP BY meter_id
+             ORDER BY meter_id""";
+
+    private static final String SELECT_READINGS = """
+            SELECT meter_id, reading_date, reading_hour, kwh, quality
+              FROM readings
+             WHERE meter_id BETWEEN ? AND ?
+               AND reading_date BETWEEN ? AND ?
+             ORDER BY meter_id, reading_date, reading_hour""";
+
+    /** Skips a slot filled since the scan instead of failing the batch on the key. */
+    private static final String INSERT_ESTIMATE = """
+            INSERT INTO readings (meter_id, reading_date, reading_hour, kwh, quality)
+            SELECT ?, ?, ?, ?, ?
+             WHERE NOT EXISTS (SELECT 1 FROM readings
+                                WHERE meter_id = ? AND reading_date = ? AND reading_hour = ?)""";
+
+    private final JdbcTemplate        jdbc;
+    private final TransactionTemplate txTemplate;
+    private final TableChanges        changes;
+    private final ConsumptionTotals   consumption;
+    private final ProgressTracker     progress;
+    private final ExecutorService     workers;
+    private final int                 parallelism;
+    private final int                 batchMeters;
+    private final int                 insertBatch;
+    private final int                 windowDays;
+
+    public GapFillService(DataSource dataSource,
+                          PlatformTransactionManager txManager,
+                          TableChanges changes,
+                          ConsumptionTotals consumption,
+                          ProgressTracker progress,
+                          WorkerThreads threads,
+                          @Value("${workshop.gap-fill.parallelism:4}") int parallelism,
+                          @Value("${workshop.gap-fill.batch-meters:500}") int batchMeters,
+                          @Value("${workshop.gap-fill.insert-batch:1000}") int insertBatch,
+                          @Value("${workshop.gap-fill.window-days:3}") int windowDays) {
+        this.jdbc        = new JdbcTemplate(dataSource);
+        this.jdbc.setFetchSize(5000);
+        this.txTemplate  = new TransactionTemplate(txManager);
+        this.changes     = changes;
+        this.consumption = consumption;
+        this.progress    = progress;
+        this.parallelism = Math.max(1, parallelism);
+        this.batchMeters = Math.max(1, batchMeters);
+        this.insertBatch = Math.max(1, insertBatch);
+        this.windowDays  = Math.max(0, windowDays);
+        // each worker holds a database connection for its batch; mostly waiting on JDBC
+        this.workers = Executors.newFixedThreadPool(this.parallelism, threads.blocking("gap-fill"));
+        log.info("[GapFill] parallelism={} batchMeters={} windowDays={}", this.parallelism, this.batchMeters, this.windowDays);
+    }
+
+    /**
+     * Fills the gaps of {@code period} (YYYY-MM).
+     *
+     * @throws IllegalArgumentException when {@code period} is not YYYY-MM
+     */
+    public GapFillResult fill(String period) {
+        YearMonth ym = parseYearMonth(period);
+        LocalDate from = ym.atDay(1);
+        LocalDate to   = ym.atEndOfMonth();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        long started = System.nanoTime();
+
+        AtomicLong meters = new AtomicLong();
+        ProgressTracker.Operation op = progress.start(() -> new ProgressEvent("gap-fill", period,
+                ProgressEvent.RUNNING, meters.get(), 0, 0, -1, null));
+        CompletionService<Batch> done = new ExecutorCompletionService<>(workers);
+        Totals totals = new Totals();
+        int[] inFlight = {0};
+        try {
+            List<MeterRange> batch = new ArrayList<>(batchMeters);
+            // cut while the meter list streams in; at most 2 batches per worker wait in line
+            jdbc.query(SELECT_METERS, (RowCallbackHandler) rs -> {
+                batch.add(new MeterRange(rs.getString(1), rs.getDate(2).toLocalDate(), rs.getDate(3).toLocalDate()));
+                if (batch.size() == batchMeters) {
+                    submit(done, List.copyOf(batch), ym, now, meters);
+                    batch.clear();
+                    if (++inFlight[0] >= parallelism * 2) {
+                        // uncounted before take: a failed batch has completed, drain must not wait for it
+                        inFlight[0]--;
+                        totals.add(take(done));
+                    }
+                }
+            }, Date.valueOf(to), Date.valueOf(from));
+            if (!batch.isEmpty()) {
+                submit(done, List.copyOf(batch), ym, now, meters);
+                inFlight[0]++;
+            }
+            while (inFlight[0] > 0) {
+                inFlight[0]--;
+                totals.add(take(done));
+            }
+        } catch (RuntimeException e) {
+            drain(done, inFlight[0]);
+            op.finish(ProgressEvent.FAILED, e.getMessage());
+            throw e;
+        }
+        op.finish(ProgressEvent.COMPLETED, null);
+
+        GapFillResult result = new GapFillResult(period, totals.meters, totals.metersFilled, totals.withoutReadings,
+                totals.slots, BigDecimal.valueOf(totals.milliKwh, 3),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        log.info("[GapFill] {}", result);
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // ── Batches ───────────────────────────────────────────────────────────────
+
+    private void submit(CompletionService<Batch> done, List<MeterRange> meters, YearMonth month,
+                        LocalDateTime now, AtomicLong scanned) {
+        done.submit(() -> {
+            Batch batch = txTemplate.execute(status -> fillBatch(meters, month, now));
+            scanned.addAndGet(batch.meters);
+            return batch;
+        });
+    }
+
+    /** One worker, one transaction: scan, estimate and insert for a contiguous run of meters. */
+    private Batch fillBatch(List<MeterRange> meters, YearMonth month, LocalDateTime now) {
+        Map<String, MeterRange> byId = new HashMap<>(meters.size() * 2);
+        for (MeterRange m : meters) byId.put(m.meterId, m);
+
+        Batch batch = new Batch(meters.size());
+        HourlySeries series = new HourlySeries(month, windowDays);
+        LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+        List<Estimate> rows = new ArrayList<>();
+
+        // the one-meter-at-a-time pass: flush a meter's estimates when the next one begins
+        Runnable flush = () -> {
+            MeterRange m = byId.get(series.meterId());
+            if (m == null) return;      // in the ID range, but no contract in the period
+            LocalDateTime until = min(now, min(monthEnd, m.to.plusDays(1).atStartOfDay()));
+            m.seen = true;
+            series.fill(m.from, until, (meterId, date, hour, milliKwh) ->
+                    rows.add(new Estimate(meterId, date, hour, milliKwh)));
+            if (rows.size() >= insertBatch) batch.insert(rows);
+        };
+        jdbc.query(SELECT_READINGS, (RowCallbackHandler) rs -> {
+            String meterId = rs.getString(1);
+            if (!meterId.equals(series.meterId())) {
+                if (series.meterId() != null) flush.run();
+                series.reset(meterId);
+            }
+            series.add(rs.getDate(2).toLocalDate(), rs.getInt(3),
+                    rs.getBigDecimal(4).movePointRight(3).longValue(),
+                    ReadingQuality.ESTIMATED.name().equals(rs.getString(5)));
+        }, meters.get(0).meterId, meters.get(meters.size() - 1).meterId,
+                Date.valueOf(month.atDay(1)), Date.valueOf(month.atEndOfMonth()));
+        if (series.meterId() != null) flush.run();
+        batch.insert(rows);
+
+        for (MeterRange m : meters) if (!m.seen) batch.withoutReadings++;
+        return batch;
+    }
+
+    /** Per worker batch; {@link #insert} also reports what it wrote. */
+    private final class Batch {
+        final int meters;
+        int  withoutReadings;
+        int  metersFilled;
+        long slots;
+        long milliKwh;
+
+        Batch(int meters) {
+            this.meters = meters;
+        }
+
+        void insert(List<Estimate> rows) {
+            if (rows.isEmpty()) return;
+            int[][] counts = jdbc.batchUpdate(INSERT_ESTIMATE, rows, rows.size(), (ps, e) -> {
+                ps.setString(1, e.meterId());
+                ps.setDate(2, Date.valueOf(e.date()));
+                ps.setInt(3, e.hour());
+                ps.setBigDecimal(4, BigDecimal.valueOf(e.milliKwh(), 3));
+                ps.setString(5, ReadingQuality.ESTIMATED.name());
+                ps.setString(6, e.meterId());
+                ps.setDate(7, Date.valueOf(e.date()));
+                ps.setInt(8, e.hour());
+            });
+            Map<String, Map<YearMonth, long[]>> written = new HashMap<>();
+            int i = 0;
+            for (int[] chunk : counts) {
+                for (int count : chunk) {
+                    Estimate e = rows.get(i++);
+                    if (count != 1) continue;
+                    long[] sum = written.computeIfAbsent(e.meterId(), k -> new HashMap<>())
+                            .computeIfAbsent(YearMonth.from(e.date()), k -> new long[2]);
+                    sum[0] += e.milliKwh();
+                    sum[1]++;
+                    slots++;
+                    milliKwh += e.milliKwh();
+                }
+            }
+            written.forEach((meterId, months) -> months.forEach((month, sum) ->
+                    consumption.added(meterId, month, BigDecimal.valueOf(sum[0], 3), sum[1])));
+            metersFilled += written.size();
+            if (!written.isEmpty()) changes.changed(TableChanges.Table.READINGS);
+            rows.clear();
+        }
+    }
+
+    private Batch take(CompletionService<Batch> done) {
+        try {
+            return done.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while filling gaps", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException r ? r : new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** Waits for batches still running after a failure, so none outlives the call. */
+    private static void drain(CompletionService<Batch> done, int inFlight) {
+        for (int i = 0; i < inFlight; i++) {
+            try {
+                done.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private static YearMonth parseYearMonth(String period) {
+        try {
+            return YearMonth.parse(period);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid period format '" + period + "'. Expected YYYY-MM");
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private record Estimate(String meterId, LocalDate date, int hour, long milliKwh) {}
+
+    private static final class MeterRange {
+        final String    meterId;
+        final LocalDate from;
+        final LocalDate to;
+        boolean         seen;
+
+        MeterRange(String meterId, LocalDate from, LocalDate to) {
+            this.meterId = meterId;
+            this.from    = from;
+            this.to      = to;
+        }
+    }
+
+    /** Sums of finished batches; only touched by the calling thread. */
+    private static final class Totals {
+        long meters, metersFilled, withoutReadings, slots, milliKwh;
+
+        void add(Batch b) {
+            meters          += b.meters;
+            metersFilled    += b.metersFilled;
+            withoutReadings += b.withoutReadings;
+            slots           += b.slots;
+            milliKwh        += b.milliKwh;
+        }
+    }
+}
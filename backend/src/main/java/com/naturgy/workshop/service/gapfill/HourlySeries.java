@@ -0,0 +1,120 @@
+package com.naturgy.workshop.service.gapfill;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+
+/**
+ * One meter's hourly readings for one month, as a bitmap per day plus the values, reused
+ * from meter to meter by a single worker.
+ *
+ * <p>Bit {@code h} of {@code present[d]} is set when the meter has any reading for hour
+ * {@code h} of day {@code d + 1}; {@code real[d]} only counts readings that are not
+ * themselves estimates, and only those feed new estimates. A missing slot is estimated as
+ * the mean of the same hour on the real readings up to {@code windowDays} either side
+ * (same month), or, when there is none, as the meter's mean real hourly reading in the month.
+ * A meter without any real reading in the month gets no estimates.
+ */
+final class HourlySeries {
+
+    private static final int FULL_DAY = (1 << 24) - 1;
+
+    private final YearMonth month;
+    private final int       days;
+    private final int       windowDays;
+    private final int[]     present;
+    private final int[]     real;
+    /** Thousandths of a kWh, {@code [day * 24 + hour]}. */
+    private final long[]    milli;
+
+    private String meterId;
+    private long   realSum;
+    private int    realCount;
+
+    HourlySeries(YearMonth month, int windowDays) {
+        this.month      = month;
+        this.days       = month.lengthOfMonth();
+        this.windowDays = windowDays;
+        this.present    = new int[days];
+        this.real       = new int[days];
+        this.milli      = new long[days * 24];
+    }
+
+    /** Starts over for another meter. */
+    void reset(String meterId) {
+        this.meterId = meterId;
+        Arrays.fill(present, 0);
+        Arrays.fill(real, 0);
+        realSum   = 0;
+        realCount = 0;
+    }
+
+    String meterId() {
+        return meterId;
+    }
+
+    void add(LocalDate date, int hour, long milliKwh, boolean estimated) {
+        int d = date.getDayOfMonth() - 1;
+        int bit = 1 << hour;
+        present[d] |= bit;
+        if (estimated) return;
+        real[d] |= bit;
+        milli[d * 24 + hour] = milliKwh;
+        realSum += milliKwh;
+        realCount++;
+    }
+
+    /**
+     * Estimates every missing slot of the month from the start of {@code from} up to, not
+     * including, {@code until}.
+     *
+     * @return slots filled; 0 when the meter has no real reading to estimate from
+     */
+    int fill(LocalDate from, LocalDateTime until, Sink sink) {
+        if (realCount == 0) return 0;
+        long fallback = Math.round((double) realSum / realCount);
+        int filled = 0;
+        for (int d = 0; d < days; d++) {
+            LocalDate date = month.atDay(d + 1);
+            int missing = allowed(date, from, until) & ~present[d];
+            while (missing != 0) {
+                int hour = Integer.numberOfTrailingZeros(missing);
+                missing &= missing - 1;
+                sink.estimate(meterId, date, hour, estimate(d, hour, fallback));
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    /** Same hour on the nearest real readings, else the meter's monthly mean. */
+    private long estimate(int d, int hour, long fallback) {
+        int bit = 1 << hour;
+        long sum = 0;
+        int  n   = 0;
+        for (int k = 1; k <= windowDays; k++) {
+            if (d - k >= 0 && (real[d - k] & bit) != 0) {
+                sum += milli[(d - k) * 24 + hour];
+                n++;
+            }
+            if (d + k < days && (real[d + k] & bit) != 0) {
+                sum += milli[(d + k) * 24 + hour];
+                n++;
+            }
+        }
+        return n == 0 ? fallback : Math.round((double) sum / n);
+    }
+
+    /** Hours of {@code date} in {@code [from, until)}, as a mask. */
+    private static int allowed(LocalDate date, LocalDate from, LocalDateTime until) {
+        if (date.isBefore(from) || date.isAfter(until.toLocalDate())) return 0;
+        if (date.isBefore(until.toLocalDate())) return FULL_DAY;
+        return (1 << until.getHour()) - 1;
+    }
+
+    @FunctionalInterface
+    interface Sink {
+        void estimate(String meterId, LocalDate date, int hour, long milliKwh);
+    }
+}
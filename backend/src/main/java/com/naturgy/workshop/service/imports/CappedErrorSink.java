@@ -0,0 +1,39 @@
+package com.naturgy.workshop.service.imports;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory error sink that keeps the first {@code sampleSize} messages and counts the rest.
+ */
+public class CappedErrorSink implements ImportErrorSink {
+
+    private final int          sampleSize;
+    private final List<String> sample = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong   count  = new AtomicLong();
+
+    public CappedErrorSink(int sampleSize) {
+        this.sampleSize = Math.max(0, sampleSize);
+    }
+
+    @Override
+    public void add(long line, String message) {
+        if (count.incrementAndGet() <= sampleSize) {
+            sample.add(message);
+        }
+    }
+
+    @Override
+    public long count() {
+        return count.get();
+    }
+
+    @Override
+    public List<String> sample() {
+        synchronized (sample) {
+            return List.copyOf(sample);
+        }
+    }
+}
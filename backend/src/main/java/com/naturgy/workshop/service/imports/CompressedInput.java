@@ -0,0 +1,101 @@
+package com.naturgy.workshop.service.imports;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Detects gzip / zip uploads by magic bytes and decompresses them on the fly.
+ *
+ * <p>Nothing is written to disk: the returned stream inflates as the CSV parser reads.
+ * Zip archives are read sequentially with {@link ZipInputStream}, so picking an entry
+ * means skipping past the ones before it.
+ */
+public final class CompressedInput {
+
+    private static final int BUFFER = 64 * 1024;
+
+    private CompressedInput() {}
+
+    /**
+     * Opens CSV content from a plain, gzip or zip stream.
+     *
+     * <p>For zip input the first {@code .csv} entry is used; archives holding several
+     * tables go through {@link #openZipEntry} (bundle import) instead.
+     *
+     * @throws IllegalArgumentException when a zip holds no CSV entry
+     */
+    public static InputStream open(InputStream raw) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(raw, BUFFER);
+        return switch (detect(in)) {
+            case GZIP -> new GZIPInputStream(in, BUFFER);
+            case ZIP  -> {
+                ZipInputStream zip = new ZipInputStream(in);
+                if (seekEntry(zip, null) == null) {
+                    zip.close();
+                    throw new IllegalArgumentException("Zip archive contains no CSV file");
+                }
+                yield zip;
+            }
+            case PLAIN -> in;
+        };
+    }
+
+    /**
+     * Positions a zip stream at the first CSV entry whose file name starts with the kind
+     * name (e.g. {@code readings-2026-01.csv}), or returns {@code null} when the archive has
+     * none. Used for multi-file bundles where every table is optional.
+     */
+    public static InputStream openZipEntry(InputStream raw, ImportKind kind) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(raw, BUFFER);
+        if (detect(in) != Format.ZIP) {
+            in.close();
+            throw new IllegalArgumentException("Bundle import expects a zip archive");
+        }
+        ZipInputStream zip = new ZipInputStream(in);
+        if (seekEntry(zip, kind) == null) {
+            zip.close();
+            return null;
+        }
+        return zip;
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private enum Format { PLAIN, GZIP, ZIP }
+
+    private static Format detect(BufferedInputStream in) throws IOException {
+        in.mark(4);
+        byte[] magic = in.readNBytes(4);
+        in.reset();
+        if (magic.length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B) {
+            return Format.GZIP;
+        }
+        if (magic.length == 4 && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4) {
+            return Format.ZIP;
+        }
+        return Format.PLAIN;
+    }
+
+    /** Advances to the first CSV entry named after {@code kind} ({@code null} = any CSV). */
+    private static ZipEntry seekEntry(ZipInputStream zip, ImportKind kind) throws IOException {
+        String prefix = kind == null ? "" : kind.name().toLowerCase(Locale.ROOT);
+        ZipEntry e;
+        while ((e = zip.getNextEntry()) != null) {
+            if (e.isDirectory()) continue;
+            String name = baseName(e.getName());
+            if (name.endsWith(".csv") && name.startsWith(prefix)) return e;
+        }
+        return null;
+    }
+
+    private static String baseName(String entryName) {
+        String n = entryName.toLowerCase(Locale.ROOT);
+        int slash = n.lastIndexOf('/');
+        return slash >= 0 ? n.substring(slash + 1) : n;
+    }
+}
@@ -0,0 +1,65 @@
+package com.naturgy.workshop.service.imports;
+
+import com.naturgy.workshop.service.CsvImportService;
+import com.naturgy.workshop.service.CsvImportService.ImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Imports a zip bundle holding meters, contracts and/or readings CSVs.
+ *
+ * <p>Tables are always imported in FK order (meters → contracts → readings), whatever the
+ * order of entries inside the archive. Since a zip is read sequentially and nothing is
+ * spooled to disk, each table is one pass over the source: the archive is re-opened and
+ * skipped forward to that table's entry, which is then decompressed straight into the CSV
+ * parser. Tables missing from the archive are left out of the result.
+ */
+@Service
+public class CsvBundleImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvBundleImportService.class);
+
+    private final CsvImportService csvImport;
+
+    public CsvBundleImportService(CsvImportService csvImport) {
+        this.csvImport = csvImport;
+    }
+
+    /**
+     * @param source   re-openable zip source (multipart upload or file)
+     * @param contexts import context to use for each table
+     * @return per-table results in import order
+     */
+    public Map<ImportKind, ImportResult> importBundle(InputStreamSource source,
+                                                      Function<ImportKind, ImportContext> contexts) throws Exception {
+        Map<ImportKind, ImportResult> results = new LinkedHashMap<>();
+        for (ImportKind kind : ImportKind.TABLE_ORDER) {
+            ImportContext ctx = contexts.apply(kind);
+            ctx.checkCancelled();
+            InputStream entry = CompressedInput.openZipEntry(ctx.track(source.getInputStream()), kind);
+            if (entry == null) {
+                log.debug("[Import] Bundle has no {} entry", kind);
+                continue;
+            }
+            ImportResult result = switch (kind) {
+                case METERS    -> csvImport.importMeters(entry, ctx);
+                case CONTRACTS -> csvImport.importContracts(entry, ctx);
+                case READINGS  -> csvImport.importReadings(entry, ctx);
+                case BUNDLE    -> throw new IllegalStateException("Nested bundle");
+            };
+            log.info("[Import] Bundle {}: inserted={} skipped={}", kind, result.inserted(), result.skipped());
+            results.put(kind, result);
+        }
+        if (results.isEmpty()) {
+            throw new IllegalArgumentException("Bundle contains no meters/contracts/readings CSV");
+        }
+        return results;
+    }
+}
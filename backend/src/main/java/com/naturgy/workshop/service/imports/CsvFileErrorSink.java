@@ -0,0 +1,59 @@
+package com.naturgy.workshop.service.imports;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streams every error to a CSV file ({@code line,message}) while keeping a capped sample
+ * in memory for the JSON status.
+ *
+ * <p>Writes are serialised with a {@link ReentrantLock}, not {@code synchronized}: a buffer
+ * flush under a monitor would pin a virtual import thread to its carrier.
+ */
+public class CsvFileErrorSink extends CappedErrorSink {
+
+    private final BufferedWriter out;
+    private final ReentrantLock  lock = new ReentrantLock();
+
+    public CsvFileErrorSink(Path file, int sampleSize) throws IOException {
+        super(sampleSize);
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        this.out.write("line,message");
+        this.out.newLine();
+    }
+
+    @Override
+    public void add(long line, String message) {
+        lock.lock();
+        try {
+            super.add(line, message);
+            out.write(Long.toString(line));
+            out.write(',');
+            out.write(quote(message));
+            out.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write import error report", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            out.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String quote(String s) {
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,192 @@
+package com.naturgy.workshop.service.imports;
+
+import com.naturgy.workshop.service.WorkerThreads;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+/**
+ * Staged CSV import: read → parse/validate → write.
+ *
+ * <p>Stages:
+ * <ol>
+ *   <li><b>Read</b> – one reader thread per import splits the input into chunks of raw lines
+ *       (header skipped, blank lines dropped).</li>
+ *   <li><b>Parse</b> – each chunk is split and parsed on a shared worker pool, so the
+ *       expensive field conversions ({@code LocalDate.parse}, {@code new BigDecimal}, enum
+ *       lookups) run in parallel across cores.</li>
+ *   <li><b>Write</b> – the calling thread consumes parsed chunks <em>in file order</em> and
+ *       hands each one to the writer (typically one transaction per chunk).</li>
+ * </ol>
+ *
+ * <p>The queue between read and write holds the chunk futures in submission order and is
+ * bounded, so at most {@code queueCapacity} chunks are in flight regardless of file size.
+ * Because the writer sees chunks in the same order as the file, duplicate detection and the
+ * error list are identical to a single-threaded import.
+ *
+ * <p>Reader threads spend their time blocked on input or on the full queue, so they come
+ * from {@link WorkerThreads#blocking} (virtual when enabled); the parse pool stays on
+ * platform threads sized to the cores.
+ */
+@Component
+public class CsvImportPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvImportPipeline.class);
+
+    /** Marks the end of the chunk stream in the in-flight queue (compared by identity). */
+    private static final Future<List<?>> END = CompletableFuture.completedFuture(List.of());
+
+    private final int chunkSize;
+    private final int queueCapacity;
+
+    private final ExecutorService readerPool;
+    private final ExecutorService parsePool;
+
+    @Autowired
+    public CsvImportPipeline(@Value("${workshop.import.parallelism:0}") int parallelism,
+                             @Value("${workshop.import.chunk-size:1000}") int chunkSize,
+                             @Value("${workshop.import.queue-capacity:0}") int queueCapacity,
+                             WorkerThreads threads) {
+        this(parallelism, chunkSize, queueCapacity, threads.blocking("csv-import-read"));
+    }
+
+    /** Platform threads throughout. */
+    public CsvImportPipeline(int parallelism, int chunkSize, int queueCapacity) {
+        this(parallelism, chunkSize, queueCapacity, WorkerThreads.platform("csv-import-read"));
+    }
+
+    private CsvImportPipeline(int parallelism, int chunkSize, int queueCapacity, ThreadFactory readerThreads) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize     = Math.max(1, chunkSize);
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : workers * 2;
+        this.readerPool    = Executors.newCachedThreadPool(readerThreads);
+        this.parsePool     = Executors.newFixedThreadPool(workers, WorkerThreads.platform("csv-import-parse"));
+        log.info("[Import] pipeline workers={} chunkSize={} queueCapacity={}",
+                workers, this.chunkSize, this.queueCapacity);
+    }
+
+    /** Parse-stage callback; invoked concurrently from the worker pool. */
+    @FunctionalInterface
+    public interface RowParser<T> {
+        /**
+         * @param line 1-based line number in the source (the header is line 1)
+         * @param row  line split on commas, trailing empty fields preserved
+         */
+        T parse(long line, String[] row);
+    }
+
+    /**
+     * Run the pipeline over {@code reader}.
+     *
+     * @param reader CSV input; the first line is treated as the header and skipped
+     * @param parser converts one split row into a parsed item; must be thread-safe
+     * @param writer receives parsed chunks in file order, on the calling thread
+     */
+    public <T> void run(BufferedReader reader,
+                        RowParser<T> parser,
+                        Consumer<List<T>> writer) throws Exception {
+        BlockingQueue<Future<List<?>>> inFlight = new ArrayBlockingQueue<>(queueCapacity);
+        Future<?> producer = readerPool.submit(() -> produce(reader, parser, inFlight));
+
+        try {
+            while (true) {
+                Future<List<?>> next = inFlight.take();
+                if (next == END) break;
+                @SuppressWarnings("unchecked")
+                List<T> chunk = (List<T>) next.get();
+                writer.accept(chunk);
+            }
+            producer.get();
+        } catch (ExecutionException e) {
+            abort(producer, inFlight);
+            throw unwrap(e);
+        } catch (Exception e) {
+            abort(producer, inFlight);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        readerPool.shutdownNow();
+        parsePool.shutdownNow();
+    }
+
+    // ── Stages ────────────────────────────────────────────────────────────────
+
+    private <T> Void produce(BufferedReader reader,
+                             RowParser<T> parser,
+                             BlockingQueue<Future<List<?>>> inFlight) throws Exception {
+        try {
+            String header = reader.readLine();
+            if (header == null) return null;
+
+            List<String> lines = new ArrayList<>(chunkSize);
+            long[] lineNos = new long[chunkSize];
+            long lineNo = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) continue;
+                lineNos[lines.size()] = lineNo;
+                lines.add(line);
+                if (lines.size() == chunkSize) {
+                    submit(lines, lineNos, parser, inFlight);
+                    lines = new ArrayList<>(chunkSize);
+                    lineNos = new long[chunkSize];
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(lines, lineNos, parser, inFlight);
+            }
+            return null;
+        } finally {
+            inFlight.put(END);
+        }
+    }
+
+    private <T> void submit(List<String> lines, long[] lineNos,
+                            RowParser<T> parser,
+                            BlockingQueue<Future<List<?>>> inFlight) throws InterruptedException {
+        inFlight.put(parsePool.submit(() -> {
+            List<T> parsed = new ArrayList<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                parsed.add(parser.parse(lineNos[i], lines.get(i).split(",", -1)));
+            }
+            return parsed;
+        }));
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private void abort(Future<?> producer, BlockingQueue<Future<List<?>>> inFlight) {
+        producer.cancel(true);
+        Future<List<?>> f;
+        while ((f = inFlight.poll()) != null) {
+            f.cancel(true);
+        }
+    }
+
+    private Exception unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof Exception ex) return ex;
+        if (cause instanceof Error err) throw err;
+        return e;
+    }
+}
@@ -0,0 +1,148 @@
+package com.naturgy.workshop.service.imports;
+
+import com.naturgy.workshop.domain.change.TableChanges;
+import com.naturgy.workshop.domain.consumption.ConsumptionTotals;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * {@link ReadingBulkLoader} for H2.
+ *
+ * <p>Rows are staged with JDBC batches into a session-local temporary table. The table is
+ * declared {@code TRANSACTIONAL} so creating it does not commit the caller's transaction;
+ * for the same reason the key lookup index comes from a table-level {@code UNIQUE}
+ * constraint rather than a separate {@code CREATE INDEX}. H2's {@code CSVREAD} is not used:
+ * it reads a file on the database host and would bypass the row validation and error
+ * messages of the parse stage. The insert bypasses JPA, so it reports the readings change to
+ * {@link TableChanges} and the inserted kWh per meter-month to {@link ConsumptionTotals}
+ * itself.
+ */
+@Component
+public class H2ReadingBulkLoader implements ReadingBulkLoader {
+
+    private static final String STAGE = "readings_bulk_stage";
+
+    private static final String CREATE_STAGE = """
+            CREATE LOCAL TEMPORARY TABLE IF NOT EXISTS %s (
+                line         BIGINT PRIMARY KEY,
+                meter_id     VARCHAR,
+                reading_date DATE,
+                reading_hour INT,
+                kwh          NUMERIC(38, 10),
+                quality      VARCHAR(10),
+                error        VARCHAR,
+                UNIQUE (meter_id, reading_date, reading_hour, line)
+            ) ON COMMIT DELETE ROWS TRANSACTIONAL""".formatted(STAGE);
+
+    private static final String INSERT_STAGE = "INSERT INTO " + STAGE
+            + " (line, meter_id, reading_date, reading_hour, kwh, quality, error) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FLAG_UNKNOWN_METERS = """
+            UPDATE %1$s s
+               SET error = 'Row skipped: unknown meterId=''' || COALESCE(s.meter_id, 'null') || ''''
+             WHERE s.error IS NULL
+               AND NOT EXISTS (SELECT 1 FROM meters m WHERE m.meter_id = s.meter_id)""".formatted(STAGE);
+
+    /** Stored readings, or an earlier row of the same file with the same key. */
+    private static final String FLAG_DUPLICATES = """
+            UPDATE %1$s s
+               SET error = 'Row skipped: duplicate reading meterId=' || s.meter_id
+                        || ' date=' || CAST(s.reading_date AS VARCHAR) || ' hour=' || s.reading_hour
+             WHERE s.error IS NULL
+               AND (EXISTS (SELECT 1 FROM readings r
+                             WHERE r.meter_id = s.meter_id AND r.reading_date = s.reading_date
+                               AND r.reading_hour = s.reading_hour)
+                 OR EXISTS (SELECT 1 FROM %1$s f
+                             WHERE f.meter_id = s.meter_id AND f.reading_date = s.reading_date
+                               AND f.reading_hour = s.reading_hour AND f.line < s.line))""".formatted(STAGE);
+
+    private static final String MERGE = """
+            INSERT INTO readings (meter_id, reading_date, reading_hour, kwh, quality)
+            SELECT meter_id, reading_date, reading_hour, kwh, quality
+              FROM %s
+             WHERE error IS NULL""".formatted(STAGE);
+
+    /** What {@link #MERGE} inserted, per meter-month, at the precision of {@code readings.kwh}. */
+    private static final String SELECT_MERGED_TOTALS = """
+            SELECT meter_id, EXTRACT(YEAR FROM reading_date), EXTRACT(MONTH FROM reading_date),
+                   SUM(CAST(kwh AS NUMERIC(10, 3))), COUNT(*)
+              FROM %s
+             WHERE error IS NULL
+             GROUP BY meter_id, EXTRACT(YEAR FROM reading_date), EXTRACT(MONTH FROM reading_date)""".formatted(STAGE);
+
+    private static final String SELECT_REJECTED =
+            "SELECT line, error FROM " + STAGE + " WHERE error IS NOT NULL ORDER BY line";
+
+    private final JdbcTemplate      jdbc;
+    private final TableChanges      changes;
+    private final ConsumptionTotals consumption;
+    private volatile Boolean        h2;
+
+    public H2ReadingBulkLoader(JdbcTemplate jdbc, TableChanges changes, ConsumptionTotals consumption) {
+        this.jdbc        = jdbc;
+        this.changes     = changes;
+        this.consumption = consumption;
+    }
+
+    @Override
+    public boolean supports() {
+        if (h2 == null) {
+            h2 = "H2".equals(jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName()));
+        }
+        return h2;
+    }
+
+    @Override
+    public Session open() {
+        jdbc.execute(CREATE_STAGE);
+        // rows left over by an earlier bulk load in the same (still open) transaction
+        jdbc.update("DELETE FROM " + STAGE);
+        return new H2Session();
+    }
+
+    private final class H2Session implements Session {
+
+        @Override
+        public void stage(List<StagedReading> rows) {
+            jdbc.batchUpdate(INSERT_STAGE, rows, rows.size(), (ps, r) -> {
+                ps.setLong(1, r.line());
+                ps.setString(2, r.meterId());
+                if (r.date() != null) ps.setDate(3, Date.valueOf(r.date())); else ps.setNull(3, Types.DATE);
+                if (r.hour() != null) ps.setInt(4, r.hour());                 else ps.setNull(4, Types.INTEGER);
+                ps.setBigDecimal(5, r.kwh());
+                ps.setString(6, r.quality());
+                ps.setString(7, r.error());
+            });
+        }
+
+        @Override
+        public int merge() {
+            jdbc.update(FLAG_UNKNOWN_METERS);
+            jdbc.update(FLAG_DUPLICATES);
+            int inserted = jdbc.update(MERGE);
+            if (inserted > 0) {
+                changes.changed(TableChanges.Table.READINGS);
+                jdbc.query(SELECT_MERGED_TOTALS, (RowCallbackHandler) rs -> consumption.added(rs.getString(1),
+                        YearMonth.of(rs.getInt(2), rs.getInt(3)), rs.getBigDecimal(4), rs.getLong(5)));
+            }
+            return inserted;
+        }
+
+        @Override
+        public void forEachRejected(RejectHandler handler) {
+            jdbc.query(SELECT_REJECTED, (RowCallbackHandler) rs -> handler.reject(rs.getLong(1), rs.getString(2)));
+        }
+
+        @Override
+        public void close() {
+            jdbc.update("DELETE FROM " + STAGE);
+        }
+    }
+}
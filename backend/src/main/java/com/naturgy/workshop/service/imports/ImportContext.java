@@ -0,0 +1,159 @@
+package com.naturgy.workshop.service.imports;
+
+import com.naturgy.workshop.service.progress.ProgressEvent;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-import state shared between the import code and whoever is watching it:
+ * id, error sink, progress counters and the cancellation flag.
+ *
+ * <p>Counters are updated by the import thread(s) and read by status requests, so all
+ * fields are atomic/volatile.
+ */
+public final class ImportContext {
+
+    private final String          id;
+    private final ImportErrorSink errors;
+    private final long            totalBytes;
+    private final AtomicLong      bytesRead;
+    private final AtomicLong      rowsProcessed;
+    private final Timing          timing;
+    private final ImportContext   parent;
+    private volatile boolean      cancelled;
+
+    /**
+     * @param id         reported with progress events (the job id for background imports)
+     * @param errors     where row-level errors go
+     * @param totalBytes size of the source in bytes, or -1 when unknown
+     */
+    public ImportContext(String id, ImportErrorSink errors, long totalBytes) {
+        this(id, errors, totalBytes, new AtomicLong(), new AtomicLong(), new Timing(), null);
+    }
+
+    private ImportContext(String id, ImportErrorSink errors, long totalBytes, AtomicLong bytesRead,
+                          AtomicLong rowsProcessed, Timing timing, ImportContext parent) {
+        this.id            = id;
+        this.errors        = errors;
+        this.totalBytes    = totalBytes;
+        this.bytesRead     = bytesRead;
+        this.rowsProcessed = rowsProcessed;
+        this.timing        = timing;
+        this.parent        = parent;
+    }
+
+    /**
+     * Context for a synchronous request: errors kept in memory, capped at {@code sampleSize};
+     * already {@link #started()}.
+     */
+    public static ImportContext inMemory(long totalBytes, int sampleSize) {
+        ImportContext ctx = new ImportContext(UUID.randomUUID().toString(), new CappedErrorSink(sampleSize), totalBytes);
+        ctx.started();
+        return ctx;
+    }
+
+    /**
+     * View of this context for one file of a bundle: the id gets a {@code "/" + source} suffix
+     * and error messages a {@code source + ": "} prefix; counters and cancellation are shared
+     * with this context.
+     */
+    public ImportContext forSource(String source) {
+        ImportErrorSink prefixed = new ImportErrorSink() {
+            @Override public void add(long line, String message) { errors.add(line, source + ": " + message); }
+            @Override public long count()                        { return errors.count(); }
+            @Override public List<String> sample()               { return errors.sample(); }
+        };
+        return new ImportContext(id + "/" + source, prefixed, totalBytes, bytesRead, rowsProcessed, timing, this);
+    }
+
+    /**
+     * Wraps the raw (possibly compressed) source so that bytes consumed are reflected in
+     * {@link #bytesRead()}.
+     */
+    public InputStream track(InputStream in) {
+        return new CountingInputStream(in, bytesRead);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /** Current counters as a running {@code import} progress event. */
+    public ProgressEvent progress() {
+        return new ProgressEvent("import", id, ProgressEvent.RUNNING, rowsProcessed.get(), 0, errors.count(),
+                percent(), null);
+    }
+
+    public ImportErrorSink errors() {
+        return errors;
+    }
+
+    public void rowsProcessed(long n) {
+        rowsProcessed.addAndGet(n);
+    }
+
+    public long rowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    public long bytesRead() {
+        return bytesRead.get();
+    }
+
+    public long totalBytes() {
+        return totalBytes;
+    }
+
+    /** Percent of source bytes consumed, or -1 when the size is unknown. */
+    public double percent() {
+        if (totalBytes <= 0) return -1;
+        return Math.min(100.0, bytesRead.get() * 100.0 / totalBytes);
+    }
+
+    /** Marks the import as running: the rate is measured from here, not from submission. */
+    public void started() {
+        timing.startedNanos = System.nanoTime();
+        timing.started      = true;
+    }
+
+    /** Marks the import as done; the rate stays at its final value from here on. */
+    public void stopped() {
+        if (timing.started && !timing.stopped) {
+            timing.stoppedNanos = System.nanoTime();
+            timing.stopped      = true;
+        }
+    }
+
+    /** Rows per second while running; 0 before {@link #started()}. */
+    public double rowsPerSecond() {
+        if (!timing.started) return 0;
+        long end = timing.stopped ? timing.stoppedNanos : System.nanoTime();
+        double seconds = (end - timing.startedNanos) / 1e9;
+        return seconds > 0 ? rowsProcessed.get() / seconds : 0;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || (parent != null && parent.isCancelled());
+    }
+
+    /** Called by import loops between rows/chunks. */
+    public void checkCancelled() {
+        if (isCancelled()) throw new CancellationException("Import cancelled");
+    }
+
+    /** Run time, shared by a context and its per-source views; each flag is written after its time. */
+    private static final class Timing {
+        volatile long    startedNanos;
+        volatile long    stoppedNanos;
+        volatile boolean started;
+        volatile boolean stopped;
+    }
+}
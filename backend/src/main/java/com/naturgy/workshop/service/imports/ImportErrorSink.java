@@ -0,0 +1,29 @@
+package com.naturgy.workshop.service.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for row-level import errors.
+ *
+ * <p>Implementations keep only a capped sample in memory; the full list, if kept at all,
+ * goes to disk. This keeps a bad multi-GB file from producing a multi-hundred-MB response.
+ */
+public interface ImportErrorSink extends Closeable {
+
+    /**
+     * @param line    1-based line number in the source file (header = line 1)
+     * @param message human-readable error, same wording as the JSON sample
+     */
+    void add(long line, String message);
+
+    /** Total errors reported so far, including those not kept in the sample. */
+    long count();
+
+    /** First errors reported, up to the configured sample size. */
+    List<String> sample();
+
+    @Override
+    default void close() throws IOException {}
+}
@@ -0,0 +1,97 @@
+package com.naturgy.workshop.service.imports;
+
+import com.naturgy.workshop.service.CsvImportService.ImportResult;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * A background CSV import: its source upload, progress context and outcome.
+ *
+ * <p>State transitions are written by the job thread and read by status requests,
+ * hence the volatile fields.
+ */
+public class ImportJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String        id;
+    private final ImportKind    kind;
+    private final boolean       bulk;
+    private final String        fileName;
+    private final Path          dir;
+    private final ImportContext context;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile State         state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile ImportResult  result;
+    private volatile String        failure;
+    private volatile Future<?>     future;
+
+    ImportJob(String id, ImportKind kind, boolean bulk, String fileName, Path dir, ImportContext context) {
+        this.id       = id;
+        this.kind     = kind;
+        this.bulk     = bulk;
+        this.fileName = fileName;
+        this.dir      = dir;
+        this.context  = context;
+    }
+
+    public String        getId()      { return id; }
+    public ImportKind    getKind()    { return kind; }
+    public boolean       isBulk()     { return bulk; }
+    public State         getState()   { return state; }
+    public ImportContext getContext() { return context; }
+    public Path          getDir()     { return dir; }
+
+    /** Full error report ({@code line,message}); complete once the job has finished. */
+    public Path errorsFile() {
+        return dir.resolve("errors.csv");
+    }
+
+    Path uploadFile() {
+        return dir.resolve("upload");
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    void attach(Future<?> future) { this.future = future; }
+    Future<?> future()            { return future; }
+
+    void started() {
+        context.started();
+        this.startedAt = LocalDateTime.now();
+        this.state     = State.RUNNING;
+    }
+
+    void finished(State state, ImportResult result, String failure) {
+        context.stopped();
+        this.result     = result;
+        this.failure    = failure;
+        this.finishedAt = LocalDateTime.now();
+        this.state      = state;
+    }
+
+    /** Point-in-time view for the JSON API. */
+    public Status status() {
+        return new Status(id, kind, state, fileName, submittedAt, startedAt, finishedAt,
+                context.rowsProcessed(), Math.round(context.rowsPerSecond()),
+                context.bytesRead(), context.totalBytes(), context.percent(),
+                result == null ? null : result.inserted(),
+                result == null ? null : result.skipped(),
+                context.errors().count(), context.errors().sample(), failure);
+    }
+
+    public record Status(String id, ImportKind kind, State state, String fileName,
+                         LocalDateTime submittedAt, LocalDateTime startedAt, LocalDateTime finishedAt,
+                         long rowsProcessed, long rowsPerSecond,
+                         long bytesRead, long totalBytes, double percent,
+                         Integer inserted, Integer skipped,
+                         long errorCount, List<String> errorSample, String failure) {}
+}
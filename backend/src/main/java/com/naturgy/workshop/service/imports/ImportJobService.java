@@ -0,0 +1,195 @@
+package com.naturgy.workshop.service.imports;
+
+import com.naturgy.workshop.service.CsvImportService;
+import com.naturgy.workshop.service.CsvImportService.ImportResult;
+import com.naturgy.workshop.service.WorkerThreads;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs CSV imports as background jobs.
+ *
+ * <p>The upload is moved into a per-job directory before the request returns (the servlet
+ * container deletes multipart temp files at the end of the request). Errors stream to
+ * {@code errors.csv} in the same directory; the JSON status only carries a capped sample.
+ * Finished jobs beyond {@code workshop.import.jobs.retained} are forgotten oldest-first
+ * and their directories deleted.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportJobService.class);
+
+    private final CsvImportService       csvImport;
+    private final CsvBundleImportService bundleImport;
+    private final Path                   baseDir;
+    private final int                    retained;
+    private final int                    errorSampleSize;
+    private final ExecutorService        executor;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ImportJobService(CsvImportService csvImport,
+                            CsvBundleImportService bundleImport,
+                            @Value("${workshop.import.jobs.dir:${java.io.tmpdir}/workshop-import-jobs}") Path baseDir,
+                            @Value("${workshop.import.jobs.max-concurrent:2}") int maxConcurrent,
+                            @Value("${workshop.import.jobs.retained:50}") int retained,
+                            @Value("${workshop.import.error-sample-size:100}") int errorSampleSize,
+                            WorkerThreads threads) throws IOException {
+        this.csvImport       = csvImport;
+        this.bundleImport    = bundleImport;
+        this.baseDir         = Files.createDirectories(baseDir);
+        this.retained        = retained;
+        this.errorSampleSize = errorSampleSize;
+        // the pool size is the concurrency limit; the threads themselves mostly wait on JDBC
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrent), threads.blocking("import-job"));
+    }
+
+    public ImportJob submit(ImportKind kind, MultipartFile file) throws IOException {
+        return submit(kind, file, false);
+    }
+
+    /** @param bulk readings only: use {@link CsvImportService#importReadingsBulk} */
+    public ImportJob submit(ImportKind kind, MultipartFile file, boolean bulk) throws IOException {
+        if (bulk && kind != ImportKind.READINGS) {
+            throw new IllegalArgumentException("Bulk load is only available for readings");
+        }
+        String id  = UUID.randomUUID().toString();
+        Path   dir = Files.createDirectories(baseDir.resolve(id));
+        ImportJob job;
+        try {
+            var sink = new CsvFileErrorSink(dir.resolve("errors.csv"), errorSampleSize);
+            // a bundle is read once per table (see CsvBundleImportService)
+            long totalBytes = kind == ImportKind.BUNDLE
+                    ? file.getSize() * ImportKind.TABLE_ORDER.size() : file.getSize();
+            job = new ImportJob(id, kind, bulk, file.getOriginalFilename(), dir,
+                    new ImportContext(id, sink, totalBytes));
+            file.transferTo(job.uploadFile());
+        } catch (IOException | RuntimeException e) {
+            FileSystemUtils.deleteRecursively(dir);
+            throw e;
+        }
+        // attached before the job is visible, so a cancel never sees it without its future
+        job.attach(executor.submit(() -> run(job)));
+        jobs.put(id, job);
+        log.info("[ImportJob] Submitted job={} kind={} file={} bytes={}", id, kind, file.getOriginalFilename(), file.getSize());
+        purgeFinished();
+        return job;
+    }
+
+    public ImportJob get(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) throw new NoSuchElementException("Import job not found: " + id);
+        return job;
+    }
+
+    public List<ImportJob> list() {
+        List<ImportJob> all = new ArrayList<>(jobs.values());
+        all.sort(Comparator.comparing((ImportJob j) -> j.status().submittedAt()).reversed());
+        return all;
+    }
+
+    /** Requests cancellation; a queued job never starts, a running one stops at the next row/chunk. */
+    public ImportJob cancel(String id) {
+        ImportJob job = get(id);
+        job.getContext().cancel();
+        if (job.getState() == ImportJob.State.QUEUED && job.future().cancel(false)) {
+            finish(job, ImportJob.State.CANCELLED, null, "Import cancelled");
+        }
+        return job;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(j -> j.getContext().cancel());
+        executor.shutdownNow();
+    }
+
+    // ── Job execution ─────────────────────────────────────────────────────────
+
+    private void run(ImportJob job) {
+        ImportContext ctx = job.getContext();
+        if (ctx.isCancelled()) {
+            finish(job, ImportJob.State.CANCELLED, null, "Import cancelled");
+            return;
+        }
+        job.started();
+        try {
+            ImportResult result = job.getKind() == ImportKind.BUNDLE
+                    ? runBundle(job)
+                    : runTable(job, ctx.track(Files.newInputStream(job.uploadFile())), ctx);
+            finish(job, ImportJob.State.COMPLETED, result, null);
+        } catch (CancellationException e) {
+            finish(job, ImportJob.State.CANCELLED, null, e.getMessage());
+        } catch (Exception e) {
+            log.warn("[ImportJob] job={} failed: {}", job.getId(), e.toString());
+            finish(job, ImportJob.State.FAILED, null, e.getMessage());
+        }
+    }
+
+    private ImportResult runTable(ImportJob job, InputStream in, ImportContext ctx) throws Exception {
+        return switch (job.getKind()) {
+            case METERS    -> csvImport.importMeters(in, ctx);
+            case CONTRACTS -> csvImport.importContracts(in, ctx);
+            case READINGS  -> job.isBulk() ? csvImport.importReadingsBulk(in, ctx) : csvImport.importReadings(in, ctx);
+            case BUNDLE    -> throw new IllegalArgumentException("Bundle is not a table");
+        };
+    }
+
+    /** Bundle totals; error messages are prefixed with the table name. */
+    private ImportResult runBundle(ImportJob job) throws Exception {
+        ImportContext ctx = job.getContext();
+        Map<ImportKind, ImportResult> perTable = bundleImport.importBundle(
+                new FileSystemResource(job.uploadFile()),
+                kind -> ctx.forSource(kind.name().toLowerCase(Locale.ROOT)));
+        int inserted = perTable.values().stream().mapToInt(ImportResult::inserted).sum();
+        int skipped  = perTable.values().stream().mapToInt(ImportResult::skipped).sum();
+        return new ImportResult(inserted, skipped, ctx.errors().sample(), ctx.errors().count());
+    }
+
+    private void finish(ImportJob job, ImportJob.State state, ImportResult result, String failure) {
+        try {
+            job.getContext().errors().close();
+            Files.deleteIfExists(job.uploadFile());
+        } catch (IOException e) {
+            log.warn("[ImportJob] cleanup failed for job={}: {}", job.getId(), e.toString());
+        }
+        job.finished(state, result, failure);
+        log.info("[ImportJob] job={} state={} rows={} errors={}", job.getId(), state,
+                job.getContext().rowsProcessed(), job.getContext().errors().count());
+    }
+
+    private void purgeFinished() {
+        List<ImportJob> finished = list().stream().filter(ImportJob::isFinished).toList();
+        for (ImportJob old : finished.subList(Math.min(retained, finished.size()), finished.size())) {
+            jobs.remove(old.getId());
+            try {
+                FileSystemUtils.deleteRecursively(old.getDir());
+            } catch (IOException e) {
+                log.warn("[ImportJob] cannot delete {}: {}", old.getDir(), e.toString());
+            }
+        }
+    }
+}
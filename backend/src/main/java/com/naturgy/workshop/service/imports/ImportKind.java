@@ -0,0 +1,17 @@
+package com.naturgy.workshop.service.imports;
+
+import java.util.List;
+
+/**
+ * What a CSV import targets: one table, or a zip bundle holding several.
+ */
+public enum ImportKind {
+    METERS,
+    CONTRACTS,
+    READINGS,
+    /** Zip archive with any of meters*.csv, contracts*.csv, readings*.csv. */
+    BUNDLE;
+
+    /** Table kinds in FK import order (meters → contracts → readings). */
+    public static final List<ImportKind> TABLE_ORDER = List.of(METERS, CONTRACTS, READINGS);
+}
@@ -0,0 +1,61 @@
+package com.naturgy.workshop.service.imports;
+
+/**
+ * Fixed-size Bloom filter over {@code long} keys.
+ *
+ * <p>Sized for {@code expectedKeys} at the requested false-positive probability; never
+ * returns a false negative. Uses double hashing over a 64-bit mix of the key, so each
+ * probe costs a multiply and a shift instead of a full hash per function.
+ */
+public final class LongBloomFilter {
+
+    private final long[] bits;
+    private final long   bitCount;
+    private final int    hashes;
+
+    public LongBloomFilter(long expectedKeys, double falsePositiveRate) {
+        long n = Math.max(1, expectedKeys);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        m = Math.max(64, Math.min(m, (long) Integer.MAX_VALUE * 64));
+        this.bits     = new long[(int) ((m + 63) >>> 6)];
+        this.bitCount = (long) bits.length << 6;
+        this.hashes   = Math.max(1, (int) Math.round((double) m / n * ln2));
+    }
+
+    public void add(long key) {
+        long h  = mix(key);
+        long h1 = h >>> 32;
+        long h2 = h & 0xFFFFFFFFL;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long h  = mix(key);
+        long h1 = h >>> 32;
+        long h2 = h & 0xFFFFFFFFL;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /** Size of the bit array in bytes. */
+    public long sizeInBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    /** MurmurHash3 64-bit finaliser. */
+    static long mix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
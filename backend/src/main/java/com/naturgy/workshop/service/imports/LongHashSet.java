@@ -0,0 +1,74 @@
+package com.naturgy.workshop.service.imports;
+
+/**
+ * Open-addressing set of primitive {@code long} keys (linear probing).
+ *
+ * <p>Roughly 8–16 bytes per key instead of ~60 for a {@code HashSet<Long>}; used to catch
+ * duplicate keys inside a single uploaded file. Not thread-safe.
+ */
+public final class LongHashSet {
+
+    /** Sentinel for an empty slot; the real zero key is tracked separately. */
+    private static final long EMPTY = 0L;
+
+    private long[]  slots;
+    private int     size;
+    private boolean hasZero;
+
+    public LongHashSet(int expectedKeys) {
+        int cap = Integer.highestOneBit(Math.max(16, expectedKeys * 2 - 1)) << 1;
+        this.slots = new long[cap];
+    }
+
+    /** @return {@code true} when the key was not present before */
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        if ((size + 1) * 2 > slots.length) grow();
+        if (!insert(slots, key)) return false;
+        size++;
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) return hasZero;
+        int mask = slots.length - 1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            long v = slots[i];
+            if (v == EMPTY) return false;
+            if (v == key)   return true;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] bigger = new long[slots.length << 1];
+        for (long v : slots) {
+            if (v != EMPTY) insert(bigger, v);
+        }
+        slots = bigger;
+    }
+
+    private static boolean insert(long[] table, long key) {
+        int mask = table.length - 1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            long v = table[i];
+            if (v == EMPTY) {
+                table[i] = key;
+                return true;
+            }
+            if (v == key) return false;
+        }
+    }
+
+    private static int index(long key, int mask) {
+        return (int) LongBloomFilter.mix(key) & mask;
+    }
+}
@@ -0,0 +1,50 @@
+package com.naturgy.workshop.service.imports;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Database-native fast path for readings import ({@code POST /api/readings/import?bulk=true}).
+ *
+ * <p>Parsed rows are staged in bulk, then unknown meters and duplicates (against stored
+ * readings and earlier rows of the same file) are flagged set-wise in SQL, and the
+ * remaining rows are merged into {@code readings} with one statement. Rejected rows keep
+ * the same messages as the entity-based import.
+ *
+ * <p>Implementations are database specific; the first one whose {@link #supports()} holds
+ * is used. A session must be used inside a single transaction on the calling thread.
+ */
+public interface ReadingBulkLoader {
+
+    /** Whether this loader can run against the configured datasource. */
+    boolean supports();
+
+    /** Prepares an empty staging area for one import. */
+    Session open();
+
+    interface Session extends AutoCloseable {
+
+        /** Appends rows in file order; rows with {@code error} set are kept only for reporting. */
+        void stage(List<StagedReading> rows);
+
+        /** Flags unknown meters and duplicates, inserts the remaining rows and returns their count. */
+        int merge();
+
+        /** Streams every rejected row (parse and set-wise errors) ordered by line. */
+        void forEachRejected(RejectHandler handler);
+
+        /** Clears the staging area. */
+        @Override
+        void close();
+    }
+
+    @FunctionalInterface
+    interface RejectHandler {
+        void reject(long line, String message);
+    }
+
+    /** One CSV row as staged; {@code error} is set when parsing already rejected it. */
+    record StagedReading(long line, String meterId, LocalDate date, Integer hour,
+                         BigDecimal kwh, String quality, String error) {}
+}
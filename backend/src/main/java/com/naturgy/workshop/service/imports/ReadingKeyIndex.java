@@ -0,0 +1,96 @@
+package com.naturgy.workshop.service.imports;
+
+import com.naturgy.workshop.domain.model.ReadingId;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Per-import lookup structures for readings, loaded once before the first row is written.
+ *
+ * <ul>
+ *   <li><b>Meter dictionary</b> – every known meterId mapped to a dense int, so FK checks
+ *       never hit the DB.</li>
+ *   <li><b>Existing-key Bloom filter</b> – packed (meter, date, hour) keys already in
+ *       {@code readings}. A negative answer is definitive; only possible hits need a DB
+ *       lookup.</li>
+ *   <li><b>In-file key set</b> – exact set of keys seen so far in this upload, so repeated
+ *       rows inside one file are caught without a query.</li>
+ * </ul>
+ *
+ * <p>Keys pack the meter index in the high 32 bits and {@code epochDay * 24 + hour} in the
+ * low 32 bits. Not thread-safe; owned by the write stage.
+ */
+public final class ReadingKeyIndex {
+
+    /** Returned by {@link #meterIndex} for an unknown meterId. */
+    public static final int UNKNOWN_METER = -1;
+
+    private final Map<String, Integer> meterIds;
+    private final LongBloomFilter      existing;
+    private final LongHashSet          seenInFile;
+
+    private ReadingKeyIndex(Map<String, Integer> meterIds, LongBloomFilter existing) {
+        this.meterIds   = meterIds;
+        this.existing   = existing;
+        this.seenInFile = new LongHashSet(1024);
+    }
+
+    /**
+     * @param meterIds      all meterIds currently in the DB
+     * @param existingCount number of readings currently in the DB (filter sizing)
+     * @param existingKeys  stream over those readings' keys; consumed but not closed
+     * @param falsePositiveRate target Bloom filter false-positive rate
+     */
+    public static ReadingKeyIndex load(Collection<String> meterIds,
+                                       long existingCount,
+                                       Stream<ReadingId> existingKeys,
+                                       double falsePositiveRate) {
+        Map<String, Integer> dict = new HashMap<>(Math.max(16, meterIds.size() * 2));
+        for (String id : meterIds) {
+            dict.putIfAbsent(id, dict.size());
+        }
+        LongBloomFilter filter = new LongBloomFilter(existingCount, falsePositiveRate);
+        existingKeys.forEach(rid -> {
+            Integer idx = dict.get(rid.getMeterId());
+            if (idx != null) filter.add(pack(idx, rid.getDate(), rid.getHour()));
+        });
+        return new ReadingKeyIndex(dict, filter);
+    }
+
+    /** @return dense index for {@code meterId}, or {@link #UNKNOWN_METER} */
+    public int meterIndex(String meterId) {
+        Integer idx = meterIds.get(meterId);
+        return idx == null ? UNKNOWN_METER : idx;
+    }
+
+    /**
+     * Records {@code key} as seen in this file.
+     *
+     * @return {@code false} when the same key already appeared earlier in the file
+     */
+    public boolean markSeen(long key) {
+        return seenInFile.add(key);
+    }
+
+    /** {@code false} means the key is definitely not in the DB. */
+    public boolean mightExist(long key) {
+        return existing.mightContain(key);
+    }
+
+    public int meterCount() {
+        return meterIds.size();
+    }
+
+    public long filterSizeInBytes() {
+        return existing.sizeInBytes();
+    }
+
+    public static long pack(int meterIndex, LocalDate date, int hour) {
+        long slot = date.toEpochDay() * 24 + hour;
+        return ((long) meterIndex << 32) | (slot & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,30 @@
+package com.naturgy.workshop.service.progress;
+
+/**
+ * Snapshot of one running or finished operation, as pushed to {@code /api/events}.
+ *
+ * @param kind     {@code billing}, {@code import} or {@code gap-fill}
+ * @param id       billing/gap-fill period, import job id, or a generated id for a synchronous import
+ * @param state    {@code running}, then one of {@code completed}, {@code failed}, {@code cancelled}
+ * @param rows     billing: contracts processed; import: CSV rows processed; gap-fill: meters scanned
+ * @param invoices invoices generated (billing only)
+ * @param errors   row-level errors so far (import only)
+ * @param percent  0–100, or -1 when unknown
+ * @param message  failure reason, otherwise {@code null}
+ */
+public record ProgressEvent(String kind, String id, String state, long rows, long invoices, long errors,
+                            double percent, String message) {
+
+    public static final String RUNNING   = "running";
+    public static final String COMPLETED = "completed";
+    public static final String FAILED    = "failed";
+    public static final String CANCELLED = "cancelled";
+
+    public boolean finished() {
+        return !RUNNING.equals(state);
+    }
+
+    ProgressEvent finish(String state, String message) {
+        return new ProgressEvent(kind, id, state, rows, invoices, errors, percent, message);
+    }
+}
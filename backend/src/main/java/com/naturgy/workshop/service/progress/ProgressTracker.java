@@ -0,0 +1,101 @@
+package com.naturgy.workshop.service.progress;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Live progress of long-running billing and import operations.
+ *
+ * <p>Operations do not push updates: they register a sampler over the counters they keep
+ * anyway, and whoever publishes progress {@link #drain() drains} this tracker at its own
+ * pace. Progress costs the operation nothing per row, and however fast rows go by,
+ * watchers get at most one update per operation per drain.
+ *
+ * <p>An operation finishing inside a transaction is reported once that transaction ends –
+ * completed only if it commits – so a watcher told "completed" can already read the rows.
+ */
+@Component
+public class ProgressTracker {
+
+    private final Set<Operation>       running  = ConcurrentHashMap.newKeySet();
+    private final Queue<ProgressEvent> finished = new ConcurrentLinkedQueue<>();
+
+    /** Handle of one registered operation. */
+    public final class Operation {
+
+        private final Supplier<ProgressEvent> sampler;
+        private ProgressEvent                 lastDrained;   // drain thread only
+
+        private Operation(Supplier<ProgressEvent> sampler) {
+            this.sampler = sampler;
+        }
+
+        /**
+         * Unregisters the operation; its final state goes out with the next drain. Inside a
+         * transaction this happens after it completes, and a rollback turns
+         * {@link ProgressEvent#COMPLETED} into {@link ProgressEvent#FAILED}.
+         */
+        public void finish(String state, String message) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                report(state, message);
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED || !ProgressEvent.COMPLETED.equals(state)) {
+                        report(state, message);
+                    } else {
+                        report(ProgressEvent.FAILED, "Transaction rolled back");
+                    }
+                }
+            });
+        }
+
+        private void report(String state, String message) {
+            if (running.remove(this)) finished.add(sampler.get().finish(state, message));
+        }
+    }
+
+    /** @param sampler current state with {@link ProgressEvent#RUNNING}; called from any thread */
+    public Operation start(Supplier<ProgressEvent> sampler) {
+        Operation op = new Operation(sampler);
+        running.add(op);
+        return op;
+    }
+
+    /** Current state of every running operation. */
+    public List<ProgressEvent> snapshot() {
+        return running.stream().map(op -> op.sampler.get()).toList();
+    }
+
+    /**
+     * Running operations whose state changed since the previous drain, then operations that
+     * finished since. Meant for a single caller.
+     */
+    public List<ProgressEvent> drain() {
+        List<ProgressEvent> events = new ArrayList<>();
+        for (Operation op : running) {
+            ProgressEvent now = op.sampler.get();
+            if (!Objects.equals(now, op.lastDrained)) {
+                op.lastDrained = now;
+                events.add(now);
+            }
+        }
+        ProgressEvent done;
+        while ((done = finished.poll()) != null) {
+            events.add(done);
+        }
+        return events;
+    }
+}
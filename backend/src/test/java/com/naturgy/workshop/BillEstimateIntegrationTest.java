@@ -0,0 +1,162 @@
+package com.naturgy.workshop;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naturgy.workshop.api.controller.ReadingController;
+import com.naturgy.workshop.domain.enums.ReadingQuality;
+import com.naturgy.workshop.domain.model.Contract;
+import com.naturgy.workshop.domain.model.Invoice;
+import com.naturgy.workshop.domain.model.Meter;
+import com.naturgy.workshop.domain.model.Reading;
+import com.naturgy.workshop.domain.model.ReadingId;
+import com.naturgy.workshop.domain.repository.ContractRepository;
+import com.naturgy.workshop.domain.repository.ReadingRepository;
+import com.naturgy.workshop.service.BillingService;
+import com.naturgy.workshop.service.CsvImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/contracts/{id}/estimate: the running totals follow every way readings are
+ * written – single-row API, JPA updates, bulk import – and the estimate matches the invoice
+ * a full billing calculation would produce. The seeded readings are from an older month,
+ * so each test writes (and removes again) readings of the current month, committed.
+ */
+@SpringBootTest
+class BillEstimateIntegrationTest {
+
+    private static final YearMonth THIS_MONTH = YearMonth.now();
+    private static final LocalDate FIRST_DAY  = THIS_MONTH.atDay(1);
+
+    @Autowired WebApplicationContext      context;
+    @Autowired ReadingController          readings;
+    @Autowired ReadingRepository          readingRepo;
+    @Autowired ContractRepository         contractRepo;
+    @Autowired BillingService             billingService;
+    @Autowired CsvImportService           csvImport;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired ObjectMapper               json;
+
+    private MockMvc             mvc;
+    private TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).build();
+        tx  = new TransactionTemplate(txManager);
+    }
+
+    @Test
+    @DisplayName("Created, updated and deleted readings move the estimate, which matches a full invoice")
+    void followsReadingWrites() throws Exception {
+        JsonNode before = estimate("CONT001");
+        ReadingId first  = new ReadingId("MTR0001", FIRST_DAY, 0);
+        ReadingId second = new ReadingId("MTR0001", FIRST_DAY, 1);
+        try {
+            readings.create(reading(first, "1.250"));
+            readings.create(reading(second, "0.500"));
+            JsonNode after = estimate("CONT001");
+            assertThat(after.get("kwhToDate").decimalValue())
+                    .isEqualByComparingTo(before.get("kwhToDate").decimalValue().add(new BigDecimal("1.750")));
+            assertThat(after.get("readings").asLong()).isEqualTo(before.get("readings").asLong() + 2);
+            assertThat(after.get("contractType").asText()).isEqualTo("FIXED");
+            assertMatchesInvoice("CONT001", after);
+
+            tx.executeWithoutResult(s -> readingRepo.findById(first).orElseThrow().setKwh(new BigDecimal("2.000")));
+            assertThat(estimate("CONT001").get("kwhToDate").decimalValue())
+                    .isEqualByComparingTo(before.get("kwhToDate").decimalValue().add(new BigDecimal("2.500")));
+        } finally {
+            readings.delete(first.getMeterId(), first.getDate(), first.getHour());
+            readings.delete(second.getMeterId(), second.getDate(), second.getHour());
+        }
+        assertThat(estimate("CONT001")).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("A rolled-back write leaves the estimate alone")
+    void rollbackIgnored() throws Exception {
+        JsonNode before = estimate("CONT001");
+        tx.executeWithoutResult(s -> {
+            readingRepo.saveAndFlush(reading(new ReadingId("MTR0001", FIRST_DAY, 2), "9.000"));
+            s.setRollbackOnly();
+        });
+        assertThat(estimate("CONT001")).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Bulk import (set-wise JDBC insert) counts too; FLAT rules apply")
+    void bulkImport() throws Exception {
+        JsonNode before = estimate("CONT002");
+        String csv = "meterId,date,hour,kwh,quality\n"
+                + "MTR0002," + FIRST_DAY + ",3,150.0004,REAL\n"
+                + "MTR0002," + FIRST_DAY + ",4,100,REAL\n";
+        try {
+            csvImport.importReadingsBulk(new MockMultipartFile("file", "readings.csv", "text/csv",
+                    csv.getBytes(StandardCharsets.UTF_8)));
+            JsonNode after = estimate("CONT002");
+            assertThat(after.get("kwhToDate").decimalValue())
+                    .isEqualByComparingTo(before.get("kwhToDate").decimalValue().add(new BigDecimal("250.000")));
+            assertThat(after.get("readings").asLong()).isEqualTo(before.get("readings").asLong() + 2);
+            assertMatchesInvoice("CONT002", after);
+        } finally {
+            readingRepo.deleteById(new ReadingId("MTR0002", FIRST_DAY, 3));
+            readingRepo.deleteById(new ReadingId("MTR0002", FIRST_DAY, 4));
+        }
+        assertThat(estimate("CONT002")).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Unknown contract is 404; malformed, future or no longer tracked periods are 400")
+    void errors() throws Exception {
+        mvc.perform(get("/api/contracts/NOPE/estimate")).andExpect(status().isNotFound());
+        mvc.perform(get("/api/contracts/CONT001/estimate").param("period", "2026-13")).andExpect(status().isBadRequest());
+        mvc.perform(get("/api/contracts/CONT001/estimate").param("period", THIS_MONTH.plusMonths(1).toString()))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/contracts/CONT001/estimate").param("period", "2020-01")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode estimate(String contractId) throws Exception {
+        byte[] body = mvc.perform(get("/api/contracts/" + contractId + "/estimate"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode node = json.readTree(body);
+        assertThat(node.get("period").asText()).isEqualTo(THIS_MONTH.toString());
+        return node;
+    }
+
+    /** Same amounts as {@link BillingService#generateInvoice}, which sums the readings table. */
+    private void assertMatchesInvoice(String contractId, JsonNode estimate) {
+        Invoice invoice = tx.execute(s -> {
+            Contract contract = contractRepo.findById(contractId).orElseThrow();
+            return billingService.generateInvoice(contract, THIS_MONTH.toString(),
+                    FIRST_DAY, THIS_MONTH.atEndOfMonth());
+        });
+        assertThat(estimate.get("kwhToDate").decimalValue()).isEqualByComparingTo(invoice.getTotalKwh());
+        assertThat(estimate.get("subtotal").decimalValue()).isEqualByComparingTo(invoice.getSubtotal());
+        assertThat(estimate.get("tax").decimalValue()).isEqualByComparingTo(invoice.getTax());
+        assertThat(estimate.get("total").decimalValue()).isEqualByComparingTo(invoice.getTotal());
+    }
+
+    private static Reading reading(ReadingId id, String kwh) {
+        return new Reading(id, new Meter(id.getMeterId(), null, "-", null, "-"), new BigDecimal(kwh),
+                ReadingQuality.REAL);
+    }
+}
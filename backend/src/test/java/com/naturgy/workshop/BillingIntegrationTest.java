@@ -3,15 +3,26 @@ package com.naturgy.workshop;
 import com.naturgy.workshop.domain.model.Invoice;
 import com.naturgy.workshop.domain.repository.InvoiceRepository;
 import com.naturgy.workshop.service.BillingService;
+import com.naturgy.workshop.service.InvoicePdfBundleService;
 import com.naturgy.workshop.service.PdfService;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Integration test: seed data → billing run → invoice list → PDF download.
@@ -21,9 +32,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 @SpringBootTest
 class BillingIntegrationTest {
 
-    @Autowired BillingService    billingService;
-    @Autowired InvoiceRepository invoiceRepo;
-    @Autowired PdfService        pdfService;
+    @Autowired BillingService          billingService;
+    @Autowired InvoiceRepository       invoiceRepo;
+    @Autowired PdfService              pdfService;
+    @Autowired InvoicePdfBundleService pdfBundleService;
 
     @Test
     @DisplayName("Integration: seed → billing 2026-01 → 2 invoices → PDF bytes")
@@ -72,4 +84,54 @@ class BillingIntegrationTest {
         List<Invoice> secondRun = billingService.runBilling("2026-01");
         assertThat(secondRun).isEmpty();
     }
+
+    @Test
+    @Transactional   // keep billingRunAndPdf the first committed run, whatever the method order
+    @DisplayName("Integration: PDF bundle → one zip entry per invoice of the period")
+    void pdfBundleForPeriod() throws Exception {
+        billingService.runBilling("2026-01");   // idempotent; invoices may already exist
+        List<String> expected = invoiceRepo.findByPeriod("2026-01").stream()
+                .map(i -> "invoice-" + i.getInvoiceId() + ".pdf")
+                .toList();
+
+        pdfBundleService.checkPeriod("2026-01");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = pdfBundleService.writeBundle("2026-01", out);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry e;
+            while ((e = zip.getNextEntry()) != null) {
+                names.add(e.getName());
+                assertThat(new String(zip.readAllBytes(), 0, 4)).isEqualTo("%PDF");
+            }
+        }
+        assertThat(written).isEqualTo(expected.size());
+        assertThat(names).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    @Transactional
+    @DisplayName("Integration: print run → one page per invoice of the period")
+    void printRunForPeriod() throws Exception {
+        billingService.runBilling("2026-01");
+        int invoices = invoiceRepo.findByPeriod("2026-01").size();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int pages = pdfBundleService.writePrintRun("2026-01", out);
+
+        assertThat(pages).isEqualTo(invoices);
+        try (PDDocument doc = Loader.loadPDF(out.toByteArray())) {
+            assertThat(doc.getNumberOfPages()).isEqualTo(invoices);
+        }
+    }
+
+    @Test
+    @DisplayName("PDF bundle: bad period → 400, empty period → 404 (checked before streaming)")
+    void pdfBundleRejectsBadOrEmptyPeriod() {
+        assertThatThrownBy(() -> pdfBundleService.checkPeriod("2026-13"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pdfBundleService.checkPeriod("1999-01"))
+                .isInstanceOf(NoSuchElementException.class);
+    }
 }
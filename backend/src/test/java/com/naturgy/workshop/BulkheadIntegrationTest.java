@@ -0,0 +1,90 @@
+package com.naturgy.workshop;
+
+import com.naturgy.workshop.api.admission.Bulkhead;
+import com.naturgy.workshop.api.admission.BulkheadFilter;
+import com.naturgy.workshop.api.admission.Bulkheads;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Admission control through the servlet filter: a saturated bulkhead answers 429 with
+ * Retry-After without touching the others, and the admin endpoint reports and resizes.
+ */
+@SpringBootTest
+class BulkheadIntegrationTest {
+
+    @Autowired WebApplicationContext context;
+    @Autowired BulkheadFilter        filter;
+    @Autowired Bulkheads             bulkheads;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).addFilters(filter).build();
+    }
+
+    @Test
+    @DisplayName("Billing saturated → 429 + Retry-After for billing, reads still served")
+    void saturatedBulkheadRejects() throws Exception {
+        Bulkhead billing = bulkheads.get(Bulkheads.BILLING);
+        Bulkhead.Stats before = billing.stats();
+        billing.resize(null, 0, null);
+        try (Bulkhead.Permit running = billing.tryAcquire()) {
+            mvc.perform(post("/api/billing/run").param("period", "2026-01"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                    .andExpect(jsonPath("$.status").value(429));
+
+            mvc.perform(get("/api/meters")).andExpect(status().isOk());
+        } finally {
+            billing.resize(before.limit(), before.queue(), Duration.ofMillis(before.maxWaitMs()));
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/admin/bulkheads lists counters; PUT changes the limit at runtime")
+    void adminEndpoint() throws Exception {
+        Bulkhead reads = bulkheads.get(Bulkheads.READS);
+        Bulkhead.Stats before = reads.stats();
+        mvc.perform(get("/api/meters")).andExpect(status().isOk());
+
+        mvc.perform(get("/api/admin/bulkheads"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem("reads")))
+                .andExpect(jsonPath("$[?(@.name == 'reads')].admitted", hasItem((int) before.admitted() + 1)));
+
+        try {
+            mvc.perform(put("/api/admin/bulkheads/reads").param("limit", "7").param("maxWait", "3s"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.limit").value(7))
+                    .andExpect(jsonPath("$.maxWaitMs").value(3000));
+            mvc.perform(put("/api/admin/bulkheads/reads").param("limit", "0"))
+                    .andExpect(status().isBadRequest());
+            // more than the request threads could ever serve while queued
+            mvc.perform(put("/api/admin/bulkheads/reads").param("queue", "1000"))
+                    .andExpect(status().isBadRequest());
+            mvc.perform(put("/api/admin/bulkheads/nope").param("limit", "1"))
+                    .andExpect(status().isNotFound());
+        } finally {
+            reads.resize(before.limit(), before.queue(), Duration.ofMillis(before.maxWaitMs()));
+        }
+    }
+}
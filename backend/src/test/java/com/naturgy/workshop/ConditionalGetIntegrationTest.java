@@ -0,0 +1,141 @@
+package com.naturgy.workshop;
+
+import com.naturgy.workshop.api.controller.ContractController;
+import com.naturgy.workshop.api.controller.MeterController;
+import com.naturgy.workshop.domain.model.Meter;
+import com.naturgy.workshop.domain.repository.MeterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conditional GETs on master data: weak ETag / Last-Modified from the per-table change
+ * counters, 304 on revalidation, new tag once a write commits, ETag before If-Modified-Since.
+ */
+@SpringBootTest
+class ConditionalGetIntegrationTest {
+
+    @Autowired MeterController     meters;
+    @Autowired ContractController  contracts;
+    @Autowired MeterRepository     meterRepo;
+    @Autowired TransactionTemplate tx;
+
+    @AfterEach
+    void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Matching If-None-Match → 304; a committed write gives a new tag and version")
+    void revalidateListAcrossCommittedWrite() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(meters.findAll(null, null, false, request(first, null, null)).getBody()).hasSize(2);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache");
+
+        MockHttpServletResponse revalidated = new MockHttpServletResponse();
+        assertThat(meters.findAll(null, null, false, request(revalidated, etag, null))).isNull();
+        assertThat(revalidated.getStatus()).isEqualTo(304);
+
+        Meter stored = meterRepo.findById("MTR0001").orElseThrow();
+        String address = stored.getAddress();
+        tx.executeWithoutResult(s -> meterRepo.findById("MTR0001").orElseThrow().setAddress(address + " (bis)"));
+        try {
+            assertThat(meterRepo.findById("MTR0001").orElseThrow().getVersion()).isEqualTo(stored.getVersion() + 1);
+            MockHttpServletResponse changed = new MockHttpServletResponse();
+            assertThat(meters.findAll(null, null, false, request(changed, etag, null))).isNotNull();
+            assertThat(changed.getStatus()).isEqualTo(200);
+            assertThat(changed.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        } finally {
+            tx.executeWithoutResult(s -> meterRepo.findById("MTR0001").orElseThrow().setAddress(address));
+        }
+    }
+
+    @Test
+    @DisplayName("A rolled-back write leaves the tag alone")
+    void rollbackKeepsTag() {
+        MockHttpServletResponse before = new MockHttpServletResponse();
+        contracts.findById("CONT001", request(before, null, null));
+        String etag = before.getHeader(HttpHeaders.ETAG);
+
+        tx.executeWithoutResult(s -> {
+            meterRepo.findById("MTR0002").orElseThrow().setCity("Nowhere");
+            meterRepo.flush();
+            s.setRollbackOnly();
+        });
+
+        MockHttpServletResponse after = new MockHttpServletResponse();
+        assertThat(contracts.findById("CONT001", request(after, etag, null))).isNull();
+        assertThat(after.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    @DisplayName("If-Modified-Since works too; the detail tag covers expanded tables")
+    void ifModifiedSinceAndExpansions() throws InterruptedException {
+        MockHttpServletResponse plain = settledMeter();
+        MockHttpServletResponse expanded = new MockHttpServletResponse();
+        meters.findById("MTR0001", Set.of("contracts", "readings"), 0, 10, request(expanded, null, null));
+        assertThat(expanded.getHeader(HttpHeaders.ETAG)).isNotEqualTo(plain.getHeader(HttpHeaders.ETAG));
+
+        MockHttpServletResponse revalidated = new MockHttpServletResponse();
+        String lastModified = plain.getHeader(HttpHeaders.LAST_MODIFIED);
+        assertThat(meters.findById("MTR0001", null, 0, 10, request(revalidated, null, lastModified))).isNull();
+        assertThat(revalidated.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    @DisplayName("If-None-Match decides when both are sent; If-Modified-Since alone never hides a write")
+    void etagFirstAndNoStaleLastModified() throws InterruptedException {
+        MockHttpServletResponse plain = settledMeter();
+        String etag = plain.getHeader(HttpHeaders.ETAG);
+        String lastModified = plain.getHeader(HttpHeaders.LAST_MODIFIED);
+
+        MockHttpServletResponse staleTag = new MockHttpServletResponse();
+        assertThat(meters.findById("MTR0001", null, 0, 10, request(staleTag, "W/\"other\"", lastModified))).isNotNull();
+        assertThat(staleTag.getStatus()).isEqualTo(200);
+
+        String address = meterRepo.findById("MTR0001").orElseThrow().getAddress();
+        tx.executeWithoutResult(s -> meterRepo.findById("MTR0001").orElseThrow().setAddress(address + " (bis)"));
+        try {
+            MockHttpServletResponse changed = new MockHttpServletResponse();
+            assertThat(meters.findById("MTR0001", null, 0, 10, request(changed, null, lastModified))).isNotNull();
+            assertThat(changed.getStatus()).isEqualTo(200);
+            assertThat(changed.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        } finally {
+            tx.executeWithoutResult(s -> meterRepo.findById("MTR0001").orElseThrow().setAddress(address));
+        }
+    }
+
+    /** Meter detail once its Last-Modified is sent, i.e. no meter write in the current second. */
+    private MockHttpServletResponse settledMeter() throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            meters.findById("MTR0001", null, 0, 10, request(response, null, null));
+            if (response.getHeader(HttpHeaders.LAST_MODIFIED) != null || attempt == 20) return response;
+            Thread.sleep(100);
+        }
+    }
+
+    private static ServletWebRequest request(MockHttpServletResponse response, String ifNoneMatch,
+                                             String ifModifiedSince) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/meters");
+        if (ifNoneMatch != null)     request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        if (ifModifiedSince != null) request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return new ServletWebRequest(request, response);
+    }
+}
@@ -0,0 +1,94 @@
+package com.naturgy.workshop;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/analytics/top-consumers and /percentiles over the seeded 2026-01 readings
+ * (MTR0001 and MTR0002, both in Valencia, different postal codes).
+ */
+@SpringBootTest
+class ConsumptionAnalyticsIntegrationTest {
+
+    @Autowired WebApplicationContext context;
+    @Autowired ObjectMapper          json;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    @DisplayName("Top consumers per city, largest first")
+    void topConsumersByCity() throws Exception {
+        JsonNode groups = fetch("/api/analytics/top-consumers", "groupBy", "city", "period", "2026-01");
+
+        assertThat(groups).hasSize(1);
+        JsonNode valencia = groups.get(0);
+        assertThat(valencia.get("group").asText()).isEqualTo("Valencia");
+        assertThat(valencia.get("meters").asLong()).isEqualTo(2);
+        assertThat(valencia.get("top").get(0).get("meterId").asText()).isEqualTo("MTR0001");
+        assertThat(valencia.get("top").get(0).get("kwh").decimalValue()).isEqualByComparingTo("1.230");
+        assertThat(valencia.get("top").get(1).get("meterId").asText()).isEqualTo("MTR0002");
+
+        JsonNode limited = fetch("/api/analytics/top-consumers", "period", "2026-01", "limit", "1");
+        assertThat(limited.get(0).get("top")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Percentiles per postal code, one group per meter here")
+    void percentilesByPostalCode() throws Exception {
+        JsonNode groups = fetch("/api/analytics/percentiles",
+                "groupBy", "postalCode", "period", "2026-01", "q", "0.5,0.999");
+
+        assertThat(groups).extracting(g -> g.get("group").asText()).containsExactly("46001", "46021");
+        JsonNode first = groups.get(0);
+        assertThat(first.get("meters").asLong()).isEqualTo(1);
+        assertThat(first.get("totalKwh").decimalValue()).isEqualByComparingTo("1.230");
+        assertThat(first.get("percentiles").get("p50").decimalValue()).isEqualByComparingTo("1.230");
+        assertThat(first.get("percentiles").has("p99.9")).isTrue();
+
+        JsonNode one = fetch("/api/analytics/percentiles", "groupBy", "postalCode", "group", "46021",
+                "period", "2026-01");
+        assertThat(one).hasSize(1);
+        assertThat(one.get(0).get("maxKwh").decimalValue()).isEqualByComparingTo("1.150");
+    }
+
+    @Test
+    @DisplayName("A period without readings has no groups; bad arguments are a 400")
+    void emptyAndInvalid() throws Exception {
+        assertThat(fetch("/api/analytics/top-consumers", "period", "2019-01")).isEmpty();
+
+        mvc.perform(get("/api/analytics/top-consumers").param("period", "2026-01").param("groupBy", "street"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/analytics/top-consumers").param("period", "2026-01").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/analytics/percentiles").param("period", "2026-01").param("q", "1.5"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/api/analytics/percentiles").param("period", "2026-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode fetch(String path, String... params) throws Exception {
+        MockHttpServletRequestBuilder request = get(path);
+        for (int i = 0; i < params.length; i += 2) request.param(params[i], params[i + 1]);
+        byte[] body = mvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return json.readTree(body);
+    }
+}
@@ -0,0 +1,118 @@
+package com.naturgy.workshop;
+
+import com.naturgy.workshop.api.controller.ContractController;
+import com.naturgy.workshop.api.controller.MeterController;
+import com.naturgy.workshop.domain.cache.EntityCaches;
+import com.naturgy.workshop.domain.enums.BillingCycle;
+import com.naturgy.workshop.domain.enums.ContractType;
+import com.naturgy.workshop.domain.model.Contract;
+import com.naturgy.workshop.domain.model.Meter;
+import com.naturgy.workshop.domain.repository.ContractRepository;
+import com.naturgy.workshop.domain.repository.MeterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level cache: repeated reads are hits, and writes through the controllers are seen
+ * by the next read instead of a stale cached copy. Every read here is its own committed
+ * transaction, as in production.
+ */
+@SpringBootTest
+class EntityCacheIntegrationTest {
+
+    @Autowired EntityCaches       caches;
+    @Autowired MeterController    meters;
+    @Autowired ContractController contracts;
+    @Autowired MeterRepository    meterRepo;
+    @Autowired ContractRepository contractRepo;
+
+    @BeforeEach
+    void emptyCaches() {
+        caches.evictAll("test");
+    }
+
+    @Test
+    @DisplayName("Meter by ID: second read is a hit; controller update and delete are visible at once")
+    void meterReadUpdateDelete() {
+        meters.create(new Meter("MTR-CACHE", null, "Calle Falsa 1", "28001", "Madrid"));
+        try {
+            long hits = stats(EntityCaches.METERS).hits();
+            assertThat(meterRepo.findById("MTR-CACHE").orElseThrow().getCity()).isEqualTo("Madrid");
+            assertThat(meterRepo.findById("MTR-CACHE").orElseThrow().getCity()).isEqualTo("Madrid");
+            assertThat(stats(EntityCaches.METERS).hits()).isGreaterThan(hits);
+
+            meters.update("MTR-CACHE", new Meter("MTR-CACHE", null, "Calle Falsa 1", "08001", "Barcelona"));
+            assertThat(meterRepo.findById("MTR-CACHE").orElseThrow().getCity()).isEqualTo("Barcelona");
+        } finally {
+            meters.delete("MTR-CACHE");
+        }
+        assertThat(meterRepo.findById("MTR-CACHE")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Contract by ID: controller update replaces the cached copy")
+    void contractUpdate() {
+        Contract original = contractRepo.findById("CONT002").orElseThrow();
+        contractRepo.findById("CONT002").orElseThrow();
+        try {
+            contracts.update("CONT002", copy(original, "Renamed Customer"));
+            assertThat(contractRepo.findById("CONT002").orElseThrow().getFullName()).isEqualTo("Renamed Customer");
+        } finally {
+            contracts.update("CONT002", copy(original, original.getFullName()));
+        }
+        assertThat(contractRepo.findById("CONT002").orElseThrow().getFullName()).isEqualTo(original.getFullName());
+    }
+
+    @Test
+    @DisplayName("Contracts by meter: repeated query is a hit; a created or deleted contract shows up next time")
+    void contractsByMeter() {
+        assertThat(contractRepo.findByMeter_MeterId("MTR0001")).hasSize(1);
+        long hits = stats(EntityCaches.CONTRACTS_BY_METER).hits();
+        assertThat(contractRepo.findByMeter_MeterId("MTR0001")).hasSize(1);
+        assertThat(stats(EntityCaches.CONTRACTS_BY_METER).hits()).isGreaterThan(hits);
+
+        contracts.create(new Contract("CONT-CACHE", new Meter("MTR0001", null, "-", null, "-"), "CUST-CACHE",
+                "Cache Test", "00000000T", null, ContractType.FIXED, LocalDate.of(2026, 1, 1), null,
+                BillingCycle.MONTHLY, null, null, null, new BigDecimal("0.15"), new BigDecimal("0.21"), null));
+        try {
+            assertThat(contractRepo.findByMeter_MeterId("MTR0001"))
+                    .extracting(Contract::getContractId).containsExactlyInAnyOrder("CONT001", "CONT-CACHE");
+        } finally {
+            contracts.delete("CONT-CACHE");
+        }
+        assertThat(contractRepo.findByMeter_MeterId("MTR0001"))
+                .extracting(Contract::getContractId).containsExactly("CONT001");
+    }
+
+    @Test
+    @DisplayName("evictAll empties the regions and is counted")
+    void evictAll() {
+        contractRepo.findById("CONT002").orElseThrow();
+        assertThat(stats(EntityCaches.CONTRACTS).size()).isPositive();
+        long evictions = stats(EntityCaches.CONTRACTS).explicitEvictions();
+
+        caches.evictAll("test");
+
+        assertThat(stats(EntityCaches.CONTRACTS).size()).isZero();
+        assertThat(stats(EntityCaches.CONTRACTS).explicitEvictions()).isEqualTo(evictions + 1);
+    }
+
+    private static Contract copy(Contract c, String fullName) {
+        return new Contract(c.getContractId(), new Meter(c.getMeter().getMeterId(), null, "-", null, "-"),
+                c.getCustomerId(), fullName, c.getNif(), c.getEmail(), c.getContractType(), c.getStartDate(),
+                c.getEndDate(), c.getBillingCycle(), c.getFlatMonthlyFeeEur(), c.getIncludedKwh(),
+                c.getOveragePricePerKwhEur(), c.getFixedPricePerKwhEur(), c.getTaxRate(), c.getIban());
+    }
+
+    private EntityCaches.Stats stats(String region) {
+        return caches.stats().stream().filter(s -> s.region().equals(region)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,113 @@
+package com.naturgy.workshop;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naturgy.workshop.api.controller.ContractController;
+import com.naturgy.workshop.api.controller.MeterController;
+import com.naturgy.workshop.domain.enums.BillingCycle;
+import com.naturgy.workshop.domain.enums.ContractType;
+import com.naturgy.workshop.domain.enums.ReadingQuality;
+import com.naturgy.workshop.domain.model.Contract;
+import com.naturgy.workshop.domain.model.Meter;
+import com.naturgy.workshop.domain.model.Reading;
+import com.naturgy.workshop.domain.model.ReadingId;
+import com.naturgy.workshop.domain.repository.ReadingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/readings/gap-fill: missing hours within the contract's dates become ESTIMATED
+ * readings priced from neighbouring days, and a second run adds nothing. Estimates are
+ * committed, so the test uses its own meter and a period no other test has readings in,
+ * and deletes the meter (with its readings) afterwards.
+ */
+@SpringBootTest
+class GapFillIntegrationTest {
+
+    private static final String    PERIOD = "2025-03";
+    private static final LocalDate DAY_1  = LocalDate.of(2025, 3, 1);
+    private static final LocalDate DAY_2  = LocalDate.of(2025, 3, 2);
+
+    @Autowired WebApplicationContext context;
+    @Autowired MeterController       meters;
+    @Autowired ContractController    contracts;
+    @Autowired ReadingRepository     readingRepo;
+    @Autowired ObjectMapper          json;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).build();
+        meters.create(new Meter("MTR-GAP", null, "Calle Hueca 1", "28001", "Madrid"));
+        // two days of contract: only their 48 slots may be filled
+        contracts.create(new Contract("CONT-GAP", new Meter("MTR-GAP", null, "-", null, "-"), "CUST-GAP",
+                "Gap Test", "00000000T", null, ContractType.FIXED, DAY_1, DAY_2,
+                BillingCycle.MONTHLY, null, null, null, new BigDecimal("0.15"), new BigDecimal("0.21"), null));
+        List<Reading> readings = new ArrayList<>();
+        for (int h = 0; h < 24; h++) {
+            if (h != 5) readings.add(reading(DAY_1, h, "1.000"));
+            if (h < 22) readings.add(reading(DAY_2, h, h == 5 ? "3.000" : "1.000"));
+        }
+        readingRepo.saveAll(readings);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        meters.delete("MTR-GAP");
+    }
+
+    @Test
+    @DisplayName("Gaps are filled from the same hour on neighbouring days; running again fills nothing")
+    void fillsGapsOnce() throws Exception {
+        JsonNode first = fill();
+        assertThat(first.get("metersFilled").asLong()).isEqualTo(1);
+        assertThat(first.get("slotsFilled").asLong()).isEqualTo(3);
+        assertThat(first.get("kwhEstimated").decimalValue()).isEqualByComparingTo("5.000");
+
+        Reading estimate = readingRepo.findById(new ReadingId("MTR-GAP", DAY_1, 5)).orElseThrow();
+        assertThat(estimate.getQuality()).isEqualTo(ReadingQuality.ESTIMATED);
+        assertThat(estimate.getKwh()).isEqualByComparingTo("3.000");
+        assertThat(readingRepo.findById(new ReadingId("MTR-GAP", DAY_2, 23)).orElseThrow().getKwh())
+                .isEqualByComparingTo("1.000");
+        assertThat(readingRepo.findById(new ReadingId("MTR-GAP", LocalDate.of(2025, 3, 3), 0))).isEmpty();
+
+        JsonNode second = fill();
+        assertThat(second.get("slotsFilled").asLong()).isZero();
+        assertThat(second.get("meters").asLong()).isEqualTo(first.get("meters").asLong());
+    }
+
+    @Test
+    @DisplayName("A malformed period is a 400")
+    void badPeriod() throws Exception {
+        mvc.perform(post("/api/readings/gap-fill").param("period", "2025-3")).andExpect(status().isBadRequest());
+    }
+
+    private JsonNode fill() throws Exception {
+        byte[] body = mvc.perform(post("/api/readings/gap-fill").param("period", PERIOD))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return json.readTree(body);
+    }
+
+    private static Reading reading(LocalDate date, int hour, String kwh) {
+        return new Reading(new ReadingId("MTR-GAP", date, hour), new Meter("MTR-GAP", null, "-", null, "-"),
+                new BigDecimal(kwh), ReadingQuality.REAL);
+    }
+}
@@ -0,0 +1,111 @@
+package com.naturgy.workshop;
+
+import com.naturgy.workshop.api.controller.BillingController;
+import com.naturgy.workshop.domain.enums.ContractType;
+import com.naturgy.workshop.domain.model.Invoice;
+import com.naturgy.workshop.domain.repository.InvoiceRepository;
+import com.naturgy.workshop.service.BillingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration test: billing run → CSV and fixed-width export with contract IBANs, then
+ * incremental pulls from the returned watermark, which repeat the overlap window. The body is written on the test thread so
+ * it sees the test transaction's invoices.
+ */
+@SpringBootTest
+@Transactional
+class InvoiceExportIntegrationTest {
+
+    @Autowired BillingService    billingService;
+    @Autowired BillingController billing;
+    @Autowired InvoiceRepository invoiceRepo;
+
+    @Test
+    @DisplayName("Export CSV: one line per invoice with NIF/IBAN, since=X-Export-Until → same rows again (overlap)")
+    void csvAndIncremental() throws Exception {
+        billingService.runBilling("2026-01");
+        invoiceRepo.flush();
+
+        ResponseEntity<StreamingResponseBody> first = billing.exportInvoices("2026-01", null, "csv");
+        String until = first.getHeaders().getFirst("X-Export-Until");
+        assertThat(until).isNotNull();
+        assertThat(first.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION)).contains("invoices-2026-01.csv");
+
+        List<String> lines = lines(first, StandardCharsets.UTF_8);
+        assertThat(lines.get(0)).startsWith("invoiceId,period,contractId");
+        assertThat(lines).hasSize(3);
+        assertThat(lines).anyMatch(l -> l.contains(",CONT001,MTR0001,Ana Pérez Gómez,12345678Z,ES6621000418401234567891,FIXED,"));
+        assertThat(lines).anyMatch(l -> l.contains(",CONT002,") && l.contains(",54.45,"));
+
+        // the next pull repeats the overlap window: same rows again, de-duplicated by invoiceId
+        ResponseEntity<StreamingResponseBody> next = billing.exportInvoices("2026-01", until, "csv");
+        assertThat(next.getHeaders().getFirst("X-Export-Until")).isEqualTo(until);
+        assertThat(lines(next, StandardCharsets.UTF_8)).isEqualTo(lines);
+    }
+
+    @Test
+    @DisplayName("Export incremental: a row committed after the watermark but generated before it is still pulled")
+    void lateCommitWithinOverlap() throws Exception {
+        billingService.runBilling("2026-01");
+        invoiceRepo.flush();
+        String until = billing.exportInvoices("2026-01", null, "csv").getHeaders().getFirst("X-Export-Until");
+
+        // a billing run that was still open at the watermark commits an older generatedAt
+        invoiceRepo.saveAndFlush(new Invoice("INV-LATE", "2026-01", "CONT-LATE", "MTR0001", "Late Commit",
+                ContractType.FIXED, new BigDecimal("1.000"), new BigDecimal("0.15"), new BigDecimal("0.03"),
+                new BigDecimal("0.18"), LocalDateTime.parse(until).minusSeconds(1)));
+
+        ResponseEntity<StreamingResponseBody> next = billing.exportInvoices("2026-01", until, "csv");
+        assertThat(next.getHeaders().getFirst("X-Export-Until")).isEqualTo(until);
+        assertThat(lines(next, StandardCharsets.UTF_8)).hasSize(4).anyMatch(l -> l.startsWith("INV-LATE,"));
+    }
+
+    @Test
+    @DisplayName("Export fixed-width: header, one record per invoice, trailer with count and cents")
+    void fixedWidth() throws Exception {
+        billingService.runBilling("2026-01");
+        invoiceRepo.flush();
+
+        List<String> lines = lines(billing.exportInvoices("2026-01", null, "fixed"), StandardCharsets.ISO_8859_1);
+        assertThat(lines).hasSize(4).allSatisfy(l -> assertThat(l).hasSize(156));
+        // 0.28 + 54.45
+        assertThat(lines.get(3)).startsWith("T0000000002000000000000005473");
+    }
+
+    @Test
+    @DisplayName("Export: period with no invoices → no watermark, empty CSV; bad parameters → 400")
+    void emptyAndInvalid() throws Exception {
+        ResponseEntity<StreamingResponseBody> empty = billing.exportInvoices("1999-01", null, "csv");
+        assertThat(empty.getHeaders().containsKey("X-Export-Until")).isFalse();
+        assertThat(lines(empty, StandardCharsets.UTF_8)).hasSize(1);
+
+        assertThatThrownBy(() -> billing.exportInvoices(null, null, "xml"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> billing.exportInvoices(null, "yesterday", "csv"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> lines(ResponseEntity<StreamingResponseBody> response, java.nio.charset.Charset charset)
+            throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return Arrays.asList(out.toString(charset).split("\r\n"));
+    }
+}
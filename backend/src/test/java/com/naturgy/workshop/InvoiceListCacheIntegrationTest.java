@@ -0,0 +1,82 @@
+package com.naturgy.workshop;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naturgy.workshop.api.controller.InvoiceListCache;
+import com.naturgy.workshop.service.BillingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/invoices through the per-period cache: JSON requests are answered from it, other
+ * formats are not, and a committed billing run makes its period current again. Billing here
+ * commits, so it uses a period no other test bills.
+ */
+@SpringBootTest
+class InvoiceListCacheIntegrationTest {
+
+    @Autowired WebApplicationContext context;
+    @Autowired InvoiceListCache      cache;
+    @Autowired BillingService        billingService;
+    @Autowired ObjectMapper          json;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    @DisplayName("JSON (default or asked for) is cached; CBOR is still negotiated")
+    void jsonCachedCborNot() throws Exception {
+        long misses = cache.stats().misses();
+        long hits   = cache.stats().hits();
+        mvc.perform(get("/api/invoices").param("period", "2025-10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("[]"));
+        mvc.perform(get("/api/invoices").param("period", "2025-10").accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mvc.perform(get("/api/invoices").param("period", "2025-10").accept(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        assertThat(cache.stats().misses()).isEqualTo(misses + 1);
+        assertThat(cache.stats().hits()).isEqualTo(hits + 2);
+
+        mvc.perform(get("/api/invoices").param("period", "2025-10").accept(MediaType.parseMediaType("application/cbor")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"));
+        assertThat(cache.stats().hits()).isEqualTo(hits + 2);
+    }
+
+    @Test
+    @DisplayName("A committed billing run refreshes its period and the unfiltered list")
+    void billingCommitInvalidates() throws Exception {
+        int allBefore = list("/api/invoices?limit=5000").size();
+        assertThat(list("/api/invoices?period=2025-12").size()).isZero();
+        assertThat(list("/api/invoices?period=2025-12").size()).isZero();
+
+        int generated = billingService.runBilling("2025-12").size();
+
+        assertThat(generated).isPositive();
+        assertThat(list("/api/invoices?period=2025-12").size()).isEqualTo(generated);
+        assertThat(list("/api/invoices?limit=5000").size()).isEqualTo(allBefore + generated);
+    }
+
+    private JsonNode list(String url) throws Exception {
+        return json.readTree(mvc.perform(get(url)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+}
@@ -0,0 +1,158 @@
+package com.naturgy.workshop;
+
+import com.naturgy.workshop.api.controller.BillingController;
+import com.naturgy.workshop.api.controller.ContractController;
+import com.naturgy.workshop.api.controller.ListPaging;
+import com.naturgy.workshop.api.controller.MeterController;
+import com.naturgy.workshop.api.controller.ReadingController;
+import com.naturgy.workshop.domain.model.Invoice;
+import com.naturgy.workshop.domain.projection.MeterSummary;
+import com.naturgy.workshop.domain.projection.ReadingSummary;
+import com.naturgy.workshop.domain.repository.InvoiceRepository;
+import com.naturgy.workshop.domain.repository.ReadingRepository;
+import com.naturgy.workshop.service.BillingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keyset pagination of the list endpoints: headers, cursor walk, optional counts.
+ */
+@SpringBootTest
+class ListPagingIntegrationTest {
+
+    @Autowired MeterController    meters;
+    @Autowired ContractController contracts;
+    @Autowired ReadingController  readings;
+    @Autowired BillingController  billing;
+    @Autowired BillingService     billingService;
+    @Autowired InvoiceRepository  invoiceRepo;
+    @Autowired ReadingRepository  readingRepo;
+
+    private ServletWebRequest web;
+
+    @BeforeEach
+    void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/meters");
+        request.setQueryString("limit=1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        web = new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    @AfterEach
+    void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Meters: limit=1 → cursor + Link to the next page; last page has none")
+    void meterCursorWalk() {
+        ResponseEntity<List<MeterSummary>> first = meters.findAll(1, null, true, web);
+        String cursor = first.getHeaders().getFirst(ListPaging.NEXT_CURSOR);
+
+        assertThat(first.getBody()).extracting(MeterSummary::meterId).containsExactly("MTR0001");
+        assertThat(first.getHeaders().getFirst(ListPaging.TOTAL_COUNT)).isEqualTo("2");
+        assertThat(first.getHeaders().getFirst(HttpHeaders.LINK))
+                .contains("limit=1", "cursor=" + cursor).endsWith("rel=\"next\"");
+
+        ResponseEntity<List<MeterSummary>> second = meters.findAll(1, cursor, false, web);
+        assertThat(second.getBody()).extracting(MeterSummary::meterId).containsExactly("MTR0002");
+        assertThat(second.getHeaders().containsKey(ListPaging.NEXT_CURSOR)).isFalse();
+        assertThat(second.getHeaders().containsKey(ListPaging.TOTAL_COUNT)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Contracts filtered by meter are paged the same way")
+    void contractsByMeter() {
+        var page = contracts.findAll("MTR0002", 10, null, true, web);
+        assertThat(page.getBody()).extracting(c -> c.contractId()).containsExactly("CONT002");
+        assertThat(page.getHeaders().getFirst(ListPaging.TOTAL_COUNT)).isEqualTo("1");
+    }
+
+    @Test
+    @Transactional   // billing rolled back: BillingIntegrationTest expects a first run on 2026-01
+    @DisplayName("Invoices: walking the cursor one row at a time yields the full list, newest first")
+    void invoiceCursorWalk() {
+        billingService.runBilling("2026-01");
+        List<String> expected = invoiceRepo.findAll().stream()
+                .sorted(Comparator.comparing(Invoice::getPeriod)
+                        .thenComparing(Invoice::getGeneratedAt)
+                        .thenComparing(Invoice::getInvoiceId).reversed())
+                .map(Invoice::getInvoiceId)
+                .toList();
+
+        List<String> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponseEntity<List<Invoice>> page = billing.listInvoices(null, 1, cursor, false, web);
+            page.getBody().forEach(i -> walked.add(i.getInvoiceId()));
+            cursor = page.getHeaders().getFirst(ListPaging.NEXT_CURSOR);
+        } while (cursor != null);
+
+        assertThat(walked).isEqualTo(expected);
+        assertThat(billing.listInvoices("2026-01", 1, null, true, web).getHeaders().getFirst(ListPaging.TOTAL_COUNT))
+                .isEqualTo(String.valueOf(invoiceRepo.countByPeriod("2026-01")));
+    }
+
+    @Test
+    @DisplayName("Readings: the unfiltered list is paged in key order; a meter's day walks hour by hour")
+    void readingCursorWalk() {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to   = LocalDate.of(2026, 1, 31);
+        List<ReadingSummary.Key> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponseEntity<List<ReadingSummary>> page = readings.findAll(null, from, to, 2, cursor, cursor == null, web);
+            assertThat(page.getBody()).hasSizeLessThanOrEqualTo(2);
+            page.getBody().forEach(r -> walked.add(r.id()));
+            if (cursor == null) {
+                assertThat(page.getHeaders().getFirst(ListPaging.TOTAL_COUNT))
+                        .isEqualTo(String.valueOf(readingRepo.countByIdDateBetween(from, to)));
+            }
+            cursor = page.getHeaders().getFirst(ListPaging.NEXT_CURSOR);
+        } while (cursor != null);
+
+        assertThat(walked).hasSize((int) readingRepo.countByIdDateBetween(from, to))
+                .isSortedAccordingTo(Comparator.comparing(ReadingSummary.Key::meterId)
+                        .thenComparing(ReadingSummary.Key::date)
+                        .thenComparing(ReadingSummary.Key::hour));
+
+        List<Integer> hours = new ArrayList<>();
+        cursor = null;
+        do {
+            ResponseEntity<List<ReadingSummary>> page = readings.findAll("MTR0001", from, from, 1, cursor, false, web);
+            page.getBody().forEach(r -> hours.add(r.id().hour()));
+            cursor = page.getHeaders().getFirst(ListPaging.NEXT_CURSOR);
+        } while (cursor != null);
+        assertThat(hours).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    @DisplayName("Bad limit or foreign cursor → 400")
+    void badParametersRejected() {
+        assertThatThrownBy(() -> meters.findAll(0, null, false, web)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> billing.listInvoices(null, 10, "not-a-cursor", false, web))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> readings.findAll(null, null, null, 10, "bm90LWEta2V5", false, web))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
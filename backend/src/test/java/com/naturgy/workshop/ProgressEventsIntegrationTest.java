@@ -0,0 +1,104 @@
+package com.naturgy.workshop;
+
+import com.naturgy.workshop.domain.model.Invoice;
+import com.naturgy.workshop.domain.repository.InvoiceRepository;
+import com.naturgy.workshop.service.BillingService;
+import com.naturgy.workshop.service.progress.ProgressEvent;
+import com.naturgy.workshop.service.progress.ProgressTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * GET /api/events: an open stream receives batched billing progress, ending in the
+ * completed state. "Completed" is only sent once the run commits, so the run is not
+ * wrapped in a test transaction; its invoices are deleted afterwards.
+ */
+@SpringBootTest
+class ProgressEventsIntegrationTest {
+
+    @Autowired WebApplicationContext context;
+    @Autowired BillingService         billing;
+    @Autowired InvoiceRepository      invoiceRepo;
+    @Autowired ProgressTracker        progress;
+
+    private MockMvc       mvc;
+    private List<Invoice> generated = List.of();
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        invoiceRepo.deleteAll(generated);
+    }
+
+    @Test
+    @DisplayName("Billing run → progress event with invoices and state completed")
+    void billingProgressIsStreamed() throws Exception {
+        MvcResult stream = mvc.perform(get("/api/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        generated = billing.runBilling("2026-01");
+        int invoices = generated.size();
+
+        String body = awaitContent(stream, "\"kind\":\"billing\",\"id\":\"2026-01\",\"state\":\"completed\"");
+        assertThat(body).contains("event:progress")
+                .contains("\"invoices\":" + invoices).contains("\"percent\":100.0");
+    }
+
+    @Test
+    @DisplayName("A new subscriber first gets the operations running, then their later states")
+    void snapshotThenUpdates() throws Exception {
+        AtomicLong rows = new AtomicLong(3);
+        ProgressTracker.Operation op = progress.start(() -> new ProgressEvent("import", "snapshot-test",
+                ProgressEvent.RUNNING, rows.get(), 0, 0, -1, null));
+        try {
+            MvcResult stream = mvc.perform(get("/api/events").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String first = "\"id\":\"snapshot-test\",\"state\":\"running\",\"rows\":3";
+            awaitContent(stream, first);
+
+            rows.set(5);
+            String second = "\"id\":\"snapshot-test\",\"state\":\"running\",\"rows\":5";
+            awaitContent(stream, second);
+            op.finish(ProgressEvent.COMPLETED, null);
+            String body = awaitContent(stream, "\"id\":\"snapshot-test\",\"state\":\"completed\"");
+
+            assertThat(body.indexOf(first)).isLessThan(body.indexOf(second));
+            assertThat(body.lastIndexOf(first)).isLessThan(body.indexOf(second));
+        } finally {
+            op.finish(ProgressEvent.FAILED, null);   // no-op once completed
+        }
+    }
+
+    private static String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!stream.getResponse().getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        String body = stream.getResponse().getContentAsString();
+        assertThat(body).contains(expected);
+        return body;
+    }
+}
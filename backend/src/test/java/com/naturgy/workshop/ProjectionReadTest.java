@@ -0,0 +1,99 @@
+package com.naturgy.workshop;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naturgy.workshop.api.controller.ContractController;
+import com.naturgy.workshop.api.controller.MeterController;
+import com.naturgy.workshop.api.controller.ReadingController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Read endpoints return projections: JSON shape and {@code ?expand=} paging over the seed data.
+ */
+@SpringBootTest
+class ProjectionReadTest {
+
+    @Autowired MeterController    meters;
+    @Autowired ContractController contracts;
+    @Autowired ReadingController  readings;
+    @Autowired ObjectMapper       json;
+
+    private ServletWebRequest web;
+
+    @BeforeEach
+    void bindRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/meters");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        web = new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    @AfterEach
+    void unbindRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("GET /api/meters: meter fields only, no contracts/readings")
+    void meterListHasNoChildren() {
+        JsonNode list = json.valueToTree(meters.findAll(null, null, false, web).getBody());
+
+        assertThat(list).hasSize(2);
+        assertThat(list.get(0).get("meterId").asText()).isEqualTo("MTR0001");
+        assertThat(list.get(0).has("readings")).isFalse();
+        assertThat(list.get(0).has("contracts")).isFalse();
+    }
+
+    @Test
+    @DisplayName("GET /api/meters/{id}?expand=readings: one page of readings, newest first")
+    void meterExpandReadingsIsPaged() {
+        JsonNode detail = json.valueToTree(meters.findById("MTR0001", Set.of("readings"), 0, 2, web));
+
+        assertThat(detail.get("city").asText()).isEqualTo("Valencia");
+        assertThat(detail.has("contracts")).isFalse();
+        JsonNode page = detail.get("readings");
+        assertThat(page.get("items")).hasSize(2);
+        assertThat(page.get("hasMore").asBoolean()).isTrue();
+        assertThat(page.get("items").get(0).get("id").get("meterId").asText()).isEqualTo("MTR0001");
+
+        JsonNode last = json.valueToTree(meters.findById("MTR0001", Set.of("readings", "contracts"), 1, 2, web));
+        assertThat(last.get("readings").get("items")).hasSize(1);
+        assertThat(last.get("readings").get("hasMore").asBoolean()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Unknown expansion or oversized page → 400")
+    void badExpandRejected() {
+        assertThatThrownBy(() -> meters.findById("MTR0001", Set.of("invoices"), 0, 10, web))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> meters.findById("MTR0001", null, 0, 5000, web))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Contracts carry meter: {meterId}; readings keep the id/kwh/quality shape")
+    void contractAndReadingShapes() {
+        JsonNode contract = json.valueToTree(contracts.findById("CONT001", web));
+        assertThat(contract.get("meter").get("meterId").asText()).isEqualTo("MTR0001");
+        assertThat(contract.get("contractType").asText()).isEqualTo("FIXED");
+
+        JsonNode reading = json.valueToTree(readings.findAll("MTR0002", null, null, null, null, false, web).getBody()).get(0);
+        assertThat(reading.get("id").get("date").asText()).isEqualTo("2026-01-01");
+        assertThat(reading.has("kwh")).isTrue();
+        assertThat(reading.has("meter")).isFalse();
+    }
+}
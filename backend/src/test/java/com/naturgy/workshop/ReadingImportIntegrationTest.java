@@ -0,0 +1,136 @@
+package com.naturgy.workshop;
+
+import com.naturgy.workshop.domain.model.ReadingId;
+import com.naturgy.workshop.domain.repository.ContractRepository;
+import com.naturgy.workshop.domain.repository.MeterRepository;
+import com.naturgy.workshop.domain.repository.ReadingRepository;
+import com.naturgy.workshop.service.CsvImportService;
+import com.naturgy.workshop.service.imports.CsvBundleImportService;
+import com.naturgy.workshop.service.imports.ImportContext;
+import com.naturgy.workshop.service.imports.ImportKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test: readings CSV import through the staged pipeline (entity and bulk
+ * paths), compressed uploads and zip bundles.
+ *
+ * <p>Runs inside a rolled-back test transaction so the seeded row counts asserted by
+ * {@link SeedSmokeTest} are not affected.
+ */
+@SpringBootTest
+@Transactional
+class ReadingImportIntegrationTest {
+
+    @Autowired CsvImportService       csvImport;
+    @Autowired CsvBundleImportService bundleImport;
+    @Autowired MeterRepository        meterRepo;
+    @Autowired ContractRepository     contractRepo;
+    @Autowired ReadingRepository      readingRepo;
+
+    private static final String MIXED_CSV = """
+            meterId,date,hour,kwh,quality
+            MTR0001,2026-02-01,0,0.50,REAL
+            MTR0001,2026-02-01,24,0.50,REAL
+            MTR0001,2026-01-01,0,0.45,REAL
+            MTR9999,2026-02-01,0,0.10,
+            MTR0001,2026-02-01,1,-1,REAL
+            MTR0001,not-a-date,1,0.30,REAL
+            MTR0001,2026-02-01,0,0.70,REAL
+            MTR0002,2026-02-01,5,0.25,ESTIMATED
+            """;
+
+    @Test
+    @DisplayName("Import: counts and ordered errors match the sequential rules")
+    void importReadingsMixedFile() throws Exception {
+        assertMixedFileResult(csvImport.importReadings(file(MIXED_CSV)));
+    }
+
+    @Test
+    @DisplayName("Bulk import: same counts and ordered errors, resolved set-wise in SQL")
+    void bulkImportReadingsMixedFile() throws Exception {
+        assertMixedFileResult(csvImport.importReadingsBulk(file(MIXED_CSV)));
+        assertThat(readingRepo.findById(new ReadingId("MTR0002", LocalDate.of(2026, 2, 1), 5)))
+                .hasValueSatisfying(r -> assertThat(r.getQuality()).hasToString("ESTIMATED"));
+    }
+
+    private void assertMixedFileResult(CsvImportService.ImportResult result) {
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.skipped()).isEqualTo(6);
+        assertThat(result.errors()).hasSize(6);
+        assertThat(result.errors().get(0)).startsWith("Row skipped: hour must be 0-23");
+        assertThat(result.errors().get(1)).startsWith("Row skipped: duplicate reading meterId=MTR0001 date=2026-01-01");
+        assertThat(result.errors().get(2)).isEqualTo("Row skipped: unknown meterId='MTR9999'");
+        assertThat(result.errors().get(3)).startsWith("Row skipped: kwh must be >= 0");
+        assertThat(result.errors().get(4)).startsWith("Row error for meterId=MTR0001:");
+        // Same key as the first row of this file → in-file duplicate
+        assertThat(result.errors().get(5)).isEqualTo("Row skipped: duplicate reading meterId=MTR0001 date=2026-02-01 hour=0");
+
+        var r = readingRepo.findById(new ReadingId("MTR0001", LocalDate.of(2026, 2, 1), 0)).orElseThrow();
+        assertThat(r.getKwh()).isEqualByComparingTo("0.50");
+    }
+
+    @Test
+    @DisplayName("Import: gzip upload is decompressed while streaming")
+    void importGzipReadings() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write("meterId,date,hour,kwh,quality\nMTR0002,2026-03-01,7,1.25,REAL\n".getBytes(StandardCharsets.UTF_8));
+        }
+        var file = new MockMultipartFile("file", "readings.csv.gz", "application/gzip", out.toByteArray());
+
+        CsvImportService.ImportResult result = csvImport.importReadings(file);
+
+        assertThat(result.inserted()).isEqualTo(1);
+        assertThat(readingRepo.existsById(new ReadingId("MTR0002", LocalDate.of(2026, 3, 1), 7))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Bundle: zip entries in reverse order are still imported meters → contracts → readings")
+    void importBundleInFkOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            entry(zip, "readings.csv", "meterId,date,hour,kwh,quality\nMTR0100,2026-01-01,0,2.5,REAL\n");
+            entry(zip, "contracts.csv", "contractId,meterId,customerId,fullName,nif,email,contractType,"
+                    + "startDate,endDate,billingCycle,flatMonthlyFeeEur,includedKwh,overagePricePerKwhEur,"
+                    + "fixedPricePerKwhEur,taxRate,iban\n"
+                    + "CONT100,MTR0100,CUST100,Eva Ruiz,11111111H,,FIXED,2026-01-01,,MONTHLY,,,,0.15,0.21,\n");
+            entry(zip, "meters.csv", "meterId,cups,address,postalCode,city\nMTR0100,,C/ Sol 1,28001,Madrid\n");
+        }
+        var file = new MockMultipartFile("file", "bundle.zip", "application/zip", out.toByteArray());
+
+        Map<ImportKind, CsvImportService.ImportResult> results =
+                bundleImport.importBundle(file, kind -> ImportContext.inMemory(file.getSize(), 10));
+
+        assertThat(results).containsOnlyKeys(ImportKind.METERS, ImportKind.CONTRACTS, ImportKind.READINGS);
+        assertThat(results.values()).allSatisfy(r -> assertThat(r.inserted()).isEqualTo(1));
+        assertThat(meterRepo.existsById("MTR0100")).isTrue();
+        assertThat(contractRepo.existsById("CONT100")).isTrue();
+        assertThat(readingRepo.existsById(new ReadingId("MTR0100", LocalDate.of(2026, 1, 1), 0))).isTrue();
+    }
+
+    private static void entry(ZipOutputStream zip, String name, String content) throws Exception {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "readings.csv", "text/csv",
+                content.getBytes(StandardCharsets.UTF_8));
+    }
+}
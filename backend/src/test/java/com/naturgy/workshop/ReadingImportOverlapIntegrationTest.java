@@ -0,0 +1,95 @@
+package com.naturgy.workshop;
+
+import com.naturgy.workshop.api.controller.MeterController;
+import com.naturgy.workshop.domain.enums.ReadingQuality;
+import com.naturgy.workshop.domain.model.Meter;
+import com.naturgy.workshop.domain.model.Reading;
+import com.naturgy.workshop.domain.model.ReadingId;
+import com.naturgy.workshop.domain.repository.ReadingRepository;
+import com.naturgy.workshop.service.CsvImportService;
+import com.naturgy.workshop.service.imports.ImportContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two readings imports overlapping: a reading committed by another import after this one
+ * loaded its key index is reported as a duplicate instead of failing the chunk. Chunks
+ * commit on their own, so the test uses its own meter and deletes it (with its readings)
+ * afterwards.
+ */
+@SpringBootTest
+class ReadingImportOverlapIntegrationTest {
+
+    private static final String    METER = "MTR-OVL";
+    private static final LocalDate DAY   = LocalDate.of(2025, 5, 1);
+
+    private static final String CSV = """
+            meterId,date,hour,kwh,quality
+            MTR-OVL,2025-05-01,0,0.50,REAL
+            MTR-OVL,2025-05-01,1,0.60,REAL
+            MTR-OVL,2025-05-01,2,0.70,REAL
+            """;
+
+    @Autowired CsvImportService  csvImport;
+    @Autowired MeterController   meters;
+    @Autowired ReadingRepository readingRepo;
+
+    @BeforeEach
+    void setUp() {
+        meters.create(new Meter(METER, null, "Calle Solapada 1", "28001", "Madrid"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        meters.delete(METER);
+    }
+
+    @Test
+    @DisplayName("A reading committed by another import after the index was loaded counts as a duplicate")
+    void concurrentlyCommittedReadingIsDuplicate() throws Exception {
+        byte[] csv = CSV.getBytes(StandardCharsets.UTF_8);
+        // the key index is loaded before the file is read: commit the competing row on first read
+        InputStream in = new FilterInputStream(new ByteArrayInputStream(csv)) {
+            boolean committed;
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (!committed) {
+                    committed = true;
+                    readingRepo.save(reading(1, "9.000"));
+                }
+                return super.read(b, off, len);
+            }
+        };
+
+        CsvImportService.ImportResult result = csvImport.importReadings(in, ImportContext.inMemory(csv.length, 100));
+
+        assertThat(result.inserted()).isEqualTo(2);
+        assertThat(result.skipped()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly(
+                "Row skipped: duplicate reading meterId=MTR-OVL date=2025-05-01 hour=1");
+        assertThat(readingRepo.findById(new ReadingId(METER, DAY, 1)).orElseThrow().getKwh())
+                .isEqualByComparingTo("9.000");
+        assertThat(readingRepo.findById(new ReadingId(METER, DAY, 2)).orElseThrow().getKwh())
+                .isEqualByComparingTo("0.70");
+    }
+
+    private static Reading reading(int hour, String kwh) {
+        return new Reading(new ReadingId(METER, DAY, hour), new Meter(METER, null, "-", null, "-"),
+                new BigDecimal(kwh), ReadingQuality.REAL);
+    }
+}
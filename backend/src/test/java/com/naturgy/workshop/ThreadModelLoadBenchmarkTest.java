@@ -0,0 +1,127 @@
+package com.naturgy.workshop;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Requests/second and latency of the same HTTP workload with Tomcat on platform threads
+ * versus virtual threads ({@code spring.threads.virtual.enabled}), at 1k–10k concurrent
+ * clients.
+ *
+ * <p>Each mode gets its own application on a random port and its own in-memory database.
+ * Every client is a separate HTTP/1.1 connection issuing {@value #REQUESTS_PER_CLIENT}
+ * requests back to back (meter list, meter detail with readings, invoice list). Client and
+ * server share this JVM, so it needs roughly two file descriptors per client
+ * ({@code ulimit -n}); pick levels with {@code -Dbenchmark.clients=1000,5000}. Admission
+ * control is off, so every request reaches the request threads.
+ *
+ * <p>Opt-in: {@code mvn test -Pbenchmark}. Numbers are printed, not asserted.
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class ThreadModelLoadBenchmarkTest {
+
+    private static final int REQUESTS_PER_CLIENT = 5;
+
+    private static final List<String> PATHS = List.of(
+            "/api/meters",
+            "/api/meters/MTR0001?expand=readings&size=24",
+            "/api/invoices?period=2026-01");
+
+    @Test
+    @DisplayName("Benchmark: platform vs virtual request threads")
+    void platformVersusVirtual() throws Exception {
+        int[] levels = Arrays.stream(System.getProperty("benchmark.clients", "1000,2500,5000,10000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext app = start(virtual)) {
+                int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                run(port, 200);   // warm-up
+                for (int clients : levels) {
+                    Result r = run(port, clients);
+                    System.out.printf("[benchmark] %-8s clients=%,6d %,8.0f req/s  p50=%5d ms  p99=%5d ms  errors=%d%n",
+                            virtual ? "virtual" : "platform", clients, r.perSecond, r.p50, r.p99, r.errors);
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        // command-line arguments: unlike builder defaults they override application.properties
+        return new SpringApplicationBuilder(NaturgyWorkshopApplication.class).run(
+                "--server.port=0",
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + (virtual ? "virtual" : "platform") + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--workshop.bulkhead.enabled=false",
+                "--logging.level.com.naturgy.workshop=WARN");
+    }
+
+    private static Result run(int port, int clients) {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> all = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + PATHS.get((c + i) % PATHS.size())))
+                        .timeout(Duration.ofMinutes(2))
+                        .build();
+                chain = chain.thenCompose(ignored -> {
+                    long sent = System.nanoTime();
+                    return http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                            .handle((response, failure) -> {
+                                if (failure != null || response.statusCode() != 200) {
+                                    if (errors.getAndIncrement() == 0) {
+                                        System.out.printf("[benchmark] first error: %s %s%n", request.uri(),
+                                                failure != null ? failure : "HTTP " + response.statusCode());
+                                    }
+                                } else {
+                                    latencies.add((System.nanoTime() - sent) / 1_000_000);
+                                }
+                                return null;
+                            });
+                });
+            }
+            all.add(chain);
+        }
+        CompletableFuture.allOf(all.toArray(CompletableFuture[]::new)).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99), errors.get());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? -1 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private record Result(double perSecond, long p50, long p99, int errors) {}
+}
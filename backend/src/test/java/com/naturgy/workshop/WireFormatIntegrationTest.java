@@ -0,0 +1,111 @@
+package com.naturgy.workshop;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naturgy.workshop.api.wire.ReadingColumnarCodec;
+import com.naturgy.workshop.domain.projection.ReadingSummary;
+import com.naturgy.workshop.domain.repository.ReadingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Content negotiation on GET /api/readings: JSON by default, CBOR and columnar on request,
+ * all carrying the same rows; GET /api/readings/export streams the columnar form unpaged.
+ */
+@SpringBootTest
+class WireFormatIntegrationTest {
+
+    private static final MediaType CBOR     = MediaType.parseMediaType("application/cbor");
+    private static final MediaType COLUMNAR = MediaType.parseMediaType(ReadingColumnarCodec.MEDIA_TYPE);
+
+    @Autowired WebApplicationContext context;
+    @Autowired ObjectMapper          json;
+    @Autowired ReadingRepository     readingRepo;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    @DisplayName("Accept */* and application/json → JSON")
+    void jsonStaysTheDefault() throws Exception {
+        mvc.perform(get("/api/readings").param("meterId", "MTR0002").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Columnar and CBOR decode to the same rows as the JSON response")
+    void binaryFormatsMatchJson() throws Exception {
+        String jsonBody = body("/api/readings", MediaType.APPLICATION_JSON).getResponse().getContentAsString();
+        JsonNode expected = json.readTree(jsonBody);
+
+        MvcResult columnar = body("/api/readings", COLUMNAR);
+        assertThat(columnar.getResponse().getContentType()).isEqualTo(ReadingColumnarCodec.MEDIA_TYPE);
+        List<ReadingSummary> rows = ReadingColumnarCodec.decode(
+                new ByteArrayInputStream(columnar.getResponse().getContentAsByteArray()));
+        assertThat(json.writeValueAsString(rows)).isEqualTo(jsonBody);
+
+        MvcResult cbor = body("/api/readings", CBOR);
+        JsonNode decoded = Jackson2ObjectMapperBuilder.cbor().build().readTree(cbor.getResponse().getContentAsByteArray());
+        assertThat(decoded).hasSize(expected.size());
+        assertThat(decoded.get(0).get("id").get("meterId")).isEqualTo(expected.get(0).get("id").get("meterId"));
+        assertThat(columnar.getResponse().getContentAsByteArray().length)
+                .isLessThan(cbor.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Export streams every matching reading as columnar, not just one page")
+    void exportStreamsAllRows() throws Exception {
+        MvcResult started = mvc.perform(get("/api/readings/export").param("from", "2026-01-01").param("to", "2026-01-31")
+                        .accept(COLUMNAR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult export = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ReadingColumnarCodec.MEDIA_TYPE))
+                .andReturn();
+
+        List<ReadingSummary> rows = ReadingColumnarCodec.decode(
+                new ByteArrayInputStream(export.getResponse().getContentAsByteArray()));
+        assertThat(rows).hasSize((int) readingRepo.countByIdDateBetween(
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31)));
+        String list = body("/api/readings?from=2026-01-01&to=2026-01-31", MediaType.APPLICATION_JSON)
+                .getResponse().getContentAsString();
+        assertThat(json.writeValueAsString(rows)).isEqualTo(list);
+    }
+
+    @Test
+    @DisplayName("Columnar is only offered for reading lists")
+    void columnarOnlyForReadings() throws Exception {
+        mvc.perform(get("/api/meters").accept(COLUMNAR))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    private MvcResult body(String path, MediaType accept) throws Exception {
+        return mvc.perform(get(path).accept(accept)).andExpect(status().isOk()).andReturn();
+    }
+}
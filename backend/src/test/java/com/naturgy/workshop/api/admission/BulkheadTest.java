@@ -0,0 +1,147 @@
+package com.naturgy.workshop.api.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the bulkhead permit/queue logic and the request classification.
+ */
+class BulkheadTest {
+
+    @Test
+    @DisplayName("Full with no queue → rejected at once; a returned permit frees the slot")
+    void rejectsWhenFull() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("t", 1, 0, Duration.ofSeconds(1));
+
+        Bulkhead.Permit first = bulkhead.tryAcquire();
+        assertThat(first).isNotNull();
+        assertThat(bulkhead.tryAcquire()).isNull();
+
+        first.close();
+        first.close();   // idempotent
+        assertThat(bulkhead.tryAcquire()).isNotNull();
+
+        Bulkhead.Stats stats = bulkhead.stats();
+        assertThat(stats.admitted()).isEqualTo(2);
+        assertThat(stats.rejected()).isEqualTo(1);
+        assertThat(stats.active()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Queued caller is admitted when a permit is returned, its wait is recorded")
+    void queuedCallerGetsReleasedSlot() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("t", 1, 1, Duration.ofSeconds(10));
+        Bulkhead.Permit held = bulkhead.tryAcquire();
+
+        CompletableFuture<Bulkhead.Permit> queued = CompletableFuture.supplyAsync(() -> acquire(bulkhead));
+        awaitWaiting(bulkhead, 1);
+        assertThat(bulkhead.tryAcquire()).as("queue of one is full").isNull();
+
+        Thread.sleep(50);
+        held.close();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(bulkhead.stats().maxObservedWaitMs()).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Queued caller gives up after max-wait")
+    void queuedCallerTimesOut() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("t", 1, 1, Duration.ofMillis(50));
+        bulkhead.tryAcquire();
+
+        assertThat(bulkhead.tryAcquire()).isNull();
+        assertThat(bulkhead.stats().rejected()).isEqualTo(1);
+        assertThat(bulkhead.stats().waiting()).isZero();
+    }
+
+    @Test
+    @DisplayName("Raising the limit at runtime admits a waiting caller; invalid settings are refused")
+    void resizeAtRuntime() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("t", 1, 4, Duration.ofSeconds(10));
+        bulkhead.tryAcquire();
+        CompletableFuture<Bulkhead.Permit> queued = CompletableFuture.supplyAsync(() -> acquire(bulkhead));
+        awaitWaiting(bulkhead, 1);
+
+        bulkhead.resize(2, null, null);
+
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(bulkhead.stats().limit()).isEqualTo(2);
+        assertThat(bulkhead.stats().queue()).isEqualTo(4);
+        assertThatThrownBy(() -> bulkhead.resize(0, null, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Retry-After grows with the mean hold time and the queue ahead")
+    void retryAfterFromHoldTime() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("t", 1, 0, Duration.ZERO);
+        assertThat(bulkhead.retryAfterSeconds()).isEqualTo(1);
+
+        Bulkhead.Permit permit = bulkhead.tryAcquire();
+        Thread.sleep(1_100);
+        permit.close();
+        assertThat(bulkhead.retryAfterSeconds()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Requests map to their bulkhead; writes, health, events and admin are not limited")
+    void classification() {
+        assertThat(BulkheadFilter.classify("POST", "/api/readings/import")).isEqualTo(Bulkheads.IMPORTS);
+        assertThat(BulkheadFilter.classify("POST", "/api/import")).isEqualTo(Bulkheads.IMPORTS);
+        assertThat(BulkheadFilter.classify("POST", "/api/billing/run")).isEqualTo(Bulkheads.BILLING);
+        assertThat(BulkheadFilter.classify("POST", "/api/readings/gap-fill")).isEqualTo(Bulkheads.BILLING);
+        assertThat(BulkheadFilter.classify("GET", "/api/invoices/INV-1/pdf")).isEqualTo(Bulkheads.PDF);
+        assertThat(BulkheadFilter.classify("GET", "/api/invoices/pdf-bundle")).isEqualTo(Bulkheads.PDF);
+        assertThat(BulkheadFilter.classify("GET", "/api/invoices/export")).isEqualTo(Bulkheads.EXPORTS);
+        assertThat(BulkheadFilter.classify("GET", "/api/readings/export")).isEqualTo(Bulkheads.EXPORTS);
+        assertThat(BulkheadFilter.classify("GET", "/api/analytics/percentiles")).isEqualTo(Bulkheads.EXPORTS);
+        assertThat(BulkheadFilter.classify("GET", "/api/invoices/INV-1")).isEqualTo(Bulkheads.READS);
+        assertThat(BulkheadFilter.classify("GET", "/api/meters")).isEqualTo(Bulkheads.READS);
+        assertThat(BulkheadFilter.classify("POST", "/api/meters")).isNull();
+        assertThat(BulkheadFilter.classify("GET", "/api/health")).isNull();
+        assertThat(BulkheadFilter.classify("GET", "/api/events")).isNull();
+        assertThat(BulkheadFilter.classify("GET", "/api/admin/bulkheads")).isNull();
+        assertThat(BulkheadFilter.classify("GET", "/h2-console")).isNull();
+    }
+
+    @Test
+    @DisplayName("Limits plus queues must leave request threads to spare, at startup and on resize")
+    void sizedBelowRequestThreads() {
+        MockEnvironment env = new MockEnvironment().withProperty("workshop.bulkhead.pdf.limit", "4");
+        Bulkheads bulkheads = new Bulkheads(env);   // 4 + 2 + 20 + 6 + 96 = 128 of 200 - 24
+
+        assertThatThrownBy(() -> bulkheads.resize(Bulkheads.READS, null, 200, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(bulkheads.resize(Bulkheads.READS, 40, 100, null).stats().queue()).isEqualTo(100);
+
+        env.setProperty("server.tomcat.threads.max", "100");
+        assertThatThrownBy(() -> new Bulkheads(env)).isInstanceOf(IllegalStateException.class);
+        env.setProperty("spring.threads.virtual.enabled", "true");
+        if (Runtime.version().feature() >= 21) {
+            assertThat(new Bulkheads(env).resize(Bulkheads.READS, null, 10_000, null).stats().queue()).isEqualTo(10_000);
+        }
+    }
+
+    private static Bulkhead.Permit acquire(Bulkhead bulkhead) {
+        try {
+            return bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitWaiting(Bulkhead bulkhead, int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (bulkhead.stats().waiting() < waiting && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(bulkhead.stats().waiting()).isEqualTo(waiting);
+    }
+}
@@ -0,0 +1,108 @@
+package com.naturgy.workshop.api.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the invoice list cache: coalesced misses, invalidation racing a load, and
+ * the byte bound.
+ */
+class InvoiceListCacheTest {
+
+    private static final InvoiceListCache.Key JAN = new InvoiceListCache.Key("2026-01", 500, null, false);
+    private static final InvoiceListCache.Key ALL = new InvoiceListCache.Key(null, 500, null, false);
+
+    private final InvoiceListCache cache = new InvoiceListCache(DataSize.ofKilobytes(64));
+
+    @Test
+    @DisplayName("Concurrent misses for one page run a single load")
+    void missesCoalesce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<InvoiceListCache.Page> first = CompletableFuture.supplyAsync(() -> cache.get(JAN, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return page(100);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<InvoiceListCache.Page> second = CompletableFuture.supplyAsync(() -> cache.get(JAN, () -> {
+            loads.incrementAndGet();
+            return page(100);
+        }));
+        while (cache.stats().coalesced() == 0) Thread.sleep(5);
+        release.countDown();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get(JAN, () -> page(1))).isSameAs(first.get());
+        assertThat(cache.stats()).extracting(InvoiceListCache.Stats::misses, InvoiceListCache.Stats::hits)
+                .containsExactly(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("A load overlapping an invalidation is returned but not stored")
+    void invalidationDuringLoad() {
+        InvoiceListCache.Page stale = cache.get(JAN, () -> {
+            cache.invalidate("2026-01");
+            return page(10);
+        });
+        InvoiceListCache.Page fresh = page(20);
+        assertThat(cache.get(JAN, () -> fresh)).isSameAs(fresh).isNotSameAs(stale);
+        assertThat(cache.get(JAN, () -> page(30))).isSameAs(fresh);
+    }
+
+    @Test
+    @DisplayName("Invalidating a period drops its pages and the unfiltered list, nothing else")
+    void invalidationScope() {
+        InvoiceListCache.Key feb = new InvoiceListCache.Key("2026-02", 500, null, false);
+        cache.get(JAN, () -> page(10));
+        cache.get(ALL, () -> page(10));
+        InvoiceListCache.Page febPage = cache.get(feb, () -> page(10));
+
+        cache.invalidate("2026-01");
+
+        assertThat(cache.stats().pages()).isEqualTo(1);
+        assertThat(cache.get(feb, () -> page(1))).isSameAs(febPage);
+    }
+
+    @Test
+    @DisplayName("Bounded by bytes: least recently used pages go first; failures are not cached")
+    void byteBound() {
+        for (int i = 0; i < 10; i++) {
+            int n = i;
+            cache.get(new InvoiceListCache.Key("2026-01", 500, "c" + n, false), () -> page(16 * 1024));
+        }
+        InvoiceListCache.Stats stats = cache.stats();
+        assertThat(stats.bytes()).isLessThanOrEqualTo(64 * 1024);
+        assertThat(stats.evictions()).isGreaterThan(0);
+        assertThat(stats.pages() + stats.evictions()).isEqualTo(10);
+
+        assertThatThrownBy(() -> cache.get(ALL, () -> { throw new IllegalArgumentException("bad cursor"); }))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(cache.get(ALL, () -> page(1)).json()).hasSize(1);
+    }
+
+    private static InvoiceListCache.Page page(int bytes) {
+        return new InvoiceListCache.Page(new byte[bytes], null, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
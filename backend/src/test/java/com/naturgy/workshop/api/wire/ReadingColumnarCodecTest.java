@@ -0,0 +1,118 @@
+package com.naturgy.workshop.api.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.naturgy.workshop.domain.enums.ReadingQuality;
+import com.naturgy.workshop.domain.projection.ReadingSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the columnar readings wire format: round trip and size against JSON/CBOR.
+ */
+class ReadingColumnarCodecTest {
+
+    @Test
+    @DisplayName("Round trip keeps every row: meter, date, hour, kWh (scale), quality incl. null")
+    void roundTrip() throws IOException {
+        List<ReadingSummary> rows = month(3);
+
+        assertThat(ReadingColumnarCodec.decode(new ByteArrayInputStream(columnar(rows)))).isEqualTo(rows);
+    }
+
+    @Test
+    @DisplayName("More rows than a block: written as several blocks, decoded back in order")
+    void severalBlocks() throws IOException {
+        List<ReadingSummary> rows = month(12);
+        assertThat(rows.size()).isGreaterThan(ReadingColumnarCodec.BLOCK_ROWS);
+
+        assertThat(ReadingColumnarCodec.decode(new ByteArrayInputStream(columnar(rows)))).isEqualTo(rows);
+    }
+
+    @Test
+    @DisplayName("Unordered rows and a single row survive too")
+    void unorderedAndSingleRow() throws IOException {
+        List<ReadingSummary> rows = new ArrayList<>(month(2));
+        Collections.shuffle(rows, new Random(7));
+        List<ReadingSummary> one = List.of(rows.get(0));
+
+        assertThat(ReadingColumnarCodec.decode(new ByteArrayInputStream(columnar(rows)))).isEqualTo(rows);
+        assertThat(ReadingColumnarCodec.decode(new ByteArrayInputStream(columnar(one)))).isEqualTo(one);
+        assertThat(ReadingColumnarCodec.decode(new ByteArrayInputStream(columnar(List.of())))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Payload size: columnar < gzip(JSON) and < CBOR < JSON")
+    void payloadSizes() throws IOException {
+        List<ReadingSummary> rows = month(10);
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+
+        int jsonBytes     = json.writeValueAsBytes(rows).length;
+        int gzipJsonBytes = gzip(json.writeValueAsBytes(rows)).length;
+        int cborBytes     = cbor.writeValueAsBytes(rows).length;
+        int columnarBytes = columnar(rows).length;
+        String sizes = "json=%d gzip(json)=%d cbor=%d columnar=%d for %d rows"
+                .formatted(jsonBytes, gzipJsonBytes, cborBytes, columnarBytes, rows.size());
+
+        assertThat(cborBytes).as(sizes).isLessThan(jsonBytes);
+        assertThat(columnarBytes).as(sizes).isLessThan(gzipJsonBytes).isLessThan(jsonBytes / 10);
+        // ~1 byte of time delta + ~2 bytes of kWh per hourly row
+        assertThat(columnarBytes).as(sizes).isLessThan(rows.size() * 4);
+    }
+
+    @Test
+    @DisplayName("Truncated payload is rejected")
+    void truncatedIsRejected() throws IOException {
+        byte[] payload = columnar(month(1));
+        byte[] truncated = Arrays.copyOf(payload, payload.length / 2);
+
+        assertThatThrownBy(() -> ReadingColumnarCodec.decode(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Hourly readings for January 2026, ordered by meter and time like the API returns them. */
+    private static List<ReadingSummary> month(int meters) {
+        Random random = new Random(42);
+        List<ReadingSummary> rows = new ArrayList<>();
+        for (int m = 1; m <= meters; m++) {
+            for (int day = 0; day < 31; day++) {
+                for (int hour = 0; hour < 24; hour++) {
+                    ReadingQuality quality = day == 3 ? ReadingQuality.ESTIMATED : day == 4 ? null : ReadingQuality.REAL;
+                    rows.add(new ReadingSummary("MTR%04d".formatted(m), LocalDate.of(2026, 1, 1).plusDays(day), hour,
+                            BigDecimal.valueOf(random.nextInt(2500), 3), quality));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static byte[] columnar(List<ReadingSummary> rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReadingColumnarCodec.encode(rows, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,111 @@
+package com.naturgy.workshop.domain.change;
+
+import com.naturgy.workshop.domain.change.TableChanges.Table;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the per-table change counters behind conditional GETs.
+ */
+class TableChangesTest {
+
+    private final TableChanges changes = new TableChanges();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Outside a transaction a change moves only its own table's tag")
+    void changeOutsideTransaction() {
+        String meters = changes.etag(Table.METERS);
+        String invoices = changes.etag(Table.INVOICES);
+
+        changes.changed(Table.METERS);
+
+        assertThat(changes.etag(Table.METERS)).isNotEqualTo(meters).startsWith("W/\"");
+        assertThat(changes.etag(Table.INVOICES)).isEqualTo(invoices);
+    }
+
+    @Test
+    @DisplayName("Inside a transaction: one bump per table, only once committed")
+    void bumpsAfterCommit() {
+        String before = changes.etag(Table.METERS, Table.CONTRACTS);
+        TransactionSynchronizationManager.initSynchronization();
+
+        changes.changed(Table.METERS);
+        changes.changed(Table.METERS);
+        changes.changed(Table.CONTRACTS);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        assertThat(changes.etag(Table.METERS, Table.CONTRACTS)).isEqualTo(before);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        String after = changes.etag(Table.METERS, Table.CONTRACTS);
+        assertThat(after).isNotEqualTo(before).endsWith("-m1-c1\"");
+    }
+
+    @Test
+    @DisplayName("Rollback leaves the tag untouched")
+    void rollbackDoesNotBump() {
+        String before = changes.etag(Table.READINGS);
+        TransactionSynchronizationManager.initSynchronization();
+
+        changes.changed(Table.READINGS);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(changes.etag(Table.READINGS)).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Last-Modified is the second of the change, never ahead of the clock; the tag tells bursts apart")
+    void lastModifiedIsCommitSecond() {
+        long start = changes.lastModified(Table.INVOICES);
+        String tag = changes.etag(Table.INVOICES);
+
+        for (int i = 0; i < 50; i++) changes.changed(Table.INVOICES);
+        long modified = changes.lastModified(Table.INVOICES);
+
+        assertThat(start % 1000).isZero();
+        assertThat(modified % 1000).isZero();
+        assertThat(modified).isGreaterThanOrEqualTo(start).isLessThanOrEqualTo(System.currentTimeMillis());
+        assertThat(changes.etag(Table.INVOICES)).isNotEqualTo(tag).endsWith("-i50\"");
+        assertThat(changes.lastModified(Table.METERS, Table.INVOICES)).isEqualTo(modified);
+    }
+
+    @Test
+    @DisplayName("Last-Modified is withheld while the latest change is in the current second")
+    void lastModifiedWithheldWithinSecond() {
+        long[] now = {10_200};
+        TableChanges clocked = new TableChanges(() -> now[0]);
+        assertThat(clocked.validators(Table.METERS).lastModified()).isEqualTo(-1);
+
+        now[0] = 11_000;
+        assertThat(clocked.validators(Table.METERS).lastModified()).isEqualTo(10_000);
+
+        now[0] = 11_300;
+        clocked.changed(Table.METERS);
+        now[0] = 11_900;
+        TableChanges.Validators sameSecond = clocked.validators(Table.METERS, Table.INVOICES);
+        assertThat(sameSecond.lastModified()).isEqualTo(-1);
+        assertThat(sameSecond.etag()).isEqualTo(clocked.etag(Table.METERS, Table.INVOICES));
+
+        now[0] = 12_000;
+        assertThat(clocked.validators(Table.METERS, Table.INVOICES).lastModified()).isEqualTo(11_000);
+        assertThat(clocked.validators(Table.INVOICES).lastModified()).isEqualTo(10_000);
+    }
+
+    private static void complete(int status) {
+        var syncs = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(syncs, status);
+    }
+}
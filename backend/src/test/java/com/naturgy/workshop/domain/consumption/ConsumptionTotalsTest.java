@@ -0,0 +1,90 @@
+package com.naturgy.workshop.domain.consumption;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the in-memory month-to-date consumption behind bill estimates.
+ */
+class ConsumptionTotalsTest {
+
+    private static final YearMonth THIS_MONTH = YearMonth.now();
+    private static final LocalDate TODAY      = THIS_MONTH.atDay(1);
+
+    private final ConsumptionTotals totals = new ConsumptionTotals(null, 2);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Added, changed and removed readings keep an exact per meter-month total")
+    void addChangeRemove() {
+        totals.added("MTR1", TODAY, new BigDecimal("0.400"));
+        totals.added("MTR1", TODAY.plusDays(1), new BigDecimal("0.1"));
+        totals.added("MTR2", TODAY, new BigDecimal("9"));
+        totals.changed("MTR1", TODAY, new BigDecimal("0.400"), new BigDecimal("0.450"));
+
+        assertThat(totals.total("MTR1", THIS_MONTH)).isEqualTo(new ConsumptionTotals.Total(550, 2));
+        assertThat(totals.total("MTR1", THIS_MONTH).kwh()).isEqualByComparingTo("0.55");
+
+        totals.removed("MTR1", TODAY, new BigDecimal("0.450"));
+        totals.removed("MTR1", TODAY.plusDays(1), new BigDecimal("0.1"));
+
+        assertThat(totals.total("MTR1", THIS_MONTH).readings()).isZero();
+        assertThat(totals.total("MTR2", THIS_MONTH).kwh()).isEqualByComparingTo("9");
+        assertThat(totals.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Inside a transaction the totals move once it commits, and not at all on rollback")
+    void appliedAfterCommitOnly() {
+        TransactionSynchronizationManager.initSynchronization();
+        totals.added("MTR1", TODAY, BigDecimal.ONE);
+        totals.added("MTR1", TODAY, BigDecimal.ONE);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        assertThat(totals.total("MTR1", THIS_MONTH).readings()).isZero();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(totals.total("MTR1", THIS_MONTH).kwh()).isEqualByComparingTo("2");
+
+        TransactionSynchronizationManager.initSynchronization();
+        totals.added("MTR1", TODAY, BigDecimal.TEN);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(totals.total("MTR1", THIS_MONTH).kwh()).isEqualByComparingTo("2");
+    }
+
+    @Test
+    @DisplayName("Months before the retained window are ignored and cannot be asked for")
+    void retainedMonthsOnly() {
+        YearMonth previous = THIS_MONTH.minusMonths(1);
+        YearMonth tooOld   = THIS_MONTH.minusMonths(2);
+        totals.added("MTR1", previous.atDay(1), BigDecimal.ONE);
+        totals.added("MTR1", tooOld.atDay(1), BigDecimal.ONE);
+
+        assertThat(totals.total("MTR1", previous).kwh()).isEqualByComparingTo("1");
+        assertThat(totals.size()).isEqualTo(1);
+        assertThatThrownBy(() -> totals.total("MTR1", tooOld))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(previous.toString());
+    }
+
+    private static void complete(int status) {
+        var syncs = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(syncs, status);
+    }
+}
@@ -0,0 +1,71 @@
+package com.naturgy.workshop.seed;
+
+import com.naturgy.workshop.domain.repository.MeterRepository;
+import com.naturgy.workshop.domain.repository.ReadingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for seed fingerprinting and snapshot restore.
+ *
+ * <p>The restore test replaces the shared test database with a snapshot of itself, so the
+ * seeded rows other tests rely on are unchanged afterwards.
+ */
+@SpringBootTest
+class SeedStoreTest {
+
+    @Autowired SeedStore         seedStore;
+    @Autowired JdbcTemplate      jdbc;
+    @Autowired MeterRepository   meterRepo;
+    @Autowired ReadingRepository readingRepo;
+
+    private static final List<Resource> SEED_FILES = List.of(
+            new ClassPathResource("db/samples/meters.csv"),
+            new ClassPathResource("db/samples/contracts.csv"),
+            new ClassPathResource("db/samples/readings.csv"));
+
+    @Test
+    @DisplayName("Startup seed records the fingerprint; any CSV change produces a new one")
+    void fingerprintRecordedAndContentSensitive() throws Exception {
+        String current = seedStore.fingerprint(SEED_FILES);
+        assertThat(seedStore.recordedFingerprint()).isEqualTo(current);
+
+        List<Resource> changed = List.of(SEED_FILES.get(0), SEED_FILES.get(1),
+                new ByteArrayResource("meterId,date,hour,kwh,quality\n".getBytes(StandardCharsets.UTF_8)));
+        assertThat(seedStore.fingerprint(changed)).isNotEqualTo(current);
+    }
+
+    @Test
+    @DisplayName("Snapshot: written once per fingerprint and restored into an empty database")
+    void snapshotRoundTrip(@TempDir Path dir) throws Exception {
+        SeedStore store = new SeedStore(jdbc, true, dir);
+        String fingerprint = store.fingerprint(SEED_FILES);
+        long meters   = meterRepo.count();
+        long readings = readingRepo.count();
+
+        store.writeSnapshot(fingerprint);
+        assertThat(Files.size(store.snapshotFile(fingerprint))).isPositive();
+        assertThat(store.restoreSnapshot("0".repeat(64))).isFalse();
+
+        assertThat(store.restoreSnapshot(fingerprint)).isTrue();
+
+        assertThat(meterRepo.count()).isEqualTo(meters);
+        assertThat(readingRepo.count()).isEqualTo(readings);
+        assertThat(store.recordedFingerprint()).isEqualTo(fingerprint);
+        assertThat(store.fingerprint(SEED_FILES)).isEqualTo(fingerprint);
+    }
+}
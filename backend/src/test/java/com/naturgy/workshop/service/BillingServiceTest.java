@@ -8,13 +8,16 @@ import com.naturgy.workshop.domain.model.Meter;
 import com.naturgy.workshop.domain.repository.ContractRepository;
 import com.naturgy.workshop.domain.repository.InvoiceRepository;
 import com.naturgy.workshop.domain.repository.ReadingRepository;
+import com.naturgy.workshop.service.progress.ProgressTracker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -34,9 +37,11 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class BillingServiceTest {
 
-    @Mock ContractRepository contractRepo;
-    @Mock ReadingRepository  readingRepo;
-    @Mock InvoiceRepository  invoiceRepo;
+    @Mock ContractRepository        contractRepo;
+    @Mock ReadingRepository         readingRepo;
+    @Mock InvoiceRepository         invoiceRepo;
+    @Mock ApplicationEventPublisher events;
+    @Spy  ProgressTracker           progress = new ProgressTracker();
 
     @InjectMocks BillingService billingService;
 
@@ -195,6 +200,7 @@ class BillingServiceTest {
         List<Invoice> result = billingService.runBilling("2026-01");
         assertThat(result).isEmpty();
         verify(invoiceRepo, never()).save(any());
+        verifyNoInteractions(events);
     }
 
     @Test
@@ -214,6 +220,7 @@ class BillingServiceTest {
         List<Invoice> result = billingService.runBilling("2026-01");
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getTotal()).isEqualByComparingTo(new BigDecimal("22.99"));
+        verify(events).publishEvent(new InvoicesGeneratedEvent("2026-01", List.of(result.get(0).getInvoiceId())));
     }
 
     @Test
@@ -0,0 +1,121 @@
+package com.naturgy.workshop.service;
+
+import com.naturgy.workshop.domain.model.Invoice;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static com.naturgy.workshop.service.PdfServiceTest.invoice;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the two-tier (memory + disk) invoice PDF cache.
+ */
+class PdfCacheTest {
+
+    @TempDir Path dir;
+
+    private final CountingPdfService pdfService = new CountingPdfService();
+
+    @Test
+    @DisplayName("Second download is served from cache without rendering")
+    void repeatDownloadIsNotRendered() throws IOException {
+        PdfCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        Invoice inv = invoice("INV-1", "Ana");
+
+        byte[] first = cache.get(inv);
+        byte[] second = cache.get(inv);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(pdfService.renders.get()).isEqualTo(1);
+        assertThat(pdfFiles()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Disk tier survives a restart (new cache instance, empty memory)")
+    void diskTierSurvivesRestart() throws IOException {
+        Invoice inv = invoice("INV-1", "Ana");
+        byte[] pdf = cache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1)).get(inv);
+
+        PdfCache restarted = cache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+
+        assertThat(restarted.get(inv)).isEqualTo(pdf);
+        assertThat(pdfService.renders.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ETag follows the content: any printed field change gives a new tag")
+    void etagIsContentHash() {
+        PdfCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        Invoice inv = invoice("INV-1", "Ana");
+        Invoice changed = invoice("INV-1", "Ana María");
+
+        assertThat(cache.etag(inv)).isEqualTo(cache.etag(invoice("INV-1", "Ana"))).startsWith("\"").endsWith("\"");
+        assertThat(cache.etag(changed)).isNotEqualTo(cache.etag(inv));
+    }
+
+    @Test
+    @DisplayName("A remembered ETag is only returned for the table version it was computed under")
+    void knownEtagPerVersion() {
+        PdfCache cache = cache(DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        assertThat(cache.knownEtag("INV-1", "v1")).isNull();
+
+        String etag = cache.etag(invoice("INV-1", "Ana"), "v1");
+
+        assertThat(cache.knownEtag("INV-1", "v1")).isEqualTo(etag);
+        assertThat(cache.knownEtag("INV-1", "v2")).isNull();
+        assertThat(cache.knownEtag("INV-2", "v1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Both tiers stay within their byte limits, evicting least recently used")
+    void tiersAreBoundedLru() throws IOException {
+        long pdfSize = new PdfService().generateInvoicePdf(invoice("INV-0", "Ana")).length;
+        // room for two PDFs per tier
+        DataSize limit = DataSize.ofBytes(pdfSize * 2 + pdfSize / 2);
+        PdfCache cache = cache(limit, limit);
+
+        cache.get(invoice("INV-1", "Ana"));
+        cache.get(invoice("INV-2", "Ana"));
+        cache.get(invoice("INV-1", "Ana"));      // INV-1 is now most recently used
+        cache.get(invoice("INV-3", "Ana"));      // evicts INV-2 from both tiers
+        assertThat(pdfService.renders.get()).isEqualTo(3);
+        assertThat(pdfFiles()).isEqualTo(2);
+
+        cache.get(invoice("INV-1", "Ana"));
+        assertThat(pdfService.renders.get()).isEqualTo(3);
+        cache.get(invoice("INV-2", "Ana"));
+        assertThat(pdfService.renders.get()).isEqualTo(4);
+    }
+
+    private PdfCache cache(DataSize memory, DataSize disk) {
+        try {
+            return new PdfCache(pdfService, dir, memory, disk);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private long pdfFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".pdf")).count();
+        }
+    }
+
+    static final class CountingPdfService extends PdfService {
+        final AtomicInteger renders = new AtomicInteger();
+
+        @Override
+        public byte[] generateInvoicePdf(Invoice invoice) throws IOException {
+            renders.incrementAndGet();
+            return super.generateInvoicePdf(invoice);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.naturgy.workshop.service;
+
+import com.naturgy.workshop.domain.model.Invoice;
+import com.naturgy.workshop.domain.repository.InvoiceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.naturgy.workshop.service.PdfServiceTest.invoice;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the post-billing PDF pre-render stage.
+ */
+class PdfPrerendererTest {
+
+    @TempDir Path dir;
+
+    private final InvoiceRepository               invoiceRepo = mock(InvoiceRepository.class);
+    private final PdfCacheTest.CountingPdfService pdfService  = new PdfCacheTest.CountingPdfService();
+    private PdfPrerenderer prerenderer;
+
+    @AfterEach
+    void tearDown() {
+        if (prerenderer != null) prerenderer.shutdown();
+    }
+
+    @Test
+    @DisplayName("New invoices are rendered into the store, paced; downloads then skip rendering")
+    void prerendersIntoStoreAtLimitedRate() throws Exception {
+        List<Invoice> invoices = List.of(invoice("INV-1", "Ana"), invoice("INV-2", "Luis"), invoice("INV-3", "Eva"));
+        when(invoiceRepo.findAllById(anyList())).thenReturn(invoices);
+        PdfCache cache = new PdfCache(pdfService, dir, DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        prerenderer = new PdfPrerenderer(invoiceRepo, cache, true, 20);
+
+        long started = System.nanoTime();
+        prerenderer.onInvoicesGenerated(new InvoicesGeneratedEvent("2026-01", List.of("INV-1", "INV-2", "INV-3")));
+        awaitStored(3);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        // 20/s → one every 50 ms: the third starts no earlier than 100 ms in
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(100);
+        for (Invoice inv : invoices) cache.get(inv);
+        assertThat(pdfService.renders.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Disabled (default): the event is ignored")
+    void disabledDoesNothing() throws IOException {
+        PdfCache cache = new PdfCache(pdfService, dir, DataSize.ofMegabytes(1), DataSize.ofMegabytes(1));
+        prerenderer = new PdfPrerenderer(invoiceRepo, cache, false, 20);
+
+        prerenderer.onInvoicesGenerated(new InvoicesGeneratedEvent("2026-01", List.of("INV-1")));
+
+        verifyNoInteractions(invoiceRepo);
+        assertThat(pdfService.renders.get()).isZero();
+    }
+
+    /** Waits for the PDF files, not the render count: the disk write follows the render. */
+    private void awaitStored(int n) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pdfFiles() < n && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(pdfFiles()).isEqualTo(n);
+    }
+
+    private long pdfFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.toString().endsWith(".pdf")).count();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.naturgy.workshop.service;
+
+import com.naturgy.workshop.domain.model.Invoice;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Invoices/second of the original line-by-line renderer versus the template renderer.
+ *
+ * <p>Opt-in: {@code mvn test -Pbenchmark}. Numbers are printed, not asserted.
+ */
+@Tag("benchmark")
+class PdfRenderingBenchmarkTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int RUNS   = 10_000;
+
+    @FunctionalInterface
+    interface Renderer {
+        void render(Invoice invoice, OutputStream out) throws IOException;
+    }
+
+    @Test
+    @DisplayName("Benchmark: legacy vs template invoice rendering")
+    void invoicesPerSecond() throws IOException {
+        PdfService template = new PdfService();
+        Renderer legacy = PdfRenderingBenchmarkTest::legacyRender;
+
+        double before = measure("legacy  ", legacy);
+        double after  = measure("template", template::writeInvoicePdf);
+        System.out.printf("[benchmark] speed-up x%.1f%n", after / before);
+    }
+
+    private static double measure(String name, Renderer renderer) throws IOException {
+        Invoice invoice = PdfServiceTest.invoice("INV-2026-01-CONT001", "Ana García");
+        ByteArrayOutputStream sink = new ByteArrayOutputStream(8192);
+        for (int i = 0; i < WARMUP; i++) {
+            sink.reset();
+            renderer.render(invoice, sink);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            sink.reset();
+            renderer.render(invoice, sink);
+        }
+        double perSecond = RUNS / ((System.nanoTime() - start) / 1e9);
+        System.out.printf("[benchmark] %s %,10.0f invoices/s  (%d bytes each)%n", name, perSecond, sink.size());
+        return perSecond;
+    }
+
+    /** The renderer as it was before the template: new fonts and one text block per line. */
+    private static void legacyRender(Invoice invoice, OutputStream target) throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            doc.addPage(page);
+            try (PDPageContentStream cs = new PDPageContentStream(doc, page)) {
+                float margin = 50;
+                float width  = page.getMediaBox().getWidth();
+                float y = page.getMediaBox().getHeight() - margin;
+                PDType1Font bold    = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+                PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+
+                y = line(cs, bold, 20, margin, y, "NATURGY WORKSHOP - FACTURA", 30);
+                y = line(cs, regular, 12, margin, y, "Nº Factura: " + invoice.getInvoiceId(), 18);
+                y = line(cs, regular, 12, margin, y, "Periodo: " + invoice.getPeriod(), 18);
+                y = line(cs, regular, 12, margin, y, "Fecha generacion: "
+                        + invoice.getGeneratedAt().toString().substring(0, 16).replace("T", " "), 30);
+                cs.moveTo(margin, y); cs.lineTo(width - margin, y); cs.stroke();
+                y -= 20;
+                y = line(cs, bold, 12, margin, y, "DATOS DEL CLIENTE", 18);
+                y = line(cs, regular, 11, margin, y, "Cliente: " + invoice.getCustomerFullName(), 16);
+                y = line(cs, regular, 11, margin, y, "Contrato: " + invoice.getContractId()
+                        + "  |  Contador: " + invoice.getMeterId(), 16);
+                y = line(cs, regular, 11, margin, y, "Tipo contrato: " + invoice.getContractType(), 30);
+                cs.moveTo(margin, y); cs.lineTo(width - margin, y); cs.stroke();
+                y -= 20;
+                y = line(cs, bold, 12, margin, y, "DETALLE DE FACTURACION", 18);
+                y = line(cs, regular, 11, margin, y, "Energia consumida: " + invoice.getTotalKwh() + " kWh", 16);
+                y = line(cs, regular, 11, margin, y, "Subtotal: " + invoice.getSubtotal() + " EUR", 16);
+                y = line(cs, regular, 11, margin, y, "Impuestos: " + invoice.getTax() + " EUR", 20);
+                line(cs, bold, 14, margin, y, "TOTAL: " + invoice.getTotal() + " EUR", 0);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            target.write(out.toByteArray());
+        }
+    }
+
+    private static float line(PDPageContentStream cs, PDType1Font font, float size,
+                              float x, float y, String text, float advance) throws IOException {
+        cs.beginText();
+        cs.setFont(font, size);
+        cs.newLineAtOffset(x, y);
+        cs.showText(text);
+        cs.endText();
+        return y - advance;
+    }
+}
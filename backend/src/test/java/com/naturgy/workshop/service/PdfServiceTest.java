@@ -0,0 +1,129 @@
+package com.naturgy.workshop.service;
+
+import com.naturgy.workshop.domain.enums.ContractType;
+import com.naturgy.workshop.domain.model.Invoice;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the template-based invoice PDF renderer.
+ */
+class PdfServiceTest {
+
+    private final PdfService pdfService = new PdfService();
+
+    static Invoice invoice(String id, String customer) {
+        return new Invoice(id, "2026-01", "CONT001", "MTR0001", customer, ContractType.FIXED,
+                new BigDecimal("2.450"), new BigDecimal("0.47"), new BigDecimal("0.10"), new BigDecimal("0.57"),
+                LocalDateTime.of(2026, 2, 1, 9, 30, 15));
+    }
+
+    @Test
+    @DisplayName("Static labels and per-invoice values are both rendered")
+    void rendersLabelsAndValues() throws IOException {
+        String text = text(pdfService.generateInvoicePdf(invoice("INV-2026-01-CONT001", "Ana García (Valencia)")));
+
+        assertThat(text).contains(
+                "NATURGY WORKSHOP - FACTURA",
+                "Nº Factura: INV-2026-01-CONT001",
+                "Periodo: 2026-01",
+                "Fecha generacion: 2026-02-01 09:30",
+                "Cliente: Ana García (Valencia)",
+                "Contrato: CONT001  |  Contador: MTR0001",
+                "Tipo contrato: FIXED",
+                "Energia consumida: 2.450 kWh",
+                "Subtotal: 0.47 EUR",
+                "Impuestos: 0.10 EUR",
+                "TOTAL: 0.57 EUR");
+    }
+
+    @Test
+    @DisplayName("Characters outside WinAnsi are replaced instead of failing the render")
+    void unmappableCharacters() throws IOException {
+        assertThat(text(pdfService.generateInvoicePdf(invoice("INV-1", "Łukasz 李")))).contains("Cliente: ?ukasz ?");
+    }
+
+    @Test
+    @DisplayName("Concurrent renders share fonts and template safely")
+    void concurrentRenders() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> pdfs = IntStream.range(0, 200)
+                    .mapToObj(i -> pool.submit(() -> pdfService.generateInvoicePdf(invoice("INV-" + i, "Customer " + i))))
+                    .toList();
+            for (int i = 0; i < pdfs.size(); i++) {
+                assertThat(text(pdfs.get(i).get())).contains("Nº Factura: INV-" + i + "\n");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("writeInvoicePdf leaves the target stream open")
+    void streamLeftOpen() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pdfService.writeInvoicePdf(invoice("INV-1", "A"), out);
+        int first = out.size();
+        pdfService.writeInvoicePdf(invoice("INV-2", "B"), out);
+        assertThat(out.size()).isGreaterThan(first);
+    }
+
+    @Test
+    @DisplayName("Print run: one page per invoice, in order, with a valid cross-reference table")
+    void printRunMergesPages() throws IOException {
+        List<Invoice> invoices = List.of(invoice("INV-1", "Ana"), invoice("INV-2", "Luis"), invoice("INV-3", "Eva"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int pages = pdfService.writePrintRun(invoices.iterator(), out);
+
+        byte[] pdf = out.toByteArray();
+        assertThat(pages).isEqualTo(3);
+        try (PDDocument doc = Loader.loadPDF(pdf)) {
+            assertThat(doc.getNumberOfPages()).isEqualTo(3);
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            stripper.setStartPage(2);
+            stripper.setEndPage(2);
+            assertThat(stripper.getText(doc)).contains("Cliente: Luis", "Nº Factura: INV-2")
+                    .doesNotContain("INV-1", "INV-3");
+        }
+        // PDFBox silently rebuilds a broken xref, so check every offset points at its object
+        String raw = new String(pdf, StandardCharsets.ISO_8859_1);
+        int xref = Integer.parseInt(raw.substring(raw.lastIndexOf("startxref") + 10).trim().split("\\s+")[0]);
+        assertThat(raw.substring(xref)).startsWith("xref");
+        Matcher entries = Pattern.compile("(\\d{10}) 00000 n").matcher(raw.substring(xref));
+        int obj = 1;
+        while (entries.find()) {
+            assertThat(raw.substring(Integer.parseInt(entries.group(1)))).startsWith(obj + " 0 obj");
+            obj++;
+        }
+        assertThat(obj - 1).isEqualTo(5 + 2 * 3);
+    }
+
+    static String text(byte[] pdf) throws IOException {
+        try (PDDocument doc = Loader.loadPDF(pdf)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);       // labels and values live in separate streams
+            return stripper.getText(doc);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.naturgy.workshop.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The pinning monitor on a real JFR stream: a virtual thread sleeping inside
+ * {@code synchronized} is reported at the application frame that holds the monitor.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+
+    @Test
+    @DisplayName("Sleeping inside synchronized on a virtual thread → counted at that site")
+    void reportsPinnedSite() throws Exception {
+        WorkerThreads threads = new WorkerThreads(new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+        assertThat(threads.virtual()).isTrue();
+        VirtualThreadPinningMonitor pinning = new VirtualThreadPinningMonitor(threads, true, Duration.ofMillis(5));
+        try {
+            CompletableFuture.runAsync(this::sleepHoldingMonitor, new VirtualThreadTaskExecutor("pinned-")).get();
+
+            // the JFR stream delivers events about once a second
+            String site = getClass().getName() + ".sleepHoldingMonitor:";
+            long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+            while (pinning.sites().keySet().stream().noneMatch(s -> s.startsWith(site)) && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(pinning.sites().keySet()).anyMatch(s -> s.startsWith(site));
+        } finally {
+            pinning.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Platform threads only → monitor stays off")
+    void inertWithoutVirtualThreads() {
+        WorkerThreads threads = new WorkerThreads(new MockEnvironment());
+        VirtualThreadPinningMonitor pinning = new VirtualThreadPinningMonitor(threads, true, Duration.ofMillis(5));
+        pinning.close();
+        assertThat(pinning.sites()).isEmpty();
+    }
+
+    private void sleepHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.naturgy.workshop.service.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for the relative-error quantile sketch.
+ */
+class QuantileSketchTest {
+
+    private static final double ALPHA = 0.01;
+
+    @Test
+    @DisplayName("Quantiles are within the relative accuracy of the exact ones")
+    void withinRelativeAccuracy() {
+        Random random = new Random(42);
+        double[] values = new double[20_000];
+        QuantileSketch sketch = new QuantileSketch(ALPHA);
+        for (int i = 0; i < values.length; i++) {
+            // long-tailed, like monthly meter totals
+            values[i] = Math.exp(random.nextGaussian() * 1.5 + 5);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[] {0.01, 0.25, 0.5, 0.9, 0.99, 0.999}) {
+            double exact = values[(int) Math.floor(q * (values.length - 1))];
+            assertThat(sketch.quantile(q)).as("q=%s", q).isCloseTo(exact, within(exact * ALPHA * 1.01));
+        }
+        assertThat(sketch.quantile(0)).isEqualTo(values[0]);
+        assertThat(sketch.quantile(1)).isEqualTo(values[values.length - 1]);
+        assertThat(sketch.count()).isEqualTo(values.length);
+    }
+
+    @Test
+    @DisplayName("Merged partition sketches answer like one sketch over all values")
+    void mergeEqualsCombined() {
+        Random random = new Random(7);
+        QuantileSketch all   = new QuantileSketch(ALPHA);
+        QuantileSketch left  = new QuantileSketch(ALPHA);
+        QuantileSketch right = new QuantileSketch(ALPHA);
+        for (int i = 0; i < 5_000; i++) {
+            double small = random.nextDouble() * 10;
+            double large = 1_000 + random.nextDouble() * 50_000;
+            all.add(small);
+            all.add(large);
+            left.add(small);
+            right.add(large);
+        }
+        all.add(0);
+        left.add(0);
+
+        left.merge(right);
+
+        assertThat(left.count()).isEqualTo(all.count());
+        assertThat(left.min()).isEqualTo(all.min());
+        assertThat(left.max()).isEqualTo(all.max());
+        for (double q : new double[] {0.1, 0.5, 0.75, 0.99}) {
+            assertThat(left.quantile(q)).as("q=%s", q).isEqualTo(all.quantile(q));
+        }
+    }
+
+    @Test
+    @DisplayName("Empty sketches have no quantiles; negative values and mixed accuracies are rejected")
+    void edges() {
+        QuantileSketch sketch = new QuantileSketch(ALPHA);
+        assertThat(sketch.quantile(0.5)).isNaN();
+        sketch.add(0);
+        assertThat(sketch.quantile(0.5)).isZero();
+
+        assertThatThrownBy(() -> sketch.add(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sketch.merge(new QuantileSketch(0.02))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sketch.quantile(1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.naturgy.workshop.service.analytics;
+
+import com.naturgy.workshop.service.analytics.TopConsumers.MeterTotal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the bounded top-N heap.
+ */
+class TopConsumersTest {
+
+    @Test
+    @DisplayName("Keeps only the largest totals, largest first, ties by meter ID")
+    void keepsLargest() {
+        TopConsumers top = new TopConsumers(3);
+        top.offer("M1", kwh("5"));
+        top.offer("M2", kwh("1"));
+        top.offer("M3", kwh("9"));
+        top.offer("M4", kwh("5"));
+        top.offer("M0", kwh("5"));
+        top.offer("M5", kwh("0.5"));
+
+        assertThat(top.descending()).containsExactly(
+                new MeterTotal("M3", kwh("9")), new MeterTotal("M0", kwh("5")), new MeterTotal("M1", kwh("5")));
+    }
+
+    @Test
+    @DisplayName("Merging partition heaps gives the top of all their meters")
+    void mergesPartitions() {
+        TopConsumers left  = new TopConsumers(2);
+        TopConsumers right = new TopConsumers(2);
+        for (int i = 0; i < 100; i++) {
+            (i % 2 == 0 ? left : right).offer("M" + i, BigDecimal.valueOf(i));
+        }
+
+        left.merge(right);
+
+        assertThat(left.descending()).extracting(MeterTotal::meterId).containsExactly("M99", "M98");
+    }
+
+    private static BigDecimal kwh(String value) {
+        return new BigDecimal(value);
+    }
+}
@@ -0,0 +1,71 @@
+package com.naturgy.workshop.service.export;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the export formats: CSV quoting, fixed-width record layout and trailer.
+ */
+class InvoiceExportWriterTest {
+
+    private static final LocalDateTime GENERATED = LocalDateTime.of(2026, 2, 1, 8, 30, 15, 123_456_000);
+
+    @Test
+    @DisplayName("CSV: header first, fields with commas/quotes quoted, missing values empty")
+    void csv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InvoiceCsvWriter csv = new InvoiceCsvWriter(out);
+        csv.row(row("INV-1", "Pérez, \"Ana\"", "ES66 2100 0418 4012 3456 7891", "54.45"));
+        csv.row(row("INV-2", "Roberto", null, "0.28"));
+        csv.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo(InvoiceCsvWriter.HEADER);
+        assertThat(lines[1]).isEqualTo("INV-1,2026-01,CONT001,MTR0001,\"Pérez, \"\"Ana\"\"\",12345678Z,"
+                + "ES66 2100 0418 4012 3456 7891,FIXED,1.230,45.00,9.45,54.45,2026-02-01T08:30:15.123456");
+        assertThat(lines[2]).contains(",Roberto,12345678Z,,FIXED,");
+    }
+
+    @Test
+    @DisplayName("Fixed width: every record the same length, IBAN compacted, trailer counts and sums cents")
+    void remittance() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RemittanceFileWriter file = new RemittanceFileWriter(out, LocalDateTime.of(2026, 2, 2, 6, 0));
+        file.row(row("INV-1", "Ana Pérez Gómez", "es66 2100 0418 4012 3456 7891", "54.45"));
+        file.row(row("INV-2", "A name far longer than the forty characters the layout allows", null, "0.275"));
+        file.finish();
+
+        String[] lines = out.toString(RemittanceFileWriter.CHARSET).split("\r\n");
+        assertThat(lines).hasSize(4).allSatisfy(l -> assertThat(l).hasSize(RemittanceFileWriter.RECORD_LENGTH));
+        assertThat(lines[0]).startsWith("H2026-02-02T06:00:00NATURGY-WORKSHOP");
+
+        String d = lines[1];
+        assertThat(d.substring(0, 1)).isEqualTo("D");
+        assertThat(d.substring(1, 21).trim()).isEqualTo("INV-1");
+        assertThat(d.substring(21, 28)).isEqualTo("2026-01");
+        assertThat(d.substring(48, 82).trim()).isEqualTo("ES6621000418401234567891");
+        assertThat(d.substring(82, 122).trim()).isEqualTo("Ana Pérez Gómez");
+        assertThat(d.substring(122, 137)).isEqualTo("000000005445EUR");
+        assertThat(d.substring(137, 156)).isEqualTo("2026-02-01T08:30:15");
+
+        assertThat(lines[2].substring(48, 82).trim()).isEmpty();
+        assertThat(lines[2].substring(82, 122)).isEqualTo("A name far longer than the forty charact");
+        assertThat(lines[2].substring(122, 134)).isEqualTo("000000000028");
+
+        assertThat(lines[3].substring(0, 29)).isEqualTo("T0000000002" + "000000000000005473");
+    }
+
+    private static InvoiceExportRow row(String id, String name, String iban, String total) {
+        return new InvoiceExportRow(id, "2026-01", "CONT001", "MTR0001", name, "12345678Z", iban, "FIXED",
+                new BigDecimal("1.230"), new BigDecimal("45.00"), new BigDecimal("9.45"), new BigDecimal(total),
+                GENERATED);
+    }
+}
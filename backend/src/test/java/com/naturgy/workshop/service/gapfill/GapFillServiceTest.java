@@ -0,0 +1,79 @@
+package com.naturgy.workshop.service.gapfill;
+
+import com.naturgy.workshop.domain.change.TableChanges;
+import com.naturgy.workshop.domain.consumption.ConsumptionTotals;
+import com.naturgy.workshop.service.WorkerThreads;
+import com.naturgy.workshop.service.progress.ProgressTracker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Integration test for gap-fill failure handling, on the real database with statements on
+ * {@code readings} made to fail, so nothing is written.
+ */
+@SpringBootTest
+class GapFillServiceTest {
+
+    @Autowired DataSource                 dataSource;
+    @Autowired PlatformTransactionManager txManager;
+    @Autowired TableChanges               changes;
+    @Autowired ConsumptionTotals          consumption;
+    @Autowired ProgressTracker            progress;
+    @Autowired WorkerThreads              threads;
+
+    @Test
+    @DisplayName("A failing batch fails the run instead of leaving it waiting for batches that never come")
+    void failingBatchFailsTheRun() {
+        // one meter per batch and one worker: the seeded 2026-01 meters make two batches, and
+        // the scan collects the first (failed) one while the second is still queued
+        GapFillService failing = new GapFillService(failingReadings(dataSource), txManager, changes, consumption,
+                progress, threads, 1, 1, 1000, 3);
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(20), () ->
+                    assertThatThrownBy(() -> failing.fill("2026-01"))
+                            .isInstanceOf(DataAccessException.class)
+                            .hasMessageContaining("injected failure"));
+            assertThat(progress.snapshot()).noneMatch(e -> e.kind().equals("gap-fill"));
+        } finally {
+            failing.shutdown();
+        }
+    }
+
+    /** Every statement touching readings fails; the meter scan on contracts still works. */
+    private static DataSource failingReadings(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                            if (method.getName().equals("prepareStatement")
+                                    && ((String) args[0]).contains("FROM readings")) {
+                                throw new SQLException("injected failure");
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.naturgy.workshop.service.gapfill;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for per meter-day gap detection and the neighbouring-days profile.
+ */
+class HourlySeriesTest {
+
+    private static final YearMonth MARCH     = YearMonth.of(2025, 3);
+    private static final LocalDateTime APRIL = MARCH.plusMonths(1).atDay(1).atStartOfDay();
+
+    private final HourlySeries series = new HourlySeries(MARCH, 2);
+
+    @Test
+    @DisplayName("A missing hour is the mean of the same hour on neighbouring days")
+    void sameHourOnNeighbouringDays() {
+        series.reset("MTR1");
+        for (int d = 1; d <= 5; d++) {
+            for (int h = 0; h < 24; h++) {
+                if (d == 3 && h == 7) continue;
+                series.add(day(d), h, h == 7 && d == 4 ? 5_000 : 1_000, false);
+            }
+        }
+
+        Map<String, Long> filled = fill(day(1), day(6).atStartOfDay());
+
+        // days 1, 2, 4, 5 at 07:00
+        assertThat(filled).containsExactly(Map.entry("2025-03-03T07", 2_000L));
+    }
+
+    @Test
+    @DisplayName("Estimates do not feed estimates, and without any neighbour the monthly mean is used")
+    void estimatesIgnoredAndFallback() {
+        series.reset("MTR1");
+        series.add(day(10), 3, 1_000, false);
+        series.add(day(10), 4, 2_000, false);
+        series.add(day(11), 5, 9_000, true);
+
+        Map<String, Long> filled = fill(day(10), day(11).atTime(6, 0));
+
+        // day 10: 22 gaps; day 11: hours 0-5 minus the stored estimate
+        assertThat(filled).hasSize(22 + 5);
+        assertThat(filled).containsEntry("2025-03-11T03", 1_000L)     // neighbour day 10, hour 3
+                          .containsEntry("2025-03-10T05", 1_500L)     // no real hour 5 nearby: mean
+                          .doesNotContainKey("2025-03-11T05");
+    }
+
+    @Test
+    @DisplayName("Only slots in [from, until) are filled; a meter without real readings gets nothing")
+    void boundsAndEmptyMeter() {
+        series.reset("MTR1");
+        series.add(day(31), 0, 500, false);
+        assertThat(fill(day(31), APRIL)).hasSize(23);
+
+        series.reset("MTR2");
+        series.add(day(1), 0, 500, true);
+        assertThat(fill(day(1), APRIL)).isEmpty();
+    }
+
+    private Map<String, Long> fill(LocalDate from, LocalDateTime until) {
+        Map<String, Long> filled = new LinkedHashMap<>();
+        series.fill(from, until, (meterId, date, hour, milliKwh) ->
+                filled.put(date + "T" + String.format("%02d", hour), milliKwh));
+        return filled;
+    }
+
+    private static LocalDate day(int d) {
+        return MARCH.atDay(d);
+    }
+}
@@ -0,0 +1,98 @@
+package com.naturgy.workshop.service.imports;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for upload format detection and streaming decompression.
+ */
+class CompressedInputTest {
+
+    private static final String CSV = "meterId,date\nMTR0001,2026-01-01\n";
+
+    @Test
+    @DisplayName("Plain CSV passes through unchanged")
+    void plain() throws IOException {
+        assertThat(read(CompressedInput.open(in(CSV.getBytes(StandardCharsets.UTF_8))))).isEqualTo(CSV);
+    }
+
+    @Test
+    @DisplayName("Gzip is detected by magic bytes and inflated")
+    void gzip() throws IOException {
+        assertThat(read(CompressedInput.open(in(gzip(CSV))))).isEqualTo(CSV);
+    }
+
+    @Test
+    @DisplayName("Zip: single-table open uses the first CSV entry, skipping other files")
+    void zipFirstCsv() throws IOException {
+        byte[] zip = zip("README.txt", "hello", "data/readings.csv", CSV, "meters.csv", "other");
+        assertThat(read(CompressedInput.open(in(zip)))).isEqualTo(CSV);
+    }
+
+    @Test
+    @DisplayName("Zip bundle: entries are located by table name regardless of archive order")
+    void zipBundleEntries() throws IOException {
+        byte[] zip = zip("readings-2026.csv", "R", "contracts.csv", "C", "METERS.CSV", "M");
+
+        assertThat(read(CompressedInput.openZipEntry(in(zip), ImportKind.METERS))).isEqualTo("M");
+        assertThat(read(CompressedInput.openZipEntry(in(zip), ImportKind.CONTRACTS))).isEqualTo("C");
+        assertThat(read(CompressedInput.openZipEntry(in(zip), ImportKind.READINGS))).isEqualTo("R");
+
+        byte[] metersOnly = zip("meters.csv", "M");
+        assertThat(CompressedInput.openZipEntry(in(metersOnly), ImportKind.READINGS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Bundle import rejects non-zip input; zip without CSV is rejected for single-table import")
+    void rejectsBadArchives() throws IOException {
+        assertThatThrownBy(() -> CompressedInput.openZipEntry(in(gzip(CSV)), ImportKind.METERS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompressedInput.open(in(zip("a.txt", "x"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    static byte[] gzip(String s) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(s.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    /** @param nameContentPairs name1, content1, name2, content2, … */
+    static byte[] zip(String... nameContentPairs) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < nameContentPairs.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(nameContentPairs[i]));
+                zip.write(nameContentPairs[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static InputStream in(byte[] b) {
+        return new ByteArrayInputStream(b);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.naturgy.workshop.service.imports;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the staged CSV pipeline: ordering, chunking and failure propagation.
+ */
+class CsvImportPipelineTest {
+
+    private final CsvImportPipeline pipeline = new CsvImportPipeline(4, 3, 2);
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    @DisplayName("Chunks reach the writer in file order even when parse workers finish out of order")
+    void preservesFileOrder() throws Exception {
+        StringBuilder csv = new StringBuilder("id,value\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append(i).append(",v").append(i).append('\n');
+            if (i % 7 == 0) csv.append("   \n");
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        List<Integer> chunkSizes = new ArrayList<>();
+        pipeline.run(reader(csv.toString()),
+                (line, row) -> {
+                    sleepRandomly();
+                    return Integer.parseInt(row[0]);
+                },
+                chunk -> {
+                    chunkSizes.add(chunk.size());
+                    seen.addAll(chunk);
+                });
+
+        assertThat(seen).hasSize(100);
+        assertThat(seen).isSorted();
+        assertThat(chunkSizes).allMatch(n -> n <= 3);
+    }
+
+    @Test
+    @DisplayName("Line numbers are 1-based, count the header and skipped blank lines")
+    void lineNumbers() throws Exception {
+        List<Long> lines = new ArrayList<>();
+        pipeline.run(reader("h\na\n\nb\nc\n"), (line, row) -> line, lines::addAll);
+        assertThat(lines).containsExactly(2L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Header-only input produces no chunks")
+    void headerOnly() throws Exception {
+        List<Object> seen = new ArrayList<>();
+        pipeline.run(reader("a,b\n"), (line, row) -> row, seen::addAll);
+        assertThat(seen).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Writer failure aborts the pipeline and surfaces the original exception")
+    void writerFailurePropagates() {
+        StringBuilder csv = new StringBuilder("id\n");
+        for (int i = 0; i < 1000; i++) csv.append(i).append('\n');
+
+        assertThatThrownBy(() -> pipeline.run(reader(csv.toString()), (line, row) -> row[0], chunk -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+    }
+
+    @Test
+    @DisplayName("Unexpected parser failure surfaces the original exception")
+    void parserFailurePropagates() {
+        assertThatThrownBy(() -> pipeline.run(reader("id\n1\nx\n3\n"),
+                (line, row) -> Integer.parseInt(row[0]), chunk -> {}))
+                .isInstanceOf(NumberFormatException.class);
+    }
+
+    private static BufferedReader reader(String s) {
+        return new BufferedReader(new StringReader(s));
+    }
+
+    private static void sleepRandomly() {
+        try {
+            TimeUnit.MICROSECONDS.sleep(ThreadLocalRandom.current().nextInt(500));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.naturgy.workshop.service.imports;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for background import jobs.
+ *
+ * <p>Only uses rows that are rejected, so nothing is committed to the shared seeded DB.
+ */
+@SpringBootTest
+class ImportJobServiceTest {
+
+    @Autowired ImportJobService jobs;
+
+    @Test
+    @DisplayName("Async readings import: completes, caps the sample and streams every error to CSV")
+    void asyncImportStreamsErrors() throws Exception {
+        StringBuilder csv = new StringBuilder("meterId,date,hour,kwh,quality\n");
+        for (int i = 0; i < 250; i++) {
+            csv.append("MTR9999,2026-03-01,").append(i % 24).append(",0.1,REAL\n");
+        }
+        var file = new MockMultipartFile("file", "readings.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        ImportJob job = jobs.submit(ImportKind.READINGS, file);
+        awaitFinished(job);
+
+        ImportJob.Status status = job.status();
+        assertThat(status.state()).isEqualTo(ImportJob.State.COMPLETED);
+        assertThat(status.inserted()).isZero();
+        assertThat(status.skipped()).isEqualTo(250);
+        assertThat(status.rowsProcessed()).isEqualTo(250);
+        assertThat(status.percent()).isEqualTo(100.0);
+        assertThat(status.errorCount()).isEqualTo(250);
+        assertThat(status.errorSample()).hasSize(100);
+
+        List<String> lines = Files.readAllLines(job.errorsFile());
+        assertThat(lines).hasSize(251);
+        assertThat(lines.get(0)).isEqualTo("line,message");
+        assertThat(lines.get(1)).isEqualTo("2,\"Row skipped: unknown meterId='MTR9999'\"");
+        assertThat(Files.exists(job.getDir().resolve("upload"))).isFalse();
+
+        // measured over the run only, and frozen once it is over
+        double rate = job.getContext().rowsPerSecond();
+        Thread.sleep(50);
+        assertThat(job.getContext().rowsPerSecond()).isPositive().isEqualTo(rate);
+    }
+
+    @Test
+    @DisplayName("Cancelling a job ends it in CANCELLED state")
+    void cancel() throws Exception {
+        var file = new MockMultipartFile("file", "meters.csv", "text/csv",
+                "meterId,cups,address,postalCode,city\n,,,,\n".getBytes(StandardCharsets.UTF_8));
+
+        ImportJob job = jobs.submit(ImportKind.METERS, file);
+        jobs.cancel(job.getId());
+        awaitFinished(job);
+
+        assertThat(job.getState()).isIn(ImportJob.State.CANCELLED, ImportJob.State.COMPLETED);
+        assertThat(job.getContext().isCancelled()).isTrue();
+    }
+
+    private static void awaitFinished(ImportJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(job.isFinished()).as("job finished").isTrue();
+    }
+}
@@ -0,0 +1,75 @@
+package com.naturgy.workshop.service.imports;
+
+import com.naturgy.workshop.domain.model.ReadingId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the per-import key structures (meter dictionary, Bloom filter, in-file set).
+ */
+class ReadingKeyIndexTest {
+
+    private static final LocalDate D = LocalDate.of(2026, 1, 1);
+
+    @Test
+    @DisplayName("Existing keys are always reported as possible hits (no false negatives)")
+    void noFalseNegatives() {
+        List<ReadingId> stored = IntStream.range(0, 24 * 31)
+                .mapToObj(i -> new ReadingId("MTR0001", D.plusDays(i / 24), i % 24))
+                .toList();
+        ReadingKeyIndex index = ReadingKeyIndex.load(List.of("MTR0001", "MTR0002"),
+                stored.size(), stored.stream(), 0.01);
+
+        int m = index.meterIndex("MTR0001");
+        for (ReadingId rid : stored) {
+            assertThat(index.mightExist(ReadingKeyIndex.pack(m, rid.getDate(), rid.getHour()))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Bloom filter false-positive rate stays near the configured target")
+    void falsePositiveRate() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        for (long k = 0; k < 10_000; k++) filter.add(k);
+
+        long falsePositives = IntStream.range(1_000_000, 1_100_000)
+                .filter(k -> filter.mightContain(k))
+                .count();
+        assertThat(falsePositives).isLessThan(2_000); // < 2% of 100k probes
+    }
+
+    @Test
+    @DisplayName("Unknown meters resolve to UNKNOWN_METER; packed keys differ per meter/date/hour")
+    void meterDictionaryAndPacking() {
+        ReadingKeyIndex index = ReadingKeyIndex.load(List.of("A", "B"), 0, Stream.empty(), 0.01);
+
+        assertThat(index.meterIndex("Z")).isEqualTo(ReadingKeyIndex.UNKNOWN_METER);
+        assertThat(index.meterIndex("A")).isNotEqualTo(index.meterIndex("B"));
+
+        long k1 = ReadingKeyIndex.pack(0, D, 23);
+        long k2 = ReadingKeyIndex.pack(0, D.plusDays(1), 0);
+        long k3 = ReadingKeyIndex.pack(1, D, 23);
+        assertThat(k1).isNotEqualTo(k2).isNotEqualTo(k3);
+        assertThat(index.mightExist(k1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("In-file key set detects repeats, including the zero key, across resizes")
+    void inFileKeySet() {
+        LongHashSet set = new LongHashSet(4);
+        for (long k = 0; k < 5_000; k++) {
+            assertThat(set.add(k * 31)).isTrue();
+        }
+        assertThat(set.size()).isEqualTo(5_000);
+        assertThat(set.add(0)).isFalse();
+        assertThat(set.add(31 * 4_999)).isFalse();
+        assertThat(set.contains(7)).isFalse();
+    }
+}
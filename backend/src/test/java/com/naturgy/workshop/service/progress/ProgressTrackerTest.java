@@ -0,0 +1,88 @@
+package com.naturgy.workshop.service.progress;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for progress sampling: one event per change per drain, final state once.
+ */
+class ProgressTrackerTest {
+
+    private final ProgressTracker tracker = new ProgressTracker();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Drain reports a running operation only when its counters moved")
+    void onlyChangesAreDrained() {
+        AtomicLong rows = new AtomicLong();
+        tracker.start(() -> running("a", rows.get()));
+
+        assertThat(tracker.drain()).extracting(ProgressEvent::rows).containsExactly(0L);
+        assertThat(tracker.drain()).isEmpty();
+
+        rows.addAndGet(500);
+        rows.addAndGet(500);
+        assertThat(tracker.drain()).extracting(ProgressEvent::rows).containsExactly(1000L);
+        assertThat(tracker.snapshot()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("A finished operation is drained once with its final state, then forgotten")
+    void finishedOnce() {
+        AtomicLong rows = new AtomicLong(7);
+        ProgressTracker.Operation op = tracker.start(() -> running("b", rows.get()));
+        tracker.drain();
+
+        op.finish(ProgressEvent.FAILED, "boom");
+        op.finish(ProgressEvent.COMPLETED, null);
+
+        assertThat(tracker.drain()).singleElement().satisfies(e -> {
+            assertThat(e.state()).isEqualTo(ProgressEvent.FAILED);
+            assertThat(e.message()).isEqualTo("boom");
+            assertThat(e.rows()).isEqualTo(7);
+            assertThat(e.finished()).isTrue();
+        });
+        assertThat(tracker.drain()).isEmpty();
+        assertThat(tracker.snapshot()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Inside a transaction the final state waits for it: completed on commit, failed on rollback")
+    void finishedAfterTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.start(() -> running("c", 1)).finish(ProgressEvent.COMPLETED, null);
+        assertThat(tracker.drain()).extracting(ProgressEvent::state).containsExactly(ProgressEvent.RUNNING);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(tracker.drain()).extracting(ProgressEvent::state).containsExactly(ProgressEvent.COMPLETED);
+
+        TransactionSynchronizationManager.initSynchronization();
+        tracker.start(() -> running("d", 1)).finish(ProgressEvent.COMPLETED, null);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(tracker.drain()).extracting(ProgressEvent::state).containsExactly(ProgressEvent.FAILED);
+        assertThat(tracker.snapshot()).isEmpty();
+    }
+
+    private static void complete(int status) {
+        var syncs = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(syncs, status);
+    }
+
+    private static ProgressEvent running(String id, long rows) {
+        return new ProgressEvent("import", id, ProgressEvent.RUNNING, rows, 0, 0, -1, null);
+    }
+}
@@ -2,23 +2,42 @@
 
 const BASE = '/api';
 
+async function failure(res: Response): Promise<Error> {
+  let msg = `HTTP ${res.status}`;
+  try {
+    const err = await res.json();
+    msg = err.message || err.error || JSON.stringify(err);
+  } catch { /* ignore */ }
+  return new Error(msg);
+}
+
 async function request<T>(path: string, options?: RequestInit): Promise<T> {
   const res = await fetch(`${BASE}${path}`, {
     headers: { 'Content-Type': 'application/json', ...options?.headers },
     ...options,
   });
-  if (!res.ok) {
-    let msg = `HTTP ${res.status}`;
-    try {
-      const err = await res.json();
-      msg = err.message || err.error || JSON.stringify(err);
-    } catch { /* ignore */ }
-    throw new Error(msg);
-  }
+  if (!res.ok) throw await failure(res);
   if (res.status === 204) return undefined as T;
   return res.json();
 }
 
+// List endpoints are keyset-paged: one page per call (the server's default size), and the
+// cursor for the next one from X-Next-Cursor, null on the last page.
+export interface Page<T> {
+  rows: T[];
+  nextCursor: string | null;
+}
+
+async function requestPage<T>(path: string, q: URLSearchParams, cursor?: string | null): Promise<Page<T>> {
+  if (cursor) q.set('cursor', cursor);
+  const qs = q.toString();
+  const res = await fetch(`${BASE}${path}${qs ? `?${qs}` : ''}`, {
+    headers: { Accept: 'application/json' },
+  });
+  if (!res.ok) throw await failure(res);
+  return { rows: await res.json(), nextCursor: res.headers.get('X-Next-Cursor') };
+}
+
 // ── Types ────────────────────────────────────────────────────────────────────
 
 export interface Meter {
@@ -68,13 +87,14 @@ export interface Invoice {
 export interface ImportResult {
   inserted: number;
   skipped: number;
-  errors: string[];
+  errors: string[];     // capped sample
+  errorCount: number;   // total, including errors not in the sample
 }
 
 // ── Meters ───────────────────────────────────────────────────────────────────
 
 export const metersApi = {
-  list: () => request<Meter[]>('/meters'),
+  list: (cursor?: string | null) => requestPage<Meter>('/meters', new URLSearchParams(), cursor),
   get: (id: string) => request<Meter>(`/meters/${id}`),
   create: (m: Meter) => request<Meter>('/meters', { method: 'POST', body: JSON.stringify(m) }),
   update: (id: string, m: Meter) => request<Meter>(`/meters/${id}`, { method: 'PUT', body: JSON.stringify(m) }),
@@ -88,7 +108,11 @@ export const metersApi = {
 // ── Contracts ────────────────────────────────────────────────────────────────
 
 export const contractsApi = {
-  list: (meterId?: string) => request<Contract[]>(`/contracts${meterId ? `?meterId=${meterId}` : ''}`),
+  list: (meterId?: string, cursor?: string | null) => {
+    const q = new URLSearchParams();
+    if (meterId) q.set('meterId', meterId);
+    return requestPage<Contract>('/contracts', q, cursor);
+  },
   get: (id: string) => request<Contract>(`/contracts/${id}`),
   create: (c: Contract) => request<Contract>('/contracts', { method: 'POST', body: JSON.stringify(c) }),
   update: (id: string, c: Contract) => request<Contract>(`/contracts/${id}`, { method: 'PUT', body: JSON.stringify(c) }),
@@ -102,13 +126,12 @@ export const contractsApi = {
 // ── Readings ─────────────────────────────────────────────────────────────────
 
 export const readingsApi = {
-  list: (params?: { meterId?: string; from?: string; to?: string }) => {
+  list: (params?: { meterId?: string; from?: string; to?: string }, cursor?: string | null) => {
     const q = new URLSearchParams();
     if (params?.meterId) q.set('meterId', params.meterId);
     if (params?.from) q.set('from', params.from);
     if (params?.to) q.set('to', params.to);
-    const qs = q.toString();
-    return request<Reading[]>(`/readings${qs ? `?${qs}` : ''}`);
+    return requestPage<Reading>('/readings', q, cursor);
   },
   create: (r: Reading) => request<Reading>('/readings', { method: 'POST', body: JSON.stringify(r) }),
   delete: (meterId: string, date: string, hour: number) =>
@@ -124,8 +147,11 @@ export const readingsApi = {
 export const billingApi = {
   run: (period: string) =>
     request<{ period: string; generated: number; invoices: string[] }>(`/billing/run?period=${period}`, { method: 'POST' }),
-  listInvoices: (period?: string) =>
-    request<Invoice[]>(`/invoices${period ? `?period=${period}` : ''}`),
+  listInvoices: (period?: string, cursor?: string | null) => {
+    const q = new URLSearchParams();
+    if (period) q.set('period', period);
+    return requestPage<Invoice>('/invoices', q, cursor);
+  },
   getInvoice: (id: string) => request<Invoice>(`/invoices/${id}`),
   pdfUrl: (id: string) => `${BASE}/invoices/${id}/pdf`,
 };
@@ -16,18 +16,33 @@ export default function BillingPage() {
   const [invoices, setInvoices]     = useState<Invoice[]>([]);
   const [filterPeriod, setFilterPeriod] = useState('');
   const [loading, setLoading]       = useState(false);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError]           = useState('');
   const [success, setSuccess]       = useState('');
 
   const loadInvoices = useCallback(async () => {
     setLoading(true); setError('');
-    try { setInvoices(await billingApi.listInvoices(filterPeriod || undefined)); }
+    try {
+      const page = await billingApi.listInvoices(filterPeriod || undefined);
+      setInvoices(page.rows); setNextCursor(page.nextCursor);
+    }
     catch (e: unknown) { setError(e instanceof Error ? e.message : String(e)); }
     finally { setLoading(false); }
   }, [filterPeriod]);
 
   useEffect(() => { loadInvoices(); }, [loadInvoices]);
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = await billingApi.listInvoices(filterPeriod || undefined, nextCursor);
+      setInvoices(rows => [...rows, ...page.rows]); setNextCursor(page.nextCursor);
+    } catch (e: unknown) { setError(e instanceof Error ? e.message : String(e)); }
+    finally { setLoadingMore(false); }
+  };
+
   const runBilling = async () => {
     if (!period) { setError('Enter a period (YYYY-MM).'); return; }
     setRunning(true); setError(''); setSuccess(''); setRunResult(null);
@@ -142,6 +157,16 @@ export default function BillingPage() {
           />
         )}
 
+      {/* Next server page */}
+      {!loading && nextCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 2 }}>
+          <Button variant="outlined" onClick={loadMore} disabled={loadingMore}
+            startIcon={loadingMore ? <CircularProgress size={16} /> : undefined}>
+            Load more
+          </Button>
+        </Box>
+      )}
+
       <Snackbar open={!!success} autoHideDuration={3000} onClose={() => setSuccess('')}
         anchorOrigin={{ vertical: 'bottom', horizontal: 'center' }}>
         <Alert severity="success" onClose={() => setSuccess('')}>{success}</Alert>
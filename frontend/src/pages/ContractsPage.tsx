@@ -22,6 +22,8 @@ export default function ContractsPage() {
   const [contracts, setContracts] = useState<Contract[]>([]);
   const [meters, setMeters]       = useState<Meter[]>([]);
   const [loading, setLoading]     = useState(false);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError]         = useState('');
   const [success, setSuccess]     = useState('');
   const [editing, setEditing]     = useState<Contract | null>(null);
@@ -38,13 +40,24 @@ export default function ContractsPage() {
         contractsApi.list(filterMeter || undefined),
         metersApi.list(),
       ]);
-      setContracts(c); setMeters(m);
+      // the meter pickers offer the first page of meters only
+      setContracts(c.rows); setNextCursor(c.nextCursor); setMeters(m.rows);
     } catch (e: unknown) { setError(e instanceof Error ? e.message : String(e)); }
     finally { setLoading(false); }
   }, [filterMeter]);
 
   useEffect(() => { load(); }, [load]);
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = await contractsApi.list(filterMeter || undefined, nextCursor);
+      setContracts(rows => [...rows, ...page.rows]); setNextCursor(page.nextCursor);
+    } catch (e: unknown) { setError(e instanceof Error ? e.message : String(e)); }
+    finally { setLoadingMore(false); }
+  };
+
   const openCreate = () => { setEditing(empty()); setIsNew(true); setError(''); };
   const openEdit   = (c: Contract) => {
     setEditing({ ...c, meter: { meterId: c.meter?.meterId ?? '' } });
@@ -169,6 +182,16 @@ export default function ContractsPage() {
           />
         )}
 
+      {/* Next server page */}
+      {!loading && nextCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 2 }}>
+          <Button variant="outlined" onClick={loadMore} disabled={loadingMore}
+            startIcon={loadingMore ? <CircularProgress size={16} /> : undefined}>
+            Load more
+          </Button>
+        </Box>
+      )}
+
       {/* Create / Edit dialog */}
       <Dialog open={!!editing} onClose={closeForm} fullWidth maxWidth="sm">
         <DialogTitle>{isNew ? 'Create Contract' : `Edit Contract – ${editing?.contractId}`}</DialogTitle>
@@ -16,6 +16,8 @@ const empty = (): Meter => ({ meterId: '', cups: '', address: '', postalCode: ''
 export default function MetersPage() {
   const [meters, setMeters]       = useState<Meter[]>([]);
   const [loading, setLoading]     = useState(false);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError]         = useState('');
   const [success, setSuccess]     = useState('');
   const [editing, setEditing]     = useState<Meter | null>(null);
@@ -26,13 +28,23 @@ export default function MetersPage() {
 
   const load = useCallback(async () => {
     setLoading(true); setError('');
-    try { setMeters(await metersApi.list()); }
+    try { const page = await metersApi.list(); setMeters(page.rows); setNextCursor(page.nextCursor); }
     catch (e: unknown) { setError(e instanceof Error ? e.message : String(e)); }
     finally { setLoading(false); }
   }, []);
 
   useEffect(() => { load(); }, [load]);
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = await metersApi.list(nextCursor);
+      setMeters(rows => [...rows, ...page.rows]); setNextCursor(page.nextCursor);
+    } catch (e: unknown) { setError(e instanceof Error ? e.message : String(e)); }
+    finally { setLoadingMore(false); }
+  };
+
   const openCreate = () => { setEditing(empty()); setIsNew(true); setError(''); };
   const openEdit   = (m: Meter) => { setEditing({ ...m }); setIsNew(false); setError(''); };
   const closeForm  = () => { setEditing(null); setSaving(false); };
@@ -130,6 +142,16 @@ export default function MetersPage() {
           />
         )}
 
+      {/* Next server page */}
+      {!loading && nextCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 2 }}>
+          <Button variant="outlined" onClick={loadMore} disabled={loadingMore}
+            startIcon={loadingMore ? <CircularProgress size={16} /> : undefined}>
+            Load more
+          </Button>
+        </Box>
+      )}
+
       {/* Create / Edit dialog */}
       <Dialog open={!!editing} onClose={closeForm} fullWidth maxWidth="sm">
         <DialogTitle>{isNew ? 'Create Meter' : `Edit Meter – ${editing?.meterId}`}</DialogTitle>
@@ -20,6 +20,8 @@ export default function ReadingsPage() {
   const [readings, setReadings]   = useState<Reading[]>([]);
   const [meters, setMeters]       = useState<Meter[]>([]);
   const [loading, setLoading]     = useState(false);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError]         = useState('');
   const [success, setSuccess]     = useState('');
   const [creating, setCreating]   = useState(false);
@@ -44,13 +46,28 @@ export default function ReadingsPage() {
         }),
         metersApi.list(),
       ]);
-      setReadings(r); setMeters(m);
+      // the meter pickers offer the first page of meters only
+      setReadings(r.rows); setNextCursor(r.nextCursor); setMeters(m.rows);
     } catch (e: unknown) { setError(e instanceof Error ? e.message : String(e)); }
     finally { setLoading(false); }
   }, [filterMeter, filterFrom, filterTo]);
 
   useEffect(() => { load(); }, [load]);
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setLoadingMore(true);
+    try {
+      const page = await readingsApi.list({
+        meterId: filterMeter || undefined,
+        from: filterFrom || undefined,
+        to: filterTo || undefined,
+      }, nextCursor);
+      setReadings(rows => [...rows, ...page.rows]); setNextCursor(page.nextCursor);
+    } catch (e: unknown) { setError(e instanceof Error ? e.message : String(e)); }
+    finally { setLoadingMore(false); }
+  };
+
   const remove = async (meterId: string, date: string, hour: number) => {
     if (!confirm(`Delete reading ${meterId}/${date}/${hour}?`)) return;
     try { await readingsApi.delete(meterId, date, hour); setSuccess('Reading deleted.'); load(); }
@@ -161,6 +178,16 @@ export default function ReadingsPage() {
           />
         )}
 
+      {/* Next server page */}
+      {!loading && nextCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 2 }}>
+          <Button variant="outlined" onClick={loadMore} disabled={loadingMore}
+            startIcon={loadingMore ? <CircularProgress size={16} /> : undefined}>
+            Load more
+          </Button>
+        </Box>
+      )}
+
       {/* Create dialog */}
       <Dialog open={creating} onClose={() => setCreating(false)} fullWidth maxWidth="sm">
         <DialogTitle>New Reading</DialogTitle>